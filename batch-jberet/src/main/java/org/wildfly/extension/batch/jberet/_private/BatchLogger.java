@@ -223,4 +223,39 @@ public interface BatchLogger extends BasicLogger {
     @LogMessage(level = Level.ERROR)
     @Message(id = 23, value = "Failed to stop running jobs on deployment %s.")
     void failedToStopJobs(@Cause Throwable cause, String deploymentName);
+
+    /**
+     * Logs a warning message indicating a partition is dispatched again as the member it was dispatched to did not
+     * complete it.
+     *
+     * @param cause     the cause of the error, if any
+     * @param partition the partition
+     * @param member    the name of the member the partition was dispatched to
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 24, value = "Partition %s dispatched to %s did not complete and is dispatched again.")
+    void partitionRedispatched(@Cause Throwable cause, String partition, String member);
+
+    /**
+     * Logs a warning message indicating the progress of a partition could not be reported to the member which
+     * dispatched it.
+     *
+     * @param cause       the cause of the error
+     * @param stepName    the name of the partitioned step
+     * @param coordinator the name of the member which dispatched the partition
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 25, value = "Failed to report a partition of step %s to %s.")
+    void failedToReportPartition(@Cause Throwable cause, String stepName, String coordinator);
+
+    /**
+     * Logs a warning message indicating a system property has an invalid value, which is replaced by its default value.
+     *
+     * @param value        the invalid value
+     * @param property     the name of the system property
+     * @param defaultValue the value used instead
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 26, value = "Invalid value '%s' for the %s system property, using %s instead.")
+    void invalidSystemPropertyValue(String value, String property, long defaultValue);
 }
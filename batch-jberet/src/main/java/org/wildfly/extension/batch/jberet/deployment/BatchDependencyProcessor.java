@@ -5,14 +5,26 @@
 
 package org.wildfly.extension.batch.jberet.deployment;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.jberet.spi.PartitionHandlerFactory;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.module.ModuleDependency;
 import org.jboss.as.server.deployment.module.ModuleSpecification;
+import org.jboss.modules.AbstractResourceLoader;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoader;
+import org.jboss.modules.Resource;
+import org.jboss.modules.ResourceLoaderSpec;
+import org.jboss.modules.filter.PathFilters;
+import org.wildfly.extension.batch.jberet.partition.factory.DistributedPartitionHandlerFactory;
 
 /**
  * Adds required batch dependencies to deployments.
@@ -26,5 +38,62 @@ public class BatchDependencyProcessor implements DeploymentUnitProcessor {
 
         moduleSpecification.addSystemDependency(ModuleDependency.Builder.of(moduleLoader, "jakarta.batch.api").build());
         moduleSpecification.addSystemDependency(ModuleDependency.Builder.of(moduleLoader, "org.jberet.jberet-core").setImportServices(true).build());
+        // Expose only the package of the partition handler factory, which JBeret loads from the deployment
+        final ModuleDependency partition = ModuleDependency.Builder.of(moduleLoader, "org.wildfly.extension.batch.jberet").build();
+        partition.addImportFilter(PathFilters.is(PartitionHandlerFactoryResourceLoader.PACKAGE_PATH), true);
+        partition.addImportFilter(PathFilters.acceptAll(), false);
+        moduleSpecification.addSystemDependency(partition);
+        // Importing the services of this module would expose its other providers, so only the provider configuration
+        // file of the partition handler factory is added to the deployment
+        moduleSpecification.addResourceLoader(ResourceLoaderSpec.createResourceLoaderSpec(new PartitionHandlerFactoryResourceLoader()));
+    }
+
+    /**
+     * Serves the provider configuration file of the {@link PartitionHandlerFactory} service, which is kept next to
+     * the factory rather than in the {@code META-INF/services} directory of this module.
+     */
+    static class PartitionHandlerFactoryResourceLoader extends AbstractResourceLoader {
+        static final String PACKAGE_PATH = DistributedPartitionHandlerFactory.class.getPackage().getName().replace('.', '/');
+        static final String SERVICES_PATH = "META-INF/services";
+        static final String RESOURCE_NAME = SERVICES_PATH + "/" + PartitionHandlerFactory.class.getName();
+
+        @Override
+        public String getRootName() {
+            return PACKAGE_PATH;
+        }
+
+        @Override
+        public Resource getResource(final String name) {
+            if (!RESOURCE_NAME.equals(name)) {
+                return null;
+            }
+            final URL url = DistributedPartitionHandlerFactory.class.getResource(PartitionHandlerFactory.class.getName());
+            return (url != null) ? new Resource() {
+                @Override
+                public String getName() {
+                    return RESOURCE_NAME;
+                }
+
+                @Override
+                public URL getURL() {
+                    return url;
+                }
+
+                @Override
+                public InputStream openStream() throws IOException {
+                    return url.openStream();
+                }
+
+                @Override
+                public long getSize() {
+                    return 0L;
+                }
+            } : null;
+        }
+
+        @Override
+        public Collection<String> getPaths() {
+            return Collections.singletonList(SERVICES_PATH);
+        }
     }
 }
@@ -5,6 +5,7 @@
 
 package org.wildfly.extension.batch.jberet.deployment;
 
+import java.util.Map;
 import java.util.Properties;
 import jakarta.batch.operations.JobExecutionAlreadyCompleteException;
 import jakarta.batch.operations.JobExecutionNotMostRecentException;
@@ -14,6 +15,9 @@ import jakarta.batch.operations.JobSecurityException;
 import jakarta.batch.operations.JobStartException;
 import jakarta.batch.operations.NoSuchJobExecutionException;
 
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectMapAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.SimpleAttributeDefinition;
@@ -23,13 +27,18 @@ import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.server.GroupMember;
 import org.wildfly.extension.batch.jberet.BatchResourceDescriptionResolver;
 import org.wildfly.extension.batch.jberet.BatchSubsystemDefinition;
+import org.wildfly.extension.batch.jberet.partition.DistributedBatchEnvironment;
+import org.wildfly.extension.batch.jberet.partition.PartitionDispatcher;
+import org.wildfly.extension.batch.jberet.partition.PartitionStatistics;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -52,6 +61,23 @@ public class BatchDeploymentResourceDefinition extends SimpleResourceDefinition
             .setStorageRuntime()
             .build();
 
+    private static final AttributeDefinition DISPATCHED = partitionMetric("dispatched");
+    private static final AttributeDefinition COMPLETED = partitionMetric("completed");
+    private static final AttributeDefinition FAILED = partitionMetric("failed");
+    private static final AttributeDefinition REDISPATCHED = partitionMetric("redispatched");
+    private static final AttributeDefinition EXECUTED = partitionMetric("executed");
+    private static final AttributeDefinition AVERAGE_EXECUTION_TIME = new SimpleAttributeDefinitionBuilder("average-execution-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    private static final AttributeDefinition PARTITION_STATISTICS = ObjectMapAttributeDefinition.Builder.of("partition-statistics",
+            ObjectTypeAttributeDefinition.Builder.of("member", DISPATCHED, COMPLETED, FAILED, REDISPATCHED, EXECUTED, AVERAGE_EXECUTION_TIME).build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
     private static final SimpleOperationDefinition START_JOB = new SimpleOperationDefinitionBuilder("start-job", DEFAULT_RESOLVER)
             .setParameters(JOB_XML_NAME, PROPERTIES)
             .setReplyType(ModelType.LONG)
@@ -133,5 +159,33 @@ public class BatchDeploymentResourceDefinition extends SimpleResourceDefinition
                 }
             }
         });
+        // not a metric, since its value is a complex structure
+        resourceRegistration.registerReadOnlyAttribute(PARTITION_STATISTICS, new JobOperationStepHandler(false) {
+            @Override
+            protected void execute(final OperationContext context, final ModelNode operation, final WildFlyJobOperator jobOperator) throws OperationFailedException {
+                final SecurityAwareBatchEnvironment batchEnvironment = jobOperator.getBatchEnvironment();
+                final PartitionDispatcher dispatcher = (batchEnvironment instanceof DistributedBatchEnvironment) ? ((DistributedBatchEnvironment) batchEnvironment).getPartitionDispatcher() : null;
+                if (dispatcher != null) {
+                    final ModelNode result = context.getResult().setEmptyObject();
+                    for (Map.Entry<GroupMember, PartitionStatistics> entry : dispatcher.getStatistics().entrySet()) {
+                        final PartitionStatistics statistics = entry.getValue();
+                        final ModelNode member = result.get(entry.getKey().getName());
+                        member.get(DISPATCHED.getName()).set(statistics.getDispatched());
+                        member.get(COMPLETED.getName()).set(statistics.getCompleted());
+                        member.get(FAILED.getName()).set(statistics.getFailed());
+                        member.get(REDISPATCHED.getName()).set(statistics.getRedispatched());
+                        member.get(EXECUTED.getName()).set(statistics.getExecuted());
+                        member.get(AVERAGE_EXECUTION_TIME.getName()).set(statistics.getAverageExecutionTime());
+                    }
+                }
+            }
+        });
+    }
+
+    private static AttributeDefinition partitionMetric(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setStorageRuntime()
+                .build();
     }
 }
@@ -40,6 +40,9 @@ import org.jboss.as.weld.WeldCapability;
 import org.jboss.modules.Module;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
+import org.wildfly.clustering.server.GroupMember;
+import org.wildfly.clustering.server.dispatcher.CommandDispatcherFactory;
+import org.wildfly.clustering.server.service.ClusteringServiceDescriptor;
 import org.wildfly.extension.batch.jberet.BatchConfiguration;
 import org.wildfly.extension.batch.jberet.BatchServiceNames;
 import org.wildfly.extension.batch.jberet._private.BatchLogger;
@@ -153,9 +156,12 @@ public class BatchEnvironmentProcessor implements DeploymentUnitProcessor {
             }
 
             final Supplier<RequestController> requestControllerSupplier = rcPresent ? serviceBuilder.requires(requestControllerServiceName(support)) : null;
+            // Partitions can only be distributed if the server provides a command dispatcher factory
+            final Supplier<CommandDispatcherFactory<GroupMember>> dispatcherFactorySupplier = support.hasCapability(ClusteringServiceDescriptor.DEFAULT_COMMAND_DISPATCHER_FACTORY)
+                    ? serviceBuilder.requires(support.getCapabilityServiceName(ClusteringServiceDescriptor.DEFAULT_COMMAND_DISPATCHER_FACTORY)) : null;
 
             // Install the batch environment service
-            final BatchEnvironmentService service = new BatchEnvironmentService(batchEnvironmentConsumer, artifactFactorySupplier, jobExecutorSupplier, requestControllerSupplier, jobRepositorySupplier, batchConfigurationSupplier, moduleClassLoader, jobXmlResolver, deploymentName, namespaceContextSelector);
+            final BatchEnvironmentService service = new BatchEnvironmentService(batchEnvironmentConsumer, artifactFactorySupplier, jobExecutorSupplier, requestControllerSupplier, jobRepositorySupplier, batchConfigurationSupplier, moduleClassLoader, jobXmlResolver, deploymentName, namespaceContextSelector, dispatcherFactorySupplier, batchEnvSN.getCanonicalName());
             serviceBuilder.setInstance(service);
             serviceBuilder.install();
 
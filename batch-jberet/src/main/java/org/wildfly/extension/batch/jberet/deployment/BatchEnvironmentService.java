@@ -23,8 +23,12 @@ import org.jboss.msc.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.clustering.server.GroupMember;
+import org.wildfly.clustering.server.dispatcher.CommandDispatcherFactory;
 import org.wildfly.extension.batch.jberet.BatchConfiguration;
 import org.wildfly.extension.batch.jberet._private.BatchLogger;
+import org.wildfly.extension.batch.jberet.partition.DistributedBatchEnvironment;
+import org.wildfly.extension.batch.jberet.partition.PartitionDispatcher;
 import org.wildfly.extension.requestcontroller.ControlPoint;
 import org.wildfly.extension.requestcontroller.RequestController;
 import org.wildfly.security.auth.server.SecurityDomain;
@@ -45,13 +49,16 @@ public class BatchEnvironmentService implements Service {
     private final Supplier<RequestController> requestControllerSupplier;
     private final Supplier<JobRepository> jobRepositorySupplier;
     private final Supplier<BatchConfiguration> batchConfigurationSupplier;
+    private final Supplier<CommandDispatcherFactory<GroupMember>> dispatcherFactorySupplier;
 
     private final ClassLoader classLoader;
     private final JobXmlResolver jobXmlResolver;
     private final String deploymentName;
     private final NamespaceContextSelector namespaceContextSelector;
+    private final String dispatcherName;
     private SecurityAwareBatchEnvironment batchEnvironment = null;
     private volatile ControlPoint controlPoint;
+    private volatile PartitionDispatcher partitionDispatcher;
 
     public BatchEnvironmentService(final Consumer<SecurityAwareBatchEnvironment> batchEnvironmentConsumer,
                                    final Supplier<WildFlyArtifactFactory> artifactFactorySupplier,
@@ -62,7 +69,9 @@ public class BatchEnvironmentService implements Service {
                                    final ClassLoader classLoader,
                                    final JobXmlResolver jobXmlResolver,
                                    final String deploymentName,
-                                   final NamespaceContextSelector namespaceContextSelector) {
+                                   final NamespaceContextSelector namespaceContextSelector,
+                                   final Supplier<CommandDispatcherFactory<GroupMember>> dispatcherFactorySupplier,
+                                   final String dispatcherName) {
         this.batchEnvironmentConsumer = batchEnvironmentConsumer;
         this.artifactFactorySupplier = artifactFactorySupplier;
         this.jobExecutorSupplier = jobExecutorSupplier;
@@ -73,6 +82,8 @@ public class BatchEnvironmentService implements Service {
         this.jobXmlResolver = jobXmlResolver;
         this.deploymentName = deploymentName;
         this.namespaceContextSelector = namespaceContextSelector;
+        this.dispatcherFactorySupplier = dispatcherFactorySupplier;
+        this.dispatcherName = dispatcherName;
     }
 
     @Override
@@ -101,6 +112,10 @@ public class BatchEnvironmentService implements Service {
         } else {
             controlPoint = null;
         }
+        if (dispatcherFactorySupplier != null) {
+            // Allow the partitions of jobs to be distributed to the other members of the cluster
+            partitionDispatcher = new PartitionDispatcher(dispatcherFactorySupplier.get(), dispatcherName, batchEnvironment);
+        }
         batchEnvironmentConsumer.accept(batchEnvironment);
     }
 
@@ -109,12 +124,16 @@ public class BatchEnvironmentService implements Service {
         batchEnvironmentConsumer.accept(null);
         BatchLogger.LOGGER.debugf("Removing batch environment; %s", classLoader);
         batchEnvironment = null;
+        if (partitionDispatcher != null) {
+            partitionDispatcher.close();
+            partitionDispatcher = null;
+        }
         if (controlPoint != null) {
             requestControllerSupplier.get().removeControlPoint(controlPoint);
         }
     }
 
-    private class WildFlyBatchEnvironment implements BatchEnvironment, SecurityAwareBatchEnvironment {
+    private class WildFlyBatchEnvironment implements BatchEnvironment, SecurityAwareBatchEnvironment, DistributedBatchEnvironment {
 
         private final WildFlyArtifactFactory artifactFactory;
         private final JobExecutor jobExecutor;
@@ -206,6 +225,11 @@ public class BatchEnvironmentService implements Service {
             return batchConfigurationSupplier.get().getSecurityDomain();
         }
 
+        @Override
+        public PartitionDispatcher getPartitionDispatcher() {
+            return partitionDispatcher;
+        }
+
         private ContextHandle createContextHandle() {
             final ClassLoader tccl = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
             // If the TCCL is null, use the deployments ModuleClassLoader
@@ -51,6 +51,13 @@ interface WildFlyJobOperator extends JobOperator {
      */
     List<Long> getJobExecutionsByJob(final String jobName);
 
+    /**
+     * Returns the batch environment of the deployment.
+     *
+     * @return the batch environment
+     */
+    SecurityAwareBatchEnvironment getBatchEnvironment();
+
     /**
      * Allows safe execution of a method catching any {@link NoSuchJobException} thrown. If the exception is thrown the
      * default value is returned, otherwise the value from the supplier is returned.
@@ -7,20 +7,30 @@ package org.wildfly.extension.batch.jberet.job.repository;
 
 import org.jberet.repository.JobRepository;
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.ServerService;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.wildfly.extension.batch.jberet.BatchResourceDescriptionResolver;
 import org.wildfly.extension.batch.jberet._private.Capabilities;
 
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 /**
  * Represents an in-memory job repository.
@@ -33,13 +43,21 @@ public class InMemoryJobRepositoryDefinition extends SimpleResourceDefinition {
     public static final String NAME = "in-memory-job-repository";
     public static final PathElement PATH = PathElement.pathElement(NAME);
 
-    public InMemoryJobRepositoryDefinition() {
+    private static final AttributeDefinition JOB_INSTANCE_COUNT = metric("job-instance-count", AttributeAccess.Flag.GAUGE_METRIC);
+    private static final AttributeDefinition JOB_EXECUTION_COUNT = metric("job-execution-count", AttributeAccess.Flag.GAUGE_METRIC);
+    private static final AttributeDefinition STEP_EXECUTION_COUNT = metric("step-execution-count", AttributeAccess.Flag.GAUGE_METRIC);
+    private static final AttributeDefinition PURGED_JOB_EXECUTION_COUNT = metric("purged-job-execution-count", AttributeAccess.Flag.COUNTER_METRIC);
+
+    private final boolean registerRuntimeOnly;
+
+    public InMemoryJobRepositoryDefinition(final boolean registerRuntimeOnly) {
         super(
                 new Parameters(PATH, BatchResourceDescriptionResolver.getResourceDescriptionResolver(NAME))
                         .setAddHandler(new InMemoryAddHandler())
                         .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
                         .setCapabilities(Capabilities.JOB_REPOSITORY_CAPABILITY)
         );
+        this.registerRuntimeOnly = registerRuntimeOnly;
     }
 
     @Override
@@ -47,6 +65,37 @@ public class InMemoryJobRepositoryDefinition extends SimpleResourceDefinition {
         super.registerAttributes(resourceRegistration);
         resourceRegistration.registerReadWriteAttribute(CommonAttributes.EXECUTION_RECORDS_LIMIT, null,
                 new ReloadRequiredWriteAttributeHandler(CommonAttributes.EXECUTION_RECORDS_LIMIT));
+        if (registerRuntimeOnly) {
+            resourceRegistration.registerMetric(JOB_INSTANCE_COUNT, new MetricHandler(IndexedInMemoryRepository::getJobInstanceCount));
+            resourceRegistration.registerMetric(JOB_EXECUTION_COUNT, new MetricHandler(IndexedInMemoryRepository::getJobExecutionCount));
+            resourceRegistration.registerMetric(STEP_EXECUTION_COUNT, new MetricHandler(IndexedInMemoryRepository::getStepExecutionCount));
+            resourceRegistration.registerMetric(PURGED_JOB_EXECUTION_COUNT, new MetricHandler(IndexedInMemoryRepository::getPurgedJobExecutionCount));
+        }
+    }
+
+    private static AttributeDefinition metric(final String name, final AttributeAccess.Flag type) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, type)
+                .build();
+    }
+
+    private static class MetricHandler extends AbstractRuntimeOnlyHandler {
+        private final ToLongFunction<IndexedInMemoryRepository> metric;
+
+        MetricHandler(final ToLongFunction<IndexedInMemoryRepository> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final ServiceName name = context.getCapabilityServiceName(Capabilities.JOB_REPOSITORY_CAPABILITY.getName(), context.getCurrentAddressValue(), JobRepository.class);
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(name);
+            final IndexedInMemoryRepository repository = (controller == null) ? null : ((InMemoryJobRepositoryService) controller.getService()).getRepository();
+            if (repository != null) {
+                context.getResult().set(metric.applyAsLong(repository));
+            }
+        }
     }
 
     private static class InMemoryAddHandler extends AbstractAddStepHandler {
@@ -62,7 +111,8 @@ public class InMemoryJobRepositoryDefinition extends SimpleResourceDefinition {
             final ServiceName inMemorySN = context.getCapabilityServiceName(Capabilities.JOB_REPOSITORY_CAPABILITY.getName(), name, JobRepository.class);
             final ServiceBuilder<?> sb = context.getCapabilityServiceTarget().addService(inMemorySN);
             final Consumer<JobRepository> jobRepositoryConsumer = sb.provides(inMemorySN);
-            sb.setInstance(new InMemoryJobRepositoryService(jobRepositoryConsumer, executionRecordsLimit));
+            final Supplier<ScheduledExecutorService> scheduledExecutor = sb.requires(ServerService.JBOSS_SERVER_SCHEDULED_EXECUTOR);
+            sb.setInstance(new InMemoryJobRepositoryService(jobRepositoryConsumer, executionRecordsLimit, scheduledExecutor));
             sb.install();
         }
     }
@@ -5,39 +5,102 @@
 
 package org.wildfly.extension.batch.jberet.job.repository;
 
-import org.jberet.repository.InMemoryRepository;
 import org.jberet.repository.JobRepository;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.extension.batch.jberet._private.BatchLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A service which provides an in-memory job repository.
+ * <p>
+ * If the {@value #MAX_AGE_PROPERTY} system property is set to a number of seconds, the job executions which finished
+ * longer ago are purged from the repository by the server scheduled executor, every {@value #PURGE_INTERVAL_PROPERTY}
+ * seconds or every 60 seconds by default.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
  */
 public class InMemoryJobRepositoryService extends JobRepositoryService implements Service<JobRepository> {
 
-    private volatile InMemoryRepository repository;
+    static final String MAX_AGE_PROPERTY = "org.wildfly.batch.in-memory-job-repository.max-age";
+    static final String PURGE_INTERVAL_PROPERTY = "org.wildfly.batch.in-memory-job-repository.purge-interval";
 
-    public InMemoryJobRepositoryService(final Consumer<JobRepository> jobRepositoryConsumer, final Integer executionRecordsLimit) {
+    private static final long DEFAULT_PURGE_INTERVAL = 60;
+
+    private final Supplier<ScheduledExecutorService> scheduledExecutor;
+    private volatile IndexedInMemoryRepository repository;
+    private volatile ScheduledFuture<?> purgeTask;
+
+    public InMemoryJobRepositoryService(final Consumer<JobRepository> jobRepositoryConsumer, final Integer executionRecordsLimit,
+                                        final Supplier<ScheduledExecutorService> scheduledExecutor) {
         super(jobRepositoryConsumer, executionRecordsLimit);
+        this.scheduledExecutor = scheduledExecutor;
     }
 
     @Override
     public void startJobRepository(final StartContext context) throws StartException {
-        repository = new InMemoryRepository();
+        final long maxAge = TimeUnit.SECONDS.toMillis(longProperty(MAX_AGE_PROPERTY, 0, 0));
+        final IndexedInMemoryRepository repository = new IndexedInMemoryRepository(maxAge > 0);
+        if (maxAge > 0) {
+            final long interval = longProperty(PURGE_INTERVAL_PROPERTY, DEFAULT_PURGE_INTERVAL, 1);
+            purgeTask = scheduledExecutor.get().scheduleWithFixedDelay(() -> {
+                final int purged = repository.purge(System.currentTimeMillis() - maxAge);
+                if (purged > 0) {
+                    BatchLogger.LOGGER.debugf("Purged %d job executions which finished more than %d ms ago", purged, maxAge);
+                }
+            }, interval, interval, TimeUnit.SECONDS);
+        }
+        this.repository = repository;
     }
 
     @Override
     public void stopJobRepository(final StopContext context) {
+        final ScheduledFuture<?> task = purgeTask;
+        if (task != null) {
+            task.cancel(false);
+            purgeTask = null;
+        }
         repository = null;
     }
 
+    /**
+     * Returns the value of a system property, or the default value if it is not set, not a number or lower than the
+     * minimum value.
+     */
+    static long longProperty(final String name, final long defaultValue, final long minimum) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final long result = Long.parseLong(value.trim());
+                if (result >= minimum) {
+                    return result;
+                }
+            } catch (NumberFormatException ignored) {
+            }
+            BatchLogger.LOGGER.invalidSystemPropertyValue(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Returns the repository, if the service is started.
+     *
+     * @return the repository or {@code null} if the service is not started
+     */
+    IndexedInMemoryRepository getRepository() {
+        return repository;
+    }
+
     @Override
     protected JobRepository getDelegate() {
         return repository;
@@ -0,0 +1,459 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.JobExecution;
+import jakarta.batch.runtime.JobInstance;
+import jakarta.batch.runtime.StepExecution;
+import jakarta.batch.runtime.context.JobContext;
+import jakarta.batch.runtime.context.StepContext;
+
+import org.jberet.job.model.Job;
+import org.jberet.repository.ApplicationAndJobName;
+import org.jberet.repository.InMemoryRepository;
+import org.jberet.repository.JobExecutionSelector;
+import org.jberet.repository.JobRepository;
+import org.jberet.runtime.AbstractStepExecution;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.JobInstanceImpl;
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.jberet.runtime.StepExecutionImpl;
+
+/**
+ * An in-memory job repository which indexes the job instances and job executions of each job, and which can purge the
+ * job executions which finished longer ago than a maximum age.
+ * <p>
+ * The records are kept by an {@link InMemoryRepository}, which looks up the job instances and job executions of a job
+ * by iterating over all the records. This repository answers these lookups from its indexes instead, so that they do
+ * not get slower as the records of other jobs accumulate.
+ * </p>
+ */
+class IndexedInMemoryRepository implements JobRepository {
+
+    private final InMemoryRepository delegate = new InMemoryRepository();
+    // Job instances and job executions of each job, latest first
+    private final Map<String, NavigableMap<Long, JobInstanceImpl>> jobInstances = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, JobExecutionImpl>> jobExecutions = new ConcurrentHashMap<>();
+    // Job executions of each job which were not seen finished yet
+    private final Map<String, Set<Long>> unfinishedJobExecutions = new ConcurrentHashMap<>();
+    // Finished job executions in the order they finished, or null if finished job executions are never purged
+    private final Queue<JobExecutionImpl> finishedJobExecutions;
+    private final AtomicLong stepExecutionCount = new AtomicLong();
+    private final AtomicLong purgedJobExecutionCount = new AtomicLong();
+
+    /**
+     * Creates an in-memory job repository.
+     *
+     * @param purging {@code true} if the finished job executions are going to be {@linkplain #purge(long) purged}
+     */
+    IndexedInMemoryRepository(final boolean purging) {
+        this.finishedJobExecutions = purging ? new ConcurrentLinkedQueue<>() : null;
+    }
+
+    /**
+     * Returns the number of job instances in this repository.
+     *
+     * @return the number of job instances
+     */
+    long getJobInstanceCount() {
+        long count = 0;
+        for (Map<Long, JobInstanceImpl> instances : jobInstances.values()) {
+            count += instances.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of job executions in this repository.
+     *
+     * @return the number of job executions
+     */
+    long getJobExecutionCount() {
+        long count = 0;
+        for (Map<Long, JobExecutionImpl> executions : jobExecutions.values()) {
+            count += executions.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of step executions of the job executions in this repository.
+     *
+     * @return the number of step executions
+     */
+    long getStepExecutionCount() {
+        return stepExecutionCount.get();
+    }
+
+    /**
+     * Returns the number of job executions purged from this repository since it was created.
+     *
+     * @return the number of purged job executions
+     */
+    long getPurgedJobExecutionCount() {
+        return purgedJobExecutionCount.get();
+    }
+
+    /**
+     * Removes the job executions which finished before the given time, along with the job instances which are left
+     * without job executions.
+     *
+     * @param time the time, in milliseconds since the epoch, before which the job executions finished
+     *
+     * @return the number of removed job executions
+     */
+    int purge(final long time) {
+        if (finishedJobExecutions == null) {
+            return 0;
+        }
+        final Set<Long> jobExecutionIds = new HashSet<>();
+        final List<JobInstanceImpl> instances = new ArrayList<>();
+        JobExecutionImpl jobExecution;
+        while ((jobExecution = finishedJobExecutions.peek()) != null && finishedBefore(jobExecution, time)) {
+            finishedJobExecutions.poll();
+            jobExecutionIds.add(jobExecution.getExecutionId());
+            instances.add(jobExecution.getJobInstance());
+        }
+        if (jobExecutionIds.isEmpty()) {
+            return 0;
+        }
+        final IndexingJobExecutionSelector selector = new IndexingJobExecutionSelector(new JobExecutionIdSelector(jobExecutionIds));
+        delegate.removeJobExecutions(selector);
+        for (JobInstanceImpl instance : instances) {
+            final NavigableMap<Long, JobExecutionImpl> executions = jobExecutions.get(instance.getJobName());
+            if (executions == null || instance.getJobExecutions().stream().noneMatch(e -> executions.containsKey(e.getExecutionId()))) {
+                removeJobInstance(instance.getInstanceId());
+            }
+        }
+        purgedJobExecutionCount.addAndGet(selector.removed);
+        return selector.removed;
+    }
+
+    @Override
+    public void addJob(final ApplicationAndJobName applicationAndJobName, final Job job) {
+        delegate.addJob(applicationAndJobName, job);
+    }
+
+    @Override
+    public void removeJob(final String jobId) {
+        delegate.removeJob(jobId);
+        jobInstances.remove(jobId);
+        unfinishedJobExecutions.remove(jobId);
+        final Map<Long, JobExecutionImpl> executions = jobExecutions.remove(jobId);
+        if (executions != null) {
+            for (JobExecutionImpl jobExecution : executions.values()) {
+                stepExecutionCount.addAndGet(-jobExecution.getStepExecutions().size());
+            }
+        }
+    }
+
+    @Override
+    public Job getJob(final ApplicationAndJobName applicationAndJobName) {
+        return delegate.getJob(applicationAndJobName);
+    }
+
+    @Override
+    public Set<String> getJobNames() {
+        return delegate.getJobNames();
+    }
+
+    @Override
+    public boolean jobExists(final String jobName) {
+        return delegate.jobExists(jobName);
+    }
+
+    @Override
+    public JobInstanceImpl createJobInstance(final Job job, final String applicationName, final ClassLoader classLoader) {
+        final JobInstanceImpl jobInstance = delegate.createJobInstance(job, applicationName, classLoader);
+        index(jobInstances, jobInstance.getJobName()).put(jobInstance.getInstanceId(), jobInstance);
+        return jobInstance;
+    }
+
+    @Override
+    public void removeJobInstance(final long jobInstanceId) {
+        final JobInstance jobInstance = delegate.getJobInstance(jobInstanceId);
+        delegate.removeJobInstance(jobInstanceId);
+        if (jobInstance != null) {
+            final Map<Long, JobInstanceImpl> instances = jobInstances.get(jobInstance.getJobName());
+            if (instances != null) {
+                instances.remove(jobInstanceId);
+            }
+        }
+    }
+
+    @Override
+    public JobInstance getJobInstance(final long jobInstanceId) {
+        return delegate.getJobInstance(jobInstanceId);
+    }
+
+    @Override
+    public List<JobInstance> getJobInstances(final String jobName) {
+        if ("*".equals(jobName)) {
+            return delegate.getJobInstances(jobName);
+        }
+        final Map<Long, JobInstanceImpl> instances = jobInstances.get(jobName);
+        return (instances == null) ? new ArrayList<>() : new ArrayList<>(instances.values());
+    }
+
+    @Override
+    public int getJobInstanceCount(final String jobName) {
+        final Map<Long, JobInstanceImpl> instances = jobInstances.get(jobName);
+        return (instances == null) ? 0 : instances.size();
+    }
+
+    @Override
+    public JobExecutionImpl createJobExecution(final JobInstanceImpl jobInstance, final Properties jobParameters) {
+        final JobExecutionImpl jobExecution = delegate.createJobExecution(jobInstance, jobParameters);
+        final String jobName = jobInstance.getJobName();
+        unfinishedJobExecutions.computeIfAbsent(jobName, key -> ConcurrentHashMap.newKeySet()).add(jobExecution.getExecutionId());
+        index(jobExecutions, jobName).put(jobExecution.getExecutionId(), jobExecution);
+        return jobExecution;
+    }
+
+    @Override
+    public JobExecution getJobExecution(final long jobExecutionId) {
+        return delegate.getJobExecution(jobExecutionId);
+    }
+
+    @Override
+    public List<JobExecution> getJobExecutions(final JobInstance jobInstance) {
+        return delegate.getJobExecutions(jobInstance);
+    }
+
+    @Override
+    public List<Long> getJobExecutionsByJob(final String jobName) {
+        return getJobExecutionsByJob(jobName, null);
+    }
+
+    @Override
+    public List<Long> getJobExecutionsByJob(final String jobName, final Integer limit) {
+        final NavigableMap<Long, JobExecutionImpl> executions = jobExecutions.get(jobName);
+        if (executions == null) {
+            return new ArrayList<>();
+        }
+        final List<Long> result = new ArrayList<>();
+        for (Long jobExecutionId : executions.keySet()) {
+            if (limit != null && result.size() >= limit) {
+                break;
+            }
+            result.add(jobExecutionId);
+        }
+        return result;
+    }
+
+    @Override
+    public void updateJobExecution(final JobExecutionImpl jobExecution, final boolean fullUpdate, final boolean saveJobParameters) {
+        delegate.updateJobExecution(jobExecution, fullUpdate, saveJobParameters);
+        if (isFinished(jobExecution.getBatchStatus())) {
+            final Set<Long> unfinished = unfinishedJobExecutions.get(jobExecution.getJobName());
+            if (unfinished != null && unfinished.remove(jobExecution.getExecutionId()) && finishedJobExecutions != null) {
+                finishedJobExecutions.add(jobExecution);
+            }
+        }
+    }
+
+    @Override
+    public void stopJobExecution(final JobExecutionImpl jobExecution) {
+        delegate.stopJobExecution(jobExecution);
+    }
+
+    @Override
+    public List<Long> getRunningExecutions(final String jobName) {
+        final List<Long> result = new ArrayList<>();
+        final Set<Long> unfinished = unfinishedJobExecutions.get(jobName);
+        final Map<Long, JobExecutionImpl> executions = jobExecutions.get(jobName);
+        if (unfinished != null && executions != null) {
+            for (Long jobExecutionId : unfinished) {
+                final JobExecutionImpl jobExecution = executions.get(jobExecutionId);
+                if (jobExecution != null) {
+                    final BatchStatus status = jobExecution.getBatchStatus();
+                    if (status == BatchStatus.STARTING || status == BatchStatus.STARTED) {
+                        result.add(jobExecutionId);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void removeJobExecutions(final JobExecutionSelector jobExecutionSelector) {
+        delegate.removeJobExecutions(new IndexingJobExecutionSelector(jobExecutionSelector));
+    }
+
+    @Override
+    public List<StepExecution> getStepExecutions(final long jobExecutionId, final ClassLoader classLoader) {
+        return delegate.getStepExecutions(jobExecutionId, classLoader);
+    }
+
+    @Override
+    public StepExecutionImpl createStepExecution(final String stepName) {
+        return delegate.createStepExecution(stepName);
+    }
+
+    @Override
+    public void addStepExecution(final JobExecutionImpl jobExecution, final StepExecutionImpl stepExecution) {
+        delegate.addStepExecution(jobExecution, stepExecution);
+        stepExecutionCount.incrementAndGet();
+    }
+
+    @Override
+    public void updateStepExecution(final StepExecution stepExecution) {
+        delegate.updateStepExecution(stepExecution);
+    }
+
+    @Override
+    public StepExecutionImpl findOriginalStepExecutionForRestart(final String stepName, final JobExecutionImpl jobExecutionToRestart, final ClassLoader classLoader) {
+        return delegate.findOriginalStepExecutionForRestart(stepName, jobExecutionToRestart, classLoader);
+    }
+
+    @Override
+    public int countStepStartTimes(final String stepName, final long jobInstanceId) {
+        return delegate.countStepStartTimes(stepName, jobInstanceId);
+    }
+
+    @Override
+    public void addPartitionExecution(final StepExecutionImpl enclosingStepExecution, final PartitionExecutionImpl partitionExecution) {
+        delegate.addPartitionExecution(enclosingStepExecution, partitionExecution);
+    }
+
+    @Override
+    public List<PartitionExecutionImpl> getPartitionExecutions(final long stepExecutionId, final StepExecutionImpl stepExecution, final boolean notCompletedOnly, final ClassLoader classLoader) {
+        return delegate.getPartitionExecutions(stepExecutionId, stepExecution, notCompletedOnly, classLoader);
+    }
+
+    @Override
+    public void savePersistentData(final JobExecution jobExecution, final AbstractStepExecution stepOrPartitionExecution) {
+        delegate.savePersistentData(jobExecution, stepOrPartitionExecution);
+    }
+
+    @Override
+    public int savePersistentDataIfNotStopping(final JobExecution jobExecution, final AbstractStepExecution abstractStepExecution) {
+        return delegate.savePersistentDataIfNotStopping(jobExecution, abstractStepExecution);
+    }
+
+    private void unindex(final JobExecution jobExecution) {
+        final String jobName = jobExecution.getJobName();
+        final Set<Long> unfinished = unfinishedJobExecutions.get(jobName);
+        if (unfinished != null) {
+            unfinished.remove(jobExecution.getExecutionId());
+        }
+        final Map<Long, JobExecutionImpl> executions = jobExecutions.get(jobName);
+        if (executions != null && executions.remove(jobExecution.getExecutionId()) != null) {
+            stepExecutionCount.addAndGet(-((JobExecutionImpl) jobExecution).getStepExecutions().size());
+        }
+    }
+
+    private static <T> NavigableMap<Long, T> index(final Map<String, NavigableMap<Long, T>> indexes, final String jobName) {
+        return indexes.computeIfAbsent(jobName, key -> new ConcurrentSkipListMap<Long, T>().descendingMap());
+    }
+
+    private static boolean isFinished(final BatchStatus status) {
+        return status == BatchStatus.COMPLETED || status == BatchStatus.FAILED || status == BatchStatus.STOPPED || status == BatchStatus.ABANDONED;
+    }
+
+    private static boolean finishedBefore(final JobExecution jobExecution, final long time) {
+        // An abandoned job execution may not have an end time
+        final Date endTime = jobExecution.getEndTime();
+        final Date finishTime = (endTime == null) ? jobExecution.getLastUpdatedTime() : endTime;
+        return finishTime == null || finishTime.getTime() < time;
+    }
+
+    /**
+     * Removes the selected job executions from the indexes.
+     */
+    private class IndexingJobExecutionSelector implements JobExecutionSelector {
+        private final JobExecutionSelector selector;
+        private int removed;
+
+        IndexingJobExecutionSelector(final JobExecutionSelector selector) {
+            this.selector = selector;
+        }
+
+        @Override
+        public boolean select(final JobExecution jobExecution, final Collection<Long> allJobExecutionIds) {
+            if (selector.select(jobExecution, allJobExecutionIds)) {
+                unindex(jobExecution);
+                removed++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public JobContext getJobContext() {
+            return selector.getJobContext();
+        }
+
+        @Override
+        public void setJobContext(final JobContext jobContext) {
+            selector.setJobContext(jobContext);
+        }
+
+        @Override
+        public StepContext getStepContext() {
+            return selector.getStepContext();
+        }
+
+        @Override
+        public void setStepContext(final StepContext stepContext) {
+            selector.setStepContext(stepContext);
+        }
+    }
+
+    /**
+     * Selects the job executions with the given ids.
+     */
+    private static class JobExecutionIdSelector implements JobExecutionSelector {
+        private final Set<Long> jobExecutionIds;
+        private JobContext jobContext;
+        private StepContext stepContext;
+
+        JobExecutionIdSelector(final Set<Long> jobExecutionIds) {
+            this.jobExecutionIds = jobExecutionIds;
+        }
+
+        @Override
+        public boolean select(final JobExecution jobExecution, final Collection<Long> allJobExecutionIds) {
+            return jobExecutionIds.contains(jobExecution.getExecutionId());
+        }
+
+        @Override
+        public JobContext getJobContext() {
+            return jobContext;
+        }
+
+        @Override
+        public void setJobContext(final JobContext jobContext) {
+            this.jobContext = jobContext;
+        }
+
+        @Override
+        public StepContext getStepContext() {
+            return stepContext;
+        }
+
+        @Override
+        public void setStepContext(final StepContext stepContext) {
+            this.stepContext = stepContext;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import java.io.Serializable;
+
+/**
+ * Hands the data of the partition collector of a remote partition to the coordinating member.
+ */
+class CollectPartitionDataCommand implements PartitionCommand {
+    private static final long serialVersionUID = 2295367165487470412L;
+
+    private final String id;
+    private final int attempt;
+    private final Serializable data;
+
+    CollectPartitionDataCommand(final String id, final int attempt, final Serializable data) {
+        this.id = id;
+        this.attempt = attempt;
+        this.data = data;
+    }
+
+    @Override
+    public Void execute(final PartitionDispatcher dispatcher) {
+        dispatcher.collect(id, attempt, data);
+        return null;
+    }
+}
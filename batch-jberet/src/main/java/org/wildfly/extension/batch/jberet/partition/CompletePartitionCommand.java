@@ -0,0 +1,31 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import org.jberet.runtime.PartitionExecutionImpl;
+
+/**
+ * Hands the final state of a remote partition to the coordinating member.
+ */
+class CompletePartitionCommand implements PartitionCommand {
+    private static final long serialVersionUID = -3306181577962524306L;
+
+    private final String id;
+    private final int attempt;
+    private final PartitionExecutionImpl partitionExecution;
+
+    CompletePartitionCommand(final String id, final int attempt, final PartitionExecutionImpl partitionExecution) {
+        this.id = id;
+        this.attempt = attempt;
+        this.partitionExecution = partitionExecution;
+    }
+
+    @Override
+    public Void execute(final PartitionDispatcher dispatcher) throws InterruptedException {
+        dispatcher.complete(id, attempt, partitionExecution);
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import org.jberet.spi.BatchEnvironment;
+
+/**
+ * A batch environment which can dispatch the partitions of its jobs to other members of a cluster.
+ */
+public interface DistributedBatchEnvironment extends BatchEnvironment {
+
+    /**
+     * Returns the dispatcher of the partitions of this environment or {@code null} if the server is not able to
+     * distribute partitions.
+     *
+     * @return the partition dispatcher or {@code null}
+     */
+    PartitionDispatcher getPartitionDispatcher();
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.jberet.runtime.context.StepContextImpl;
+import org.wildfly.clustering.server.GroupMember;
+
+/**
+ * A partition of a step as tracked by the member coordinating the step.
+ * <p>
+ * Each dispatch of the partition to a member is a new attempt. Only the current attempt may report collector data or
+ * complete the partition, so that an attempt which was abandoned, e.g. because its member left the cluster, cannot
+ * hand its results to the step next to those of the attempt which replaced it. The collector data of an attempt is
+ * held until the attempt completes, since a new attempt reports the data of the abandoned one again.
+ * </p>
+ */
+class DistributedPartition {
+
+    private final String id = UUID.randomUUID().toString();
+    private final DistributedPartitionHandler handler;
+    private final StepContextImpl partitionContext;
+    private final int currentIndex;
+    private final int numOfPartitions;
+    private final Set<GroupMember> excluded = ConcurrentHashMap.newKeySet();
+    private volatile GroupMember member;
+    private volatile long dispatchTime;
+    // Guarded by this
+    private int attempt;
+    private boolean completed;
+    private List<Serializable> collected = new ArrayList<>();
+
+    DistributedPartition(final DistributedPartitionHandler handler, final StepContextImpl partitionContext, final int currentIndex, final int numOfPartitions) {
+        this.handler = handler;
+        this.partitionContext = partitionContext;
+        this.currentIndex = currentIndex;
+        this.numOfPartitions = numOfPartitions;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    DistributedPartitionHandler getHandler() {
+        return handler;
+    }
+
+    StepContextImpl getPartitionContext() {
+        return partitionContext;
+    }
+
+    PartitionExecutionImpl getPartitionExecution() {
+        return (PartitionExecutionImpl) partitionContext.getStepExecution();
+    }
+
+    long getJobExecutionId() {
+        return partitionContext.getJobContext().getExecutionId();
+    }
+
+    /**
+     * Returns the members which could not run this partition.
+     *
+     * @return the excluded members
+     */
+    Set<GroupMember> getExcluded() {
+        return excluded;
+    }
+
+    GroupMember getMember() {
+        return member;
+    }
+
+    long getDispatchTime() {
+        return dispatchTime;
+    }
+
+    synchronized int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * Starts a new attempt of this partition on the specified member.
+     *
+     * @param member the member running the new attempt
+     * @return the id of the new attempt
+     */
+    synchronized int dispatched(final GroupMember member) {
+        this.member = member;
+        this.dispatchTime = System.nanoTime();
+        this.collected = new ArrayList<>();
+        return ++this.attempt;
+    }
+
+    /**
+     * Abandons the specified attempt, and excludes its member from the next attempts.
+     *
+     * @param attempt the id of an attempt
+     * @return true if the attempt was the current one, false if it completed or was already abandoned
+     */
+    synchronized boolean abandon(final int attempt) {
+        if (!isCurrent(attempt)) {
+            return false;
+        }
+        this.attempt++;
+        this.excluded.add(this.member);
+        return true;
+    }
+
+    /**
+     * Holds the collector data reported by the specified attempt until it completes.
+     *
+     * @param attempt the id of an attempt
+     * @param data    the collector data
+     * @return true if the data was held, false if the attempt is not the current one
+     */
+    synchronized boolean collect(final int attempt, final Serializable data) {
+        if (!isCurrent(attempt)) {
+            return false;
+        }
+        this.collected.add(data);
+        return true;
+    }
+
+    /**
+     * Completes the specified attempt.
+     *
+     * @param attempt the id of an attempt
+     * @return the collector data reported by the attempt, or null if the attempt is not the current one
+     */
+    synchronized List<Serializable> complete(final int attempt) {
+        if (!isCurrent(attempt)) {
+            return null;
+        }
+        this.completed = true;
+        return this.collected;
+    }
+
+    void submitLocally() throws Exception {
+        handler.submitLocally(partitionContext, currentIndex, numOfPartitions);
+    }
+
+    private boolean isCurrent(final int attempt) {
+        return !this.completed && (this.attempt == attempt);
+    }
+
+    @Override
+    public String toString() {
+        return partitionContext.getStepName() + "[" + getPartitionExecution().getPartitionId() + "]";
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import java.io.Serializable;
+import java.util.concurrent.BlockingQueue;
+
+import org.jberet.runtime.JobStopNotificationListener;
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.jberet.runtime.context.StepContextImpl;
+import org.jberet.spi.PartitionHandler;
+
+/**
+ * Handles the partitions of a step by dispatching each of them to a member of the cluster. Partitions which are
+ * dispatched to the local member, or which cannot be dispatched to any other member, run on the local handler.
+ */
+class DistributedPartitionHandler implements PartitionHandler, JobStopNotificationListener {
+
+    private final PartitionDispatcher dispatcher;
+    private final PartitionHandler localHandler;
+    private volatile BlockingQueue<Boolean> resourceTracker;
+    private volatile BlockingQueue<Serializable> collectorDataQueue;
+
+    DistributedPartitionHandler(final PartitionDispatcher dispatcher, final PartitionHandler localHandler) {
+        this.dispatcher = dispatcher;
+        this.localHandler = localHandler;
+    }
+
+    @Override
+    public void setResourceTracker(final BlockingQueue<Boolean> resourceTracker) {
+        this.resourceTracker = resourceTracker;
+        localHandler.setResourceTracker(resourceTracker);
+    }
+
+    @Override
+    public void setCollectorDataQueue(final BlockingQueue<Serializable> collectorDataQueue) {
+        this.collectorDataQueue = collectorDataQueue;
+        localHandler.setCollectorDataQueue(collectorDataQueue);
+    }
+
+    @Override
+    public void submitPartitionTask(final StepContextImpl partitionContext, final int currentIndex, final int numOfPartitions) throws Exception {
+        dispatcher.dispatch(new DistributedPartition(this, partitionContext, currentIndex, numOfPartitions));
+    }
+
+    @Override
+    public void stopRequested(final long jobExecutionId) {
+        dispatcher.stop(jobExecutionId);
+    }
+
+    void submitLocally(final StepContextImpl partitionContext, final int currentIndex, final int numOfPartitions) throws Exception {
+        localHandler.submitPartitionTask(partitionContext, currentIndex, numOfPartitions);
+    }
+
+    void collect(final Serializable data) throws InterruptedException {
+        collectorDataQueue.put(data);
+    }
+
+    void complete(final PartitionExecutionImpl partitionExecution) throws InterruptedException {
+        // Same order as the local partition worker: release the thread before handing the result to the step
+        final BlockingQueue<Boolean> resourceTracker = this.resourceTracker;
+        if (resourceTracker != null) {
+            resourceTracker.offer(Boolean.TRUE);
+        }
+        collectorDataQueue.put(partitionExecution);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import org.jberet.job.model.Step;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.wildfly.clustering.server.GroupMember;
+
+/**
+ * Runs a partition on the receiving member on behalf of the coordinating member.
+ */
+class ExecutePartitionCommand implements PartitionCommand {
+    private static final long serialVersionUID = 7712085541269384215L;
+
+    private final String id;
+    private final int attempt;
+    private final GroupMember coordinator;
+    private final PartitionExecutionImpl partitionExecution;
+    private final Step step;
+    private final JobExecutionImpl jobExecution;
+
+    ExecutePartitionCommand(final String id, final int attempt, final GroupMember coordinator, final PartitionExecutionImpl partitionExecution, final Step step, final JobExecutionImpl jobExecution) {
+        this.id = id;
+        this.attempt = attempt;
+        this.coordinator = coordinator;
+        this.partitionExecution = partitionExecution;
+        this.step = step;
+        this.jobExecution = jobExecution;
+    }
+
+    @Override
+    public Void execute(final PartitionDispatcher dispatcher) {
+        dispatcher.execute(id, attempt, coordinator, partitionExecution, step, jobExecution);
+        return null;
+    }
+}
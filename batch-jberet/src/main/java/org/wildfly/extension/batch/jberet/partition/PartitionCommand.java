@@ -0,0 +1,16 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import java.io.Serializable;
+
+import org.wildfly.clustering.server.dispatcher.Command;
+
+/**
+ * A command exchanged between the partition dispatchers of a deployment.
+ */
+interface PartitionCommand extends Command<Void, PartitionDispatcher, Exception>, Serializable {
+}
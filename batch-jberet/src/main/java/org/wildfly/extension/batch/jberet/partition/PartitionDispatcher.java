@@ -0,0 +1,273 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.batch.runtime.BatchStatus;
+
+import org.jberet.job.model.Chunk;
+import org.jberet.job.model.Step;
+import org.jberet.runtime.AbstractStepExecution;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.jberet.runtime.context.AbstractContext;
+import org.jberet.runtime.context.JobContextImpl;
+import org.jberet.runtime.context.StepContextImpl;
+import org.jberet.runtime.runner.BatchletRunner;
+import org.jberet.runtime.runner.ChunkRunner;
+import org.jberet.spi.BatchEnvironment;
+import org.jberet.spi.JobTask;
+import org.jberet.spi.PartitionHandler;
+import org.jberet.spi.PartitionWorker;
+import org.wildfly.clustering.server.Group;
+import org.wildfly.clustering.server.GroupMember;
+import org.wildfly.clustering.server.GroupMembershipEvent;
+import org.wildfly.clustering.server.GroupMembershipListener;
+import org.wildfly.clustering.server.GroupMembershipMergeEvent;
+import org.wildfly.clustering.server.Registration;
+import org.wildfly.clustering.server.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.server.dispatcher.CommandDispatcherFactory;
+import org.wildfly.extension.batch.jberet._private.BatchLogger;
+
+/**
+ * Dispatches the partitions of the distributed steps of a deployment to the members of the cluster which have the
+ * same deployment, and runs the partitions dispatched by those members.
+ * <p>
+ * Partitions are assigned to the members, including the local one, in a round-robin fashion. A remote partition reports
+ * its collector data and its final state back to the coordinating member, which hands them to the step as if the
+ * partition had run locally. If the selected member does not have the deployment, fails to run the partition or leaves
+ * the cluster before the partition completes, the partition is dispatched again to another member, or to the local
+ * executor if no other member is left. Such a partition restarts from the checkpoint it had when it was first
+ * dispatched, and the collector data and final state of the attempt it replaces are discarded.
+ * </p>
+ */
+public class PartitionDispatcher implements GroupMembershipListener<GroupMember>, AutoCloseable {
+
+    private final Group<GroupMember> group;
+    private final BatchEnvironment environment;
+    private final CommandDispatcher<GroupMember, PartitionDispatcher> dispatcher;
+    private final Registration registration;
+    // Partitions dispatched by this member to other members, keyed by partition id
+    private final Map<String, DistributedPartition> dispatched = new ConcurrentHashMap<>();
+    // Partitions run by this member on behalf of other members, keyed by partition id
+    private final Map<String, JobExecutionImpl> running = new ConcurrentHashMap<>();
+    private final Map<GroupMember, PartitionStatistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Creates a partition dispatcher for a deployment.
+     *
+     * @param dispatcherFactory the factory of the command dispatcher
+     * @param name              the name of the dispatcher, which must be the same on all members for the same deployment
+     * @param environment       the batch environment of the deployment
+     */
+    public PartitionDispatcher(final CommandDispatcherFactory<GroupMember> dispatcherFactory, final String name, final BatchEnvironment environment) {
+        this.group = dispatcherFactory.getGroup();
+        this.environment = environment;
+        this.dispatcher = dispatcherFactory.createCommandDispatcher(name, this, environment.getClassLoader());
+        this.registration = group.register(this);
+    }
+
+    /**
+     * Creates a handler which distributes the partitions of a step through this dispatcher.
+     *
+     * @param localHandler the handler of the partitions which run on this member
+     * @return a partition handler
+     */
+    public PartitionHandler createPartitionHandler(final PartitionHandler localHandler) {
+        return new DistributedPartitionHandler(this, localHandler);
+    }
+
+    /**
+     * Returns the partition statistics of each member this member exchanged partitions with.
+     *
+     * @return a map of statistics per member
+     */
+    public Map<GroupMember, PartitionStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    @Override
+    public void close() {
+        registration.close();
+        dispatcher.close();
+    }
+
+    void dispatch(final DistributedPartition partition) throws Exception {
+        final GroupMember localMember = group.getLocalMember();
+        final GroupMember member = select(partition.getExcluded());
+        final String id = partition.getId();
+        if (member == null || member.equals(localMember)) {
+            dispatched.remove(id);
+            partition.submitLocally();
+            return;
+        }
+        final int attempt = partition.dispatched(member);
+        dispatched.put(id, partition);
+        getStatistics(member).dispatched();
+        final StepContextImpl partitionContext = partition.getPartitionContext();
+        final PartitionCommand command = new ExecutePartitionCommand(id, attempt, localMember, partition.getPartitionExecution(),
+                partitionContext.getStep(), partitionContext.getJobContext().getJobExecution());
+        try {
+            dispatcher.dispatchToMember(command, member).whenComplete((result, exception) -> {
+                if (exception != null) {
+                    redispatch(partition, attempt, exception);
+                }
+            });
+        } catch (IOException e) {
+            redispatch(partition, attempt, e);
+        }
+    }
+
+    void stop(final long jobExecutionId) {
+        final Set<GroupMember> members = new HashSet<>();
+        for (DistributedPartition partition : dispatched.values()) {
+            if (partition.getJobExecutionId() == jobExecutionId) {
+                members.add(partition.getMember());
+            }
+        }
+        for (GroupMember member : members) {
+            try {
+                dispatcher.dispatchToMember(new StopPartitionsCommand(jobExecutionId), member);
+            } catch (IOException e) {
+                BatchLogger.LOGGER.debugf(e, "Failed to stop the partitions of job execution %d on %s", jobExecutionId, member.getName());
+            }
+        }
+    }
+
+    void execute(final String id, final int attempt, final GroupMember coordinator, final PartitionExecutionImpl partitionExecution, final Step step, final JobExecutionImpl jobExecution) {
+        final JobContextImpl jobContext = new JobContextImpl(jobExecution, null, environment.getArtifactFactory(), environment.getJobRepository(), environment);
+        final StepContextImpl stepContext = new StepContextImpl(step, partitionExecution, new AbstractContext[] {jobContext});
+        final PartitionWorker worker = new RemotePartitionWorker(this, id, attempt, coordinator);
+        final Chunk chunk = step.getChunk();
+        final JobTask task = (chunk == null) ? new BatchletRunner(stepContext, null, step.getBatchlet(), worker)
+                : new ChunkRunner(stepContext, null, chunk, environment.getTransactionManager(), worker);
+        running.put(id, jobExecution);
+        getStatistics(coordinator).executed();
+        environment.submitTask(task);
+    }
+
+    void executed(final String id) {
+        running.remove(id);
+    }
+
+    void stopPartitions(final long jobExecutionId) {
+        for (JobExecutionImpl jobExecution : running.values()) {
+            if (jobExecution.getExecutionId() == jobExecutionId) {
+                jobExecution.stop();
+            }
+        }
+    }
+
+    void report(final GroupMember coordinator, final PartitionCommand command, final AbstractStepExecution partitionExecution) {
+        try {
+            // Wait for the coordinator so that collector data is handed to the step before the partition completes
+            dispatcher.dispatchToMember(command, coordinator).toCompletableFuture().join();
+        } catch (IOException | CancellationException | CompletionException e) {
+            BatchLogger.LOGGER.failedToReportPartition(unwrap(e), partitionExecution.getStepName(), coordinator.getName());
+        }
+    }
+
+    void collect(final String id, final int attempt, final Serializable data) {
+        final DistributedPartition partition = dispatched.get(id);
+        // Ignore attempts which were abandoned in the meantime
+        if (partition == null || !partition.collect(attempt, data)) {
+            BatchLogger.LOGGER.debugf("Discarding collector data of abandoned attempt %d of partition %s", attempt, id);
+        }
+    }
+
+    void complete(final String id, final int attempt, final PartitionExecutionImpl partitionExecution) throws InterruptedException {
+        final DistributedPartition partition = dispatched.get(id);
+        // Ignore attempts which were abandoned in the meantime
+        final List<Serializable> collected = (partition != null) ? partition.complete(attempt) : null;
+        if (collected == null) {
+            BatchLogger.LOGGER.debugf("Discarding completion of abandoned attempt %d of partition %s", attempt, id);
+            return;
+        }
+        dispatched.remove(id);
+        getStatistics(partition.getMember()).completed(System.nanoTime() - partition.getDispatchTime(), partitionExecution.getBatchStatus() == BatchStatus.FAILED);
+        final DistributedPartitionHandler handler = partition.getHandler();
+        for (Serializable data : collected) {
+            handler.collect(data);
+        }
+        handler.complete(partitionExecution);
+    }
+
+    @Override
+    public void updated(final GroupMembershipEvent<GroupMember> event) {
+        final Set<GroupMember> leavers = event.getLeavers();
+        if (!leavers.isEmpty()) {
+            for (DistributedPartition partition : dispatched.values()) {
+                if (leavers.contains(partition.getMember())) {
+                    redispatch(partition, partition.getAttempt(), null);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void merged(final GroupMembershipMergeEvent<GroupMember> event) {
+        updated(event);
+    }
+
+    private void redispatch(final DistributedPartition partition, final int attempt, final Throwable exception) {
+        // Ignore attempts which completed or were abandoned in the meantime
+        if (!partition.abandon(attempt)) {
+            return;
+        }
+        final GroupMember member = partition.getMember();
+        final Throwable cause = unwrap(exception);
+        if (cause instanceof CancellationException) {
+            // The member does not have the deployment
+            BatchLogger.LOGGER.debugf("Deployment of partition %s is not available on %s", partition, member.getName());
+        } else {
+            getStatistics(member).redispatched();
+            BatchLogger.LOGGER.partitionRedispatched(cause, partition.toString(), member.getName());
+        }
+        try {
+            dispatch(partition);
+        } catch (Exception e) {
+            dispatched.remove(partition.getId());
+            fail(partition, e);
+        }
+    }
+
+    private void fail(final DistributedPartition partition, final Exception exception) {
+        final PartitionExecutionImpl partitionExecution = partition.getPartitionExecution();
+        partitionExecution.setException(exception);
+        partitionExecution.setBatchStatus(BatchStatus.FAILED);
+        try {
+            partition.getHandler().complete(partitionExecution);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private GroupMember select(final Set<GroupMember> excluded) {
+        final List<GroupMember> members = new ArrayList<>(group.getMembership().getMembers());
+        members.removeAll(excluded);
+        return members.isEmpty() ? null : members.get(Math.floorMod(next.getAndIncrement(), members.size()));
+    }
+
+    private PartitionStatistics getStatistics(final GroupMember member) {
+        return statistics.computeIfAbsent(member, key -> new PartitionStatistics());
+    }
+
+    private static Throwable unwrap(final Throwable exception) {
+        return (exception instanceof CompletionException && exception.getCause() != null) ? exception.getCause() : exception;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of the partitions exchanged with a single member of the cluster.
+ */
+public class PartitionStatistics {
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder redispatched = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    void dispatched() {
+        dispatched.increment();
+    }
+
+    void completed(final long nanos, final boolean failed) {
+        completed.increment();
+        if (failed) {
+            this.failed.increment();
+        }
+        totalNanos.add(nanos);
+    }
+
+    void redispatched() {
+        redispatched.increment();
+    }
+
+    void executed() {
+        executed.increment();
+    }
+
+    /**
+     * Returns the number of partitions dispatched to the member.
+     *
+     * @return the number of dispatched partitions
+     */
+    public long getDispatched() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Returns the number of partitions the member completed, including the failed ones.
+     *
+     * @return the number of completed partitions
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Returns the number of partitions the member completed with a {@code FAILED} status.
+     *
+     * @return the number of failed partitions
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of partitions which had to be dispatched again, to another member or to the local executor,
+     * because the member left the cluster or could not run them.
+     *
+     * @return the number of re-dispatched partitions
+     */
+    public long getRedispatched() {
+        return redispatched.sum();
+    }
+
+    /**
+     * Returns the number of partitions this member ran on behalf of the member.
+     *
+     * @return the number of executed partitions
+     */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /**
+     * Returns the average time, in milliseconds, from the dispatch of a partition to the member until its completion.
+     *
+     * @return the average execution time in milliseconds
+     */
+    public long getAverageExecutionTime() {
+        final long completed = this.completed.sum();
+        return (completed > 0) ? TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / completed) : 0;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import java.io.Serializable;
+
+import org.jberet.runtime.AbstractStepExecution;
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.jberet.spi.PartitionWorker;
+import org.wildfly.clustering.server.GroupMember;
+
+/**
+ * Reports the progress of a partition run on behalf of another member back to that member.
+ */
+class RemotePartitionWorker implements PartitionWorker {
+
+    private final PartitionDispatcher dispatcher;
+    private final String id;
+    private final int attempt;
+    private final GroupMember coordinator;
+
+    RemotePartitionWorker(final PartitionDispatcher dispatcher, final String id, final int attempt, final GroupMember coordinator) {
+        this.dispatcher = dispatcher;
+        this.id = id;
+        this.attempt = attempt;
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    public void reportData(final Serializable data, final AbstractStepExecution partitionExecution) {
+        dispatcher.report(coordinator, new CollectPartitionDataCommand(id, attempt, data), partitionExecution);
+    }
+
+    @Override
+    public void partitionDone(final AbstractStepExecution partitionExecution) {
+        dispatcher.executed(id);
+        dispatcher.report(coordinator, new CompletePartitionCommand(id, attempt, (PartitionExecutionImpl) partitionExecution), partitionExecution);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+/**
+ * Requests the receiving member to stop the partitions it runs for a job execution.
+ */
+class StopPartitionsCommand implements PartitionCommand {
+    private static final long serialVersionUID = -1893337606870446254L;
+
+    private final long jobExecutionId;
+
+    StopPartitionsCommand(final long jobExecutionId) {
+        this.jobExecutionId = jobExecutionId;
+    }
+
+    @Override
+    public Void execute(final PartitionDispatcher dispatcher) {
+        dispatcher.stopPartitions(jobExecutionId);
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition.factory;
+
+import org.jberet.runtime.context.StepContextImpl;
+import org.jberet.runtime.runner.StepExecutionRunner;
+import org.jberet.runtime.runner.ThreadPartitionHandler;
+import org.jberet.spi.BatchEnvironment;
+import org.jberet.spi.PartitionHandler;
+import org.jberet.spi.PartitionHandlerFactory;
+import org.wildfly.extension.batch.jberet.partition.DistributedBatchEnvironment;
+import org.wildfly.extension.batch.jberet.partition.PartitionDispatcher;
+
+/**
+ * Creates the handlers of the partitions of a step.
+ * <p>
+ * The partitions of a step run on the thread pool of the local job executor unless the step, or its job, sets the
+ * {@value #DISTRIBUTED} property to {@code true} and the deployment runs in a cluster. Distributed partitions are
+ * dispatched to the members of the cluster which have the same deployment.
+ * </p>
+ * <p>
+ * This factory is found by JBeret through the {@link java.util.ServiceLoader} of the deployment. It is the only class
+ * of this package, which is the only package of this module visible to deployments.
+ * </p>
+ */
+public class DistributedPartitionHandlerFactory implements PartitionHandlerFactory {
+
+    /**
+     * The step or job property which enables the distribution of the partitions of a step.
+     */
+    public static final String DISTRIBUTED = "org.wildfly.batch.partition.distributed";
+
+    @Override
+    public PartitionHandler createPartitionHandler(final StepContextImpl stepContext, final StepExecutionRunner stepExecutionRunner) {
+        final PartitionHandler localHandler = new ThreadPartitionHandler(stepExecutionRunner);
+        final BatchEnvironment environment = stepContext.getJobContext().getBatchEnvironment();
+        if (environment instanceof DistributedBatchEnvironment && isDistributed(stepContext)) {
+            final PartitionDispatcher dispatcher = ((DistributedBatchEnvironment) environment).getPartitionDispatcher();
+            if (dispatcher != null) {
+                return dispatcher.createPartitionHandler(localHandler);
+            }
+        }
+        return localHandler;
+    }
+
+    private static boolean isDistributed(final StepContextImpl stepContext) {
+        String value = stepContext.getProperties().getProperty(DISTRIBUTED);
+        if (value == null) {
+            value = stepContext.getJobContext().getProperties().getProperty(DISTRIBUTED);
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
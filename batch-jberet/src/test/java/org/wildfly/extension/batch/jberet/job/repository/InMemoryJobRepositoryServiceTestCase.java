@@ -0,0 +1,46 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for the system properties of {@link InMemoryJobRepositoryService}.
+ */
+public class InMemoryJobRepositoryServiceTestCase {
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(InMemoryJobRepositoryService.MAX_AGE_PROPERTY);
+        System.clearProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY);
+    }
+
+    @Test
+    public void testProperties() {
+        assertEquals(0, InMemoryJobRepositoryService.longProperty(InMemoryJobRepositoryService.MAX_AGE_PROPERTY, 0, 0));
+        assertEquals(60, InMemoryJobRepositoryService.longProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY, 60, 1));
+
+        System.setProperty(InMemoryJobRepositoryService.MAX_AGE_PROPERTY, " 3600 ");
+        System.setProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY, "30");
+        assertEquals(3600, InMemoryJobRepositoryService.longProperty(InMemoryJobRepositoryService.MAX_AGE_PROPERTY, 0, 0));
+        assertEquals(30, InMemoryJobRepositoryService.longProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY, 60, 1));
+    }
+
+    @Test
+    public void testInvalidProperties() {
+        System.setProperty(InMemoryJobRepositoryService.MAX_AGE_PROPERTY, "1h");
+        System.setProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY, "0");
+        assertEquals(0, InMemoryJobRepositoryService.longProperty(InMemoryJobRepositoryService.MAX_AGE_PROPERTY, 0, 0));
+        // a fixed delay must be positive
+        assertEquals(60, InMemoryJobRepositoryService.longProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY, 60, 1));
+
+        System.setProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY, "-5");
+        assertEquals(60, InMemoryJobRepositoryService.longProperty(InMemoryJobRepositoryService.PURGE_INTERVAL_PROPERTY, 60, 1));
+    }
+}
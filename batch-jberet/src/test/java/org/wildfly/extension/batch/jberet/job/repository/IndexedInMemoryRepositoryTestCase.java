@@ -0,0 +1,90 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.Properties;
+import jakarta.batch.runtime.BatchStatus;
+
+import org.jberet.job.model.Job;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.JobInstanceImpl;
+import org.jberet.runtime.StepExecutionImpl;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link IndexedInMemoryRepository}.
+ */
+public class IndexedInMemoryRepositoryTestCase {
+
+    @Test
+    public void testIndexes() {
+        IndexedInMemoryRepository repository = new IndexedInMemoryRepository(false);
+        JobExecutionImpl first = start(repository, "job1");
+        JobExecutionImpl second = start(repository, "job1");
+        JobExecutionImpl other = start(repository, "job2");
+
+        assertEquals(List.of(second.getExecutionId(), first.getExecutionId()), repository.getJobExecutionsByJob("job1"));
+        assertEquals(List.of(second.getExecutionId()), repository.getJobExecutionsByJob("job1", 1));
+        assertEquals(List.of(other.getExecutionId()), repository.getJobExecutionsByJob("job2"));
+        assertEquals(List.of(), repository.getJobExecutionsByJob("job3"));
+        assertEquals(2, repository.getJobInstanceCount("job1"));
+        assertEquals(2, repository.getJobInstances("job1").size());
+        assertEquals(3, repository.getJobInstances("*").size());
+
+        assertEquals(2, repository.getRunningExecutions("job1").size());
+        finish(repository, first, BatchStatus.COMPLETED);
+        assertEquals(List.of(second.getExecutionId()), repository.getRunningExecutions("job1"));
+
+        assertEquals(3, repository.getJobInstanceCount());
+        assertEquals(3, repository.getJobExecutionCount());
+        assertEquals(3, repository.getStepExecutionCount());
+
+        repository.removeJob("job1");
+        assertEquals(List.of(), repository.getJobExecutionsByJob("job1"));
+        assertEquals(1, repository.getJobInstanceCount());
+        assertEquals(1, repository.getJobExecutionCount());
+        assertEquals(1, repository.getStepExecutionCount());
+    }
+
+    @Test
+    public void testPurge() throws InterruptedException {
+        IndexedInMemoryRepository repository = new IndexedInMemoryRepository(true);
+        JobExecutionImpl finished = start(repository, "job1");
+        JobExecutionImpl running = start(repository, "job1");
+        finish(repository, finished, BatchStatus.FAILED);
+
+        Thread.sleep(10);
+        assertEquals(0, repository.purge(finished.getEndTime().getTime()));
+        assertEquals(1, repository.purge(System.currentTimeMillis()));
+        assertEquals(0, repository.purge(System.currentTimeMillis()));
+
+        assertNull(repository.getJobExecution(finished.getExecutionId()));
+        assertNull(repository.getJobInstance(finished.getJobInstance().getInstanceId()));
+        assertEquals(List.of(running.getExecutionId()), repository.getJobExecutionsByJob("job1"));
+        assertEquals(1, repository.getJobInstanceCount());
+        assertEquals(1, repository.getJobExecutionCount());
+        assertEquals(1, repository.getStepExecutionCount());
+        assertEquals(1, repository.getPurgedJobExecutionCount());
+    }
+
+    private static JobExecutionImpl start(IndexedInMemoryRepository repository, String jobName) {
+        JobInstanceImpl jobInstance = repository.createJobInstance(new Job(jobName), "app", IndexedInMemoryRepositoryTestCase.class.getClassLoader());
+        JobExecutionImpl jobExecution = repository.createJobExecution(jobInstance, new Properties());
+        jobExecution.setBatchStatus(BatchStatus.STARTED);
+        StepExecutionImpl stepExecution = repository.createStepExecution("step1");
+        repository.addStepExecution(jobExecution, stepExecution);
+        return jobExecution;
+    }
+
+    private static void finish(IndexedInMemoryRepository repository, JobExecutionImpl jobExecution, BatchStatus status) {
+        jobExecution.setBatchStatus(status);
+        repository.updateJobExecution(jobExecution, false, false);
+    }
+}
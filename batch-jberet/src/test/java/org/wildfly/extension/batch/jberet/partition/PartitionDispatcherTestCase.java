@@ -0,0 +1,219 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.batch.jberet.partition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import jakarta.batch.runtime.BatchStatus;
+
+import org.jberet.job.model.Job;
+import org.jberet.job.model.Step;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.JobInstanceImpl;
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.jberet.runtime.context.AbstractContext;
+import org.jberet.runtime.context.JobContextImpl;
+import org.jberet.runtime.context.StepContextImpl;
+import org.jberet.spi.BatchEnvironment;
+import org.jberet.spi.PartitionHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.server.Group;
+import org.wildfly.clustering.server.GroupMember;
+import org.wildfly.clustering.server.GroupMembership;
+import org.wildfly.clustering.server.GroupMembershipEvent;
+import org.wildfly.clustering.server.GroupMembershipListener;
+import org.wildfly.clustering.server.Registration;
+import org.wildfly.clustering.server.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.server.dispatcher.CommandDispatcherFactory;
+
+/**
+ * Unit test for {@link PartitionDispatcher}.
+ */
+public class PartitionDispatcherTestCase {
+
+    private final GroupMember local = member("local");
+    private final GroupMember memberA = member("a");
+    private final GroupMember memberB = member("b");
+    private final BatchEnvironment environment = mock(BatchEnvironment.class);
+    // Partitions submitted to the local executor
+    private final List<StepContextImpl> submitted = new CopyOnWriteArrayList<>();
+    // Execute commands sent to each member
+    private final Map<GroupMember, List<Object>> executed = new ConcurrentHashMap<>();
+    private final BlockingQueue<Serializable> collectorDataQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Boolean> resourceTracker = new LinkedBlockingQueue<>();
+    private volatile List<GroupMember> members;
+    private volatile GroupMembershipListener<GroupMember> listener;
+    private PartitionDispatcher dispatcher;
+    private DistributedPartitionHandler handler;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Before
+    public void init() throws Exception {
+        when(this.environment.getClassLoader()).thenReturn(PartitionDispatcherTestCase.class.getClassLoader());
+        GroupMembership<GroupMember> membership = mock(GroupMembership.class);
+        when(membership.getMembers()).thenAnswer(invocation -> this.members);
+        Group<GroupMember> group = mock(Group.class);
+        when(group.getLocalMember()).thenReturn(this.local);
+        when(group.getMembership()).thenReturn(membership);
+        when(group.register(any())).thenAnswer(invocation -> {
+            this.listener = invocation.getArgument(0);
+            return (Registration) () -> this.listener = null;
+        });
+        CommandDispatcher<GroupMember, PartitionDispatcher> commandDispatcher = mock(CommandDispatcher.class);
+        when(commandDispatcher.dispatchToMember(any(), any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof ExecutePartitionCommand) {
+                this.executed.computeIfAbsent(invocation.getArgument(1), key -> new CopyOnWriteArrayList<>()).add(invocation.getArgument(0));
+            }
+            return new CompletableFuture<>();
+        });
+        CommandDispatcherFactory<GroupMember> dispatcherFactory = mock(CommandDispatcherFactory.class);
+        when(dispatcherFactory.getGroup()).thenReturn(group);
+        when(dispatcherFactory.createCommandDispatcher(any(), any(), any())).thenReturn((CommandDispatcher) commandDispatcher);
+        PartitionHandler localHandler = mock(PartitionHandler.class);
+        doAnswer(invocation -> this.submitted.add(invocation.getArgument(0))).when(localHandler).submitPartitionTask(any(), anyInt(), anyInt());
+        this.dispatcher = new PartitionDispatcher(dispatcherFactory, "test", this.environment);
+        this.handler = (DistributedPartitionHandler) this.dispatcher.createPartitionHandler(localHandler);
+        this.handler.setCollectorDataQueue(this.collectorDataQueue);
+        this.handler.setResourceTracker(this.resourceTracker);
+    }
+
+    @Test
+    public void testAssignment() throws Exception {
+        this.members = List.of(this.local, this.memberA, this.memberB);
+        for (int i = 0; i < 6; ++i) {
+            this.dispatcher.dispatch(createPartition(i, 6));
+        }
+        // Round-robin over all members, including the local one
+        assertEquals(2, this.submitted.size());
+        assertEquals(2, this.executed.get(this.memberA).size());
+        assertEquals(2, this.executed.get(this.memberB).size());
+        assertEquals(2L, this.dispatcher.getStatistics().get(this.memberA).getDispatched());
+        assertEquals(2L, this.dispatcher.getStatistics().get(this.memberB).getDispatched());
+    }
+
+    @Test
+    public void testCollectorData() throws Exception {
+        this.members = List.of(this.memberA, this.local);
+        DistributedPartition partition = createPartition(0, 1);
+        this.dispatcher.dispatch(partition);
+        assertEquals(1, this.executed.get(this.memberA).size());
+        int attempt = partition.getAttempt();
+
+        this.dispatcher.collect(partition.getId(), attempt, "first");
+        this.dispatcher.collect(partition.getId(), attempt, "second");
+        // Collector data is held until its attempt completes
+        assertTrue(this.collectorDataQueue.isEmpty());
+
+        PartitionExecutionImpl partitionExecution = partition.getPartitionExecution();
+        partitionExecution.setBatchStatus(BatchStatus.COMPLETED);
+        this.dispatcher.complete(partition.getId(), attempt, partitionExecution);
+        assertEquals(List.of("first", "second", partitionExecution), drain());
+        assertEquals(List.of(Boolean.TRUE), new ArrayList<>(this.resourceTracker));
+        assertEquals(1L, this.dispatcher.getStatistics().get(this.memberA).getCompleted());
+
+        // A duplicate completion is ignored
+        this.dispatcher.collect(partition.getId(), attempt, "third");
+        this.dispatcher.complete(partition.getId(), attempt, partitionExecution);
+        assertTrue(this.collectorDataQueue.isEmpty());
+        assertEquals(1L, this.dispatcher.getStatistics().get(this.memberA).getCompleted());
+    }
+
+    @Test
+    public void testRedispatchToRemainingMember() throws Exception {
+        this.members = List.of(this.memberA, this.local, this.memberB);
+        DistributedPartition partition = createPartition(0, 1);
+        this.dispatcher.dispatch(partition);
+        assertEquals(1, this.executed.get(this.memberA).size());
+        int abandoned = partition.getAttempt();
+        this.dispatcher.collect(partition.getId(), abandoned, "abandoned");
+
+        this.members = List.of(this.local, this.memberB);
+        this.listener.updated(leave(this.memberA));
+        assertEquals(1, this.executed.get(this.memberB).size());
+        assertTrue(this.submitted.isEmpty());
+        assertEquals(1L, this.dispatcher.getStatistics().get(this.memberA).getRedispatched());
+        int attempt = partition.getAttempt();
+        assertTrue(attempt != abandoned);
+
+        // The abandoned attempt may still report from the other side of a split
+        PartitionExecutionImpl partitionExecution = partition.getPartitionExecution();
+        this.dispatcher.collect(partition.getId(), abandoned, "late");
+        this.dispatcher.complete(partition.getId(), abandoned, partitionExecution);
+        assertTrue(this.collectorDataQueue.isEmpty());
+
+        this.dispatcher.collect(partition.getId(), attempt, "current");
+        this.dispatcher.complete(partition.getId(), attempt, partitionExecution);
+        assertEquals(List.of("current", partitionExecution), drain());
+
+        // A completed partition is not dispatched again
+        this.members = List.of(this.local);
+        this.listener.updated(leave(this.memberB));
+        assertEquals(1, this.executed.get(this.memberB).size());
+        assertTrue(this.submitted.isEmpty());
+    }
+
+    @Test
+    public void testRedispatchLocally() throws Exception {
+        this.members = List.of(this.memberA, this.local);
+        DistributedPartition partition = createPartition(0, 1);
+        this.dispatcher.dispatch(partition);
+        int abandoned = partition.getAttempt();
+
+        this.members = List.of(this.local);
+        this.listener.updated(leave(this.memberA));
+        assertEquals(List.of(partition.getPartitionContext()), this.submitted);
+
+        this.dispatcher.collect(partition.getId(), abandoned, "late");
+        this.dispatcher.complete(partition.getId(), abandoned, partition.getPartitionExecution());
+        assertTrue(this.collectorDataQueue.isEmpty());
+    }
+
+    private DistributedPartition createPartition(final int index, final int count) throws Exception {
+        JobExecutionImpl jobExecution = new JobExecutionImpl(new JobInstanceImpl(new Job("job"), "test", "job"), new Properties());
+        JobContextImpl jobContext = new JobContextImpl(jobExecution, null, null, null, this.environment);
+        PartitionExecutionImpl partitionExecution = new PartitionExecutionImpl(index, 1L, "step", BatchStatus.STARTED, null, null, null, null);
+        StepContextImpl partitionContext = new StepContextImpl(new Step("step"), partitionExecution, new AbstractContext[] { jobContext });
+        return new DistributedPartition(this.handler, partitionContext, index, count);
+    }
+
+    private List<Serializable> drain() {
+        List<Serializable> result = new ArrayList<>();
+        this.collectorDataQueue.drainTo(result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GroupMembershipEvent<GroupMember> leave(final GroupMember member) {
+        GroupMembershipEvent<GroupMember> event = mock(GroupMembershipEvent.class);
+        when(event.getLeavers()).thenReturn(Set.of(member));
+        return event;
+    }
+
+    private static GroupMember member(final String name) {
+        // the mock is named after the member, for its toString()
+        GroupMember member = mock(GroupMember.class, name);
+        when(member.getName()).thenReturn(name);
+        return member;
+    }
+}
@@ -169,4 +169,8 @@ public interface JGroupsLogger extends BasicLogger {
 
     @Message(id = 36, value = "Unable to load module %s for protocol %s")
     OperationFailedException unableToLoadProtocolModule(String moduleName, String protocolName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 37, value = "Failed to read metric %s of protocol %s")
+    void failedToReadProtocolMetric(@Cause Throwable cause, String metric, String protocol);
 }
@@ -223,6 +223,7 @@ public class ChannelResourceDefinitionRegistrar extends AbstractChannelResourceD
 
         if (context.isRuntimeOnlyRegistrationValid()) {
             new MetricOperationStepHandler<>(new ChannelMetricExecutor(this.channelRegistry), ChannelMetric.class).register(registration);
+            new ProtocolStackMetricsHandler(this.channelRegistry).register(registration);
         }
 
         new ForkResourceDefinitionRegistrar(this.channelRegistry).register(registration, context);
@@ -4,12 +4,17 @@
  */
 package org.jboss.as.clustering.jgroups.subsystem;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,6 +39,7 @@ import org.wildfly.subsystem.service.capture.FunctionExecutorRegistry;
 
 /**
  * A generic handler for protocol metrics based on reflection.
+ * The managed attributes of a protocol class are discovered once, and each attribute resolves its accessor to a {@link MethodHandle} on first read.
  *
  * @author Richard Achmatowicz (c) 2013 Red Hat Inc.
  * @author Radoslav Husar
@@ -48,8 +54,11 @@ public class ProtocolMetricsHandler extends AbstractRuntimeOnlyHandler {
         Object read(Object object) throws Exception;
     }
 
-    abstract static class AbstractAttribute<A extends AccessibleObject> implements Attribute {
+    abstract static class AbstractAttribute<A extends AccessibleObject & Member> implements Attribute {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
         final A accessible;
+        private volatile MethodHandle getter;
 
         AbstractAttribute(A accessible) {
             this.accessible = accessible;
@@ -81,25 +90,45 @@ public class ProtocolMetricsHandler extends AbstractRuntimeOnlyHandler {
 
         @Override
         public Object read(final Object object) throws Exception {
-            PrivilegedExceptionAction<Object> action = new PrivilegedExceptionAction<>() {
+            MethodHandle getter = this.getter;
+            if (getter == null) {
+                getter = this.resolve();
+                this.getter = getter;
+            }
+            try {
+                return getter.invokeExact(object);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private MethodHandle resolve() throws Exception {
+            PrivilegedExceptionAction<MethodHandle> action = new PrivilegedExceptionAction<>() {
                 @Override
-                public Object run() throws Exception {
+                public MethodHandle run() throws IllegalAccessException {
                     AbstractAttribute.this.accessible.setAccessible(true);
                     try {
-                        return AbstractAttribute.this.get(object);
+                        return AbstractAttribute.this.unreflect(MethodHandles.lookup());
                     } finally {
                         AbstractAttribute.this.accessible.setAccessible(false);
                     }
                 }
             };
+            MethodHandle handle;
             try {
-                return WildFlySecurityManager.doUnchecked(action);
+                handle = WildFlySecurityManager.doUnchecked(action);
             } catch (PrivilegedActionException e) {
                 throw e.getException();
             }
+            if (Modifier.isStatic(this.accessible.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(GETTER_TYPE);
         }
 
-        abstract Object get(Object object) throws Exception;
+        abstract MethodHandle unreflect(MethodHandles.Lookup lookup) throws IllegalAccessException;
     }
 
     static class FieldAttribute extends AbstractAttribute<Field> {
@@ -119,8 +148,8 @@ public class ProtocolMetricsHandler extends AbstractRuntimeOnlyHandler {
         }
 
         @Override
-        Object get(Object object) throws IllegalAccessException {
-            return this.accessible.get(object);
+        MethodHandle unreflect(MethodHandles.Lookup lookup) throws IllegalAccessException {
+            return lookup.unreflectGetter(this.accessible);
         }
     }
 
@@ -141,8 +170,8 @@ public class ProtocolMetricsHandler extends AbstractRuntimeOnlyHandler {
         }
 
         @Override
-        Object get(Object object) throws IllegalAccessException, InvocationTargetException {
-            return this.accessible.invoke(object);
+        MethodHandle unreflect(MethodHandles.Lookup lookup) throws IllegalAccessException {
+            return lookup.unreflect(this.accessible);
         }
     }
 
@@ -208,6 +237,14 @@ public class ProtocolMetricsHandler extends AbstractRuntimeOnlyHandler {
         }
     }
 
+    // Managed attributes per protocol class, discovered on first use
+    private static final ClassValue<Map<String, Attribute>> PROTOCOL_ATTRIBUTES = new ClassValue<>() {
+        @Override
+        protected Map<String, Attribute> computeValue(Class<?> protocolClass) {
+            return Collections.unmodifiableMap(scanProtocolAttributes(protocolClass));
+        }
+    };
+
     private final FunctionExecutorRegistry<JChannel> executors;
 
     public ProtocolMetricsHandler(FunctionExecutorRegistry<JChannel> executors) {
@@ -231,13 +268,7 @@ public class ProtocolMetricsHandler extends AbstractRuntimeOnlyHandler {
                 if (attribute == null) {
                     throw new OperationFailedException(JGroupsLogger.ROOT_LOGGER.unknownMetric(name));
                 }
-                FieldType type = FieldType.valueOf(attribute.getType());
-                ModelNode result = new ModelNode();
-                Object value = attribute.read(protocol);
-                if (value != null) {
-                    type.setValue(result, value);
-                }
-                return result;
+                return readAttribute(attribute, protocol);
             }
         };
         FunctionExecutor<JChannel> executor = this.executors.getExecutor(ServiceDependency.on(JGroupsServiceDescriptor.CHANNEL, context.getCurrentAddress().getParent().getLastElement().getValue()));
@@ -258,7 +289,20 @@ public class ProtocolMetricsHandler extends AbstractRuntimeOnlyHandler {
         return attributes.get(name);
     }
 
+    static ModelNode readAttribute(Attribute attribute, Protocol protocol) throws Exception {
+        ModelNode result = new ModelNode();
+        Object value = attribute.read(protocol);
+        if (value != null) {
+            FieldType.valueOf(attribute.getType()).setValue(result, value);
+        }
+        return result;
+    }
+
     static Map<String, Attribute> findProtocolAttributes(Class<? extends Protocol> protocolClass) {
+        return PROTOCOL_ATTRIBUTES.get(protocolClass);
+    }
+
+    private static Map<String, Attribute> scanProtocolAttributes(Class<?> protocolClass) {
         Map<String, Attribute> attributes = new HashMap<>();
         Class<?> targetClass = protocolClass;
         while (Protocol.class.isAssignableFrom(targetClass)) {
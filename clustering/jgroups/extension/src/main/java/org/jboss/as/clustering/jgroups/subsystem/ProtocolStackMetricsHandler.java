@@ -0,0 +1,87 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import java.util.Map;
+
+import org.jboss.as.clustering.jgroups.logging.JGroupsLogger;
+import org.jboss.as.clustering.jgroups.subsystem.ProtocolMetricsHandler.Attribute;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jgroups.JChannel;
+import org.jgroups.stack.Protocol;
+import org.wildfly.clustering.jgroups.spi.JGroupsServiceDescriptor;
+import org.wildfly.common.function.ExceptionFunction;
+import org.wildfly.service.capture.FunctionExecutor;
+import org.wildfly.subsystem.resource.ManagementResourceRegistrar;
+import org.wildfly.subsystem.service.ServiceDependency;
+import org.wildfly.subsystem.service.capture.FunctionExecutorRegistry;
+
+/**
+ * Operation handler that reads the metrics of every protocol of a channel's protocol stack in a single call.
+ * The result is keyed by protocol name, then by metric name.
+ */
+public class ProtocolStackMetricsHandler extends AbstractRuntimeOnlyHandler implements ManagementResourceRegistrar {
+
+    static final OperationDefinition READ_PROTOCOL_METRICS = new SimpleOperationDefinitionBuilder("read-protocol-metrics", JGroupsSubsystemResourceDefinitionRegistrar.RESOLVER.createChildResolver(JGroupsResourceRegistration.CHANNEL.getPathElement()))
+            .setReplyType(ModelType.OBJECT)
+            .setReplyValueType(ModelType.OBJECT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    private final FunctionExecutorRegistry<JChannel> executors;
+
+    public ProtocolStackMetricsHandler(FunctionExecutorRegistry<JChannel> executors) {
+        this.executors = executors;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ExceptionFunction<JChannel, ModelNode, Exception> function = new ExceptionFunction<>() {
+            @Override
+            public ModelNode apply(JChannel channel) {
+                ModelNode result = new ModelNode();
+                result.setEmptyObject();
+                for (Protocol protocol : channel.getProtocolStack().getProtocols()) {
+                    ModelNode metrics = result.get(protocol.getName()).setEmptyObject();
+                    for (Map.Entry<String, Attribute> entry : ProtocolMetricsHandler.findProtocolAttributes(protocol.getClass()).entrySet()) {
+                        // a metric which cannot be read is left undefined, rather than failing the whole operation
+                        ModelNode metric = metrics.get(entry.getKey());
+                        try {
+                            metric.set(ProtocolMetricsHandler.readAttribute(entry.getValue(), protocol));
+                        } catch (Exception e) {
+                            JGroupsLogger.ROOT_LOGGER.failedToReadProtocolMetric(e, entry.getKey(), protocol.getName());
+                        }
+                    }
+                }
+                return result;
+            }
+        };
+        FunctionExecutor<JChannel> executor = this.executors.getExecutor(ServiceDependency.on(JGroupsServiceDescriptor.CHANNEL, context.getCurrentAddressValue()));
+        try {
+            ModelNode value = (executor != null) ? executor.execute(function) : null;
+            if (value != null) {
+                context.getResult().set(value);
+            }
+        } catch (Exception e) {
+            context.getFailureDescription().set(e.getLocalizedMessage());
+        } finally {
+            context.completeStep(OperationContext.ResultHandler.NOOP_RESULT_HANDLER);
+        }
+    }
+
+    @Override
+    public void register(ManagementResourceRegistration registration) {
+        registration.registerOperationHandler(READ_PROTOCOL_METRICS, this);
+    }
+}
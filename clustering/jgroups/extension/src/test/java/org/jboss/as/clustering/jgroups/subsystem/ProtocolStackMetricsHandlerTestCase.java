@@ -0,0 +1,102 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jgroups.JChannel;
+import org.jgroups.annotations.ManagedAttribute;
+import org.jgroups.protocols.FRAG4;
+import org.jgroups.protocols.SHARED_LOOPBACK;
+import org.jgroups.protocols.SHARED_LOOPBACK_PING;
+import org.jgroups.protocols.UNICAST3;
+import org.jgroups.protocols.pbcast.GMS;
+import org.jgroups.protocols.pbcast.NAKACK2;
+import org.jgroups.protocols.pbcast.STABLE;
+import org.jgroups.stack.Protocol;
+import org.junit.Test;
+import org.wildfly.service.capture.FunctionExecutor;
+import org.wildfly.subsystem.service.capture.FunctionExecutorRegistry;
+
+/**
+ * Verifies that the read-protocol-metrics operation of a channel returns the same values as the metrics of each protocol.
+ */
+public class ProtocolStackMetricsHandlerTestCase {
+
+    private static final String CHANNEL = "ee";
+
+    @Test
+    public void test() throws Exception {
+        try (JChannel channel = new JChannel(new SHARED_LOOPBACK(), new SHARED_LOOPBACK_PING(), new NAKACK2(), new UNICAST3(), new STABLE(), new GMS(), new FRAG4(), new FailingProtocol())) {
+            @SuppressWarnings("unchecked")
+            FunctionExecutorRegistry<JChannel> executors = mock(FunctionExecutorRegistry.class);
+            when(executors.getExecutor(any())).thenReturn(FunctionExecutor.of(() -> channel));
+
+            ModelNode result = this.readProtocolMetrics(executors);
+            assertEquals(channel.getProtocolStack().getProtocols().size(), result.keys().size());
+
+            ProtocolMetricsHandler handler = new ProtocolMetricsHandler(executors);
+            for (Protocol protocol : channel.getProtocolStack().getProtocols()) {
+                ModelNode metrics = result.get(protocol.getName());
+                assertFalse(protocol.getName(), metrics.keys().isEmpty());
+                assertEquals(ProtocolMetricsHandler.findProtocolAttributes(protocol.getClass()).keySet(), metrics.keys());
+                for (String name : metrics.keys()) {
+                    assertEquals(protocol.getName() + '.' + name, this.readProtocolMetric(handler, protocol.getName(), name), metrics.get(name));
+                }
+            }
+            // a metric which cannot be read does not prevent the others from being read
+            ModelNode metrics = result.get(FailingProtocol.class.getSimpleName());
+            assertFalse(metrics.get("failure").isDefined());
+            assertTrue(metrics.get("stats").isDefined());
+        }
+    }
+
+    private ModelNode readProtocolMetrics(FunctionExecutorRegistry<JChannel> executors) throws Exception {
+        OperationContext context = mock(OperationContext.class);
+        ModelNode result = new ModelNode();
+        ModelNode failure = new ModelNode();
+        when(context.getCurrentAddressValue()).thenReturn(CHANNEL);
+        when(context.getResult()).thenReturn(result);
+        when(context.getFailureDescription()).thenReturn(failure);
+
+        new ProtocolStackMetricsHandler(executors).executeRuntimeStep(context, new ModelNode());
+
+        assertFalse(failure.toString(), failure.isDefined());
+        assertTrue(result.isDefined());
+        return result;
+    }
+
+    // the value of a metric which cannot be read is undefined, as for the read-protocol-metrics operation
+    private ModelNode readProtocolMetric(ProtocolMetricsHandler handler, String protocol, String metric) throws Exception {
+        OperationContext context = mock(OperationContext.class);
+        ModelNode result = new ModelNode();
+        when(context.getCurrentAddress()).thenReturn(PathAddress.pathAddress("channel", CHANNEL).append("protocol", protocol));
+        when(context.getCurrentAddressValue()).thenReturn(protocol);
+        when(context.getResult()).thenReturn(result);
+        when(context.getFailureDescription()).thenReturn(new ModelNode());
+
+        ModelNode operation = new ModelNode();
+        operation.get(ModelDescriptionConstants.NAME).set(metric);
+        handler.executeRuntimeStep(context, operation);
+        return result;
+    }
+
+    public static class FailingProtocol extends Protocol {
+        @ManagedAttribute
+        public long getFailure() {
+            throw new IllegalStateException("failure");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.statistics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Map;
+
+import org.jboss.as.connector.services.workmanager.transport.CommandDispatcherTransport;
+import org.jboss.as.connector.services.workmanager.transport.DispatchStatistics;
+import org.jboss.as.connector.subsystems.resourceadapters.Constants;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.clustering.server.GroupMember;
+
+/**
+ * Reads the per member dispatch latency of a distributed workmanager transport.
+ */
+public class DispatchStatisticsReadHandler implements OperationStepHandler {
+
+    private final CommandDispatcherTransport transport;
+
+    public DispatchStatisticsReadHandler(CommandDispatcherTransport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (context.isNormalServer()) {
+            ModelNode result = context.getResult().setEmptyList();
+            for (Map.Entry<GroupMember, DispatchStatistics> entry : this.transport.getDispatchStatistics().entrySet()) {
+                DispatchStatistics statistics = entry.getValue();
+                ModelNode dispatch = result.add();
+                dispatch.get(Constants.DISPATCH_MEMBER.getName()).set(entry.getKey().getName());
+                dispatch.get(Constants.DISPATCH_COUNT.getName()).set(statistics.getCount());
+                dispatch.get(Constants.DISPATCH_FAILURES.getName()).set(statistics.getFailures());
+                dispatch.get(Constants.DISPATCH_AVERAGE_TIME.getName()).set(NANOSECONDS.toMicros(statistics.getAverageNanos()));
+                dispatch.get(Constants.DISPATCH_MAX_TIME.getName()).set(NANOSECONDS.toMicros(statistics.getMaxNanos()));
+                dispatch.get(Constants.DISPATCH_LAST_TIME.getName()).set(NANOSECONDS.toMicros(statistics.getLastNanos()));
+            }
+        }
+    }
+}
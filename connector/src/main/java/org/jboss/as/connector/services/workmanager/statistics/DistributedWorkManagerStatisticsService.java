@@ -10,6 +10,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.jboss.as.connector.dynamicresource.ClearWorkManagerStatisticsHandler;
+import org.jboss.as.connector.services.workmanager.transport.CommandDispatcherTransport;
 import org.jboss.as.connector.subsystems.resourceadapters.CommonAttributes;
 import org.jboss.as.connector.subsystems.resourceadapters.Constants;
 import org.jboss.as.connector.subsystems.resourceadapters.WorkManagerRuntimeAttributeReadHandler;
@@ -96,6 +97,10 @@ public class DistributedWorkManagerStatisticsService implements Service<Manageme
 
                 dwmSubRegistration.registerOperationHandler(ClearWorkManagerStatisticsHandler.DEFINITION, new ClearWorkManagerStatisticsHandler(dwm));
 
+                if (dwm.getTransport() instanceof CommandDispatcherTransport) {
+                    dwmSubRegistration.registerReadOnlyAttribute(Constants.DISPATCH_STATISTICS, new DispatchStatisticsReadHandler((CommandDispatcherTransport) dwm.getTransport()));
+                }
+
             }
         }
     }
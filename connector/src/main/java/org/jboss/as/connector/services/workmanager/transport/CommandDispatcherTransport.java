@@ -8,13 +8,18 @@ package org.jboss.as.connector.services.workmanager.transport;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import jakarta.resource.spi.work.DistributableWork;
@@ -38,14 +43,32 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * {@link DistributedWorkManager}-specific transport based on a {@link CommandDispatcher}.
- * The current implementation is a direct translation of {@link org.jboss.jca.core.workmanager.transport.remote.jgroups.JGroupsTransport}.
+ * The current implementation is a direct translation of {@link org.jboss.jca.core.workmanager.transport.remote.jgroups.JGroupsTransport},
+ * with the following differences:
+ * <ul>
+ * <li>Notifications (statistics deltas and free thread updates) are dispatched without waiting for a response, so notifying all members fans out in parallel.</li>
+ * <li>The free thread counts of remote work managers are {@linkplain FreeThreadCounts cached} so that selecting a target for a work does not require a round trip per member.</li>
+ * <li>The dispatch latency is recorded per member.</li>
+ * </ul>
  * @author Paul Ferraro
  */
 public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMember> implements GroupMembershipListener<GroupMember> {
 
+    // Requests whose response carries no information
+    private static final Set<Request> NOTIFICATIONS = EnumSet.of(Request.CLEAR_DISTRIBUTED_STATISTICS,
+            Request.DELTA_DOWORK_ACCEPTED, Request.DELTA_DOWORK_REJECTED,
+            Request.DELTA_SCHEDULEWORK_ACCEPTED, Request.DELTA_SCHEDULEWORK_REJECTED,
+            Request.DELTA_STARTWORK_ACCEPTED, Request.DELTA_STARTWORK_REJECTED,
+            Request.DELTA_WORK_FAILED, Request.DELTA_WORK_SUCCESSFUL,
+            Request.UPDATE_SHORTRUNNING_FREE, Request.UPDATE_LONGRUNNING_FREE);
+
     private final BlockingExecutor executor;
     private final CommandDispatcherFactory<GroupMember> dispatcherFactory;
     private final String name;
+    private final AtomicLong sequence = new AtomicLong();
+    private final FreeThreadCounts shortRunningFree = new FreeThreadCounts(super::localUpdateShortRunningFree);
+    private final FreeThreadCounts longRunningFree = new FreeThreadCounts(super::localUpdateLongRunningFree);
+    private final Map<GroupMember, DispatchStatistics> dispatchStatistics = new ConcurrentHashMap<>();
 
     private volatile CommandDispatcher<GroupMember, CommandDispatcherTransport> dispatcher;
     private volatile Registration groupListenerRegistration;
@@ -124,13 +147,31 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
     }
 
     private Object sendMessage(GroupMember physicalAddress, Request request, Object... parameters) throws WorkException {
-        TransportCommand<?> command = createCommand(request, parameters);
+        TransportCommand<?> command = this.createCommand(request, parameters);
         CommandDispatcher<GroupMember, CommandDispatcherTransport> dispatcher = this.dispatcher;
+        if (NOTIFICATIONS.contains(request)) {
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        CommandDispatcherTransport.this.dispatch(dispatcher, command, physicalAddress).whenComplete((result, exception) -> {
+                            if ((exception != null) && !(exception instanceof CancellationException)) {
+                                ConnectorLogger.ROOT_LOGGER.warn(exception.getLocalizedMessage(), exception);
+                            }
+                        });
+                    } catch (IOException e) {
+                        ConnectorLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+                    }
+                }
+            };
+            this.executor.execute(task);
+            return null;
+        }
         Supplier<Optional<Object>> task = new Supplier<>() {
             @Override
             public Optional<Object> get() {
                 try {
-                    CompletionStage<?> response = dispatcher.dispatchToMember(command, physicalAddress);
+                    CompletionStage<?> response = CommandDispatcherTransport.this.dispatch(dispatcher, command, physicalAddress);
                     return Optional.ofNullable(response.toCompletableFuture().join());
                 } catch (CancellationException e) {
                     return Optional.empty();
@@ -147,20 +188,29 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
         }
     }
 
+    private <R> CompletionStage<R> dispatch(CommandDispatcher<GroupMember, CommandDispatcherTransport> dispatcher, TransportCommand<R> command, GroupMember member) throws IOException {
+        DispatchStatistics statistics = this.dispatchStatistics.computeIfAbsent(member, key -> new DispatchStatistics());
+        long start = System.nanoTime();
+        return dispatcher.dispatchToMember(command, member).whenComplete((result, exception) -> statistics.record(System.nanoTime() - start, exception != null));
+    }
+
     private void broadcast(TransportCommand<Void> command) throws WorkException {
         CommandDispatcher<GroupMember, CommandDispatcherTransport> dispatcher = this.dispatcher;
         Runnable task = new Runnable() {
             @Override
             public void run() {
                 try {
-                    for (Map.Entry<GroupMember, CompletionStage<Void>> entry : dispatcher.dispatchToGroup(command).entrySet()) {
-                        // Verify that command executed successfully on all nodes
-                        try {
-                            entry.getValue().toCompletableFuture().join();
-                        } catch (CancellationException e) {
-                            // Ignore
-                        }
-                    }
+                    // Verify that command executed successfully on all nodes, waiting for all responses at once
+                    CompletableFuture<?>[] responses = dispatcher.dispatchToGroup(command).values().stream()
+                            .map(response -> response.toCompletableFuture().exceptionally(exception -> {
+                                if (exception instanceof CancellationException || exception.getCause() instanceof CancellationException) {
+                                    // Ignore
+                                    return null;
+                                }
+                                throw (exception instanceof CompletionException) ? (CompletionException) exception : new CompletionException(exception);
+                            }))
+                            .toArray(CompletableFuture<?>[]::new);
+                    CompletableFuture.allOf(responses).join();
                 } catch (IOException e) {
                     throw new CompletionException(e);
                 }
@@ -173,7 +223,67 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
         }
     }
 
-    private static TransportCommand<?> createCommand(Request request, Object... parameters) {
+    @Override
+    public long getShortRunningFree(Address address) {
+        Long free = this.isRemote(address) ? this.shortRunningFree.get(address) : null;
+        return (free != null) ? free : super.getShortRunningFree(address);
+    }
+
+    @Override
+    public long getLongRunningFree(Address address) {
+        Long free = this.isRemote(address) ? this.longRunningFree.get(address) : null;
+        return (free != null) ? free : super.getLongRunningFree(address);
+    }
+
+    @Override
+    public void localUpdateShortRunningFree(Address address, Long free) {
+        // A fetched count only applies until the first pushed update
+        this.localUpdateShortRunningFree(address, free, Long.MIN_VALUE);
+    }
+
+    @Override
+    public void localUpdateLongRunningFree(Address address, Long free) {
+        // A fetched count only applies until the first pushed update
+        this.localUpdateLongRunningFree(address, free, Long.MIN_VALUE);
+    }
+
+    void localUpdateShortRunningFree(Address address, Long free, long sequence) {
+        if (this.isRemote(address) && (free != null)) {
+            this.shortRunningFree.update(address, free, sequence);
+        } else {
+            super.localUpdateShortRunningFree(address, free);
+        }
+    }
+
+    void localUpdateLongRunningFree(Address address, Long free, long sequence) {
+        if (this.isRemote(address) && (free != null)) {
+            this.longRunningFree.update(address, free, sequence);
+        } else {
+            super.localUpdateLongRunningFree(address, free);
+        }
+    }
+
+    @Override
+    public void leave(GroupMember member) {
+        this.shortRunningFree.evict(member, this.nodes);
+        this.longRunningFree.evict(member, this.nodes);
+        this.dispatchStatistics.remove(member);
+        super.leave(member);
+    }
+
+    /**
+     * Returns the dispatch latency statistics of each member to which commands were sent.
+     * @return a map of statistics per member
+     */
+    public Map<GroupMember, DispatchStatistics> getDispatchStatistics() {
+        return Collections.unmodifiableMap(this.dispatchStatistics);
+    }
+
+    private boolean isRemote(Address address) {
+        return (address.getTransportId() != null) && !address.getTransportId().equals(this.getId());
+    }
+
+    private TransportCommand<?> createCommand(Request request, Object... parameters) {
         Address address = (parameters.length > 0) ? (Address) parameters[0] : null;
         switch (request) {
             case CLEAR_DISTRIBUTED_STATISTICS: {
@@ -225,10 +335,10 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
                 return new StartWorkCommand(address, (DistributableWork) parameters[2]);
             }
             case UPDATE_LONGRUNNING_FREE: {
-                return new UpdateLongRunningFreeCommand(address, (Long) parameters[1]);
+                return new UpdateLongRunningFreeCommand(address, (Long) parameters[1], this.sequence.incrementAndGet());
             }
             case UPDATE_SHORTRUNNING_FREE: {
-                return new UpdateShortRunningFreeCommand(address, (Long) parameters[1]);
+                return new UpdateShortRunningFreeCommand(address, (Long) parameters[1], this.sequence.incrementAndGet());
             }
             case WORKMANAGER_ADD: {
                 return new AddWorkManagerCommand(address, (GroupMember) parameters[1]);
@@ -278,11 +388,23 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
             GroupMember member = entry.getKey();
             try {
                 Set<Address> addresses = entry.getValue().toCompletableFuture().join();
+                Map<Address, CompletionStage<Long>> shortRunningFree = new HashMap<>();
+                Map<Address, CompletionStage<Long>> longRunningFree = new HashMap<>();
                 for (Address address : addresses) {
                     this.join(address, member);
-
-                    this.localUpdateLongRunningFree(address, this.getShortRunningFree(address));
-                    this.localUpdateShortRunningFree(address, this.getShortRunningFree(address));
+                    // Fetch free thread counts of all work managers of this member in parallel
+                    try {
+                        shortRunningFree.put(address, this.dispatch(this.dispatcher, new ShortRunningFreeCommand(address), member));
+                        longRunningFree.put(address, this.dispatch(this.dispatcher, new LongRunningFreeCommand(address), member));
+                    } catch (IOException e) {
+                        ConnectorLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+                    }
+                }
+                for (Map.Entry<Address, CompletionStage<Long>> free : shortRunningFree.entrySet()) {
+                    this.localUpdateShortRunningFree(free.getKey(), free.getValue().toCompletableFuture().join());
+                }
+                for (Map.Entry<Address, CompletionStage<Long>> free : longRunningFree.entrySet()) {
+                    this.localUpdateLongRunningFree(free.getKey(), free.getValue().toCompletableFuture().join());
                 }
             } catch (CancellationException e) {
                 // Ignore
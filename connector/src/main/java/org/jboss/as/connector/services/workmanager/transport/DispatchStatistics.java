@@ -0,0 +1,52 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of the commands dispatched by a {@link CommandDispatcherTransport} to a single member, measured from dispatch until the response is received.
+ */
+public class DispatchStatistics {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile long lastNanos;
+
+    void record(long nanos, boolean failed) {
+        this.count.increment();
+        if (failed) {
+            this.failures.increment();
+        }
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulateAndGet(nanos, Math::max);
+        this.lastNanos = nanos;
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    public long getAverageNanos() {
+        long count = this.count.sum();
+        return (count > 0) ? this.totalNanos.sum() / count : 0;
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    public long getLastNanos() {
+        return this.lastNanos;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.wildfly.clustering.server.GroupMember;
+
+/**
+ * Cache of the free thread counts of remote work managers, as published via {@link UpdateShortRunningFreeCommand} or {@link UpdateLongRunningFreeCommand}.
+ * Since notifications may be delivered out of order, each update carries a sequence number and updates older than the cached one are dropped.
+ */
+class FreeThreadCounts {
+
+    private final Map<Address, FreeCount> counts = new ConcurrentHashMap<>();
+    private final BiConsumer<Address, Long> listener;
+
+    /**
+     * Creates a cache of free thread counts.
+     * @param listener notified of each update that is not dropped, while no other update of the same address can be applied
+     */
+    FreeThreadCounts(BiConsumer<Address, Long> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the cached free thread count of the specified work manager.
+     * @param address a work manager address
+     * @return the free thread count, or null if no count was cached
+     */
+    Long get(Address address) {
+        FreeCount free = this.counts.get(address);
+        return (free != null) ? free.value : null;
+    }
+
+    /**
+     * Caches the free thread count of the specified work manager, unless a more recent count is already cached.
+     * @param address a work manager address
+     * @param free the free thread count
+     * @param sequence the sequence number of the update, {@link Long#MIN_VALUE} for a fetched count which only applies until the first pushed update
+     * @return true, if the count was cached, false if the update was dropped
+     */
+    boolean update(Address address, long free, long sequence) {
+        FreeCount updated = new FreeCount(free, sequence);
+        return this.counts.compute(address, (key, current) -> {
+            if ((current != null) && (current.sequence >= sequence)) {
+                // Drop an update that was overtaken by a more recent one
+                return current;
+            }
+            this.listener.accept(key, free);
+            return updated;
+        }) == updated;
+    }
+
+    /**
+     * Evicts the free thread counts of the work managers of a member.
+     * @param member a member that left the group
+     * @param nodes the members of the known work managers
+     */
+    void evict(GroupMember member, Map<Address, GroupMember> nodes) {
+        for (Map.Entry<Address, GroupMember> entry : nodes.entrySet()) {
+            if (member.equals(entry.getValue())) {
+                this.counts.remove(entry.getKey());
+            }
+        }
+    }
+
+    private static class FreeCount {
+        final long value;
+        final long sequence;
+
+        FreeCount(long value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+}
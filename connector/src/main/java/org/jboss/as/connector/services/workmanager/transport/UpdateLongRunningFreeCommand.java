@@ -16,15 +16,17 @@ public class UpdateLongRunningFreeCommand implements TransportCommand<Void> {
 
     private final Address address;
     private final long free;
+    private final long sequence;
 
-    public UpdateLongRunningFreeCommand(Address address, long free) {
+    public UpdateLongRunningFreeCommand(Address address, long free, long sequence) {
         this.address = address;
         this.free = free;
+        this.sequence = sequence;
     }
 
     @Override
     public Void execute(CommandDispatcherTransport transport) {
-        transport.localUpdateLongRunningFree(this.address, this.free);
+        transport.localUpdateLongRunningFree(this.address, this.free, this.sequence);
         return null;
     }
 }
@@ -16,15 +16,17 @@ public class UpdateShortRunningFreeCommand implements TransportCommand<Void> {
 
     private final Address address;
     private final long free;
+    private final long sequence;
 
-    public UpdateShortRunningFreeCommand(Address address, long free) {
+    public UpdateShortRunningFreeCommand(Address address, long free, long sequence) {
         this.address = address;
         this.free = free;
+        this.sequence = sequence;
     }
 
     @Override
     public Void execute(CommandDispatcherTransport transport) {
-        transport.localUpdateShortRunningFree(this.address, this.free);
+        transport.localUpdateShortRunningFree(this.address, this.free, this.sequence);
         return null;
     }
 }
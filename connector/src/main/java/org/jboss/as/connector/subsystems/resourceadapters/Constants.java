@@ -707,6 +707,39 @@ public class Constants {
     public static final SimpleAttributeDefinition[] WORKMANAGER_METRICS = new SimpleAttributeDefinition[]{WORK_ACTIVE, WORK_SUCCESSFUL, WORK_FAILED, DO_WORK_ACCEPTED,
             DO_WORK_REJECTED, SCHEDULED_WORK_ACCEPTED, SCHEDULED_WORK_REJECTED, START_WORK_ACCEPTED, START_WORK_REJECTED};
 
+    public static final SimpleAttributeDefinition DISPATCH_MEMBER = new SimpleAttributeDefinitionBuilder("member", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition DISPATCH_COUNT = new SimpleAttributeDefinitionBuilder("count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition DISPATCH_FAILURES = new SimpleAttributeDefinitionBuilder("failures", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition DISPATCH_AVERAGE_TIME = new SimpleAttributeDefinitionBuilder("average-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition DISPATCH_MAX_TIME = new SimpleAttributeDefinitionBuilder("max-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition DISPATCH_LAST_TIME = new SimpleAttributeDefinitionBuilder("last-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final ObjectListAttributeDefinition DISPATCH_STATISTICS = ObjectListAttributeDefinition.Builder.of("dispatch-statistics",
+                    ObjectTypeAttributeDefinition.Builder.of("dispatch", DISPATCH_MEMBER, DISPATCH_COUNT, DISPATCH_FAILURES, DISPATCH_AVERAGE_TIME, DISPATCH_MAX_TIME, DISPATCH_LAST_TIME).build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
     public static final String WORKMANAGER_STATISTICS_ENABLED_NAME = "workmanager-statistics-enabled";
     public static final SimpleAttributeDefinition WORKMANAGER_STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.STATISTICS_ENABLED, ModelType.BOOLEAN)
             .setStorageRuntime()
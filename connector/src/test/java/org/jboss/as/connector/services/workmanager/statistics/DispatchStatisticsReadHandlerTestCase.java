@@ -0,0 +1,84 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.connector.services.workmanager.transport.CommandDispatcherTransport;
+import org.jboss.as.connector.services.workmanager.transport.DispatchStatistics;
+import org.jboss.as.connector.subsystems.resourceadapters.Constants;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+import org.wildfly.clustering.server.GroupMember;
+
+/**
+ * Unit test for {@link DispatchStatisticsReadHandler}.
+ */
+public class DispatchStatisticsReadHandlerTestCase {
+
+    private final CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+    private final OperationContext context = mock(OperationContext.class);
+    private final ModelNode result = new ModelNode();
+
+    public DispatchStatisticsReadHandlerTestCase() {
+        when(this.context.getResult()).thenReturn(this.result);
+    }
+
+    @Test
+    public void test() throws Exception {
+        GroupMember member = mock(GroupMember.class);
+        when(member.getName()).thenReturn("node1");
+        DispatchStatistics statistics = mock(DispatchStatistics.class);
+        when(statistics.getCount()).thenReturn(4L);
+        when(statistics.getFailures()).thenReturn(1L);
+        when(statistics.getAverageNanos()).thenReturn(2_500_000L);
+        when(statistics.getMaxNanos()).thenReturn(7_000_000L);
+        when(statistics.getLastNanos()).thenReturn(1_999L);
+        when(this.transport.getDispatchStatistics()).thenReturn(Map.of(member, statistics));
+        when(this.context.isNormalServer()).thenReturn(true);
+
+        new DispatchStatisticsReadHandler(this.transport).execute(this.context, new ModelNode());
+
+        List<ModelNode> dispatches = this.result.asList();
+        assertEquals(1, dispatches.size());
+        ModelNode dispatch = dispatches.get(0);
+        assertEquals("node1", dispatch.get(Constants.DISPATCH_MEMBER.getName()).asString());
+        assertEquals(4, dispatch.get(Constants.DISPATCH_COUNT.getName()).asLong());
+        assertEquals(1, dispatch.get(Constants.DISPATCH_FAILURES.getName()).asLong());
+        // times are reported in microseconds
+        assertEquals(2_500, dispatch.get(Constants.DISPATCH_AVERAGE_TIME.getName()).asLong());
+        assertEquals(7_000, dispatch.get(Constants.DISPATCH_MAX_TIME.getName()).asLong());
+        assertEquals(1, dispatch.get(Constants.DISPATCH_LAST_TIME.getName()).asLong());
+    }
+
+    @Test
+    public void testNoDispatch() throws Exception {
+        when(this.transport.getDispatchStatistics()).thenReturn(Map.of());
+        when(this.context.isNormalServer()).thenReturn(true);
+
+        new DispatchStatisticsReadHandler(this.transport).execute(this.context, new ModelNode());
+
+        assertEquals(ModelType.LIST, this.result.getType());
+        assertEquals(0, this.result.asList().size());
+    }
+
+    @Test
+    public void testNotNormalServer() throws Exception {
+        when(this.context.isNormalServer()).thenReturn(false);
+
+        new DispatchStatisticsReadHandler(this.transport).execute(this.context, new ModelNode());
+
+        assertFalse(this.result.isDefined());
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link DispatchStatistics}.
+ */
+public class DispatchStatisticsTestCase {
+
+    @Test
+    public void test() {
+        DispatchStatistics statistics = new DispatchStatistics();
+        assertEquals(0, statistics.getCount());
+        assertEquals(0, statistics.getFailures());
+        assertEquals(0, statistics.getAverageNanos());
+        assertEquals(0, statistics.getMaxNanos());
+        assertEquals(0, statistics.getLastNanos());
+
+        statistics.record(300, false);
+        statistics.record(500, true);
+        statistics.record(100, false);
+
+        assertEquals(3, statistics.getCount());
+        assertEquals(1, statistics.getFailures());
+        assertEquals(300, statistics.getAverageNanos());
+        assertEquals(500, statistics.getMaxNanos());
+        assertEquals(100, statistics.getLastNanos());
+    }
+}
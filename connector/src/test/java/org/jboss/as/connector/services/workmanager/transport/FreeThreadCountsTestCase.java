@@ -0,0 +1,93 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.junit.Test;
+import org.wildfly.clustering.server.GroupMember;
+
+/**
+ * Unit test for {@link FreeThreadCounts}.
+ */
+public class FreeThreadCountsTestCase {
+
+    private final Address address = new Address("wm1", "default", "remote");
+    private final List<Long> notified = new ArrayList<>();
+    private final FreeThreadCounts counts = new FreeThreadCounts((address, free) -> this.notified.add(free));
+
+    @Test
+    public void testUpdate() {
+        assertNull(this.counts.get(this.address));
+
+        assertTrue(this.counts.update(this.address, 10, 1));
+        assertEquals(Long.valueOf(10), this.counts.get(this.address));
+        assertTrue(this.counts.update(this.address, 9, 2));
+        assertEquals(Long.valueOf(9), this.counts.get(this.address));
+        assertEquals(List.of(10L, 9L), this.notified);
+    }
+
+    @Test
+    public void testDropOutOfOrderUpdate() {
+        assertTrue(this.counts.update(this.address, 5, 3));
+        // delivered after a more recent update
+        assertFalse(this.counts.update(this.address, 7, 2));
+        // delivered twice
+        assertFalse(this.counts.update(this.address, 6, 3));
+        assertEquals(Long.valueOf(5), this.counts.get(this.address));
+        assertEquals(List.of(5L), this.notified);
+
+        // the sequence of each work manager is independent
+        Address other = new Address("wm2", "default", "remote");
+        assertTrue(this.counts.update(other, 1, 1));
+        assertEquals(Long.valueOf(1), this.counts.get(other));
+    }
+
+    @Test
+    public void testFetchedCount() {
+        // a fetched count applies until the first pushed update
+        assertTrue(this.counts.update(this.address, 10, Long.MIN_VALUE));
+        assertTrue(this.counts.update(this.address, 8, 1));
+        // and never overrides a pushed update
+        assertFalse(this.counts.update(this.address, 10, Long.MIN_VALUE));
+        assertEquals(Long.valueOf(8), this.counts.get(this.address));
+        assertEquals(List.of(10L, 8L), this.notified);
+    }
+
+    @Test
+    public void testEvict() {
+        GroupMember leaver = mock(GroupMember.class);
+        GroupMember member = mock(GroupMember.class);
+        Address other = new Address("wm2", "default", "other");
+        Address unknown = new Address("wm3", "default", "remote");
+        Map<Address, GroupMember> nodes = new HashMap<>();
+        nodes.put(this.address, leaver);
+        nodes.put(unknown, null);
+        nodes.put(other, member);
+        this.counts.update(this.address, 4, 10);
+        this.counts.update(other, 3, 1);
+        this.counts.update(unknown, 2, 1);
+
+        this.counts.evict(leaver, nodes);
+
+        assertNull(this.counts.get(this.address));
+        assertEquals(Long.valueOf(3), this.counts.get(other));
+        assertEquals(Long.valueOf(2), this.counts.get(unknown));
+        // a member joining again with the same work manager starts a new sequence
+        assertTrue(this.counts.update(this.address, 6, 1));
+        assertEquals(Long.valueOf(6), this.counts.get(this.address));
+    }
+}
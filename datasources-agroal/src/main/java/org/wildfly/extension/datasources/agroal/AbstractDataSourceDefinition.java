@@ -17,6 +17,7 @@ import javax.sql.DataSource;
 
 import io.agroal.api.configuration.AgroalConnectionFactoryConfiguration;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
@@ -303,6 +304,72 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
             .setStorageRuntime()
             .build();
 
+    // --- Statement statistics //
+
+    static final SimpleAttributeDefinition STATEMENT_SQL_ATTRIBUTE = create("sql", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_COUNT_ATTRIBUTE = create("count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_ERROR_COUNT_ATTRIBUTE = create("error-count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_TIME_TOTAL_ATTRIBUTE = create("time-total-ms", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_TIME_MAX_ATTRIBUTE = create("time-max-ms", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_TIME_P50_ATTRIBUTE = create("time-p50-ms", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_TIME_P99_ATTRIBUTE = create("time-p99-ms", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    private static final ObjectListAttributeDefinition STATEMENT_STATISTICS = new ObjectListAttributeDefinition.Builder("statement-statistics",
+            ObjectTypeAttributeDefinition.create("statement", STATEMENT_SQL_ATTRIBUTE, STATEMENT_COUNT_ATTRIBUTE, STATEMENT_ERROR_COUNT_ATTRIBUTE, STATEMENT_TIME_TOTAL_ATTRIBUTE, STATEMENT_TIME_MAX_ATTRIBUTE, STATEMENT_TIME_P50_ATTRIBUTE, STATEMENT_TIME_P99_ATTRIBUTE).build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition SLOW_STATEMENT_DURATION_ATTRIBUTE = create("duration-ms", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition SLOW_STATEMENT_TIMESTAMP_ATTRIBUTE = create("timestamp", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.EPOCH_MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    private static final ObjectListAttributeDefinition SLOW_STATEMENTS = new ObjectListAttributeDefinition.Builder("slow-statements",
+            ObjectTypeAttributeDefinition.create("slow-statement", STATEMENT_SQL_ATTRIBUTE, SLOW_STATEMENT_DURATION_ATTRIBUTE, SLOW_STATEMENT_TIMESTAMP_ATTRIBUTE).build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_EXECUTION_COUNT = create("statement-execution-count", ModelType.LONG)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition SLOW_STATEMENT_COUNT = create("slow-statement-count", ModelType.LONG)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
     // --- //
 
     AbstractDataSourceDefinition(SimpleResourceDefinition.Parameters parameters) {
@@ -337,6 +404,10 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
         // Runtime attributes
         if (resourceRegistration.getProcessType().isServer()) {
             resourceRegistration.registerReadOnlyAttribute(STATISTICS, AbstractDataSourceOperations.STATISTICS_GET_OPERATION);
+            resourceRegistration.registerReadOnlyAttribute(STATEMENT_STATISTICS, AbstractDataSourceOperations.STATEMENT_STATISTICS_GET_OPERATION);
+            resourceRegistration.registerReadOnlyAttribute(SLOW_STATEMENTS, AbstractDataSourceOperations.SLOW_STATEMENTS_GET_OPERATION);
+            resourceRegistration.registerMetric(STATEMENT_EXECUTION_COUNT, AbstractDataSourceOperations.STATEMENT_METRIC_GET_OPERATION);
+            resourceRegistration.registerMetric(SLOW_STATEMENT_COUNT, AbstractDataSourceOperations.STATEMENT_METRIC_GET_OPERATION);
         }
     }
 
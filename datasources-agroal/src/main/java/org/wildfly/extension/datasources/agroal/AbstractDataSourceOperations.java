@@ -18,6 +18,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.security.CredentialReference;
 import org.jboss.as.controller.security.CredentialReferenceWriteAttributeHandler;
 import org.jboss.dmr.ModelNode;
@@ -39,6 +40,7 @@ import java.util.function.Supplier;
 import static io.agroal.api.configuration.AgroalConnectionPoolConfiguration.ConnectionValidator.defaultValidator;
 import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofMinutes;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Operations common to XA and non-XA DataSources
@@ -70,6 +72,12 @@ class AbstractDataSourceOperations {
 
     static final OperationStepHandler TEST_CONNECTION_OPERATION = new TestConnectionOperation();
 
+    static final OperationStepHandler STATEMENT_STATISTICS_GET_OPERATION = new StatementStatisticsGetOperation();
+
+    static final OperationStepHandler SLOW_STATEMENTS_GET_OPERATION = new SlowStatementsGetOperation();
+
+    static final OperationStepHandler STATEMENT_METRIC_GET_OPERATION = new StatementMetricGetOperation();
+
     // --- //
 
     protected static AgroalConnectionFactoryConfigurationSupplier connectionFactoryConfiguration(OperationContext context, ModelNode model) throws OperationFailedException {
@@ -153,6 +161,11 @@ class AbstractDataSourceOperations {
         }
     }
 
+    private static StatementStatistics getStatementStatistics(OperationContext context) throws OperationFailedException {
+        AgroalDataSource dataSource = getDataSource(context);
+        return dataSource instanceof StatementTrackingDataSource ? ((StatementTrackingDataSource) dataSource).getStatementStatistics() : null;
+    }
+
     // --- //
 
     private static class StatisticsEnabledAttributeWriter extends AbstractWriteAttributeHandler<Boolean> {
@@ -218,7 +231,7 @@ class AbstractDataSourceOperations {
                 // if max-size decreases Agroal will gracefully destroy connections when they are returned to the pool, so there is nothing to do here
             }
             if (newMinSize != null) {
-                getDataSource(context).getConfiguration().connectionPoolConfiguration().setMinSize(newMinSize.asInt());
+                ConnectionPoolPrefill.setMinSize(getDataSource(context), newMinSize.asInt());
                 // if min-size increases Agroal will create new connections when looking into the (shared) pool. FlushMode.FILL could be used here to enforce the new min-size
             }
             return false;
@@ -234,7 +247,7 @@ class AbstractDataSourceOperations {
                 getDataSource(context).getConfiguration().connectionPoolConfiguration().setAcquisitionTimeout(Duration.ofMillis(newBlockingTimeout.asInt()));
             }
             if (newMinSize != null) {
-                getDataSource(context).getConfiguration().connectionPoolConfiguration().setMinSize(newMinSize.asInt());
+                ConnectionPoolPrefill.setMinSize(getDataSource(context), newMinSize.asInt());
             }
             if (newMaxSize != null) {
                 getDataSource(context).getConfiguration().connectionPoolConfiguration().setMaxSize(newMaxSize.asInt());
@@ -297,12 +310,76 @@ class AbstractDataSourceOperations {
         }
     }
 
+    private static class StatementStatisticsGetOperation implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                StatementStatistics statementStatistics = getStatementStatistics(context);
+                if (statementStatistics != null) {
+                    ModelNode result = context.getResult().setEmptyList();
+                    for (StatementStatistics.Entry entry : statementStatistics.getEntries()) {
+                        ModelNode statement = result.add();
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_SQL_ATTRIBUTE.getName()).set(entry.getSql());
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_COUNT_ATTRIBUTE.getName()).set(entry.getCount());
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_ERROR_COUNT_ATTRIBUTE.getName()).set(entry.getErrorCount());
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_TIME_TOTAL_ATTRIBUTE.getName()).set(NANOSECONDS.toMillis(entry.getTotalTimeNanos()));
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_TIME_MAX_ATTRIBUTE.getName()).set(NANOSECONDS.toMillis(entry.getMaxTimeNanos()));
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_TIME_P50_ATTRIBUTE.getName()).set(NANOSECONDS.toMillis(entry.getPercentileNanos(50)));
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_TIME_P99_ATTRIBUTE.getName()).set(NANOSECONDS.toMillis(entry.getPercentileNanos(99)));
+                    }
+                }
+            }
+        }
+    }
+
+    private static class SlowStatementsGetOperation implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                StatementStatistics statementStatistics = getStatementStatistics(context);
+                if (statementStatistics != null) {
+                    ModelNode result = context.getResult().setEmptyList();
+                    for (StatementStatistics.SlowExecution execution : statementStatistics.getSlowExecutions()) {
+                        ModelNode statement = result.add();
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_SQL_ATTRIBUTE.getName()).set(execution.getSql());
+                        statement.get(AbstractDataSourceDefinition.SLOW_STATEMENT_DURATION_ATTRIBUTE.getName()).set(NANOSECONDS.toMillis(execution.getDurationNanos()));
+                        statement.get(AbstractDataSourceDefinition.SLOW_STATEMENT_TIMESTAMP_ATTRIBUTE.getName()).set(execution.getTimestamp());
+                    }
+                }
+            }
+        }
+    }
+
+    private static class StatementMetricGetOperation implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                StatementStatistics statementStatistics = getStatementStatistics(context);
+                if (statementStatistics != null) {
+                    String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+                    if (AbstractDataSourceDefinition.STATEMENT_EXECUTION_COUNT.getName().equals(attributeName)) {
+                        context.getResult().set(statementStatistics.getExecutionCount());
+                    } else if (AbstractDataSourceDefinition.SLOW_STATEMENT_COUNT.getName().equals(attributeName)) {
+                        context.getResult().set(statementStatistics.getSlowCount());
+                    }
+                }
+            }
+        }
+    }
+
     private static class ResetStatisticsOperation implements OperationStepHandler {
 
         @Override
         public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
             if (context.isNormalServer()) {
                 getDataSource(context).getMetrics().reset();
+                StatementStatistics statementStatistics = getStatementStatistics(context);
+                if (statementStatistics != null) {
+                    statementStatistics.reset();
+                }
             }
         }
     }
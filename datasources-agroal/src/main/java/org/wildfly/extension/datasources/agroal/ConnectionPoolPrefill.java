@@ -0,0 +1,224 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalPoolInterceptor;
+import io.agroal.api.configuration.AgroalConnectionPoolConfiguration;
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills the connection pool ahead of demand.
+ * <p>
+ * The warm-up creates and validates connections in parallel before the datasource is made available, so that the first requests
+ * do not pay for connection establishment. The adaptive pre-fill periodically estimates the number of connections needed from the
+ * connections in use and the acquisition rate, and raises the pool min-size accordingly (never below the configured min-size).
+ * Runtime changes of the min-size attribute go through {@link #setMinSize(AgroalDataSource, int)}, so that they become the new lower bound
+ * instead of being overwritten by the next adjustment.
+ */
+final class ConnectionPoolPrefill implements AgroalPoolInterceptor {
+
+    static final String WARM_UP_SIZE_PROPERTY = "jboss.agroal.warm-up-size";
+    static final String WARM_UP_TIMEOUT_PROPERTY = "jboss.agroal.warm-up-timeout";
+    static final String ADAPTIVE_PREFILL_PROPERTY = "jboss.agroal.adaptive-prefill";
+
+    private static final int MAX_WARM_UP_THREADS = 8;
+    private static final long INTERVAL_MILLIS = 1000;
+    // smoothing factor of the moving averages, and extra capacity kept on top of the estimated demand
+    private static final double ALPHA = 0.3;
+    private static final double HEADROOM = 1.2;
+
+    private final String dataSourceName;
+    private final AgroalDataSource dataSource;
+    private int configuredMinSize;
+    private final LongAdder acquisitions = new LongAdder();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private double rateAverage;
+    private double demandAverage;
+    private ScheduledFuture<?> task;
+
+    private ConnectionPoolPrefill(String dataSourceName, AgroalDataSource dataSource) {
+        this.dataSourceName = dataSourceName;
+        this.dataSource = dataSource;
+        this.configuredMinSize = dataSource.getConfiguration().connectionPoolConfiguration().minSize();
+    }
+
+    /**
+     * Returns the number of connections to create on warm-up, given by the {@code jboss.agroal.warm-up-size} system property
+     * and bounded by the pool max-size.
+     */
+    static int warmUpSize(AgroalDataSource dataSource) {
+        return (int) Math.min(SystemProperties.longProperty(WARM_UP_SIZE_PROPERTY, 0, 0), dataSource.getConfiguration().connectionPoolConfiguration().maxSize());
+    }
+
+    /**
+     * Creates and validates connections in parallel, using up to 8 tasks of the given executor, and returns them to the pool.
+     * Failures are logged, as the pool would otherwise fill lazily anyway, so the returned stage always completes normally, at
+     * the latest after the {@code jboss.agroal.warm-up-timeout}.
+     */
+    static CompletionStage<Void> warmUp(String dataSourceName, AgroalDataSource dataSource, int size, Executor executor) {
+        long timeout = SystemProperties.longProperty(WARM_UP_TIMEOUT_PROPERTY, 30000, 1);
+        long start = System.nanoTime();
+
+        // connections are held until all were created, otherwise the pool would hand out the same ones again
+        Queue<Connection> connections = new ConcurrentLinkedQueue<>();
+        AtomicInteger remaining = new AtomicInteger(size);
+        AtomicBoolean completed = new AtomicBoolean();
+        Runnable worker = () -> {
+            while (!completed.get() && remaining.getAndDecrement() > 0) {
+                try {
+                    Connection connection = dataSource.getConnection();
+                    if (!connection.isValid((int) TimeUnit.MILLISECONDS.toSeconds(timeout))) {
+                        connection.close();
+                        throw new CompletionException(AgroalLogger.SERVICE_LOGGER.invalidWarmUpConnection(dataSourceName));
+                    }
+                    connections.add(connection);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+                if (completed.get()) {
+                    // created after a timeout
+                    closeAll(connections);
+                }
+            }
+        };
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < Math.min(size, MAX_WARM_UP_THREADS); i++) {
+            futures.add(CompletableFuture.runAsync(worker, executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).orTimeout(timeout, TimeUnit.MILLISECONDS).handle((result, exception) -> {
+            if (exception == null) {
+                AgroalLogger.SERVICE_LOGGER.warmUpCompleted(dataSourceName, size, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } else {
+                AgroalLogger.SERVICE_LOGGER.warmUpFailed((exception instanceof CompletionException) ? exception.getCause() : exception, dataSourceName);
+            }
+            // return the connections to the pool, the workers still running close theirs themselves
+            completed.set(true);
+            closeAll(connections);
+            return null;
+        });
+    }
+
+    private static void closeAll(Queue<Connection> connections) {
+        for (Connection connection = connections.poll(); connection != null; connection = connections.poll()) {
+            close(connection);
+        }
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * Starts the adaptive pre-fill if enabled by the {@code jboss.agroal.adaptive-prefill} system property, adjusting the pool
+     * on the given scheduled executor.
+     *
+     * @return the running pre-fill, to be stopped with the datasource, or {@code null} if not enabled
+     */
+    static ConnectionPoolPrefill start(String dataSourceName, AgroalDataSource dataSource, ScheduledExecutorService executor) {
+        if (!Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ADAPTIVE_PREFILL_PROPERTY, "false"))) {
+            return null;
+        }
+        ConnectionPoolPrefill prefill = new ConnectionPoolPrefill(dataSourceName, dataSource);
+        List<AgroalPoolInterceptor> interceptors = new ArrayList<>(dataSource.getPoolInterceptors());
+        interceptors.add(prefill);
+        dataSource.setPoolInterceptors(interceptors);
+        prefill.task = executor.scheduleWithFixedDelay(prefill::adjust, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        return prefill;
+    }
+
+    void stop() {
+        task.cancel(false);
+        List<AgroalPoolInterceptor> interceptors = new ArrayList<>(dataSource.getPoolInterceptors());
+        interceptors.remove(this);
+        dataSource.setPoolInterceptors(interceptors);
+    }
+
+    @Override
+    public void onConnectionAcquire(Connection connection) {
+        acquisitions.increment();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void onConnectionReturn(Connection connection) {
+        inUse.decrementAndGet();
+    }
+
+    /**
+     * Applies a runtime change of the min-size attribute. If the adaptive pre-fill is running, the value becomes the new lower
+     * bound of its adjustments.
+     */
+    static void setMinSize(AgroalDataSource dataSource, int minSize) {
+        for (AgroalPoolInterceptor interceptor : dataSource.getPoolInterceptors()) {
+            if (interceptor instanceof ConnectionPoolPrefill) {
+                ((ConnectionPoolPrefill) interceptor).setConfiguredMinSize(minSize);
+                return;
+            }
+        }
+        dataSource.getConfiguration().connectionPoolConfiguration().setMinSize(minSize);
+    }
+
+    private synchronized void setConfiguredMinSize(int minSize) {
+        configuredMinSize = minSize;
+        dataSource.getConfiguration().connectionPoolConfiguration().setMinSize(minSize);
+    }
+
+    // synchronized with setConfiguredMinSize, so that an adjustment never overwrites a min-size set concurrently
+    synchronized void adjust() {
+        try {
+            double rate = acquisitions.sumThenReset() * 1000d / INTERVAL_MILLIS;
+            int peak = peakInUse.getAndSet(inUse.get());
+            double previousRate = rateAverage;
+            rateAverage = ALPHA * rate + (1 - ALPHA) * rateAverage;
+            demandAverage = ALPHA * peak + (1 - ALPHA) * demandAverage;
+
+            int target = target(demandAverage, rate, previousRate);
+            AgroalConnectionPoolConfiguration configuration = dataSource.getConfiguration().connectionPoolConfiguration();
+            int minSize = Math.max(configuredMinSize, Math.min(target, configuration.maxSize()));
+            if (minSize != configuration.minSize()) {
+                boolean grow = minSize > configuration.minSize();
+                configuration.setMinSize(minSize);
+                if (grow) {
+                    dataSource.flush(AgroalDataSource.FlushMode.FILL);
+                }
+                AgroalLogger.SERVICE_LOGGER.adaptivePrefill(dataSourceName, minSize);
+            }
+        } catch (RuntimeException e) {
+            AgroalLogger.SERVICE_LOGGER.adaptivePrefillFailed(e, dataSourceName);
+        }
+    }
+
+    /**
+     * Estimates the connections needed for the next interval: the average demand scaled by the growth of the acquisition rate,
+     * plus some headroom.
+     */
+    static int target(double demandAverage, double rate, double rateAverage) {
+        double growth = rateAverage > 0 ? Math.max(1, rate / rateAverage) : 1;
+        return (int) Math.ceil(demandAverage * growth * HEADROOM);
+    }
+}
@@ -8,6 +8,8 @@ import static org.jboss.as.controller.security.CredentialReference.handleCredent
 import static org.jboss.as.controller.security.CredentialReference.rollbackCredentialStoreUpdate;
 import static org.wildfly.extension.datasources.agroal.AbstractDataSourceDefinition.CREDENTIAL_REFERENCE;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -23,6 +25,8 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.server.ServerService;
+import org.jboss.as.server.Services;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceName;
 import org.wildfly.common.function.ExceptionSupplier;
@@ -85,7 +89,10 @@ class DataSourceOperations {
             final Supplier<ExceptionSupplier<CredentialSource, Exception>> credentialSourceSupplier = AbstractDataSourceOperations.setupCredentialReference(context, factoryModel, serviceBuilder);
             // TODO add a Stage.MODEL requirement
             final Supplier<TransactionSynchronizationRegistry> txnRegistrySupplier = jta ? serviceBuilder.requiresCapability("org.wildfly.transactions.transaction-synchronization-registry", TransactionSynchronizationRegistry.class) : null;
-            DataSourceService dataSourceService = new DataSourceService(consumer, driverSupplier, authenticationContextSupplier, credentialSourceSupplier, txnRegistrySupplier, datasourceName, jndiName, jta, connectable, false, dataSourceConfiguration);
+            // used to warm up and pre-fill the pool
+            final Supplier<ExecutorService> executorSupplier = Services.requireServerExecutor(serviceBuilder);
+            final Supplier<ScheduledExecutorService> scheduledExecutorSupplier = serviceBuilder.requires(ServerService.JBOSS_SERVER_SCHEDULED_EXECUTOR);
+            DataSourceService dataSourceService = new DataSourceService(consumer, driverSupplier, authenticationContextSupplier, credentialSourceSupplier, txnRegistrySupplier, executorSupplier, scheduledExecutorSupplier, datasourceName, jndiName, jta, connectable, false, dataSourceConfiguration);
             serviceBuilder.setInstance(dataSourceService);
             serviceBuilder.install();
         }
@@ -46,6 +46,8 @@ import java.net.URISyntaxException;
 import java.security.AccessController;
 import java.sql.Driver;
 import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -67,23 +69,30 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
 
     private final AgroalDataSourceConfigurationSupplier dataSourceConfiguration;
     private AgroalDataSource agroalDataSource;
+    private ConnectionPoolPrefill connectionPoolPrefill;
 
     private final Supplier<Class> driverSupplier;
     private final Supplier<AuthenticationContext> authenticationContextSupplier;
     private final Supplier<ExceptionSupplier<CredentialSource, Exception>> credentialSourceSupplier;
     private final Supplier<TransactionSynchronizationRegistry> transactionSynchronizationRegistrySupplier;
+    private final Supplier<ExecutorService> executorSupplier;
+    private final Supplier<ScheduledExecutorService> scheduledExecutorSupplier;
 
     public DataSourceService(final Consumer<AgroalDataSource> consumer,
                              final Supplier<Class> driverSupplier,
                              final Supplier<AuthenticationContext> authenticationContextSupplier,
                              final Supplier<ExceptionSupplier<CredentialSource, Exception>> credentialSourceSupplier,
                              final Supplier<TransactionSynchronizationRegistry> transactionSynchronizationRegistrySupplier,
+                             final Supplier<ExecutorService> executorSupplier,
+                             final Supplier<ScheduledExecutorService> scheduledExecutorSupplier,
                              String dataSourceName, String jndiName, boolean jta, boolean connectable, boolean xa, AgroalDataSourceConfigurationSupplier dataSourceConfiguration) {
         this.consumer = consumer;
         this.driverSupplier = driverSupplier;
         this.authenticationContextSupplier = authenticationContextSupplier;
         this.credentialSourceSupplier = credentialSourceSupplier;
         this.transactionSynchronizationRegistrySupplier = transactionSynchronizationRegistrySupplier;
+        this.executorSupplier = executorSupplier;
+        this.scheduledExecutorSupplier = scheduledExecutorSupplier;
         this.dataSourceName = dataSourceName;
         this.jndiName = jndiName;
         this.jta = jta;
@@ -170,17 +179,9 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         try {
             agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName));
 
-            ContextNames.BindInfo bindInfo = ContextNames.bindInfoFor(jndiName);
-            BinderService binderService = new BinderService(bindInfo.getBindName());
-            binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(agroalDataSource));
-            context.getChildTarget().addService(bindInfo.getBinderServiceName(), binderService)
-                   .addDependency(bindInfo.getParentContextServiceName(), ServiceBasedNamingStore.class, binderService.getNamingStoreInjector())
-                   .install();
-
-            if (xa) {
-                AgroalLogger.SERVICE_LOGGER.startedXADataSource(dataSourceName, jndiName);
-            } else {
-                AgroalLogger.SERVICE_LOGGER.startedDataSource(dataSourceName, jndiName);
+            StatementStatistics statementStatistics = StatementStatistics.fromSystemProperties();
+            if (statementStatistics != null) {
+                agroalDataSource = new StatementTrackingDataSource(agroalDataSource, statementStatistics);
             }
         } catch (SQLException e) {
             agroalDataSource = null;
@@ -190,13 +191,73 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
                 throw AgroalLogger.SERVICE_LOGGER.datasourceStartException(e, dataSourceName);
             }
         }
+
+        int warmUpSize = ConnectionPoolPrefill.warmUpSize(agroalDataSource);
+        if (warmUpSize > 0) {
+            // the datasource is made available once the connections were created, which must not block the MSC thread
+            context.asynchronous();
+            try {
+                ConnectionPoolPrefill.warmUp(dataSourceName, agroalDataSource, warmUpSize, executorSupplier.get()).whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        // the warm-up logs its own failures, so this is unexpected
+                        AgroalLogger.SERVICE_LOGGER.warmUpFailed(exception, dataSourceName);
+                    }
+                    try {
+                        this.bind(context);
+                        context.complete();
+                    } catch (RuntimeException e) {
+                        this.failed(context, e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                this.failed(context, e);
+            }
+        } else {
+            try {
+                this.bind(context);
+            } catch (RuntimeException e) {
+                this.close();
+                throw e;
+            }
+        }
+    }
+
+    private void failed(StartContext context, RuntimeException e) {
+        this.close();
+        context.failed(new StartException(e));
+    }
+
+    private void close() {
+        if (connectionPoolPrefill != null) {
+            connectionPoolPrefill.stop();
+            connectionPoolPrefill = null;
+        }
+        agroalDataSource.close();
+        agroalDataSource = null;
+    }
+
+    private void bind(StartContext context) {
+        connectionPoolPrefill = ConnectionPoolPrefill.start(dataSourceName, agroalDataSource, scheduledExecutorSupplier.get());
+
+        ContextNames.BindInfo bindInfo = ContextNames.bindInfoFor(jndiName);
+        BinderService binderService = new BinderService(bindInfo.getBindName());
+        binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(agroalDataSource));
+        context.getChildTarget().addService(bindInfo.getBinderServiceName(), binderService)
+               .addDependency(bindInfo.getParentContextServiceName(), ServiceBasedNamingStore.class, binderService.getNamingStoreInjector())
+               .install();
+
+        if (xa) {
+            AgroalLogger.SERVICE_LOGGER.startedXADataSource(dataSourceName, jndiName);
+        } else {
+            AgroalLogger.SERVICE_LOGGER.startedDataSource(dataSourceName, jndiName);
+        }
         consumer.accept(agroalDataSource);
     }
 
     @Override
     public void stop(StopContext context) {
         consumer.accept(null);
-        agroalDataSource.close();
+        this.close();
         if (xa) {
             AgroalLogger.SERVICE_LOGGER.stoppedXADataSource(dataSourceName);
         } else {
@@ -0,0 +1,386 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Execution statistics of the SQL statements issued through a datasource, aggregated by statement shape (the SQL text with
+ * literals replaced by {@code ?}).
+ * <p>
+ * Memory is bounded: at most {@code maxStatements} shapes are tracked, and the least executed of a few randomly sampled shapes
+ * is evicted to make room for a new one. Executions slower than {@code slowThreshold} are additionally captured in a fixed size
+ * ring of samples.
+ */
+final class StatementStatistics {
+
+    static final String ENABLED_PROPERTY = "jboss.agroal.statement-statistics";
+    static final String MAX_STATEMENTS_PROPERTY = "jboss.agroal.statement-statistics.max-statements";
+    static final String SLOW_THRESHOLD_PROPERTY = "jboss.agroal.statement-statistics.slow-threshold";
+    static final String SLOW_SAMPLES_PROPERTY = "jboss.agroal.statement-statistics.slow-samples";
+
+    private static final int MAX_SQL_LENGTH = 2048;
+    // number of shapes compared to choose the one to evict
+    private static final int EVICTION_SAMPLES = 5;
+
+    private final long slowThresholdNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxStatements;
+    // the tracked shapes by slot, so that eviction samples them in constant time, guarded by itself
+    private final List<Entry> slots = new ArrayList<>();
+    private final AtomicReferenceArray<SlowExecution> slowExecutions;
+    private final AtomicLong slowIndex = new AtomicLong();
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    StatementStatistics(int maxStatements, long slowThresholdMillis, int slowSamples) {
+        this.maxStatements = Math.max(1, maxStatements);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, slowThresholdMillis));
+        this.slowExecutions = new AtomicReferenceArray<>(Math.max(1, slowSamples));
+    }
+
+    /**
+     * Creates the statistics configured through system properties, or returns {@code null} if statement statistics are disabled.
+     */
+    static StatementStatistics fromSystemProperties() {
+        if (!Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"))) {
+            return null;
+        }
+        long maxStatements = SystemProperties.longProperty(MAX_STATEMENTS_PROPERTY, 500, 1);
+        // a negative threshold would record every execution as slow
+        long slowThreshold = SystemProperties.longProperty(SLOW_THRESHOLD_PROPERTY, 1000, 0);
+        long slowSamples = SystemProperties.longProperty(SLOW_SAMPLES_PROPERTY, 20, 1);
+        return new StatementStatistics((int) Math.min(maxStatements, Integer.MAX_VALUE), slowThreshold, (int) Math.min(slowSamples, Integer.MAX_VALUE));
+    }
+
+    void record(String sql, long durationNanos, boolean failed) {
+        String shape = normalize(sql);
+        Entry entry = entries.get(shape);
+        if (entry == null) {
+            entry = add(shape);
+        }
+        entry.record(durationNanos, failed);
+        executionCount.increment();
+
+        if (durationNanos >= slowThresholdNanos) {
+            slowCount.increment();
+            int slot = (int) (slowIndex.getAndIncrement() % slowExecutions.length());
+            slowExecutions.set(slot, new SlowExecution(shape, sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql, durationNanos, System.currentTimeMillis()));
+        }
+    }
+
+    private Entry add(String shape) {
+        synchronized (slots) {
+            Entry entry = entries.get(shape);
+            if (entry != null) {
+                return entry;
+            }
+            entry = new Entry(shape);
+            if (slots.size() < maxStatements) {
+                slots.add(entry);
+            } else {
+                Entry victim = slots.set(sampleLeastExecuted(), entry);
+                entries.remove(victim.sql);
+                evictionCount.increment();
+            }
+            entries.put(shape, entry);
+            return entry;
+        }
+    }
+
+    private int sampleLeastExecuted() {
+        int victim = -1;
+        long victimCount = Long.MAX_VALUE;
+        boolean sampled = slots.size() > EVICTION_SAMPLES;
+        for (int i = 0; i < (sampled ? EVICTION_SAMPLES : slots.size()); i++) {
+            int slot = sampled ? ThreadLocalRandom.current().nextInt(slots.size()) : i;
+            long count = slots.get(slot).count.sum();
+            if (count < victimCount) {
+                victim = slot;
+                victimCount = count;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * The tracked statement shapes, most time consuming first.
+     */
+    List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>(entries.values());
+        result.sort(Comparator.comparingLong(Entry::getTotalTimeNanos).reversed());
+        return result;
+    }
+
+    /**
+     * The captured slow executions, most recent first.
+     */
+    List<SlowExecution> getSlowExecutions() {
+        List<SlowExecution> result = new ArrayList<>(slowExecutions.length());
+        for (int i = 0; i < slowExecutions.length(); i++) {
+            SlowExecution execution = slowExecutions.get(i);
+            if (execution != null) {
+                result.add(execution);
+            }
+        }
+        result.sort(Comparator.comparingLong(SlowExecution::getTimestamp).reversed());
+        return result;
+    }
+
+    long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    void reset() {
+        synchronized (slots) {
+            entries.clear();
+            slots.clear();
+        }
+        for (int i = 0; i < slowExecutions.length(); i++) {
+            slowExecutions.set(i, null);
+        }
+        executionCount.reset();
+        slowCount.reset();
+        evictionCount.reset();
+    }
+
+    /**
+     * Reduces a SQL statement to its shape: string and numeric literals become {@code ?}, runs of whitespace collapse to a single
+     * space, lists of parameters (e.g. in an {@code IN} clause) collapse to a single {@code ?} and keywords are upper cased.
+     * Quoted identifiers are kept as is, since their case is significant.
+     */
+    static String normalize(String sql) {
+        int length = Math.min(sql.length(), MAX_SQL_LENGTH);
+        StringBuilder builder = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // string literal, '' is an escaped quote
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                appendParameter(builder);
+            } else if (c == '"' || c == '`' || (c == '[' && !isIdentifierPart(builder))) {
+                // quoted identifier, a doubled closing quote is an escaped one
+                char close = (c == '[') ? ']' : c;
+                int start = i++;
+                while (i < length) {
+                    if (sql.charAt(i) == close) {
+                        if (i + 1 < length && sql.charAt(i + 1) == close) {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i = Math.min(i + 1, length);
+                builder.append(sql, start, i);
+            } else if (Character.isDigit(c) && !isIdentifierPart(builder)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                appendParameter(builder);
+            } else if (c == '?') {
+                i++;
+                appendParameter(builder);
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (builder.length() > 0 && i < length) {
+                    builder.append(' ');
+                }
+            } else {
+                builder.append(Character.toUpperCase(c));
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder builder) {
+        if (builder.length() == 0) {
+            return false;
+        }
+        char last = builder.charAt(builder.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+    private static void appendParameter(StringBuilder builder) {
+        // collapse "?, ?, ?" into a single "?"
+        int end = builder.length();
+        while (end > 0 && builder.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end > 0 && builder.charAt(end - 1) == ',') {
+            int previous = end - 1;
+            while (previous > 0 && builder.charAt(previous - 1) == ' ') {
+                previous--;
+            }
+            if (previous > 0 && builder.charAt(previous - 1) == '?') {
+                builder.setLength(previous);
+                return;
+            }
+        }
+        builder.append('?');
+    }
+
+    /**
+     * Statistics for a single statement shape.
+     */
+    static final class Entry {
+
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder totalTimeNanos = new LongAdder();
+        private final AtomicLong maxTimeNanos = new AtomicLong();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        Entry(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long durationNanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                errorCount.increment();
+            }
+            totalTimeNanos.add(durationNanos);
+            maxTimeNanos.accumulateAndGet(durationNanos, Math::max);
+            histogram.record(durationNanos);
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        long getErrorCount() {
+            return errorCount.sum();
+        }
+
+        long getTotalTimeNanos() {
+            return totalTimeNanos.sum();
+        }
+
+        long getMaxTimeNanos() {
+            return maxTimeNanos.get();
+        }
+
+        long getPercentileNanos(double percentile) {
+            return histogram.getPercentile(percentile);
+        }
+    }
+
+    /**
+     * A captured execution that exceeded the slow threshold.
+     */
+    static final class SlowExecution {
+
+        private final String shape;
+        private final String sql;
+        private final long durationNanos;
+        private final long timestamp;
+
+        SlowExecution(String shape, String sql, long durationNanos, long timestamp) {
+            this.shape = shape;
+            this.sql = sql;
+            this.durationNanos = durationNanos;
+            this.timestamp = timestamp;
+        }
+
+        String getShape() {
+            return shape;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        long getDurationNanos() {
+            return durationNanos;
+        }
+
+        long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    /**
+     * Lock-free latency histogram with exponential buckets: bucket {@code i} counts durations below {@code 2^i} microseconds.
+     */
+    static final class LatencyHistogram {
+
+        private static final int BUCKETS = 32;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void record(long durationNanos) {
+            long micros = durationNanos / 1000;
+            int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            counts.incrementAndGet(bucket);
+        }
+
+        /**
+         * Upper bound, in nanoseconds, of the bucket holding the given percentile (0 to 100) of the recorded durations.
+         */
+        long getPercentile(double percentile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return TimeUnit.MICROSECONDS.toNanos(1L << i);
+                }
+            }
+            return TimeUnit.MICROSECONDS.toNanos(1L << (BUCKETS - 1));
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.agroal.api.AgroalPoolInterceptor;
+import io.agroal.api.configuration.AgroalDataSourceConfiguration;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Wrapper;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * {@link AgroalDataSource} that hands out connections whose statements report their execution time to {@link StatementStatistics}.
+ * Executions are only recorded while statistics are enabled for the datasource.
+ */
+class StatementTrackingDataSource implements AgroalDataSource {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AgroalDataSource delegate;
+    private final transient StatementStatistics statistics;
+
+    StatementTrackingDataSource(AgroalDataSource delegate, StatementStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    StatementStatistics getStatementStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(delegate.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public AgroalDataSourceConfiguration getConfiguration() {
+        return delegate.getConfiguration();
+    }
+
+    @Override
+    public AgroalDataSourceMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public void flush(FlushMode mode) {
+        delegate.flush(mode);
+    }
+
+    @Override
+    public void setPoolInterceptors(Collection<? extends AgroalPoolInterceptor> interceptors) {
+        delegate.setPoolInterceptors(interceptors);
+    }
+
+    @Override
+    public List<AgroalPoolInterceptor> getPoolInterceptors() {
+        return delegate.getPoolInterceptors();
+    }
+
+    @Override
+    public boolean isHealthy(boolean newConnection) throws SQLException {
+        return delegate.isHealthy(newConnection);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(delegate) ? iface.cast(delegate) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    // --- //
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementTrackingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Handles the methods of {@link Object} and {@link Wrapper} for a proxy of a JDBC object, so that a proxy is only equal to
+     * itself and unwraps to the JDBC object of the driver, and delegates the other methods to {@link #invokeDelegate}.
+     */
+    private abstract static class WrapperHandler implements InvocationHandler {
+
+        private final Object delegate;
+
+        WrapperHandler(Object delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                case "unwrap":
+                    if (method.getParameterCount() == 1) {
+                        Class<?> type = (Class<?>) args[0];
+                        return type.isInstance(proxy) ? proxy : type.isInstance(delegate) ? delegate : ((Wrapper) delegate).unwrap(type);
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (method.getParameterCount() == 1) {
+                        Class<?> type = (Class<?>) args[0];
+                        return type.isInstance(proxy) || type.isInstance(delegate) || ((Wrapper) delegate).isWrapperFor(type);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return invokeDelegate(proxy, method, args);
+        }
+
+        abstract Object invokeDelegate(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    private class ConnectionHandler extends WrapperHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            super(connection);
+            this.connection = connection;
+        }
+
+        @Override
+        Object invokeDelegate(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTrackingDataSource.invoke(connection, method, args);
+            if (result instanceof Statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return wrapStatement((Statement) result, (Connection) proxy, sql);
+            }
+            if (result instanceof DatabaseMetaData) {
+                return proxy(DatabaseMetaData.class, new DatabaseMetaDataHandler((DatabaseMetaData) result, (Connection) proxy));
+            }
+            return result;
+        }
+    }
+
+    private Statement wrapStatement(Statement statement, Connection connection, String sql) {
+        if (statement instanceof CallableStatement) {
+            return proxy(CallableStatement.class, new StatementHandler(statement, connection, sql));
+        }
+        if (statement instanceof PreparedStatement) {
+            return proxy(PreparedStatement.class, new StatementHandler(statement, connection, sql));
+        }
+        return proxy(Statement.class, new StatementHandler(statement, connection, sql));
+    }
+
+    private class DatabaseMetaDataHandler extends WrapperHandler {
+
+        private final DatabaseMetaData metaData;
+        private final Connection connection;
+
+        DatabaseMetaDataHandler(DatabaseMetaData metaData, Connection connection) {
+            super(metaData);
+            this.metaData = metaData;
+            this.connection = connection;
+        }
+
+        @Override
+        Object invokeDelegate(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+            Object result = StatementTrackingDataSource.invoke(metaData, method, args);
+            return result instanceof ResultSet ? proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, null, connection)) : result;
+        }
+    }
+
+    private class ResultSetHandler extends WrapperHandler {
+
+        private final ResultSet resultSet;
+        // the proxy of the statement which produced the result set, or null if the result set comes from the database metadata
+        private final Statement statement;
+        private final Connection connection;
+
+        ResultSetHandler(ResultSet resultSet, Statement statement, Connection connection) {
+            super(resultSet);
+            this.resultSet = resultSet;
+            this.statement = statement;
+            this.connection = connection;
+        }
+
+        @Override
+        Object invokeDelegate(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("getStatement")) {
+                if (statement != null) {
+                    return statement;
+                }
+                Statement result = resultSet.getStatement();
+                return result != null ? wrapStatement(result, connection, null) : null;
+            }
+            return StatementTrackingDataSource.invoke(resultSet, method, args);
+        }
+    }
+
+    private class StatementHandler extends WrapperHandler {
+
+        private final Statement statement;
+        private final Connection connection;
+        private final String preparedSql;
+        private String batchSql;
+
+        StatementHandler(Statement statement, Connection connection, String preparedSql) {
+            super(statement);
+            this.statement = statement;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object invokeDelegate(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = execute(method, args);
+            return result instanceof ResultSet ? proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, (Statement) proxy, connection)) : result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("addBatch") && batchSql == null && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            } else if (name.equals("clearBatch")) {
+                batchSql = null;
+            }
+            if (!name.startsWith("execute") || !delegate.getConfiguration().metricsEnabled()) {
+                return StatementTrackingDataSource.invoke(statement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : name.endsWith("Batch") && batchSql != null ? batchSql : preparedSql;
+            if (name.endsWith("Batch")) {
+                batchSql = null;
+            }
+            boolean failed = true;
+            long start = System.nanoTime();
+            try {
+                Object result = StatementTrackingDataSource.invoke(statement, method, args);
+                failed = false;
+                return result;
+            } finally {
+                if (sql != null) {
+                    statistics.record(sql, System.nanoTime() - start, failed);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Reads the system properties tuning the datasources of this subsystem.
+ */
+final class SystemProperties {
+
+    private SystemProperties() {
+    }
+
+    /**
+     * Reads a numeric system property, falling back to the default value with a warning if it is not a number or is lower than
+     * the given minimum.
+     */
+    static long longProperty(String name, long defaultValue, long minValue) {
+        String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long result = Long.parseLong(value.trim());
+            if (result >= minValue) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // logged below
+        }
+        AgroalLogger.SERVICE_LOGGER.invalidSystemProperty(value, name, defaultValue);
+        return defaultValue;
+    }
+}
@@ -19,6 +19,7 @@ import org.jboss.msc.service.StartException;
 import java.lang.invoke.MethodHandles;
 import java.sql.SQLException;
 
+import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
@@ -79,6 +80,29 @@ public interface AgroalLogger extends BasicLogger {
     @Message(id = 111, value = "CredentialSourceSupplier for datasource '%s' is invalid")
     StartException invalidCredentialSourceSupplier(@Cause Throwable cause, String dataSourceName);
 
+    @LogMessage(level = INFO)
+    @Message(id = 112, value = "Warmed up datasource '%s' with %d connections in %d ms")
+    void warmUpCompleted(String dataSourceName, int connections, long millis);
+
+    @LogMessage(level = WARN)
+    @Message(id = 113, value = "Warm-up of datasource '%s' did not complete, the pool will be filled on demand")
+    void warmUpFailed(@Cause Throwable cause, String dataSourceName);
+
+    @Message(id = 114, value = "Connection created during warm-up of datasource '%s' is not valid")
+    SQLException invalidWarmUpConnection(String dataSourceName);
+
+    @LogMessage(level = DEBUG)
+    @Message(id = 115, value = "Adjusted min-size of datasource '%s' to %d")
+    void adaptivePrefill(String dataSourceName, int minSize);
+
+    @LogMessage(level = WARN)
+    @Message(id = 116, value = "Failed to adjust the pool size of datasource '%s'")
+    void adaptivePrefillFailed(@Cause Throwable cause, String dataSourceName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 117, value = "Invalid value '%s' of system property %s, using %d")
+    void invalidSystemProperty(String value, String property, long defaultValue);
+
     // --- Driver service //
 
     @LogMessage(level = INFO)
@@ -0,0 +1,163 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalPoolInterceptor;
+import io.agroal.api.configuration.AgroalConnectionPoolConfiguration;
+import io.agroal.api.configuration.AgroalDataSourceConfiguration;
+import org.junit.Test;
+
+/**
+ * Unit test for the warm-up and the demand estimation of {@link ConnectionPoolPrefill}.
+ */
+public class ConnectionPoolPrefillTestCase {
+
+    @Test
+    public void testSteadyDemand() {
+        assertEquals(12, ConnectionPoolPrefill.target(10, 100, 100));
+        assertEquals(0, ConnectionPoolPrefill.target(0, 0, 0));
+    }
+
+    @Test
+    public void testGrowingDemand() {
+        // acquisition rate doubled, so the demand is expected to double as well
+        assertEquals(24, ConnectionPoolPrefill.target(10, 200, 100));
+    }
+
+    @Test
+    public void testDecreasingDemand() {
+        // a falling acquisition rate does not shrink the estimate below the average demand
+        assertEquals(12, ConnectionPoolPrefill.target(10, 50, 100));
+    }
+
+    @Test
+    public void testWarmUp() throws SQLException {
+        AgroalDataSource dataSource = dataSource(new AtomicInteger(0), 50);
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        ConnectionPoolPrefill.warmUp("test", dataSource, 3, Runnable::run).toCompletableFuture().join();
+
+        verify(dataSource, times(3)).getConnection();
+        // all connections are returned to the pool
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    public void testFailedWarmUp() throws SQLException {
+        AgroalDataSource dataSource = dataSource(new AtomicInteger(0), 50);
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(false);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        // failures only delay the filling of the pool, so the warm-up completes normally
+        ConnectionPoolPrefill.warmUp("test", dataSource, 3, Runnable::run).toCompletableFuture().join();
+        // invalid connections are closed right away
+        verify(connection, times(3)).close();
+
+        when(dataSource.getConnection()).thenThrow(new SQLException());
+        ConnectionPoolPrefill.warmUp("test", dataSource, 3, Runnable::run).toCompletableFuture().join();
+    }
+
+    @Test
+    public void testRuntimeMinSize() {
+        AtomicInteger minSize = new AtomicInteger(2);
+        AgroalDataSource dataSource = dataSource(minSize, 50);
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        ScheduledFuture<?> task = mock(ScheduledFuture.class);
+        doReturn(task).when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any(TimeUnit.class));
+
+        System.setProperty(ConnectionPoolPrefill.ADAPTIVE_PREFILL_PROPERTY, "true");
+        ConnectionPoolPrefill prefill;
+        try {
+            prefill = ConnectionPoolPrefill.start("test", dataSource, executor);
+        } finally {
+            System.clearProperty(ConnectionPoolPrefill.ADAPTIVE_PREFILL_PROPERTY);
+        }
+        try {
+            for (int i = 0; i < 10; i++) {
+                prefill.onConnectionAcquire(null);
+            }
+            prefill.adjust();
+            assertEquals(4, minSize.get());
+
+            // a min-size written at runtime is not overwritten by a lower estimate
+            ConnectionPoolPrefill.setMinSize(dataSource, 20);
+            prefill.adjust();
+            assertEquals(20, minSize.get());
+
+            // and a lower min-size written at runtime becomes the new lower bound
+            for (int i = 0; i < 10; i++) {
+                prefill.onConnectionReturn(null);
+            }
+            ConnectionPoolPrefill.setMinSize(dataSource, 1);
+            prefill.adjust();
+            assertEquals(8, minSize.get());
+            for (int i = 0; i < 20; i++) {
+                prefill.adjust();
+            }
+            assertEquals(1, minSize.get());
+        } finally {
+            prefill.stop();
+        }
+        verify(task).cancel(false);
+        assertEquals(0, dataSource.getPoolInterceptors().size());
+    }
+
+    @Test
+    public void testSetMinSizeWithoutPrefill() {
+        AtomicInteger minSize = new AtomicInteger(2);
+        AgroalDataSource dataSource = dataSource(minSize, 50);
+        ConnectionPoolPrefill.setMinSize(dataSource, 5);
+        assertEquals(5, minSize.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AgroalDataSource dataSource(AtomicInteger minSize, int maxSize) {
+        AgroalConnectionPoolConfiguration pool = mock(AgroalConnectionPoolConfiguration.class);
+        when(pool.minSize()).thenAnswer(invocation -> minSize.get());
+        when(pool.maxSize()).thenReturn(maxSize);
+        doAnswer(invocation -> {
+            minSize.set(invocation.getArgument(0));
+            return null;
+        }).when(pool).setMinSize(anyInt());
+        AgroalDataSourceConfiguration configuration = mock(AgroalDataSourceConfiguration.class);
+        when(configuration.connectionPoolConfiguration()).thenReturn(pool);
+
+        List<AgroalPoolInterceptor> interceptors = new ArrayList<>();
+        AgroalDataSource dataSource = mock(AgroalDataSource.class);
+        when(dataSource.getConfiguration()).thenReturn(configuration);
+        when(dataSource.getPoolInterceptors()).thenAnswer(invocation -> new ArrayList<>(interceptors));
+        doAnswer(invocation -> {
+            interceptors.clear();
+            interceptors.addAll((Collection<? extends AgroalPoolInterceptor>) invocation.getArgument(0));
+            return null;
+        }).when(dataSource).setPoolInterceptors(any());
+        return dataSource;
+    }
+}
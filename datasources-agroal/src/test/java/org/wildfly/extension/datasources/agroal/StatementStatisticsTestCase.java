@@ -0,0 +1,101 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StatementStatistics}.
+ */
+public class StatementStatisticsTestCase {
+
+    @Test
+    public void testNormalize() {
+        assertEquals("SELECT * FROM PERSON WHERE ID = ?", StatementStatistics.normalize("select *   from person\n where id = 42"));
+        assertEquals("SELECT * FROM PERSON WHERE NAME = ? AND AGE > ?", StatementStatistics.normalize("select * from person where name = 'O''Brien' and age > 3.5"));
+        assertEquals("SELECT * FROM PERSON WHERE ID IN (?)", StatementStatistics.normalize("select * from person where id in (1, 2, 3)"));
+        assertEquals("SELECT * FROM PERSON WHERE ID IN (?)", StatementStatistics.normalize("select * from person where id in (?,?,?)"));
+        assertEquals("SELECT COL1 FROM T2", StatementStatistics.normalize("select col1 from t2"));
+        // quoted identifiers are case sensitive
+        assertEquals("SELECT \"Name\", `Age` FROM [My Table] WHERE \"a\"\"b\" = ?", StatementStatistics.normalize("select \"Name\", `Age` from [My Table] where \"a\"\"b\" = 'X'"));
+        assertEquals("SELECT A[?] FROM T", StatementStatistics.normalize("select a[1] from t"));
+    }
+
+    @Test
+    public void testAggregation() {
+        StatementStatistics statistics = new StatementStatistics(10, 1000, 5);
+        statistics.record("select * from person where id = 1", TimeUnit.MILLISECONDS.toNanos(2), false);
+        statistics.record("select * from person where id = 2", TimeUnit.MILLISECONDS.toNanos(4), true);
+
+        List<StatementStatistics.Entry> entries = statistics.getEntries();
+        assertEquals(1, entries.size());
+        StatementStatistics.Entry entry = entries.get(0);
+        assertEquals(2, entry.getCount());
+        assertEquals(1, entry.getErrorCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(6), entry.getTotalTimeNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(4), entry.getMaxTimeNanos());
+        assertTrue(entry.getPercentileNanos(99) >= TimeUnit.MILLISECONDS.toNanos(4));
+        assertEquals(2, statistics.getExecutionCount());
+        assertEquals(0, statistics.getSlowCount());
+    }
+
+    @Test
+    public void testEviction() {
+        StatementStatistics statistics = new StatementStatistics(2, 1000, 5);
+        statistics.record("select a from t", 1, false);
+        statistics.record("select a from t", 1, false);
+        statistics.record("select b from t", 1, false);
+        statistics.record("select c from t", 1, false);
+
+        List<StatementStatistics.Entry> entries = statistics.getEntries();
+        assertEquals(2, entries.size());
+        assertTrue(entries.stream().anyMatch(entry -> entry.getSql().equals("SELECT A FROM T")));
+        assertTrue(entries.stream().anyMatch(entry -> entry.getSql().equals("SELECT C FROM T")));
+        assertEquals(1, statistics.getEvictionCount());
+    }
+
+    @Test
+    public void testSampledEviction() {
+        StatementStatistics statistics = new StatementStatistics(100, 1000, 5);
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 10; j++) {
+                statistics.record("select a" + i + " from t", 1, false);
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            statistics.record("select b" + i + " from t", 1, false);
+        }
+
+        assertEquals(100, statistics.getEntries().size());
+        assertEquals(1000, statistics.getEvictionCount());
+        // eviction is biased towards the shapes executed once, an unbiased one would keep almost none of the frequent shapes
+        long frequent = statistics.getEntries().stream().filter(entry -> entry.getCount() == 10).count();
+        assertTrue(String.valueOf(frequent), frequent > 20);
+    }
+
+    @Test
+    public void testSlowExecutions() {
+        StatementStatistics statistics = new StatementStatistics(10, 10, 2);
+        statistics.record("select a from t where x = 1", TimeUnit.MILLISECONDS.toNanos(20), false);
+        statistics.record("select b from t", TimeUnit.MILLISECONDS.toNanos(1), false);
+        statistics.record("select c from t", TimeUnit.MILLISECONDS.toNanos(30), false);
+        statistics.record("select d from t", TimeUnit.MILLISECONDS.toNanos(40), false);
+
+        assertEquals(3, statistics.getSlowCount());
+        List<StatementStatistics.SlowExecution> executions = statistics.getSlowExecutions();
+        assertEquals(2, executions.size());
+        assertTrue(executions.stream().noneMatch(execution -> execution.getSql().startsWith("select a")));
+
+        statistics.reset();
+        assertTrue(statistics.getSlowExecutions().isEmpty());
+        assertTrue(statistics.getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.configuration.AgroalDataSourceConfiguration;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Unit test for the connection, statement, result set and metadata wrappers of {@link StatementTrackingDataSource}.
+ */
+public class StatementTrackingDataSourceTestCase {
+
+    /**
+     * Stands for a vendor specific interface of the JDBC objects of a driver.
+     */
+    public interface VendorObject {
+    }
+
+    private final StatementStatistics statistics = new StatementStatistics(10, 1000, 5);
+    private final Connection driverConnection = driverObject(Connection.class);
+    private final StatementTrackingDataSource dataSource;
+
+    public StatementTrackingDataSourceTestCase() throws SQLException {
+        AgroalDataSourceConfiguration configuration = mock(AgroalDataSourceConfiguration.class);
+        when(configuration.metricsEnabled()).thenReturn(true);
+        AgroalDataSource agroalDataSource = mock(AgroalDataSource.class);
+        when(agroalDataSource.getConfiguration()).thenReturn(configuration);
+        when(agroalDataSource.getConnection()).thenReturn(this.driverConnection);
+        this.dataSource = new StatementTrackingDataSource(agroalDataSource, this.statistics);
+    }
+
+    @Test
+    public void testWrapper() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        Connection other = dataSource.getConnection();
+
+        assertTrue(connection.equals(connection));
+        assertFalse(connection.equals(other));
+        assertFalse(connection.equals(driverConnection));
+        assertEquals(System.identityHashCode(connection), connection.hashCode());
+
+        assertSame(connection, connection.unwrap(Connection.class));
+        assertSame(driverConnection, connection.unwrap(VendorObject.class));
+        assertTrue(connection.isWrapperFor(Connection.class));
+        assertTrue(connection.isWrapperFor(VendorObject.class));
+        assertFalse(connection.isWrapperFor(String.class));
+
+        Statement statement = connection.createStatement();
+        assertTrue(statement.equals(statement));
+        assertSame(statement, statement.unwrap(Statement.class));
+        assertTrue(statement.unwrap(VendorObject.class) instanceof Statement);
+        assertNotSame(statement, statement.unwrap(VendorObject.class));
+    }
+
+    @Test
+    public void testNavigation() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        PreparedStatement statement = connection.prepareStatement("select a from t where b = ?");
+        assertSame(connection, statement.getConnection());
+        ResultSet resultSet = statement.executeQuery();
+        assertSame(statement, resultSet.getStatement());
+        assertEquals(1, statistics.getExecutionCount());
+
+        DatabaseMetaData metaData = connection.getMetaData();
+        assertSame(connection, metaData.getConnection());
+        ResultSet tables = metaData.getTables(null, null, null, null);
+        Statement tablesStatement = tables.getStatement();
+        assertFalse(tablesStatement instanceof VendorObject);
+        assertSame(connection, tablesStatement.getConnection());
+    }
+
+    /**
+     * Creates a JDBC object of a fake driver, whose methods return other JDBC objects of the same driver.
+     */
+    private static <T> T driverObject(Class<T> type) {
+        return mock(type, withSettings().extraInterfaces(VendorObject.class).defaultAnswer(new DriverObjectAnswer()));
+    }
+
+    /**
+     * Answers the invocations of the JDBC objects of the fake driver.
+     */
+    private static class DriverObjectAnswer implements Answer<Object> {
+        @Override
+        public Object answer(InvocationOnMock invocation) throws Throwable {
+            Object mock = invocation.getMock();
+            switch (invocation.getMethod().getName()) {
+                case "unwrap":
+                    return ((Class<?>) invocation.getArgument(0)).isInstance(mock) ? mock : null;
+                case "isWrapperFor":
+                    return ((Class<?>) invocation.getArgument(0)).isInstance(mock);
+                default:
+                    break;
+            }
+            Class<?> returnType = invocation.getMethod().getReturnType();
+            return returnType.isInterface() && returnType.getName().startsWith("java.sql.") ? driverObject(returnType) : Answers.RETURNS_DEFAULTS.answer(invocation);
+        }
+    }
+}
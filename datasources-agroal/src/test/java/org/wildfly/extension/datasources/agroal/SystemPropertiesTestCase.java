@@ -0,0 +1,41 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SystemProperties}.
+ */
+public class SystemPropertiesTestCase {
+
+    private static final String NAME = StatementStatistics.SLOW_THRESHOLD_PROPERTY;
+
+    @After
+    public void clearProperty() {
+        System.clearProperty(NAME);
+    }
+
+    @Test
+    public void testLongProperty() {
+        assertEquals(1000, SystemProperties.longProperty(NAME, 1000, 0));
+        System.setProperty(NAME, " 5000 ");
+        assertEquals(5000, SystemProperties.longProperty(NAME, 1000, 0));
+        System.setProperty(NAME, "0");
+        assertEquals(0, SystemProperties.longProperty(NAME, 1000, 0));
+    }
+
+    @Test
+    public void testInvalidLongProperty() {
+        System.setProperty(NAME, "1s");
+        assertEquals(1000, SystemProperties.longProperty(NAME, 1000, 0));
+        // e.g. a negative slow threshold, which would record every execution as slow
+        System.setProperty(NAME, "-1");
+        assertEquals(1000, SystemProperties.longProperty(NAME, 1000, 0));
+    }
+}
@@ -10,19 +10,16 @@ import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 
+import org.jboss.as.ee.component.interceptors.WeavedInterceptorFactory;
 import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.reflect.ClassReflectionIndexUtil;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.invocation.ImmediateInterceptorFactory;
-import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactory;
-import org.jboss.invocation.InterceptorFactoryContext;
-import org.jboss.invocation.Interceptors;
 import org.jboss.msc.value.InjectedValue;
 
 import static org.jboss.as.ee.logging.EeLogger.ROOT_LOGGER;
@@ -42,17 +39,7 @@ public class AbstractComponentConfigurator {
         if(interceptorFactories == null) {
             return null;
         }
-        return new InterceptorFactory() {
-            @Override
-            public Interceptor create(InterceptorFactoryContext context) {
-                final Interceptor[] interceptors = new Interceptor[interceptorFactories.size()];
-                final Iterator<InterceptorFactory> factories = interceptorFactories.iterator();
-                for (int i = 0; i < interceptors.length; i++) {
-                    interceptors[i] = factories.next().create(context);
-                }
-                return Interceptors.getWeavedInterceptor(interceptors);
-            }
-        };
+        return new WeavedInterceptorFactory(interceptorFactories);
     }
 
     /**
@@ -70,4 +70,9 @@ public class Attachments {
 
     public static final AttachmentKey<StartupCountdown> STARTUP_COUNTDOWN = AttachmentKey.create(StartupCountdown.class);
     public static final AttachmentKey<ComponentRegistry> COMPONENT_REGISTRY = AttachmentKey.create(ComponentRegistry.class);
+
+    /**
+     * The number of services installed by {@link org.jboss.as.ee.component.deployers.ComponentInstallProcessor} for the components of a deployment unit.
+     */
+    public static final AttachmentKey<Integer> COMPONENT_SERVICE_COUNT = AttachmentKey.create(Integer.class);
 }
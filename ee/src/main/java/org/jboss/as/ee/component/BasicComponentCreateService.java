@@ -10,6 +10,7 @@ import java.lang.reflect.Modifier;
 import java.util.IdentityHashMap;
 import java.util.Map;
 
+import org.jboss.as.ee.component.interceptors.FlattenedInterceptorFactory;
 import org.jboss.as.ee.logging.EeLogger;
 import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.invocation.InterceptorFactory;
@@ -50,7 +51,7 @@ public class BasicComponentCreateService implements Service<Component> {
         final IdentityHashMap<Method, InterceptorFactory> componentInterceptors = new IdentityHashMap<Method, InterceptorFactory>();
         for (Method method : componentConfiguration.getDefinedComponentMethods()) {
             if(requiresInterceptors(method, componentConfiguration)) {
-                componentInterceptors.put(method, Interceptors.getChainedInterceptorFactory(componentConfiguration.getComponentInterceptors(method)));
+                componentInterceptors.put(method, FlattenedInterceptorFactory.getChainedInterceptorFactory(componentConfiguration.getComponentInterceptors(method)));
             }
         }
         componentClass = componentConfiguration.getComponentClass();
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.jboss.as.ee.component.interceptors.FlattenedInterceptorFactory;
 import org.jboss.as.ee.logging.EeLogger;
 import org.jboss.as.ee.utils.DescriptorUtils;
 import org.jboss.as.naming.ManagedReference;
@@ -68,7 +69,7 @@ public final class ViewService implements Service<ComponentView> {
             if (method.getName().equals("finalize") && method.getParameterCount() == 0) {
                 viewInterceptorFactories.put(method, Interceptors.getTerminalInterceptorFactory());
             } else {
-                viewInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getViewInterceptors(method)));
+                viewInterceptorFactories.put(method, FlattenedInterceptorFactory.getChainedInterceptorFactory(viewConfiguration.getViewInterceptors(method)));
                 clientInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getClientInterceptors(method)));
             }
         }
@@ -11,6 +11,7 @@ import static org.jboss.as.ee.logging.EeLogger.ROOT_LOGGER;
 import static org.jboss.as.server.deployment.Attachments.MODULE;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -35,6 +36,7 @@ import org.jboss.as.ee.component.ViewConfiguration;
 import org.jboss.as.ee.component.ViewService;
 import org.jboss.as.ee.logging.EeLogger;
 import org.jboss.as.ee.metadata.MetadataCompleteMarker;
+import org.jboss.as.ee.subsystem.EeExtension;
 import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.as.naming.ServiceBasedNamingStore;
 import org.jboss.as.naming.deployment.ContextNames;
@@ -44,6 +46,7 @@ import org.jboss.as.naming.service.NamingStoreService;
 import org.jboss.as.server.CurrentServiceContainer;
 import org.jboss.as.server.Services;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentResourceSupport;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
@@ -55,13 +58,23 @@ import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
+ * Installs the services of the EE components of a deployment.
+ * <p>
+ * If the {@value #COMPACT_PROPERTY} system property is set to {@code true}, the JNDI bindings of all the components of a
+ * deployment unit are awaited by a single service instead of one service per component.
+ *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  * @author Eduardo Martins
  */
 public final class ComponentInstallProcessor implements DeploymentUnitProcessor {
 
+    public static final String COMPACT_PROPERTY = "jboss.ee.compact-component-services";
+
+    private static final boolean COMPACT = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(COMPACT_PROPERTY, "false"));
+
     private static final ServiceName JNDI_BINDINGS_SERVICE = ServiceName.of("JndiBindingsService");
 
     private static final List<String> SPEC_COMPONENTS = List.of(
@@ -84,6 +97,19 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
             "ValidatorFactory"
     );
 
+    private final boolean compact;
+
+    public ComponentInstallProcessor() {
+        this(COMPACT);
+    }
+
+    /**
+     * @param compact whether the JNDI bindings of all the components of a deployment unit are awaited by a single service
+     */
+    public ComponentInstallProcessor(final boolean compact) {
+        this.compact = compact;
+    }
+
     public void deploy(final DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final Module module = deploymentUnit.getAttachment(MODULE);
@@ -97,11 +123,15 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
 
         final ServiceName bindingDependencyService = JndiNamingDependencyProcessor.serviceName(deploymentUnit.getServiceName());
 
+        // In compact mode, the JNDI bindings of all components are collected here, instead of being awaited by a service per component
+        final Set<ServiceName> moduleBindings = this.compact ? new LinkedHashSet<>() : null;
+        int serviceCount = 0;
+
         // Iterate through each component, installing it into the container
         for (final ComponentConfiguration configuration : moduleConfiguration.getComponentConfigurations()) {
             try {
                 ROOT_LOGGER.tracef("Installing component %s", configuration.getComponentClass().getName());
-                deployComponent(phaseContext, configuration, dependencies, bindingDependencyService);
+                serviceCount += deployComponent(phaseContext, configuration, dependencies, bindingDependencyService, moduleBindings);
                 componentRegistry.addComponent(configuration);
 
                 //we need to make sure that the web deployment has a dependency on all components it the app, so web components are started
@@ -112,10 +142,35 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
                 throw EeLogger.ROOT_LOGGER.failedToInstallComponent(e, configuration.getComponentName());
             }
         }
+
+        if (moduleBindings != null && !moduleBindings.isEmpty()) {
+            final ServiceName jndiDepServiceName = deploymentUnit.getServiceName().append(JNDI_BINDINGS_SERVICE);
+            final ServiceBuilder<?> jndiDepServiceBuilder = phaseContext.getServiceTarget().addService(jndiDepServiceName);
+            for (ServiceName binding : moduleBindings) {
+                jndiDepServiceBuilder.requires(binding);
+            }
+            jndiDepServiceBuilder.install();
+            dependencies.add(jndiDepServiceName);
+            serviceCount++;
+        }
+
+        if (!moduleConfiguration.getComponentConfigurations().isEmpty()) {
+            deploymentUnit.putAttachment(Attachments.COMPONENT_SERVICE_COUNT, serviceCount);
+            // Registers the runtime resource exposing the count
+            final DeploymentResourceSupport deploymentResourceSupport = deploymentUnit.getAttachment(org.jboss.as.server.deployment.Attachments.DEPLOYMENT_RESOURCE_SUPPORT);
+            if (deploymentResourceSupport != null) {
+                deploymentResourceSupport.getDeploymentSubsystemModel(EeExtension.SUBSYSTEM_NAME);
+            }
+        }
     }
 
+    /**
+     * Installs the services of a component.
+     *
+     * @return the number of services installed
+     */
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    protected void deployComponent(final DeploymentPhaseContext phaseContext, final ComponentConfiguration configuration, final List<ServiceName> jndiDependencies, final ServiceName bindingDependencyService) throws DeploymentUnitProcessingException {
+    protected int deployComponent(final DeploymentPhaseContext phaseContext, final ComponentConfiguration configuration, final List<ServiceName> jndiDependencies, final ServiceName bindingDependencyService, final Set<ServiceName> moduleBindings) throws DeploymentUnitProcessingException {
 
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final ServiceTarget serviceTarget = phaseContext.getServiceTarget();
@@ -138,11 +193,9 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
 
         deploymentUnit.addToAttachmentList(org.jboss.as.server.deployment.Attachments.DEPLOYMENT_COMPLETE_SERVICES, startServiceName);
 
-        //WFLY-1402 we don't add the bindings to the jndi dependencies list directly, instead
-        //the bindings depend on the this artificial service
-        ServiceName jndiDepServiceName = configuration.getComponentDescription().getServiceName().append(JNDI_BINDINGS_SERVICE);
-        final ServiceBuilder<Void> jndiDepServiceBuilder = serviceTarget.addService(jndiDepServiceName, Service.NULL);
-        jndiDependencies.add(jndiDepServiceName);
+        // The binder services of the component, which are awaited by an artificial service
+        final Set<ServiceName> bindings = new LinkedHashSet<>();
+        int serviceCount = 2;
 
         // Add all service dependencies
         for (DependencyConfigurator configurator : configuration.getCreateDependencies()) {
@@ -163,6 +216,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
         if (configuration.getComponentDescription().getNamingMode() == ComponentNamingMode.CREATE) {
             final NamingStoreService contextService = new NamingStoreService(true);
             serviceTarget.addService(configuration.getComponentDescription().getContextServiceName(), contextService).install();
+            serviceCount++;
         }
 
         final InjectionSource.ResolutionContext resolutionContext = new InjectionSource.ResolutionContext(
@@ -183,6 +237,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
                 depConfig.configureDependency(componentViewServiceBuilder, viewService);
             }
             componentViewServiceBuilder.install();
+            serviceCount++;
             startBuilder.requires(serviceName);
             // The bindings for the view
             for (BindingConfiguration bindingConfiguration : viewConfiguration.getBindingConfigurations()) {
@@ -191,7 +246,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
                 final BinderService service = new BinderService(bindInfo.getBindName(), bindingConfiguration.getSource());
 
                 //these bindings should never be merged, if a view binding is duplicated it is an error
-                jndiDepServiceBuilder.requires(bindInfo.getBinderServiceName());
+                bindings.add(bindInfo.getBinderServiceName());
 
                 ServiceBuilder<ManagedReferenceFactory> serviceBuilder = serviceTarget.addService(bindInfo.getBinderServiceName(), service);
                 bindingConfiguration.getSource().getResourceValue(resolutionContext, serviceBuilder, phaseContext, service.getManagedObjectInjector());
@@ -209,7 +264,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
         if (configuration.getComponentDescription().getNamingMode() == ComponentNamingMode.CREATE) {
             // The bindings for the component
             final Set<ServiceName> bound = new HashSet<ServiceName>();
-            processBindings(phaseContext, configuration, serviceTarget, resolutionContext, configuration.getComponentDescription().getBindingConfigurations(), jndiDepServiceBuilder, bound);
+            processBindings(phaseContext, configuration, serviceTarget, resolutionContext, configuration.getComponentDescription().getBindingConfigurations(), bindings, bound);
 
             //class level bindings should be ignored if the deployment is metadata complete
             if (!MetadataCompleteMarker.isMetadataComplete(phaseContext.getDeploymentUnit())) {
@@ -219,7 +274,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
                     @Override
                     protected void handle(final Class<?> clazz, final EEModuleClassDescription classDescription) throws DeploymentUnitProcessingException {
                         if (classDescription != null) {
-                            processBindings(phaseContext, configuration, serviceTarget, resolutionContext, classDescription.getBindingConfigurations(), jndiDepServiceBuilder, bound);
+                            processBindings(phaseContext, configuration, serviceTarget, resolutionContext, classDescription.getBindingConfigurations(), bindings, bound);
                         }
                     }
                 }.run();
@@ -237,7 +292,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
                             @Override
                             protected void handle(final Class<?> clazz, final EEModuleClassDescription classDescription) throws DeploymentUnitProcessingException {
                                 if (classDescription != null) {
-                                    processBindings(phaseContext, configuration, serviceTarget, resolutionContext, classDescription.getBindingConfigurations(), jndiDepServiceBuilder, bound);
+                                    processBindings(phaseContext, configuration, serviceTarget, resolutionContext, classDescription.getBindingConfigurations(), bindings, bound);
                                 }
                             }
                         }.run();
@@ -248,11 +303,27 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
 
         createBuilder.install();
         startBuilder.install();
-        jndiDepServiceBuilder.install();
+        serviceCount += bindings.size();
+
+        if (moduleBindings != null) {
+            moduleBindings.addAll(bindings);
+        } else {
+            //WFLY-1402 we don't add the bindings to the jndi dependencies list directly, instead
+            //the bindings depend on the this artificial service
+            final ServiceName jndiDepServiceName = configuration.getComponentDescription().getServiceName().append(JNDI_BINDINGS_SERVICE);
+            final ServiceBuilder<Void> jndiDepServiceBuilder = serviceTarget.addService(jndiDepServiceName, Service.NULL);
+            for (ServiceName binding : bindings) {
+                jndiDepServiceBuilder.requires(binding);
+            }
+            jndiDepServiceBuilder.install();
+            jndiDependencies.add(jndiDepServiceName);
+            serviceCount++;
+        }
+        return serviceCount;
     }
 
     @SuppressWarnings("unchecked")
-    private void processBindings(DeploymentPhaseContext phaseContext, ComponentConfiguration configuration, ServiceTarget serviceTarget, InjectionSource.ResolutionContext resolutionContext, List<BindingConfiguration> bindings, final ServiceBuilder<?> jndiDepServiceBuilder, final Set<ServiceName> bound) throws DeploymentUnitProcessingException {
+    private void processBindings(DeploymentPhaseContext phaseContext, ComponentConfiguration configuration, ServiceTarget serviceTarget, InjectionSource.ResolutionContext resolutionContext, List<BindingConfiguration> bindings, final Set<ServiceName> jndiBindings, final Set<ServiceName> bound) throws DeploymentUnitProcessingException {
 
         //we only handle java:comp bindings for components that have their own namespace here, the rest are processed by ModuleJndiBindingProcessor
         for (BindingConfiguration bindingConfiguration : bindings) {
@@ -265,7 +336,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
                 bound.add(bindInfo.getBinderServiceName());
                 try {
                     final BinderService service = new BinderService(bindInfo.getBindName(), bindingConfiguration.getSource());
-                    jndiDepServiceBuilder.requires(bindInfo.getBinderServiceName());
+                    jndiBindings.add(bindInfo.getBinderServiceName());
                     ServiceBuilder<ManagedReferenceFactory> serviceBuilder = serviceTarget.addService(bindInfo.getBinderServiceName(), service);
                     bindingConfiguration.getSource().getResourceValue(resolutionContext, serviceBuilder, phaseContext, service.getManagedObjectInjector());
                     serviceBuilder.addDependency(bindInfo.getParentContextServiceName(), ServiceBasedNamingStore.class, service.getNamingStoreInjector());
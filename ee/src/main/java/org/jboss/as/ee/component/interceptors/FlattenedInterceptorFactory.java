@@ -0,0 +1,56 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.component.interceptors;
+
+import java.util.Collection;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.Interceptors;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Interceptor factory that creates a chain of interceptors in which the {@linkplain WeavedInterceptorFactory weaved}
+ * interceptors are spliced, so that an invocation walks a single array of interceptors instead of weaving them into a
+ * copy of the chain each time.
+ * <p>
+ * Chains are only flattened if the {@value #FLATTEN_PROPERTY} system property is set to {@code true}.
+ */
+public final class FlattenedInterceptorFactory implements InterceptorFactory {
+
+    public static final String FLATTEN_PROPERTY = "jboss.ee.flatten-interceptor-chains";
+
+    private static final boolean FLATTEN = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(FLATTEN_PROPERTY, "false"));
+
+    private final InterceptorFactory[] interceptorFactories;
+
+    private FlattenedInterceptorFactory(final InterceptorFactory[] interceptorFactories) {
+        this.interceptorFactories = interceptorFactories;
+    }
+
+    /**
+     * Returns a factory of interceptor chains, which are flattened if enabled.
+     *
+     * @param interceptorFactories the factories of the interceptors of the chain
+     * @return the interceptor factory
+     */
+    public static InterceptorFactory getChainedInterceptorFactory(final Collection<InterceptorFactory> interceptorFactories) {
+        if (!FLATTEN) {
+            return Interceptors.getChainedInterceptorFactory(interceptorFactories);
+        }
+        return new FlattenedInterceptorFactory(interceptorFactories.toArray(new InterceptorFactory[0]));
+    }
+
+    @Override
+    public Interceptor create(final InterceptorFactoryContext context) {
+        final Interceptor[] interceptors = new Interceptor[interceptorFactories.length];
+        for (int i = 0; i < interceptors.length; i++) {
+            interceptors[i] = interceptorFactories[i].create(context);
+        }
+        return Interceptors.getChainedInterceptor(WeavedInterceptorFactory.flatten(interceptors));
+    }
+}
@@ -36,6 +36,10 @@ public class UserInterceptorFactory implements InterceptorFactory {
         } else {
             aroundTimeout = null;
         }
+        if (WeavedInterceptorFactory.isEmpty(aroundInvoke) && (aroundTimeout == null || WeavedInterceptorFactory.isEmpty(aroundTimeout))) {
+            // there are no user interceptors, so there is nothing to switch between
+            return aroundInvoke;
+        }
         return new Interceptor() {
             @Override
             public Object processInvocation(final InterceptorContext context) throws Exception {
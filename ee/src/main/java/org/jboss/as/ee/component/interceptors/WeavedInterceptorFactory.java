@@ -0,0 +1,103 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.component.interceptors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.Interceptors;
+
+/**
+ * Interceptor factory that weaves a list of interceptors into the chain of an invocation, like
+ * {@link Interceptors#getWeavedInterceptor(Interceptor...)}.
+ * <p>
+ * An empty list of interceptors simply proceeds with the invocation, instead of copying the rest of the chain, and the
+ * weaved interceptors can be {@linkplain #flatten(Interceptor[]) spliced} into a chain when it is created.
+ */
+public final class WeavedInterceptorFactory implements InterceptorFactory {
+
+    private final Collection<InterceptorFactory> interceptorFactories;
+
+    public WeavedInterceptorFactory(final Collection<InterceptorFactory> interceptorFactories) {
+        this.interceptorFactories = interceptorFactories;
+    }
+
+    @Override
+    public Interceptor create(final InterceptorFactoryContext context) {
+        final Interceptor[] interceptors = new Interceptor[interceptorFactories.size()];
+        final Iterator<InterceptorFactory> factories = interceptorFactories.iterator();
+        for (int i = 0; i < interceptors.length; i++) {
+            interceptors[i] = factories.next().create(context);
+        }
+        return new WeavedInterceptor(interceptors);
+    }
+
+    /**
+     * Returns whether the given interceptor is a weaved interceptor without interceptors, which only proceeds with the
+     * invocation.
+     *
+     * @param interceptor the interceptor
+     * @return {@code true} if the interceptor only proceeds with the invocation
+     */
+    static boolean isEmpty(final Interceptor interceptor) {
+        return interceptor instanceof WeavedInterceptor && ((WeavedInterceptor) interceptor).interceptors.length == 0;
+    }
+
+    /**
+     * Replaces the weaved interceptors of a chain by the interceptors they weave, which has the same effect as weaving
+     * them on each invocation.
+     *
+     * @param interceptors the interceptors of the chain
+     * @return the interceptors of the chain, without weaved interceptors
+     */
+    public static Interceptor[] flatten(final Interceptor[] interceptors) {
+        final List<Interceptor> result = new ArrayList<>(interceptors.length);
+        flatten(interceptors, result);
+        return result.toArray(new Interceptor[0]);
+    }
+
+    private static void flatten(final Interceptor[] interceptors, final List<Interceptor> result) {
+        for (Interceptor interceptor : interceptors) {
+            if (interceptor instanceof WeavedInterceptor) {
+                flatten(((WeavedInterceptor) interceptor).interceptors, result);
+            } else {
+                result.add(interceptor);
+            }
+        }
+    }
+
+    private static final class WeavedInterceptor implements Interceptor {
+        private final Interceptor[] interceptors;
+
+        WeavedInterceptor(final Interceptor[] interceptors) {
+            this.interceptors = interceptors;
+        }
+
+        @Override
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            if (interceptors.length == 0) {
+                return context.proceed();
+            }
+            final int next = context.getNextInterceptorIndex();
+            final Interceptor[] chain = context.getInterceptors();
+            final Interceptor[] weaved = new Interceptor[interceptors.length + chain.length - next];
+            System.arraycopy(interceptors, 0, weaved, 0, interceptors.length);
+            System.arraycopy(chain, next, weaved, interceptors.length, chain.length - next);
+            context.setInterceptors(weaved);
+            try {
+                return context.proceed();
+            } finally {
+                context.setInterceptors(chain, next);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ee.component.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.Services;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Runtime resource of the EE subsystem for a deployment.
+ */
+public class EeDeploymentDefinition extends SimpleResourceDefinition {
+
+    public static final AttributeDefinition COMPONENT_SERVICE_COUNT = new SimpleAttributeDefinitionBuilder("component-service-count", ModelType.INT).setStorageRuntime().build();
+
+    EeDeploymentDefinition() {
+        super(new Parameters(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, EeExtension.SUBSYSTEM_NAME), EeExtension.getResourceDescriptionResolver("deployment"))
+                .setFeature(false)
+                .setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerMetric(COMPONENT_SERVICE_COUNT, ComponentServiceCountHandler.INSTANCE);
+    }
+
+    /**
+     * Reads the number of component services recorded on the deployment unit of the resource.
+     */
+    static class ComponentServiceCountHandler extends AbstractRuntimeOnlyHandler {
+
+        static final ComponentServiceCountHandler INSTANCE = new ComponentServiceCountHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(deploymentUnitServiceName(context));
+            if (controller != null) {
+                final DeploymentUnit deploymentUnit = (DeploymentUnit) controller.getValue();
+                final Integer count = deploymentUnit.getAttachment(Attachments.COMPONENT_SERVICE_COUNT);
+                if (count != null) {
+                    context.getResult().set(count);
+                }
+            }
+        }
+
+        private static ServiceName deploymentUnitServiceName(OperationContext context) {
+            final PathAddress address = context.getCurrentAddress();
+            final PathElement deployment = address.getElement(0);
+            final String runtimeName = context.readResourceFromRoot(PathAddress.pathAddress(deployment), false).getModel().get(ModelDescriptionConstants.RUNTIME_NAME).asString();
+            final PathElement subdeployment = address.getElement(1);
+            return subdeployment.getKey().equals(ModelDescriptionConstants.SUBDEPLOYMENT) ? Services.deploymentUnitName(runtimeName, subdeployment.getValue()) : Services.deploymentUnitName(runtimeName);
+        }
+    }
+}
@@ -56,6 +56,10 @@ public class EeExtension implements Extension {
         rootResource.registerSubModel(new DefaultBindingsResourceDefinition(new DefaultBindingsConfigurationProcessor()));
         rootResource.registerSubModel(new GlobalDirectoryResourceDefinition());
 
+        if (context.isRuntimeOnlyRegistrationValid()) {
+            subsystem.registerDeploymentModel(new EeDeploymentDefinition());
+        }
+
         subsystem.registerXMLElementWriter(EESubsystemXmlPersister.INSTANCE);
     }
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.component.interceptors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WeavedInterceptorFactory}.
+ */
+public class WeavedInterceptorFactoryTestCase {
+
+    @Test
+    public void testWeaving() throws Exception {
+        List<String> invoked = new ArrayList<>();
+        Interceptor weaved = new WeavedInterceptorFactory(List.of(recording("a", invoked), recording("b", invoked))).create(new SimpleInterceptorFactoryContext());
+        Interceptor empty = new WeavedInterceptorFactory(List.of()).create(new SimpleInterceptorFactoryContext());
+        assertTrue(WeavedInterceptorFactory.isEmpty(empty));
+
+        Interceptor[] chain = new Interceptor[] { recording("x", invoked).create(null), empty, weaved, recording("y", invoked).create(null), context -> "result" };
+        assertEquals("result", invoke(Interceptors.getChainedInterceptor(chain)));
+        assertEquals(List.of("x", "a", "b", "y"), invoked);
+
+        invoked.clear();
+        Interceptor[] flattened = WeavedInterceptorFactory.flatten(chain);
+        assertEquals(5, flattened.length);
+        assertSame(chain[0], flattened[0]);
+        assertSame(chain[3], flattened[3]);
+        assertEquals("result", invoke(Interceptors.getChainedInterceptor(flattened)));
+        assertEquals(List.of("x", "a", "b", "y"), invoked);
+    }
+
+    @Test
+    public void testUserInterceptorsWithoutInterceptors() {
+        InterceptorFactory empty = new WeavedInterceptorFactory(List.of());
+        Interceptor interceptor = new UserInterceptorFactory(empty, empty).create(new SimpleInterceptorFactoryContext());
+        assertTrue(WeavedInterceptorFactory.isEmpty(interceptor));
+    }
+
+    private static InterceptorFactory recording(String name, List<String> invoked) {
+        return new ImmediateInterceptorFactory(context -> {
+            invoked.add(name);
+            return context.proceed();
+        });
+    }
+
+    private static Object invoke(Interceptor interceptor) throws Exception {
+        InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] { interceptor });
+        return context.proceed();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.subsystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.ee.component.Attachments;
+import org.jboss.as.ee.component.BasicComponentCreateService;
+import org.jboss.as.ee.component.BindingConfiguration;
+import org.jboss.as.ee.component.ComponentConfiguration;
+import org.jboss.as.ee.component.ComponentDescription;
+import org.jboss.as.ee.component.ComponentNamingMode;
+import org.jboss.as.ee.component.ComponentRegistry;
+import org.jboss.as.ee.component.EEModuleConfiguration;
+import org.jboss.as.ee.component.EEModuleDescription;
+import org.jboss.as.ee.component.InjectionSource;
+import org.jboss.as.ee.component.deployers.ComponentInstallProcessor;
+import org.jboss.as.ee.metadata.MetadataCompleteMarker;
+import org.jboss.as.naming.deployment.ContextNames;
+import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.Services;
+import org.jboss.as.server.deployment.SimpleAttachable;
+import org.jboss.as.server.deployment.reflect.ClassReflectionIndex;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
+import org.jboss.msc.service.ServiceTarget;
+import org.junit.Test;
+
+/**
+ * Verifies the component-service-count metric of the deployment resource of the EE subsystem.
+ */
+public class EeDeploymentDefinitionTestCase {
+
+    private static final String DEPLOYMENT = "test.war";
+    private static final int COMPONENTS = 2;
+
+    @Test
+    public void testComponentServiceCount() throws Exception {
+        // create, start, naming context, binder and JNDI bindings services of each component
+        assertEquals(COMPONENTS * 5, this.deployAndReadComponentServiceCount(false));
+    }
+
+    @Test
+    public void testCompactComponentServiceCount() throws Exception {
+        // create, start, naming context and binder services of each component, and a single JNDI bindings service
+        assertEquals(COMPONENTS * 4 + 1, this.deployAndReadComponentServiceCount(true));
+    }
+
+    private int deployAndReadComponentServiceCount(boolean compact) throws Exception {
+        TestDeploymentUnit deploymentUnit = new TestDeploymentUnit();
+        EEModuleDescription moduleDescription = new EEModuleDescription("test", "test", null, false);
+        EEModuleConfiguration moduleConfiguration = new EEModuleConfiguration(moduleDescription);
+        for (int i = 0; i < COMPONENTS; ++i) {
+            moduleConfiguration.addComponentConfiguration(createComponentConfiguration("Component" + i, moduleDescription, deploymentUnit.getServiceName()));
+        }
+        deploymentUnit.putAttachment(org.jboss.as.server.deployment.Attachments.MODULE, mock(Module.class));
+        deploymentUnit.putAttachment(Attachments.EE_MODULE_CONFIGURATION, moduleConfiguration);
+        deploymentUnit.putAttachment(Attachments.COMPONENT_REGISTRY, new ComponentRegistry(mock(ServiceRegistry.class)));
+        MetadataCompleteMarker.setMetadataComplete(deploymentUnit, true);
+        // Added by ModuleContextProcessor
+        deploymentUnit.addToAttachmentList(org.jboss.as.server.deployment.Attachments.JNDI_DEPENDENCIES, ContextNames.contextServiceNameOfModule("test", "test"));
+
+        ServiceBuilder<?> builder = mock(ServiceBuilder.class, RETURNS_SELF);
+        ServiceTarget target = mock(ServiceTarget.class);
+        doReturn(builder).when(target).addService(any(ServiceName.class));
+        doReturn(builder).when(target).addService(any(ServiceName.class), any(Service.class));
+        DeploymentPhaseContext phaseContext = mock(DeploymentPhaseContext.class);
+        when(phaseContext.getDeploymentUnit()).thenReturn(deploymentUnit);
+        when(phaseContext.getServiceTarget()).thenReturn(target);
+
+        new ComponentInstallProcessor(compact).deploy(phaseContext);
+
+        long installed = mockingDetails(builder).getInvocations().stream().filter(invocation -> invocation.getMethod().getName().equals("install")).count();
+
+        ModelNode result = this.readComponentServiceCount(deploymentUnit);
+        assertEquals(installed, result.asLong());
+        return result.asInt();
+    }
+
+    private ModelNode readComponentServiceCount(DeploymentUnit deploymentUnit) throws Exception {
+        Resource deployment = Resource.Factory.create();
+        deployment.getModel().get(ModelDescriptionConstants.RUNTIME_NAME).set(DEPLOYMENT);
+        ServiceController<?> controller = mock(ServiceController.class);
+        doReturn(deploymentUnit).when(controller).getValue();
+        ServiceRegistry registry = mock(ServiceRegistry.class);
+        doReturn(controller).when(registry).getService(Services.deploymentUnitName(DEPLOYMENT));
+        ModelNode result = new ModelNode();
+        OperationContext context = mock(OperationContext.class);
+        when(context.getCurrentAddress()).thenReturn(PathAddress.pathAddress(ModelDescriptionConstants.DEPLOYMENT, DEPLOYMENT).append(ModelDescriptionConstants.SUBSYSTEM, EeExtension.SUBSYSTEM_NAME));
+        when(context.readResourceFromRoot(eq(PathAddress.pathAddress(ModelDescriptionConstants.DEPLOYMENT, DEPLOYMENT)), eq(false))).thenReturn(deployment);
+        when(context.getServiceRegistry(false)).thenReturn(registry);
+        when(context.getResult()).thenReturn(result);
+
+        EeDeploymentDefinition.ComponentServiceCountHandler.INSTANCE.executeRuntimeStep(context, new ModelNode());
+        return result;
+    }
+
+    private static ComponentConfiguration createComponentConfiguration(String name, EEModuleDescription moduleDescription, ServiceName deploymentUnitServiceName) {
+        ComponentDescription description = new ComponentDescription(name, Object.class.getName(), moduleDescription, deploymentUnitServiceName);
+        ClassReflectionIndex index = mock(ClassReflectionIndex.class);
+        doReturn(Object.class).when(index).getIndexedClass();
+        description.setNamingMode(ComponentNamingMode.CREATE);
+        description.getBindingConfigurations().add(new BindingConfiguration("java:comp/env/" + name, mock(InjectionSource.class)));
+        ComponentConfiguration configuration = new ComponentConfiguration(description, index, null, null);
+        configuration.setComponentCreateServiceFactory(config -> mock(BasicComponentCreateService.class));
+        return configuration;
+    }
+
+    private static class TestDeploymentUnit extends SimpleAttachable implements DeploymentUnit {
+
+        @Override
+        public ServiceName getServiceName() {
+            return Services.deploymentUnitName(DEPLOYMENT);
+        }
+
+        @Override
+        public DeploymentUnit getParent() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return DEPLOYMENT;
+        }
+
+        @Override
+        public ServiceRegistry getServiceRegistry() {
+            return null;
+        }
+
+        @Override
+        public Stability getStability() {
+            return Stability.DEFAULT;
+        }
+    }
+}
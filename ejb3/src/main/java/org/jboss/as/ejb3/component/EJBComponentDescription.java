@@ -16,7 +16,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,6 +48,7 @@ import org.jboss.as.ee.component.ViewDescription;
 import org.jboss.as.ee.component.ViewService;
 import org.jboss.as.ee.component.interceptors.ComponentDispatcherInterceptor;
 import org.jboss.as.ee.component.interceptors.InterceptorOrder;
+import org.jboss.as.ee.component.interceptors.WeavedInterceptorFactory;
 import org.jboss.as.ee.naming.ContextInjectionSource;
 import org.jboss.as.ejb3.component.interceptors.AdditionalSetupInterceptor;
 import org.jboss.as.ejb3.component.interceptors.CurrentInvocationContextInterceptor;
@@ -85,8 +85,6 @@ import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
-import org.jboss.invocation.InterceptorFactoryContext;
-import org.jboss.invocation.Interceptors;
 import org.jboss.invocation.proxy.MethodIdentifier;
 import org.jboss.metadata.ejb.spec.EnterpriseBeanMetaData;
 import org.jboss.metadata.ejb.spec.MethodInterfaceType;
@@ -384,17 +382,7 @@ public abstract class EJBComponentDescription extends ComponentDescription {
     }
 
     private static InterceptorFactory weaved(final Collection<InterceptorFactory> interceptorFactories) {
-        return new InterceptorFactory() {
-            @Override
-            public Interceptor create(InterceptorFactoryContext context) {
-                final Interceptor[] interceptors = new Interceptor[interceptorFactories.size()];
-                final Iterator<InterceptorFactory> factories = interceptorFactories.iterator();
-                for (int i = 0; i < interceptors.length; i++) {
-                    interceptors[i] = factories.next().create(context);
-                }
-                return Interceptors.getWeavedInterceptor(interceptors);
-            }
-        };
+        return new WeavedInterceptorFactory(interceptorFactories);
     }
 
     public void addLocalHome(final String localHome) {
@@ -13,7 +13,6 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +31,7 @@ import org.jboss.as.ee.component.ViewDescription;
 import org.jboss.as.ee.component.interceptors.InterceptorClassDescription;
 import org.jboss.as.ee.component.interceptors.InterceptorOrder;
 import org.jboss.as.ee.component.interceptors.UserInterceptorFactory;
+import org.jboss.as.ee.component.interceptors.WeavedInterceptorFactory;
 import org.jboss.as.ee.logging.EeLogger;
 import org.jboss.as.ee.utils.ClassLoadingUtils;
 import org.jboss.as.naming.ManagedReference;
@@ -44,8 +44,6 @@ import org.jboss.as.server.deployment.reflect.ClassReflectionIndexUtil;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactory;
-import org.jboss.invocation.InterceptorFactoryContext;
-import org.jboss.invocation.Interceptors;
 import org.jboss.invocation.proxy.MethodIdentifier;
 import org.jboss.modules.Module;
 
@@ -188,17 +186,7 @@ public class EJBContainerInterceptorsViewConfigurator implements ViewConfigurato
     }
 
     private static InterceptorFactory weaved(final Collection<InterceptorFactory> interceptorFactories) {
-        return new InterceptorFactory() {
-            @Override
-            public Interceptor create(InterceptorFactoryContext context) {
-                final Interceptor[] interceptors = new Interceptor[interceptorFactories.size()];
-                final Iterator<InterceptorFactory> factories = interceptorFactories.iterator();
-                for (int i = 0; i < interceptors.length; i++) {
-                    interceptors[i] = factories.next().create(context);
-                }
-                return Interceptors.getWeavedInterceptor(interceptors);
-            }
-        };
+        return new WeavedInterceptorFactory(interceptorFactories);
     }
 
     /**
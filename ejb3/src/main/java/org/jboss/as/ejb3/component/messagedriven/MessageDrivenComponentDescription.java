@@ -6,6 +6,7 @@ package org.jboss.as.ejb3.component.messagedriven;
 
 import static org.jboss.as.server.deployment.Attachments.CAPABILITY_SERVICE_SUPPORT;
 
+import java.lang.reflect.Method;
 import java.util.Properties;
 import jakarta.ejb.MessageDrivenBean;
 import jakarta.ejb.TransactionManagementType;
@@ -290,7 +291,9 @@ public class MessageDrivenComponentDescription extends EJBComponentDescription {
 
                 final MessageDrivenComponentDescription mdb = (MessageDrivenComponentDescription) componentConfiguration.getComponentDescription();
                 if (mdb.getTransactionManagementType() == TransactionManagementType.CONTAINER) {
-                    configuration.addViewInterceptor(CMTTxInterceptor.FACTORY, InterceptorOrder.View.CMT_TRANSACTION_INTERCEPTOR);
+                    for (Method method : configuration.getProxyFactory().getCachedMethods()) {
+                        configuration.addViewInterceptor(method, CMTTxInterceptor.factory(method), InterceptorOrder.View.CMT_TRANSACTION_INTERCEPTOR);
+                    }
                 }
             }
         });
@@ -348,7 +348,9 @@ public abstract class SessionBeanComponentDescription extends EJBComponentDescri
                 EJBComponentDescription ejbComponentDescription = (EJBComponentDescription) componentConfiguration.getComponentDescription();
                 // Add CMT interceptor factory
                 if (TransactionManagementType.CONTAINER.equals(ejbComponentDescription.getTransactionManagementType())) {
-                    configuration.addViewInterceptor(CMTTxInterceptor.FACTORY, InterceptorOrder.View.CMT_TRANSACTION_INTERCEPTOR);
+                    for (Method method : configuration.getProxyFactory().getCachedMethods()) {
+                        configuration.addViewInterceptor(method, CMTTxInterceptor.factory(method), InterceptorOrder.View.CMT_TRANSACTION_INTERCEPTOR);
+                    }
                 }
             }
         });
@@ -15,13 +15,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import jakarta.ejb.EJBException;
 
@@ -61,6 +68,7 @@ import org.jboss.ejb.server.ModuleAvailabilityListener;
 import org.jboss.ejb.server.Request;
 import org.jboss.ejb.server.SessionOpenRequest;
 import org.jboss.invocation.InterceptorContext;
+import org.wildfly.clustering.context.DefaultThreadFactory;
 import org.wildfly.clustering.server.Group;
 import org.wildfly.clustering.server.GroupMember;
 import org.wildfly.clustering.server.Registration;
@@ -83,15 +91,23 @@ final class AssociationImpl implements Association, AutoCloseable {
             // Do nothing
         }
     };
+    static final String TOPOLOGY_UPDATE_DELAY_PROPERTY = "jboss.ejb.cluster-topology.update-delay";
+    // Delay, in milliseconds, during which changes to the client mappings of a cluster are coalesced into a single topology update
+    private static final long TOPOLOGY_UPDATE_DELAY = topologyUpdateDelay();
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(AssociationImpl.class, WildFlySecurityManager.getClassLoaderPrivileged(AssociationImpl.class));
+
     private final DeploymentRepository deploymentRepository;
     private final Map<Integer, ClusterTopologyRegistrar> clusterTopologyRegistrars;
+    private final ScheduledExecutorService topologyExecutor;
     private volatile Executor executor;
 
     AssociationImpl(final DeploymentRepository deploymentRepository, final List<Map.Entry<ProtocolSocketBinding, Registry<GroupMember, String, List<ClientMapping>>>> clientMappingRegistries) {
         this.deploymentRepository = deploymentRepository;
         this.clusterTopologyRegistrars = clientMappingRegistries.isEmpty() ? Collections.emptyMap() : new HashMap<>(clientMappingRegistries.size());
+        // Topology updates are propagated to listeners by a single thread, so that each listener sees them in order
+        this.topologyExecutor = clientMappingRegistries.isEmpty() ? null : Executors.newSingleThreadScheduledExecutor(THREAD_FACTORY);
         for (Map.Entry<ProtocolSocketBinding, Registry<GroupMember, String, List<ClientMapping>>> entry : clientMappingRegistries) {
-            this.clusterTopologyRegistrars.put(entry.getKey().getSocketBinding().getSocketAddress().getPort(), new ClusterTopologyRegistrar(entry.getValue()));
+            this.clusterTopologyRegistrars.put(entry.getKey().getSocketBinding().getSocketAddress().getPort(), new ClusterTopologyRegistrar(entry.getValue(), this.topologyExecutor, TOPOLOGY_UPDATE_DELAY));
         }
     }
 
@@ -100,6 +116,10 @@ final class AssociationImpl implements Association, AutoCloseable {
         for (ClusterTopologyRegistrar registrar : this.clusterTopologyRegistrars.values()) {
             registrar.close();
         }
+        if (this.topologyExecutor != null) {
+            // Discard the updates scheduled for the listeners, which were removed
+            this.topologyExecutor.shutdownNow();
+        }
     }
 
     @Override
@@ -463,23 +483,46 @@ final class AssociationImpl implements Association, AutoCloseable {
         return moduleDeployment.getEjbs().get(beanName);
     }
 
-    private static final class ClusterTopologyRegistrar implements RegistryListener<String, List<ClientMapping>> {
+    private static long topologyUpdateDelay() {
+        String value = WildFlySecurityManager.getPropertyPrivileged(TOPOLOGY_UPDATE_DELAY_PROPERTY, null);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                EjbLogger.REMOTE_LOGGER.failedToCreateOptionForProperty(TOPOLOGY_UPDATE_DELAY_PROPERTY, e.getLocalizedMessage());
+            }
+        }
+        return 100;
+    }
+
+    static final class ClusterTopologyRegistrar implements RegistryListener<String, List<ClientMapping>> {
         private final Set<ClusterTopologyListener> clusterTopologyListeners = ConcurrentHashMap.newKeySet();
         private final Registry<GroupMember, String, List<ClientMapping>> clientMappingRegistry;
         private final Registration listenerRegistration;
-
-        ClusterTopologyRegistrar(Registry<GroupMember, String, List<ClientMapping>> clientMappingRegistry) {
+        private final ScheduledExecutorService executor;
+        private final long updateDelay;
+        // Whether each destination address of the client mappings resolves to the wildcard address
+        private final Map<String, Boolean> anyLocalAddresses = new ConcurrentHashMap<>();
+        // Changes not yet propagated to listeners, guarded by this registrar
+        private final Map<String, List<ClientMapping>> pendingAdded = new HashMap<>();
+        private final Set<String> pendingRemoved = new HashSet<>();
+        private boolean updateScheduled = false;
+
+        ClusterTopologyRegistrar(Registry<GroupMember, String, List<ClientMapping>> clientMappingRegistry, ScheduledExecutorService executor, long updateDelay) {
             this.clientMappingRegistry = clientMappingRegistry;
+            this.executor = executor;
+            this.updateDelay = updateDelay;
             this.listenerRegistration = clientMappingRegistry.register(this);
         }
 
         @Override
         public void added(Map<String, List<ClientMapping>> added) {
-            ClusterTopologyListener.ClusterInfo info = getClusterInfo(added);
-            for (ClusterTopologyListener listener : this.clusterTopologyListeners) {// Synchronize each listener to ensure that the initial topology was set before processing new entries
-                synchronized (listener) {
-                    listener.clusterNewNodesAdded(info);
+            synchronized (this) {
+                for (Map.Entry<String, List<ClientMapping>> entry : added.entrySet()) {
+                    this.pendingAdded.put(entry.getKey(), entry.getValue());
+                    this.pendingRemoved.remove(entry.getKey());
                 }
+                this.scheduleUpdate();
             }
         }
 
@@ -490,10 +533,59 @@ final class AssociationImpl implements Association, AutoCloseable {
 
         @Override
         public void removed(Map<String, List<ClientMapping>> removed) {
-            List<ClusterTopologyListener.ClusterRemovalInfo> removals = Collections.singletonList(new ClusterTopologyListener.ClusterRemovalInfo(this.clientMappingRegistry.getGroup().getName(), new ArrayList<>(removed.keySet())));
-            for (ClusterTopologyListener listener : this.clusterTopologyListeners) {// Synchronize each listener to ensure that the initial topology was set before processing removed entries
-                synchronized (listener) {
-                    listener.clusterNodesRemoved(removals);
+            synchronized (this) {
+                for (String nodeName : removed.keySet()) {
+                    this.pendingAdded.remove(nodeName);
+                    this.pendingRemoved.add(nodeName);
+                }
+                this.scheduleUpdate();
+            }
+        }
+
+        // Must be called while holding the monitor of this registrar
+        private void scheduleUpdate() {
+            if (!this.updateScheduled) {
+                try {
+                    this.executor.schedule(this::update, this.updateDelay, TimeUnit.MILLISECONDS);
+                    this.updateScheduled = true;
+                } catch (RejectedExecutionException e) {
+                    // Association was closed
+                }
+            }
+        }
+
+        private void update() {
+            Map<String, List<ClientMapping>> added;
+            List<String> removed;
+            synchronized (this) {
+                this.updateScheduled = false;
+                added = new HashMap<>(this.pendingAdded);
+                removed = new ArrayList<>(this.pendingRemoved);
+                this.pendingAdded.clear();
+                this.pendingRemoved.clear();
+            }
+            if (!removed.isEmpty()) {
+                List<ClusterTopologyListener.ClusterRemovalInfo> removals = Collections.singletonList(new ClusterTopologyListener.ClusterRemovalInfo(this.clientMappingRegistry.getGroup().getName(), removed));
+                for (ClusterTopologyListener listener : this.clusterTopologyListeners) {// Synchronize each listener to ensure that the initial topology was set before processing removed entries
+                    synchronized (listener) {
+                        try {
+                            listener.clusterNodesRemoved(removals);
+                        } catch (RuntimeException e) {
+                            EjbLogger.REMOTE_LOGGER.debugf(e, "Failed to notify cluster topology listener of removed nodes %s", removed);
+                        }
+                    }
+                }
+            }
+            if (!added.isEmpty()) {
+                ClusterTopologyListener.ClusterInfo info = getClusterInfo(added);
+                for (ClusterTopologyListener listener : this.clusterTopologyListeners) {// Synchronize each listener to ensure that the initial topology was set before processing new entries
+                    synchronized (listener) {
+                        try {
+                            listener.clusterNewNodesAdded(info);
+                        } catch (RuntimeException e) {
+                            EjbLogger.REMOTE_LOGGER.debugf(e, "Failed to notify cluster topology listener of added nodes %s", added.keySet());
+                        }
+                    }
                 }
             }
         }
@@ -523,12 +615,8 @@ final class AssociationImpl implements Association, AutoCloseable {
                 final List<ClientMapping> clientMappingList = entry.getValue();
                 final List<ClusterTopologyListener.MappingInfo> mappingInfoList = new ArrayList<>(clientMappingList.size());
                 for (ClientMapping clientMapping : clientMappingList) {
-                    try {
-                        if (InetAddress.getByName(clientMapping.getDestinationAddress()).isAnyLocalAddress()) {
-                            EjbLogger.REMOTE_LOGGER.clusteredEJBsBoundToINADDRANY(nodeName, clientMapping.getDestinationAddress());
-                        }
-                    } catch (UnknownHostException e) {
-                        // ignore
+                    if (this.anyLocalAddresses.computeIfAbsent(clientMapping.getDestinationAddress(), ClusterTopologyRegistrar::isAnyLocalAddress)) {
+                        EjbLogger.REMOTE_LOGGER.clusteredEJBsBoundToINADDRANY(nodeName, clientMapping.getDestinationAddress());
                     }
                     mappingInfoList.add(new ClusterTopologyListener.MappingInfo(
                         clientMapping.getDestinationAddress(),
@@ -542,7 +630,28 @@ final class AssociationImpl implements Association, AutoCloseable {
             return new ClusterTopologyListener.ClusterInfo(this.clientMappingRegistry.getGroup().getName(), nodeInfoList);
         }
 
+        private static boolean isAnyLocalAddress(String address) {
+            try {
+                return InetAddress.getByName(address).isAnyLocalAddress();
+            } catch (UnknownHostException e) {
+                return false;
+            }
+        }
+
         void sendTopologyUpdateIfLastNodeToLeave() {
+            // Send the removal from the topology thread, so that no update scheduled before can reach the listeners after it
+            try {
+                this.executor.submit(this::sendClusterRemovalIfLastNodeToLeave).get();
+            } catch (RejectedExecutionException e) {
+                // Association was closed
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                EjbLogger.REMOTE_LOGGER.debugf(e.getCause(), "Failed to notify cluster topology listeners of the removal of cluster %s", this.clientMappingRegistry.getGroup().getName());
+            }
+        }
+
+        private void sendClusterRemovalIfLastNodeToLeave() {
             // if we are the only member, we need to send a topology update, as there will not be other members left in the cluster to send it on our behalf (WFLY-11682)
             // check if we are the only member in the cluster (either we have a local entry and we are the only member, or we do not and the entries are empty)
             Map.Entry<String, List<ClientMapping>> localEntry = this.clientMappingRegistry.getEntry(this.clientMappingRegistry.getGroup().getLocalMember());
@@ -550,10 +659,17 @@ final class AssociationImpl implements Association, AutoCloseable {
             boolean loneMember = localEntry != null ? (entries.size() == 1) && entries.containsKey(localEntry.getKey()) : entries.isEmpty();
 
             if (loneMember) {
+                // the removal of the cluster supersedes the changes not yet propagated
+                synchronized (this) {
+                    this.pendingAdded.clear();
+                    this.pendingRemoved.clear();
+                }
                 String cluster = this.clientMappingRegistry.getGroup().getName();
                 for (ClusterTopologyListener listener : this.clusterTopologyListeners) {
                     // send the clusterRemoval message to the listener
-                    listener.clusterRemoval(Arrays.asList(cluster));
+                    synchronized (listener) {
+                        listener.clusterRemoval(Arrays.asList(cluster));
+                    }
                 }
             }
         }
@@ -0,0 +1,217 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.security;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.authz.Roles;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Index of the roles allowed to invoke the methods of an EJB view.
+ * <p>
+ * Each allowed role is assigned a bit, so that the roles allowed for a method are compiled into a {@link BitSet} which
+ * is matched against the roles of the caller. The roles of a {@link SecurityIdentity}, which is immutable, are resolved
+ * through the role mappers of its security domain only once and are then cached per identity instance. The cache only
+ * references the identities weakly and holds up to about the number of identities given by the
+ * {@value #CACHE_SIZE_PROPERTY} system property; once full, arbitrary entries are evicted to make room for new callers.
+ * <p>
+ * All roles must be indexed before the first invocation.
+ */
+final class RolesAllowedIndex {
+
+    static final String CACHE_SIZE_PROPERTY = "jboss.ejb.security.roles-allowed-cache-size";
+
+    private static final int DEFAULT_CACHE_SIZE = 256;
+    private static final int CACHE_SIZE = cacheSize();
+
+    private static final String ANY_AUTHENTICATED_USER_ROLE = "**";
+
+    private final Map<String, Integer> roles = new HashMap<>();
+    private final Map<IdentityKey, BitSet> identityRoles = (CACHE_SIZE > 0) ? new ConcurrentHashMap<>() : null;
+    private final ReferenceQueue<SecurityIdentity> collectedIdentities = new ReferenceQueue<>();
+
+    /**
+     * Indexes the given roles.
+     *
+     * @param rolesAllowed the roles allowed to invoke a method
+     * @return the bits of the given roles
+     */
+    BitSet index(final Collection<String> rolesAllowed) {
+        final BitSet bits = new BitSet();
+        for (String role : rolesAllowed) {
+            bits.set(roles.computeIfAbsent(role, key -> roles.size()));
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bits of the indexed roles the given identity is a member of.
+     *
+     * @param identity the security identity of the caller
+     * @return the bits of the roles of the identity
+     */
+    BitSet getRoles(final SecurityIdentity identity) {
+        if (identityRoles == null) {
+            return resolve(identity);
+        }
+        final BitSet bits = identityRoles.get(new IdentityLookup(identity));
+        if (bits != null) {
+            return bits;
+        }
+        // a concurrent resolution of the same identity yields the same bits
+        final BitSet resolved = resolve(identity);
+        expungeCollectedIdentities();
+        if (identityRoles.size() >= CACHE_SIZE) {
+            evict();
+        }
+        final BitSet existing = identityRoles.putIfAbsent(new IdentityReference(identity, collectedIdentities), resolved);
+        return (existing != null) ? existing : resolved;
+    }
+
+    /**
+     * Returns the number of identities whose roles are cached.
+     */
+    int getCachedIdentityCount() {
+        if (identityRoles == null) {
+            return 0;
+        }
+        expungeCollectedIdentities();
+        return identityRoles.size();
+    }
+
+    /**
+     * Clears the cached reference to the given identity, as the garbage collector does once it is no longer reachable.
+     */
+    void clear(final SecurityIdentity identity) {
+        if (identityRoles != null) {
+            for (IdentityKey key : identityRoles.keySet()) {
+                if (key.getIdentity() == identity) {
+                    ((IdentityReference) key).enqueue();
+                }
+            }
+        }
+    }
+
+    private void expungeCollectedIdentities() {
+        Reference<? extends SecurityIdentity> reference;
+        while ((reference = collectedIdentities.poll()) != null) {
+            identityRoles.remove(reference);
+        }
+    }
+
+    private void evict() {
+        // remove a quarter of the entries at once, so that a full cache is not scanned for every new caller
+        final Iterator<IdentityKey> keys = identityRoles.keySet().iterator();
+        while (keys.hasNext() && identityRoles.size() > CACHE_SIZE - Math.max(1, CACHE_SIZE / 4)) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private BitSet resolve(final SecurityIdentity identity) {
+        final Roles ejbRoles = identity.getRoles("ejb", true);
+        final BitSet bits = new BitSet(roles.size());
+        for (Map.Entry<String, Integer> entry : roles.entrySet()) {
+            final String role = entry.getKey();
+            if (ejbRoles.contains(role) || (role.equals(ANY_AUTHENTICATED_USER_ROLE) && !identity.isAnonymous())) {
+                bits.set(entry.getValue());
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Key of the cache, equal to another key of the same identity instance.
+     */
+    private interface IdentityKey {
+        SecurityIdentity getIdentity();
+    }
+
+    private static boolean sameIdentity(final IdentityKey key, final Object other) {
+        if (!(other instanceof IdentityKey)) {
+            return false;
+        }
+        final SecurityIdentity identity = key.getIdentity();
+        return identity != null && identity == ((IdentityKey) other).getIdentity();
+    }
+
+    /**
+     * Key stored in the cache, which does not prevent the identity from being garbage collected.
+     */
+    private static final class IdentityReference extends WeakReference<SecurityIdentity> implements IdentityKey {
+        private final int hash;
+
+        IdentityReference(final SecurityIdentity identity, final ReferenceQueue<SecurityIdentity> queue) {
+            super(identity, queue);
+            this.hash = System.identityHashCode(identity);
+        }
+
+        @Override
+        public SecurityIdentity getIdentity() {
+            return get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            // a collected reference is only equal to itself, so that it can still be removed
+            return this == other || sameIdentity(this, other);
+        }
+    }
+
+    /**
+     * Key used to look up the cache.
+     */
+    private static final class IdentityLookup implements IdentityKey {
+        private final SecurityIdentity identity;
+
+        IdentityLookup(final SecurityIdentity identity) {
+            this.identity = identity;
+        }
+
+        @Override
+        public SecurityIdentity getIdentity() {
+            return identity;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(identity);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return sameIdentity(this, other);
+        }
+    }
+
+    private static int cacheSize() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(CACHE_SIZE_PROPERTY, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                EjbLogger.ROOT_LOGGER.failedToCreateOptionForProperty(CACHE_SIZE_PROPERTY, e.getLocalizedMessage());
+            }
+        }
+        return DEFAULT_CACHE_SIZE;
+    }
+}
@@ -22,6 +22,7 @@ import jakarta.transaction.SystemException;
 import jakarta.transaction.Transaction;
 
 import org.jboss.as.ee.component.Component;
+import org.jboss.as.ee.component.ComponentInterceptorFactory;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.MethodIntfHelper;
@@ -30,6 +31,8 @@ import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.proxy.MethodIdentifier;
 import org.jboss.metadata.ejb.spec.MethodInterfaceType;
 import org.wildfly.transaction.client.AbstractTransaction;
 import org.wildfly.transaction.client.ContextTransactionManager;
@@ -49,7 +52,46 @@ import org.wildfly.transaction.client.ContextTransactionManager;
  */
 public class CMTTxInterceptor implements Interceptor {
 
-    public static final InterceptorFactory FACTORY = new ImmediateInterceptorFactory(new CMTTxInterceptor());
+    private static final CMTTxInterceptor INSTANCE = new CMTTxInterceptor();
+
+    public static final InterceptorFactory FACTORY = new ImmediateInterceptorFactory(INSTANCE);
+
+    /**
+     * Returns a factory of interceptors for the given method of a view, which resolve the transaction attribute and
+     * timeout of the method once, when the interceptor is created, instead of on each invocation.
+     *
+     * @param method the view method
+     * @return the interceptor factory
+     */
+    public static InterceptorFactory factory(final Method method) {
+        return factory(method, INSTANCE);
+    }
+
+    /**
+     * Returns a factory of interceptors for the given method of a view, whose invocations are processed by the given
+     * interceptor with the transaction attribute and timeout resolved upfront.
+     *
+     * @param method the view method
+     * @param interceptor the interceptor processing the invocations
+     * @return the interceptor factory
+     */
+    static InterceptorFactory factory(final Method method, final CMTTxInterceptor interceptor) {
+        return new ComponentInterceptorFactory() {
+            @Override
+            protected Interceptor create(final Component component, final InterceptorFactoryContext context) {
+                final EJBComponent ejb = (EJBComponent) component;
+                final ComponentView view = (ComponentView) context.getContextData().get(ComponentView.class);
+                final MethodInterfaceType viewIntf = (view != null) ? view.getPrivateData(MethodInterfaceType.class) : null;
+                final MethodInterfaceType methodIntf = (viewIntf != null) ? viewIntf : MethodInterfaceType.Bean;
+                final MethodIdentifier identifier = MethodIdentifier.getIdentifierForMethod(method);
+                final TransactionAttributeType attr = ejb.getTransactionAttributeType(methodIntf, identifier);
+                final int timeoutInSeconds = ejb.getTransactionTimeout(methodIntf, identifier);
+                // only relevant to the REQUIRED attribute
+                final boolean asynchronous = attr == TransactionAttributeType.REQUIRED && view != null && view.isAsynchronous(method);
+                return new MethodCMTTxInterceptor(interceptor, ejb, attr, timeoutInSeconds, asynchronous);
+            }
+        };
+    }
 
 
     /**
@@ -114,15 +156,29 @@ public class CMTTxInterceptor implements Interceptor {
 
     public Object processInvocation(InterceptorContext invocation) throws Exception {
         final EJBComponent component = (EJBComponent) invocation.getPrivateData(Component.class);
+        final MethodInterfaceType methodIntf = MethodIntfHelper.of(invocation);
+        final Method method = invocation.getMethod();
+        final TransactionAttributeType attr = component.getTransactionAttributeType(methodIntf, method);
+        final int timeoutInSeconds = component.getTransactionTimeout(methodIntf, method);
+        final ComponentView view = (attr == TransactionAttributeType.REQUIRED) ? invocation.getPrivateData(ComponentView.class) : null;
+        return processInvocation(invocation, component, attr, timeoutInSeconds, view != null && view.isAsynchronous(method));
+    }
 
+    /**
+     * Processes an invocation with the given transaction attribute and timeout.
+     *
+     * @param invocation the invocation
+     * @param component the component
+     * @param attr the transaction attribute of the invoked method
+     * @param timeoutInSeconds the transaction timeout of the invoked method, or -1 for the default timeout
+     * @param asynchronous {@code true} if the invoked method is asynchronous
+     * @return the result of the invocation
+     * @throws Exception if the invocation fails
+     */
+    protected Object processInvocation(final InterceptorContext invocation, final EJBComponent component, final TransactionAttributeType attr, final int timeoutInSeconds, final boolean asynchronous) throws Exception {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
         final int oldTimeout = tm.getTransactionTimeout();
         try {
-            final MethodInterfaceType methodIntf = MethodIntfHelper.of(invocation);
-            final Method method = invocation.getMethod();
-            final TransactionAttributeType attr = component.getTransactionAttributeType(methodIntf, method);
-            final int timeoutInSeconds = component.getTransactionTimeout(methodIntf, method);
-
             switch (attr) {
                 case MANDATORY:
                     return mandatory(invocation, component);
@@ -131,8 +187,7 @@ public class CMTTxInterceptor implements Interceptor {
                 case NOT_SUPPORTED:
                     return notSupported(invocation, component);
                 case REQUIRED:
-                    final ComponentView view = invocation.getPrivateData(ComponentView.class);
-                    if (view != null && view.isAsynchronous(method)) {
+                    if (asynchronous) {
                         // EJB 3.2 4.5.3 Transactions
                         // The client’s transaction context does not propagate with an asynchronous method invocation. From the
                         // Bean Provider’s point of view, there is never a transaction context flowing in from the client. This
@@ -431,4 +486,28 @@ public class CMTTxInterceptor implements Interceptor {
             return invokeInCallerTx(invocation, tx, component);
         }
     }
+
+    /**
+     * A transaction interceptor for a single view method, whose transaction attribute and timeout are resolved upfront.
+     */
+    private static final class MethodCMTTxInterceptor implements Interceptor {
+        private final CMTTxInterceptor interceptor;
+        private final EJBComponent component;
+        private final TransactionAttributeType attr;
+        private final int timeoutInSeconds;
+        private final boolean asynchronous;
+
+        MethodCMTTxInterceptor(final CMTTxInterceptor interceptor, final EJBComponent component, final TransactionAttributeType attr, final int timeoutInSeconds, final boolean asynchronous) {
+            this.interceptor = interceptor;
+            this.component = component;
+            this.attr = attr;
+            this.timeoutInSeconds = timeoutInSeconds;
+            this.asynchronous = asynchronous;
+        }
+
+        @Override
+        public Object processInvocation(final InterceptorContext invocation) throws Exception {
+            return interceptor.processInvocation(invocation, component, attr, timeoutInSeconds, asynchronous);
+        }
+    }
 }
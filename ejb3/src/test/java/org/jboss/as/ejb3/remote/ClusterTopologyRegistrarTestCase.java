@@ -0,0 +1,171 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.network.ClientMapping;
+import org.jboss.ejb.server.ClusterTopologyListener;
+import org.junit.After;
+import org.junit.Test;
+import org.wildfly.clustering.server.Group;
+import org.wildfly.clustering.server.GroupMember;
+import org.wildfly.clustering.server.Registration;
+import org.wildfly.clustering.server.registry.Registry;
+
+/**
+ * Unit test for the propagation of client mapping changes to cluster topology listeners by {@link AssociationImpl.ClusterTopologyRegistrar}.
+ */
+public class ClusterTopologyRegistrarTestCase {
+
+    private static final List<ClientMapping> MAPPINGS = List.of(new ClientMapping(InetAddress.getLoopbackAddress(), 8, "127.0.0.1", 8080));
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, List<ClientMapping>> entries = new HashMap<>();
+    private final Registry<GroupMember, String, List<ClientMapping>> registry = mock(Registry.class);
+
+    public ClusterTopologyRegistrarTestCase() {
+        Group<GroupMember> group = mock(Group.class);
+        when(group.getName()).thenReturn("ejb");
+        when(group.isSingleton()).thenReturn(false);
+        when(group.getLocalMember()).thenReturn(mock(GroupMember.class));
+        when(this.registry.getGroup()).thenReturn(group);
+        when(this.registry.getEntries()).thenReturn(this.entries);
+        when(this.registry.register(any())).thenReturn(mock(Registration.class));
+    }
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testCoalescing() throws InterruptedException {
+        AssociationImpl.ClusterTopologyRegistrar registrar = new AssociationImpl.ClusterTopologyRegistrar(this.registry, this.executor, 200);
+        RecordingListener listener = new RecordingListener();
+        registrar.registerClusterTopologyListener(listener);
+        assertEquals("topology []", listener.next());
+
+        // a rolling restart
+        registrar.added(Map.of("node1", MAPPINGS, "node2", MAPPINGS));
+        registrar.removed(Map.of("node1", MAPPINGS));
+        registrar.updated(Map.of("node2", MAPPINGS));
+        registrar.added(Map.of("node3", MAPPINGS));
+        registrar.removed(Map.of("node4", MAPPINGS));
+
+        assertEquals("removed [node1, node4]", listener.next());
+        assertEquals("added [node2, node3]", listener.next());
+        assertNull(listener.events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testOrdering() throws Exception {
+        AssociationImpl.ClusterTopologyRegistrar registrar = new AssociationImpl.ClusterTopologyRegistrar(this.registry, this.executor, 0);
+        List<RecordingListener> listeners = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RecordingListener listener = new RecordingListener();
+            registrar.registerClusterTopologyListener(listener);
+            listeners.add(listener);
+        }
+        Set<String> expected = new TreeSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String node = "node" + (i % 7);
+            if ((i % 3) == 0) {
+                registrar.removed(Map.of(node, MAPPINGS));
+                expected.remove(node);
+            } else {
+                registrar.added(Map.of(node, MAPPINGS));
+                expected.add(node);
+            }
+        }
+        // updates without delay are run before any later task
+        this.executor.submit(() -> { }).get();
+
+        for (RecordingListener listener : listeners) {
+            assertEquals(expected, listener.nodes);
+        }
+    }
+
+    @Test
+    public void testLastNodeToLeave() throws InterruptedException {
+        AssociationImpl.ClusterTopologyRegistrar registrar = new AssociationImpl.ClusterTopologyRegistrar(this.registry, this.executor, 100);
+        RecordingListener listener = new RecordingListener();
+        registrar.registerClusterTopologyListener(listener);
+        assertEquals("topology []", listener.next());
+
+        registrar.added(Map.of("node1", MAPPINGS));
+        registrar.sendTopologyUpdateIfLastNodeToLeave();
+
+        assertEquals("removal [ejb]", listener.next());
+        // the pending addition is superseded by the removal of the cluster
+        assertNull(listener.events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private static class RecordingListener implements ClusterTopologyListener {
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        // the nodes of the cluster as seen by this listener, only accessed by the topology thread
+        final Set<String> nodes = new TreeSet<>();
+
+        String next() throws InterruptedException {
+            return this.events.poll(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void clusterTopology(List<ClusterInfo> clusterInfoList) {
+            Set<String> names = new TreeSet<>();
+            for (ClusterInfo info : clusterInfoList) {
+                for (NodeInfo node : info.getNodeInfoList()) {
+                    names.add(node.getNodeName());
+                }
+            }
+            this.nodes.addAll(names);
+            this.events.add("topology " + names);
+        }
+
+        @Override
+        public void clusterRemoval(List<String> clusterNames) {
+            this.nodes.clear();
+            this.events.add("removal " + clusterNames);
+        }
+
+        @Override
+        public void clusterNewNodesAdded(ClusterInfo newClusterInfo) {
+            Set<String> names = new TreeSet<>();
+            for (NodeInfo node : newClusterInfo.getNodeInfoList()) {
+                names.add(node.getNodeName());
+            }
+            this.nodes.addAll(names);
+            this.events.add("added " + names);
+        }
+
+        @Override
+        public void clusterNodesRemoved(List<ClusterRemovalInfo> clusterRemovalInfoList) {
+            Set<String> names = new TreeSet<>();
+            for (ClusterRemovalInfo info : clusterRemovalInfoList) {
+                names.addAll(info.getNodeNames());
+            }
+            this.nodes.removeAll(names);
+            this.events.add("removed " + names);
+        }
+    }
+}
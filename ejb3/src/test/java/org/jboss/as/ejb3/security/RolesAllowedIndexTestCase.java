@@ -0,0 +1,111 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.wildfly.security.auth.server.SecurityDomain;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.auth.server.SecurityRealm;
+import org.wildfly.security.authz.RoleMapper;
+import org.wildfly.security.authz.Roles;
+
+/**
+ * Unit test for {@link RolesAllowedIndex}.
+ */
+public class RolesAllowedIndexTestCase {
+
+    private static final SecurityDomain DOMAIN = SecurityDomain.builder()
+            .setDefaultRealmName("default")
+            .addRealm("default", SecurityRealm.EMPTY_REALM).build()
+            .build();
+
+    @Test
+    public void testAnyAuthenticatedUser() {
+        RolesAllowedIndex index = new RolesAllowedIndex();
+        BitSet rolesAllowed = index.index(List.of("**"));
+        SecurityIdentity anonymous = DOMAIN.getAnonymousSecurityIdentity();
+        SecurityIdentity authenticated = DOMAIN.createAdHocIdentity("user");
+
+        assertFalse(index.getRoles(anonymous).intersects(rolesAllowed));
+        assertTrue(index.getRoles(authenticated).intersects(rolesAllowed));
+        // roles granted to the anonymous identity do not make it authenticated
+        assertFalse(index.getRoles(withRoles(anonymous, "user")).intersects(rolesAllowed));
+    }
+
+    @Test
+    public void testNoRolesAllowed() {
+        RolesAllowedIndex index = new RolesAllowedIndex();
+        index.index(List.of("**", "admin"));
+        BitSet rolesAllowed = index.index(List.of());
+
+        assertTrue(rolesAllowed.isEmpty());
+        assertFalse(index.getRoles(DOMAIN.getAnonymousSecurityIdentity()).intersects(rolesAllowed));
+        assertFalse(index.getRoles(withRoles(DOMAIN.createAdHocIdentity("user"), "admin")).intersects(rolesAllowed));
+    }
+
+    @Test
+    public void testRolesOfOtherMethod() {
+        RolesAllowedIndex index = new RolesAllowedIndex();
+        BitSet adminMethod = index.index(List.of("admin"));
+        BitSet userMethod = index.index(List.of("user", "guest"));
+        SecurityIdentity user = withRoles(DOMAIN.createAdHocIdentity("user"), "user", "other");
+        SecurityIdentity admin = withRoles(DOMAIN.createAdHocIdentity("admin"), "admin");
+
+        assertTrue(index.getRoles(user).intersects(userMethod));
+        assertFalse(index.getRoles(user).intersects(adminMethod));
+        assertTrue(index.getRoles(admin).intersects(adminMethod));
+        assertFalse(index.getRoles(admin).intersects(userMethod));
+        // the roles of an identity are resolved once
+        assertSame(index.getRoles(user), index.getRoles(user));
+    }
+
+    @Test
+    public void testCacheSize() {
+        RolesAllowedIndex index = new RolesAllowedIndex();
+        BitSet rolesAllowed = index.index(List.of("user"));
+        List<SecurityIdentity> identities = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            SecurityIdentity identity = withRoles(DOMAIN.createAdHocIdentity("user" + i), "user");
+            identities.add(identity);
+            assertTrue(index.getRoles(identity).intersects(rolesAllowed));
+            assertTrue(index.getCachedIdentityCount() <= 256);
+        }
+        // evicted identities are resolved again
+        for (SecurityIdentity identity : identities) {
+            assertTrue(index.getRoles(identity).intersects(rolesAllowed));
+        }
+    }
+
+    @Test
+    public void testCollectedIdentitiesAreExpunged() {
+        RolesAllowedIndex index = new RolesAllowedIndex();
+        BitSet rolesAllowed = index.index(List.of("user"));
+        SecurityIdentity identity = withRoles(DOMAIN.createAdHocIdentity("user"), "user");
+        SecurityIdentity other = withRoles(DOMAIN.createAdHocIdentity("other"), "user");
+        index.getRoles(identity);
+        index.getRoles(other);
+        assertEquals(2, index.getCachedIdentityCount());
+
+        index.clear(identity);
+        assertEquals(1, index.getCachedIdentityCount());
+        assertTrue(index.getRoles(other).intersects(rolesAllowed));
+        assertEquals(1, index.getCachedIdentityCount());
+    }
+
+    private static SecurityIdentity withRoles(SecurityIdentity identity, String... roles) {
+        return identity.withDefaultRoleMapper(RoleMapper.constant(Roles.fromSet(Set.of(roles))));
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.tx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jakarta.ejb.TransactionAttributeType;
+
+import org.jboss.as.ee.component.Component;
+import org.jboss.as.ee.component.ComponentView;
+import org.jboss.as.ejb3.component.EJBComponent;
+import org.jboss.as.ejb3.component.MethodTransactionAttributeKey;
+import org.jboss.as.ejb3.deployment.ApplicableMethodInformation;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.metadata.ejb.spec.MethodInterfaceType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+
+/**
+ * Verifies that the interceptors created by {@link CMTTxInterceptor#factory(Method)} resolve the same transaction
+ * attribute, timeout and asynchronous flag as {@link CMTTxInterceptor#FACTORY}, which resolves them on each invocation.
+ */
+public class CMTTxInterceptorTestCase {
+
+    public interface Local {
+        void classLevel();
+
+        void methodLevel();
+
+        void viewLevel(String value);
+
+        void viewLevel(int value);
+
+        void asynchronous();
+
+        void asynchronousNotSupported();
+    }
+
+    public static class Bean implements Local {
+        @Override
+        public void classLevel() {
+        }
+
+        @Override
+        public void methodLevel() {
+        }
+
+        @Override
+        public void viewLevel(String value) {
+        }
+
+        @Override
+        public void viewLevel(int value) {
+        }
+
+        @Override
+        public void asynchronous() {
+        }
+
+        @Override
+        public void asynchronousNotSupported() {
+        }
+
+        // not a method of the view
+        public void beanOnly() {
+        }
+    }
+
+    private final RecordingInterceptor interceptor = new RecordingInterceptor();
+    private EJBComponent component;
+
+    @Before
+    public void setUp() throws Exception {
+        ApplicableMethodInformation<TransactionAttributeType> attributes = new ApplicableMethodInformation<>("Bean", TransactionAttributeType.REQUIRED);
+        ApplicableMethodInformation<Integer> timeouts = new ApplicableMethodInformation<>("Bean", null);
+        String className = Bean.class.getName();
+        // @TransactionAttribute(SUPPORTS) on the bean class
+        attributes.setAttribute(null, className, TransactionAttributeType.SUPPORTS);
+        // @TransactionAttribute(REQUIRES_NEW) and @TransactionTimeout(30) on a bean method
+        attributes.setAttribute(null, TransactionAttributeType.REQUIRES_NEW, className, "methodLevel");
+        timeouts.setAttribute(null, 30, className, "methodLevel");
+        attributes.setAttribute(null, TransactionAttributeType.REQUIRED, className, "asynchronous");
+        attributes.setAttribute(null, TransactionAttributeType.NOT_SUPPORTED, className, "asynchronousNotSupported");
+        // <container-transaction> with <method-intf>Local</method-intf> in the deployment descriptor
+        attributes.setAttribute(MethodInterfaceType.Local, TransactionAttributeType.MANDATORY, className, "viewLevel", String.class.getName());
+        timeouts.setAttribute(MethodInterfaceType.Local, 10, "viewLevel");
+
+        // resolved per method interface as EJBComponentCreateService does
+        Map<MethodTransactionAttributeKey, TransactionAttributeType> txAttrs = new HashMap<>();
+        Map<MethodTransactionAttributeKey, Integer> txTimeouts = new HashMap<>();
+        for (Method method : Local.class.getMethods()) {
+            Method componentMethod = Bean.class.getMethod(method.getName(), method.getParameterTypes());
+            resolve(attributes, timeouts, MethodInterfaceType.Local, componentMethod, txAttrs, txTimeouts);
+        }
+        for (Method method : Bean.class.getMethods()) {
+            resolve(attributes, timeouts, MethodInterfaceType.Bean, method, txAttrs, txTimeouts);
+        }
+        this.component = mock(EJBComponent.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+        set(this.component, "txAttrs", txAttrs);
+        set(this.component, "txTimeouts", txTimeouts);
+    }
+
+    @Test
+    public void testView() throws Exception {
+        ComponentView view = this.view(MethodInterfaceType.Local);
+        for (Method method : Local.class.getMethods()) {
+            this.assertSameTransaction(method, view);
+        }
+        Invocation viewLevel = this.invoke(CMTTxInterceptor.factory(Local.class.getMethod("viewLevel", String.class), this.interceptor), Local.class.getMethod("viewLevel", String.class), view);
+        assertEquals(TransactionAttributeType.MANDATORY, viewLevel.attr);
+        assertEquals(10, viewLevel.timeout);
+        // the attribute of the view only applies to the method with these parameters, the timeout to all methods of that name
+        Invocation otherViewLevel = this.invoke(CMTTxInterceptor.factory(Local.class.getMethod("viewLevel", int.class), this.interceptor), Local.class.getMethod("viewLevel", int.class), view);
+        assertEquals(TransactionAttributeType.SUPPORTS, otherViewLevel.attr);
+        assertEquals(10, otherViewLevel.timeout);
+        Invocation methodLevel = this.invoke(CMTTxInterceptor.factory(Local.class.getMethod("methodLevel"), this.interceptor), Local.class.getMethod("methodLevel"), view);
+        assertEquals(TransactionAttributeType.REQUIRES_NEW, methodLevel.attr);
+        assertEquals(30, methodLevel.timeout);
+        Invocation classLevel = this.invoke(CMTTxInterceptor.factory(Local.class.getMethod("classLevel"), this.interceptor), Local.class.getMethod("classLevel"), view);
+        assertEquals(TransactionAttributeType.SUPPORTS, classLevel.attr);
+        assertEquals(-1, classLevel.timeout);
+        assertTrue(this.invoke(CMTTxInterceptor.factory(Local.class.getMethod("asynchronous"), this.interceptor), Local.class.getMethod("asynchronous"), view).asynchronous);
+        // the asynchronous flag only matters to the REQUIRED attribute
+        assertFalse(this.invoke(CMTTxInterceptor.factory(Local.class.getMethod("asynchronousNotSupported"), this.interceptor), Local.class.getMethod("asynchronousNotSupported"), view).asynchronous);
+    }
+
+    @Test
+    public void testMethodNotOfView() throws Exception {
+        // a method the view does not expose is only resolved for the bean
+        Method method = Bean.class.getMethod("beanOnly");
+        Invocation invocation = this.assertSameTransaction(method, this.view(MethodInterfaceType.Local));
+        assertEquals(TransactionAttributeType.SUPPORTS, invocation.attr);
+        assertEquals(-1, invocation.timeout);
+        // as is a method that is not a method of the bean class
+        method = Object.class.getMethod("toString");
+        invocation = this.assertSameTransaction(method, this.view(MethodInterfaceType.Local));
+        assertEquals(TransactionAttributeType.REQUIRED, invocation.attr);
+        assertEquals(-1, invocation.timeout);
+    }
+
+    @Test
+    public void testWithoutView() throws Exception {
+        for (Method method : Bean.class.getMethods()) {
+            this.assertSameTransaction(method, null);
+        }
+        // the attribute specific to the Local view does not apply
+        Invocation invocation = this.assertSameTransaction(Bean.class.getMethod("viewLevel", String.class), null);
+        assertEquals(TransactionAttributeType.SUPPORTS, invocation.attr);
+        assertEquals(-1, invocation.timeout);
+    }
+
+    private Invocation assertSameTransaction(Method method, ComponentView view) throws Exception {
+        Invocation expected = this.invoke(this.interceptor, method, view);
+        Invocation actual = this.invoke(CMTTxInterceptor.factory(method, this.interceptor), method, view);
+        assertEquals(method.toString(), expected.attr, actual.attr);
+        assertEquals(method.toString(), expected.timeout, actual.timeout);
+        assertEquals(method.toString(), expected.asynchronous, actual.asynchronous);
+        return actual;
+    }
+
+    private Invocation invoke(InterceptorFactory factory, Method method, ComponentView view) throws Exception {
+        SimpleInterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+        context.getContextData().put(Component.class, this.component);
+        if (view != null) {
+            context.getContextData().put(ComponentView.class, view);
+        }
+        return this.invoke(factory.create(context), method, view);
+    }
+
+    private Invocation invoke(Interceptor interceptor, Method method, ComponentView view) throws Exception {
+        InterceptorContext context = new InterceptorContext();
+        context.setMethod(method);
+        context.putPrivateData(Component.class, this.component);
+        if (view != null) {
+            context.putPrivateData(ComponentView.class, view);
+        }
+        this.interceptor.invocations.clear();
+        interceptor.processInvocation(context);
+        assertEquals(1, this.interceptor.invocations.size());
+        return this.interceptor.invocations.get(0);
+    }
+
+    private ComponentView view(MethodInterfaceType methodIntf) throws NoSuchMethodException {
+        ComponentView view = mock(ComponentView.class);
+        when(view.getPrivateData(MethodInterfaceType.class)).thenReturn(methodIntf);
+        when(view.isAsynchronous(Local.class.getMethod("asynchronous"))).thenReturn(true);
+        when(view.isAsynchronous(Local.class.getMethod("asynchronousNotSupported"))).thenReturn(true);
+        return view;
+    }
+
+    private static void resolve(ApplicableMethodInformation<TransactionAttributeType> attributes, ApplicableMethodInformation<Integer> timeouts,
+            MethodInterfaceType methodIntf, Method method,
+            Map<MethodTransactionAttributeKey, TransactionAttributeType> txAttrs, Map<MethodTransactionAttributeKey, Integer> txTimeouts) {
+        MethodTransactionAttributeKey key = new MethodTransactionAttributeKey(methodIntf, MethodIdentifier.getIdentifierForMethod(method));
+        TransactionAttributeType attr = attributes.getAttribute(methodIntf, method, MethodInterfaceType.Bean);
+        if (attr != null) {
+            txAttrs.put(key, attr);
+        }
+        Integer timeout = timeouts.getAttribute(methodIntf, method, MethodInterfaceType.Bean);
+        if (timeout != null) {
+            txTimeouts.put(key, timeout);
+        }
+    }
+
+    private static void set(EJBComponent component, String name, Object value) throws ReflectiveOperationException {
+        Field field = EJBComponent.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(component, value);
+    }
+
+    private static class Invocation {
+        final TransactionAttributeType attr;
+        final int timeout;
+        final boolean asynchronous;
+
+        Invocation(TransactionAttributeType attr, int timeout, boolean asynchronous) {
+            this.attr = attr;
+            this.timeout = timeout;
+            this.asynchronous = asynchronous;
+        }
+    }
+
+    /**
+     * Records the transaction attribute, timeout and asynchronous flag of the invocations instead of processing them.
+     */
+    private static class RecordingInterceptor extends CMTTxInterceptor {
+        final List<Invocation> invocations = new ArrayList<>();
+
+        @Override
+        protected Object processInvocation(InterceptorContext invocation, EJBComponent component, TransactionAttributeType attr, int timeoutInSeconds, boolean asynchronous) {
+            this.invocations.add(new Invocation(attr, timeoutInSeconds, asynchronous));
+            return null;
+        }
+    }
+}
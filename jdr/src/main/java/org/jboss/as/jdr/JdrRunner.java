@@ -29,6 +29,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.jboss.as.cli.CommandContextFactory;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
@@ -107,19 +111,41 @@ public class JdrRunner implements JdrReportCollector {
         StringBuilder skips = new StringBuilder();
         report.setStartTime();
         report.setJdrUuid(obtainServerUUID());
-        for (JdrCommand command : commands) {
-            command.setEnvironment(new JdrEnvironment(this.env));
-            try {
-                command.execute();
-            } catch (Throwable t) {
-                String message = "Skipping command " + command.toString();
-                ROOT_LOGGER.debugf(message);
-                skips.append(message);
-                PrintWriter pw = new PrintWriter(new StringWriter());
-                t.printStackTrace(pw);
-                skips.append(pw.toString());
-                pw.close();
+        // run the commands on a bounded number of threads, so that the report does not compete too much with the server
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, this.env.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "JDR command");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> results = new ArrayList<Future<?>>(commands.size());
+        try {
+            for (JdrCommand command : commands) {
+                command.setEnvironment(new JdrEnvironment(this.env));
+                results.add(executor.submit(() -> {
+                    command.execute();
+                    return null;
+                }));
+            }
+            for (int i = 0; i < commands.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    skips.append("Interrupted while running command " + commands.get(i).toString());
+                    break;
+                } catch (ExecutionException e) {
+                    String message = "Skipping command " + commands.get(i).toString();
+                    ROOT_LOGGER.debugf(message);
+                    skips.append(message);
+                    StringWriter sw = new StringWriter();
+                    PrintWriter pw = new PrintWriter(sw);
+                    e.getCause().printStackTrace(pw);
+                    pw.close();
+                    skips.append(sw.toString());
+                }
             }
+        } finally {
+            executor.shutdownNow();
         }
 
         try {
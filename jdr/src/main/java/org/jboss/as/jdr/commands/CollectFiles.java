@@ -33,6 +33,8 @@ public class CollectFiles extends JdrCommand {
 
     // -1 means no limit
     private long limit = -1;
+    // -1 means no limit
+    private long fileLimit = -1;
 
     public CollectFiles(VirtualFileFilter filter) {
         this.filter = filter;
@@ -59,6 +61,17 @@ public class CollectFiles extends JdrCommand {
         return this;
     }
 
+    /**
+     * Limits the amount of data collected from each file: only the tail of larger files is collected.
+     *
+     * @param fileLimit the maximum number of bytes collected from each file
+     * @return this command
+     */
+    public CollectFiles fileLimit(final long fileLimit){
+        this.fileLimit = fileLimit;
+        return this;
+    }
+
     public CollectFiles omit(String pattern) {
         blocklistFilter.add(pattern);
         return this;
@@ -78,7 +91,7 @@ public class CollectFiles extends JdrCommand {
         }
 
         // limit how much data we collect
-        Limiter limiter = new Limiter(limit);
+        Limiter limiter = new Limiter(limit, fileLimit);
         Iterator<VirtualFile> iter = matches.iterator();
 
         while(iter.hasNext() && !limiter.isDone()) {
@@ -107,15 +120,20 @@ public class CollectFiles extends JdrCommand {
      * VirtualFiles's InputStream is simply returned and its size added to the number of bytes the Limiter has seen.
      * Otherwise, the VirtualFiles's InputStream is skipped ahead so that the total number of bytes it will provide
      * before exhaustion will make the total amount seen by the Limiter equal to its limit.
+     *
+     * If a file limit is set, the InputStream of VirtualFiles larger than that limit is first skipped ahead so that
+     * only the tail of the file is provided.
      */
     private static class Limiter {
 
         private long amountRead = 0;
         private long limit = -1;
+        private long fileLimit = -1;
         private boolean done = false;
 
-        public Limiter(long limit){
+        public Limiter(long limit, long fileLimit){
             this.limit = limit;
+            this.fileLimit = fileLimit;
         }
 
         public boolean isDone(){
@@ -131,6 +149,12 @@ public class CollectFiles extends JdrCommand {
             InputStream is = resource.openStream();
             long resourceSize = resource.getSize();
 
+            // only get the tail of files larger than the file limit
+            if(fileLimit != -1 && fileLimit < resourceSize){
+                Utils.skip(is, resourceSize - fileLimit);
+                resourceSize = fileLimit;
+            }
+
             // if we're limiting and know we're not going to consume the whole file, we skip
             // ahead so that we get the tail of the file instead of the beginning of it, and we
             // toggle the done switch.
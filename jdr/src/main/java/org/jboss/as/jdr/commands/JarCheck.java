@@ -10,14 +10,29 @@ import org.jboss.vfs.VFS;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.util.automount.Automounter;
 
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.jboss.as.jdr.logger.JdrLogger.ROOT_LOGGER;
 
 public class JarCheck extends JdrCommand {
 
+    // checksums of the files checked by previous reports, keyed by path
+    // bounded, so that files that no longer exist or are rarely checked are eventually dropped
+    private static final int MAX_CHECKS = 16384;
+    private static final Map<String, Check> CHECKS = Collections.synchronizedMap(new LinkedHashMap<String, Check>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Check> eldest) {
+            return this.size() > MAX_CHECKS;
+        }
+    });
+
     StringBuilder buffer;
 
     @Override
@@ -40,13 +55,18 @@ public class JarCheck extends JdrCommand {
 
     private void check(VirtualFile f) throws NoSuchAlgorithmException {
         try {
-            MessageDigest alg = MessageDigest.getInstance("md5");
-            byte [] buffer = Utils.toBytes(f);
-            alg.update(buffer);
-            String sum = new BigInteger(1, alg.digest()).toString(16);
+            String path = f.getPathName();
+            long size = f.getSize();
+            long lastModified = f.getLastModified();
+            Check check = CHECKS.get(path);
+            // the file is only digested again if it changed since it was last checked, the manifest is small and read each time
+            if (check == null || check.size != size || check.lastModified != lastModified) {
+                check = new Check(size, lastModified, checksum(f));
+                CHECKS.put(path, check);
+            }
             this.buffer.append(
-                    f.getPathName().replace(this.env.getJbossHome(), "JBOSSHOME") + "\n"
-                    + sum + "\n"
+                    path.replace(this.env.getJbossHome(), "JBOSSHOME") + "\n"
+                    + check.sum + "\n"
                     + getManifestString(f) + "===");
         }
         catch( java.util.zip.ZipException ze ) {
@@ -60,6 +80,17 @@ public class JarCheck extends JdrCommand {
         }
     }
 
+    private String checksum(VirtualFile file) throws NoSuchAlgorithmException, java.io.IOException {
+        MessageDigest alg = MessageDigest.getInstance("md5");
+        byte [] buffer = new byte[8192];
+        try (InputStream is = new DigestInputStream(this.env.getZip().throttle(file.openStream()), alg)) {
+            while (is.read(buffer) > -1) {
+                // the digest is updated as the file is read
+            }
+        }
+        return new BigInteger(1, alg.digest()).toString(16);
+    }
+
     private String getManifestString(VirtualFile file) throws java.io.IOException {
         try {
             Automounter.mount(file);
@@ -74,4 +105,16 @@ public class JarCheck extends JdrCommand {
             }
         }
     }
+
+    private static class Check {
+        final long size;
+        final long lastModified;
+        final String sum;
+
+        Check(long size, long lastModified, String sum) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.sum = sum;
+        }
+    }
 }
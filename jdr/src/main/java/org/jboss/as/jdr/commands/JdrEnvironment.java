@@ -26,6 +26,8 @@ public class JdrEnvironment {
     private ModelControllerClient client;
     private String productName;
     private String productVersion;
+    private int threads = Integer.getInteger("jboss.jdr.threads", Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+    private long maxBytesPerSecond = Long.getLong("jboss.jdr.max-bytes-per-second", 0);
 
     public CLI getCli() {
         return cli;
@@ -55,6 +57,8 @@ public class JdrEnvironment {
         this.setServerRunning(copy.isServerRunning());
         this.setProductName(copy.getProductName());
         this.setProductVersion(copy.getProductVersion());
+        this.setThreads(copy.getThreads());
+        this.setMaxBytesPerSecond(copy.getMaxBytesPerSecond());
     }
 
     public String getJbossHome() {
@@ -160,4 +164,26 @@ public class JdrEnvironment {
     public void setProductVersion(String productVersion) {
         this.productVersion = productVersion;
     }
+
+    /**
+     * @return the number of commands run in parallel
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @return the maximum number of bytes read for the report per second, or 0 if unlimited
+     */
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
 }
@@ -40,8 +40,8 @@ public class AS7Plugin implements JdrPlugin {
             new CollectFiles("*/standalone/configuration/*").sanitizer(xmlSanitizer, passwordSanitizer),
             new CollectFiles("*/domain/configuration/*").sanitizer(xmlSanitizer, passwordSanitizer),
             new CollectFiles("*server.log").limit(50 * Utils.ONE_MB),
-            new CollectFiles("*.log").omit("*server.log"),
-            new CollectFiles("*gc.log.*"),
+            new CollectFiles("*.log").omit("*server.log").fileLimit(10 * Utils.ONE_MB),
+            new CollectFiles("*gc.log.*").fileLimit(10 * Utils.ONE_MB),
             new CollectFiles("*.properties").sanitizer(passwordSanitizer),
             new CollectFiles("*.xml").sanitizer(xmlSanitizer),
             new CollectFiles("*/modules/system/*/.overlays/.overlays"),
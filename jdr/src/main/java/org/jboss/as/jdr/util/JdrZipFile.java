@@ -22,6 +22,8 @@ import org.jboss.vfs.VirtualFile;
 
 /**
  * Abstracts the zipfile used for packaging the JDR Report.
+ *
+ * Content may be added concurrently by commands running in parallel; entries are written one at a time.
  */
 public class JdrZipFile {
 
@@ -31,10 +33,12 @@ public class JdrZipFile {
     String name;
     String baseName;
     String productDirName;
+    final Throttle throttle;
 
     public JdrZipFile(JdrEnvironment env) throws Exception {
         this.env = env;
         this.jbossHome = this.env.getJbossHome();
+        this.throttle = new Throttle(this.env.getMaxBytesPerSecond());
         SimpleDateFormat fmt = new SimpleDateFormat("yy-MM-dd_hh-mm-ss");
         baseName = "jdr_" + fmt.format(new Date());
 
@@ -68,8 +72,8 @@ public class JdrZipFile {
      * @param is content to write
      * @param path destination to write to in the zip file
      */
-    public void add(InputStream is, String path) {
-        byte [] buffer = new byte[1024];
+    public synchronized void add(InputStream is, String path) {
+        byte [] buffer = new byte[8192];
 
         try {
             // WFLY-13728 - File Path Separators must be / for ZipEntry even on Windows
@@ -78,6 +82,7 @@ public class JdrZipFile {
             zos.putNextEntry(ze);
             int bytesRead = is.read(buffer);
             while( bytesRead > -1 ) {
+                this.throttle.acquire(bytesRead);
                 zos.write(buffer, 0, bytesRead);
                 bytesRead = is.read(buffer);
             }
@@ -85,6 +90,10 @@ public class JdrZipFile {
         catch (ZipException ze) {
             ROOT_LOGGER.debugf(ze, "%s is already in the zip", path);
         }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            ROOT_LOGGER.debugf(ie, "Interrupted when adding %s", path);
+        }
         catch (Exception e) {
             ROOT_LOGGER.debugf(e, "Error when adding %s", path);
         }
@@ -150,6 +159,18 @@ public class JdrZipFile {
         this.add(stream, name.toString());
     }
 
+    /**
+     * Wraps content that is read for the report without being added to the zip, so that it is read no faster than the
+     * maximum number of bytes per second of the environment.
+     *
+     * Content added to the zip is already limited as it is read by the add methods.
+     * @param is content to read
+     * @return the limited content
+     */
+    public InputStream throttle(InputStream is) {
+        return this.throttle.limit(is);
+    }
+
     public String getProductDirName() {
         if(this.productDirName == null)
             this.productDirName = String.format("%s-%s", this.env.getProductName().replace(" ", "_").toLowerCase(Locale.getDefault()), this.env.getProductVersion().split("\\.")[0]);
@@ -170,7 +191,7 @@ public class JdrZipFile {
         this.add(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), name);
     }
 
-    public void close() throws Exception {
+    public synchronized void close() throws Exception {
         this.zos.close();
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.jdr.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of bytes per second read while collecting a report, across all the commands running in parallel.
+ *
+ * Time spent idle is only credited up to a short burst, so that a pause is not followed by reading at full speed.
+ */
+public final class Throttle {
+
+    private static final long BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final double nanosPerByte;
+    // the time at which the bytes acquired so far are paid for
+    private long next;
+
+    /**
+     * @param maxBytesPerSecond the maximum number of bytes per second, or 0 if unlimited
+     */
+    public Throttle(long maxBytesPerSecond) {
+        this.nanosPerByte = (maxBytesPerSecond > 0) ? (double) TimeUnit.SECONDS.toNanos(1) / maxBytesPerSecond : 0;
+        this.next = System.nanoTime();
+    }
+
+    /**
+     * Waits, if needed, so that the bytes are not read faster than the maximum number of bytes per second.
+     */
+    public void acquire(int bytes) throws InterruptedException {
+        if (this.nanosPerByte == 0 || bytes <= 0) {
+            return;
+        }
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (this.next - now < -BURST_NANOS) {
+                this.next = now - BURST_NANOS;
+            }
+            this.next += (long) (bytes * this.nanosPerByte);
+            wait = this.next - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * @return an {@link InputStream} that is not read faster than the maximum number of bytes per second
+     */
+    public InputStream limit(InputStream is) {
+        return (this.nanosPerByte == 0) ? is : new ThrottledInputStream(is, this);
+    }
+
+    private static class ThrottledInputStream extends FilterInputStream {
+        private final Throttle throttle;
+
+        ThrottledInputStream(InputStream in, Throttle throttle) {
+            super(in);
+            this.throttle = throttle;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b > -1) {
+                this.acquire(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int bytesRead = super.read(b, off, len);
+            this.acquire(bytesRead);
+            return bytesRead;
+        }
+
+        private void acquire(int bytes) throws InterruptedIOException {
+            try {
+                this.throttle.acquire(bytes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                InterruptedIOException ioe = new InterruptedIOException();
+                ioe.initCause(e);
+                throw ioe;
+            }
+        }
+    }
+}
@@ -10,6 +10,8 @@ import static javax.xml.XMLConstants.FEATURE_SECURE_PROCESSING;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Transformer;
@@ -30,31 +32,45 @@ import org.w3c.dom.NodeList;
 /**
  * {@link Sanitizer} subclass that removes the contents of the matched xpath expression
  * in {@code pattern}.
+ * <p>
+ * Instances may be shared by commands running concurrently, so the parser, transformer and
+ * compiled expression, none of which are thread-safe, are kept per thread.
  */
 public class XMLSanitizer extends AbstractSanitizer {
 
-    private XPathExpression expression;
-    private DocumentBuilder builder;
-    private Transformer transformer;
+    private final ThreadLocal<XPathExpression> expression;
+    private final ThreadLocal<DocumentBuilder> builder;
+    private final ThreadLocal<Transformer> transformer;
 
     public XMLSanitizer(String pattern, VirtualFileFilter filter) throws Exception {
         this.filter = filter;
+        // compile once up front, so that an invalid pattern is still reported by the constructor
+        XPathExpression compiled = compile(pattern);
+        this.expression = ThreadLocal.withInitial(new UncheckedSupplier<>(() -> compile(pattern)));
+        this.expression.set(compiled);
+        this.builder = ThreadLocal.withInitial(new UncheckedSupplier<>(XMLSanitizer::createBuilder));
+        this.transformer = ThreadLocal.withInitial(new UncheckedSupplier<>(() -> TransformerFactoryUtil.create().newTransformer()));
+    }
+
+    private static XPathExpression compile(String pattern) throws Exception {
         XPathFactory factory = XPathFactory.newInstance();
         factory.setFeature(FEATURE_SECURE_PROCESSING, true);
         XPath xpath = factory.newXPath();
-        expression = xpath.compile(pattern);
+        return xpath.compile(pattern);
+    }
 
+    private static DocumentBuilder createBuilder() throws Exception {
         DocumentBuilderFactory DBfactory = DocumentBuilderFactoryUtil.create();
         DBfactory.setNamespaceAware(true);
-        builder = DBfactory.newDocumentBuilder();
+        DocumentBuilder builder = DBfactory.newDocumentBuilder();
         builder.setErrorHandler(null);
-
-        TransformerFactory transformerFactory = TransformerFactoryUtil.create();
-        transformer = transformerFactory.newTransformer();
-
+        return builder;
     }
 
     public InputStream sanitize(InputStream in) throws Exception {
+        DocumentBuilder builder = this.builder.get();
+        XPathExpression expression = this.expression.get();
+        Transformer transformer = this.transformer.get();
         byte [] content = Utils.toByteArray(in);
         try {
             // storing the entire file in memory in case we need to bail.
@@ -75,4 +91,21 @@ public class XMLSanitizer extends AbstractSanitizer {
             return new ByteArrayInputStream(content);
         }
     }
+
+    private static class UncheckedSupplier<T> implements Supplier<T> {
+        private final Callable<T> factory;
+
+        UncheckedSupplier(Callable<T> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public T get() {
+            try {
+                return this.factory.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
@@ -7,6 +7,9 @@ package org.jboss.as.jdr;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
@@ -14,15 +17,25 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.jdr.commands.CollectFiles;
 import org.jboss.as.jdr.commands.JdrEnvironment;
 import org.jboss.as.jdr.util.JdrZipFile;
 import org.jboss.as.jdr.util.PatternSanitizer;
 import org.jboss.as.jdr.util.XMLSanitizer;
 import org.jboss.as.jdr.vfs.Filters;
+import org.jboss.dmr.ModelNode;
 import org.jboss.vfs.TempFileProvider;
 import org.jboss.vfs.VFS;
 import org.jboss.vfs.VFSUtils;
@@ -98,6 +111,102 @@ public class JdrTestCase {
     }
 
 
+    @Test
+    public void testCollectFilesFileLimit() throws Exception {
+        File home = new File("target/test-files/file-limit");
+        home.mkdirs();
+        Files.write(new File(home, "small.log").toPath(), "small".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(home, "large.log").toPath(), "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        JdrEnvironment env = new JdrEnvironment();
+        env.setOutputDirectory(new File("target/test-files").getAbsolutePath());
+        env.setJbossHome(home.getAbsolutePath());
+        env.setProductName("wildfly");
+        env.setProductVersion("20");
+        env.setZip(new JdrZipFile(new JdrEnvironment(env)));
+
+        CollectFiles command = new CollectFiles("*.log").fileLimit(5);
+        command.setEnvironment(env);
+        try {
+            command.execute();
+        } finally {
+            env.getZip().close();
+        }
+
+        try (ZipFile zip = new ZipFile(env.getZip().name())) {
+            Map<String, String> entries = new HashMap<>();
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                try (InputStream is = zip.getInputStream(entry)) {
+                    entries.put(entry.getName().substring(entry.getName().lastIndexOf('/') + 1), new String(is.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            assertEquals("small", entries.get("small.log"));
+            // only the tail of larger files is collected
+            assertEquals("56789", entries.get("large.log"));
+        }
+    }
+
+    @Test
+    public void testAS7PluginSanitizesConcurrently() throws Exception {
+        File home = new File("target/test-files/as7-plugin");
+        String xml = "<server><password>secret</password></server>";
+        for (String dir : new String[] { "standalone/configuration", "domain/configuration", "modules" }) {
+            File directory = new File(home, dir);
+            directory.mkdirs();
+            for (int i = 0; i < 20; i++) {
+                Files.write(new File(directory, "config" + i + ".xml").toPath(), xml.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        // only the attributes read by the runner itself are available, the operations issued by the plugin all fail
+        ModelControllerClient client = mock(ModelControllerClient.class);
+        when(client.execute(any(ModelNode.class))).thenAnswer(invocation -> {
+            ModelNode result = new ModelNode();
+            if (invocation.<ModelNode>getArgument(0).get(ClientConstants.OP).asString().equals(ClientConstants.READ_ATTRIBUTE_OPERATION)) {
+                result.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+                result.get(ClientConstants.RESULT).set("test");
+            } else {
+                result.get(ClientConstants.OUTCOME).set(ClientConstants.FAILED);
+                result.get(ClientConstants.FAILURE_DESCRIPTION).set("unavailable");
+            }
+            return result;
+        });
+
+        // plugins.properties of the test class path only lists the AS7 plugin
+        JdrRunner runner = new JdrRunner(true);
+        runner.setJbossHomeDir(home.getAbsolutePath());
+        runner.setReportLocationDir(new File("target/test-files").getAbsolutePath());
+        runner.setControllerClient(client);
+        runner.env.setThreads(4);
+        String dataDir = System.setProperty(JdrReport.JBOSS_PROPERTY_DIR, new File(home, "data").getAbsolutePath());
+        JdrReport report;
+        try {
+            report = runner.collect();
+        } finally {
+            if (dataDir != null) {
+                System.setProperty(JdrReport.JBOSS_PROPERTY_DIR, dataDir);
+            } else {
+                System.clearProperty(JdrReport.JBOSS_PROPERTY_DIR);
+            }
+        }
+
+        File file = new File(report.getLocation());
+        try (ZipFile zip = new ZipFile(file)) {
+            int sanitized = 0;
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                try (InputStream is = zip.getInputStream(entry)) {
+                    String content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+                    assertFalse(entry.getName(), content.contains("secret"));
+                    if (entry.getName().endsWith(".xml") && content.contains("<password/>")) {
+                        sanitized++;
+                    }
+                }
+            }
+            assertEquals(60, sanitized);
+        } finally {
+            file.delete();
+        }
+    }
+
     @Test
     public void testBlockListFilter() {
         VirtualFileFilter blf = Filters.regexBlockList();
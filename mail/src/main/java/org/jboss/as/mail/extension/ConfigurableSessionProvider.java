@@ -6,10 +6,19 @@
 package org.jboss.as.mail.extension;
 
 /**
- * A {@link SessionProvider that additionally exposes its configuration.
- * This is used only for test verification.
+ * A {@link SessionProvider that additionally exposes its configuration (for test verification) and its SMTP transport pool.
  * @author Paul Ferraro
  */
 interface ConfigurableSessionProvider extends SessionProvider {
     MailSessionConfig getConfig();
+
+    /**
+     * @return the pool of SMTP transports, or null if pooling is disabled
+     */
+    SmtpTransportPool getTransportPool();
+
+    /**
+     * Releases the resources of this provider, once its sessions are no longer handed out.
+     */
+    void close();
 }
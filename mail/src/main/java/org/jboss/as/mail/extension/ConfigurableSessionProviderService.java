@@ -5,7 +5,10 @@
 
 package org.jboss.as.mail.extension;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.jboss.msc.Service;
 import org.jboss.msc.service.StartContext;
@@ -19,19 +22,26 @@ import org.jboss.msc.service.StopContext;
 class ConfigurableSessionProviderService implements Service {
     private final Consumer<ConfigurableSessionProvider> provider;
     private final MailSessionConfig config;
+    private final Supplier<ExecutorService> executor;
+    private final Supplier<ScheduledExecutorService> scheduledExecutor;
+    private volatile ConfigurableSessionProvider value;
 
-    ConfigurableSessionProviderService(Consumer<ConfigurableSessionProvider> provider, MailSessionConfig config) {
+    ConfigurableSessionProviderService(Consumer<ConfigurableSessionProvider> provider, MailSessionConfig config, Supplier<ExecutorService> executor, Supplier<ScheduledExecutorService> scheduledExecutor) {
         this.provider = provider;
         this.config = config;
+        this.executor = executor;
+        this.scheduledExecutor = scheduledExecutor;
     }
 
     @Override
     public void start(final StartContext startContext) throws StartException {
-        this.provider.accept(SessionProviderFactory.create(this.config));
+        this.value = SessionProviderFactory.create(this.config, this.executor.get(), this.scheduledExecutor.get());
+        this.provider.accept(this.value);
     }
 
     @Override
     public void stop(final StopContext stopContext) {
-        // Nothing to stop
+        this.value.close();
+        this.value = null;
     }
 }
@@ -6,13 +6,17 @@
 package org.jboss.as.mail.extension;
 
 import static org.jboss.logging.Logger.Level.DEBUG;
+import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
 import java.lang.invoke.MethodHandles;
 
+import jakarta.mail.MessagingException;
+
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
@@ -77,4 +81,53 @@ interface MailLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 9, value = "Host name [%s] could not be resolved!")
     void hostUnknown(String hostName);
+
+    /**
+     * Creates an exception indicating that no pooled SMTP connection became available in time.
+     *
+     * @param timeout the time waited for a connection, in seconds.
+     * @return a {@link MessagingException} for the error.
+     */
+    @Message(id = 10, value = "No pooled SMTP connection became available within %d seconds")
+    MessagingException smtpTransportPoolExhausted(long timeout);
+
+    /**
+     * Logs an error message indicating that a message queued for asynchronous sending could not be sent.
+     *
+     * @param attempts the number of attempts to send the message.
+     * @param cause the failure of the last attempt.
+     */
+    @LogMessage(level = ERROR)
+    @Message(id = 11, value = "Failed to send queued mail message after %d attempts")
+    void asynchronousSendFailed(int attempts, @Cause Throwable cause);
+
+    /**
+     * Logs a warning message indicating that the value of a system property is invalid.
+     *
+     * @param value the value of the system property.
+     * @param name the name of the system property.
+     * @param defaultValue the value used instead.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 12, value = "Invalid value '%s' of system property %s, using %d instead")
+    void invalidSystemProperty(String value, String name, long defaultValue);
+
+    /**
+     * Logs a warning message indicating that the value of a mail session property is invalid.
+     *
+     * @param value the value of the property.
+     * @param name the name of the property.
+     * @param defaultValue the value used instead.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 13, value = "Invalid value '%s' of mail session property %s, using %d instead")
+    void invalidSessionProperty(String value, String name, long defaultValue);
+
+    /**
+     * Creates an exception indicating that a message was sent through a transport which is not connected.
+     *
+     * @return an {@link IllegalStateException} for the error.
+     */
+    @Message(id = 14, value = "Transport is not connected")
+    IllegalStateException transportNotConnected();
 }
@@ -8,11 +8,14 @@ package org.jboss.as.mail.extension;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.AttributeMarshaller;
 import org.jboss.as.controller.AttributeParser;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.PropertiesAttributeDefinition;
@@ -31,6 +34,8 @@ import org.jboss.as.controller.security.CredentialReference;
 import org.jboss.as.network.OutboundSocketBinding;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 
 /**
  * @author Tomaz Cerar
@@ -113,6 +118,12 @@ class MailServerDefinition extends PersistentResourceDefinition {
             .build();
 
 
+    static final SimpleAttributeDefinition CONNECTIONS = createMetric("connections");
+    static final SimpleAttributeDefinition IDLE_CONNECTIONS = createMetric("idle-connections");
+    static final SimpleAttributeDefinition QUEUED_MESSAGES = createMetric("queued-messages");
+    static final SimpleAttributeDefinition SENT_MESSAGES = createMetric("sent-messages");
+    static final SimpleAttributeDefinition FAILED_MESSAGES = createMetric("failed-messages");
+
     static final AttributeDefinition[] ATTRIBUTES = {OUTBOUND_SOCKET_BINDING_REF, SSL, TLS, USERNAME, PASSWORD, CREDENTIAL_REFERENCE};
     static final AttributeDefinition[] ATTRIBUTES_CUSTOM = {OUTBOUND_SOCKET_BINDING_REF_OPTIONAL, SSL, TLS, USERNAME, PASSWORD, CREDENTIAL_REFERENCE, PROPERTIES};
 
@@ -143,5 +154,41 @@ class MailServerDefinition extends PersistentResourceDefinition {
         for (AttributeDefinition attr : getAttributes()) {
             resourceRegistration.registerReadWriteAttribute(attr, null, handler);
         }
+        if (getPathElement().equals(MailSubsystemModel.SMTP_SERVER_PATH)) {
+            resourceRegistration.registerMetric(CONNECTIONS, new TransportPoolMetricHandler(SmtpTransportPool::getConnectionCount));
+            resourceRegistration.registerMetric(IDLE_CONNECTIONS, new TransportPoolMetricHandler(SmtpTransportPool::getIdleConnectionCount));
+            resourceRegistration.registerMetric(QUEUED_MESSAGES, new TransportPoolMetricHandler(SmtpTransportPool::getQueuedCount));
+            resourceRegistration.registerMetric(SENT_MESSAGES, new TransportPoolMetricHandler(SmtpTransportPool::getSentCount));
+            resourceRegistration.registerMetric(FAILED_MESSAGES, new TransportPoolMetricHandler(SmtpTransportPool::getFailedCount));
+        }
+    }
+
+    private static SimpleAttributeDefinition createMetric(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG, true)
+                .setStorageRuntime()
+                .build();
+    }
+
+    /**
+     * Reads a metric of the SMTP transport pool of the mail session, which is undefined unless pooling is enabled.
+     */
+    private static class TransportPoolMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final ToLongFunction<SmtpTransportPool> metric;
+
+        TransportPoolMetricHandler(ToLongFunction<SmtpTransportPool> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+            ServiceName name = MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName(context.getCurrentAddress().getParent()).append("provider");
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(name);
+            if (controller != null && controller.getState() == ServiceController.State.UP) {
+                SmtpTransportPool pool = ((ConfigurableSessionProvider) controller.getValue()).getTransportPool();
+                if (pool != null) {
+                    context.getResult().set(this.metric.applyAsLong(pool));
+                }
+            }
+        }
     }
 }
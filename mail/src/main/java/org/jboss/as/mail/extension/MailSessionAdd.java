@@ -17,6 +17,8 @@ import static org.jboss.as.mail.extension.MailSubsystemModel.SMTP;
 import static org.jboss.as.mail.extension.MailSubsystemModel.USER_NAME;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
@@ -32,6 +34,8 @@ import org.jboss.as.naming.ServiceBasedNamingStore;
 import org.jboss.as.naming.deployment.ContextNames;
 import org.jboss.as.naming.service.BinderService;
 import org.jboss.as.network.OutboundSocketBinding;
+import org.jboss.as.server.ServerService;
+import org.jboss.as.server.Services;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 import org.jboss.msc.Service;
@@ -125,7 +129,10 @@ class MailSessionAdd extends AbstractAddStepHandler {
         for (CustomServerConfig server : config.getCustomServers()) {
             addCredentialStoreReference(server, context, fullModel, builder, PathElement.pathElement(MailSubsystemModel.CUSTOM_SERVER_PATH.getKey(), server.getProtocol()));
         }
-        Service providerService = new ConfigurableSessionProviderService(builder.provides(serviceName), config);
+        // used by the transport pool to send queued messages
+        Supplier<ExecutorService> executor = Services.requireServerExecutor(builder);
+        Supplier<ScheduledExecutorService> scheduledExecutor = builder.requires(ServerService.JBOSS_SERVER_SCHEDULED_EXECUTOR);
+        Service providerService = new ConfigurableSessionProviderService(builder.provides(serviceName), config, executor, scheduledExecutor);
         builder.setInstance(providerService).setInitialMode(ServiceController.Mode.ON_DEMAND).install();
     }
 
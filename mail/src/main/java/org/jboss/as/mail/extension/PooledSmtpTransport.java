@@ -0,0 +1,99 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.mail.extension;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+
+/**
+ * SMTP {@link Transport} of the sessions of a mail session resource with an {@link SmtpTransportPool}.
+ * <p>
+ * Connecting to the configured server does not open a connection: one is borrowed from the pool for the first message sent
+ * synchronously, and given back on {@link #close()}. Connections to other servers or with explicit credentials bypass the
+ * pool.
+ * <p>
+ * This class is instantiated by {@link Session}, which finds it through the class loader of the session authenticator.
+ */
+public class PooledSmtpTransport extends Transport {
+
+    static final Provider PROVIDER = new Provider(Provider.Type.TRANSPORT, "smtp", PooledSmtpTransport.class.getName(), "WildFly", null);
+
+    private final SmtpTransportPool pool;
+    private Transport delegate;
+    private boolean pooled;
+    private boolean reusable;
+
+    public PooledSmtpTransport(Session session, URLName url) {
+        super(session, url);
+        this.pool = (SmtpTransportPool) session.getProperties().get(SmtpTransportPool.class.getName());
+    }
+
+    @Override
+    protected boolean protocolConnect(String host, int port, String user, String password) throws MessagingException {
+        if (this.pool.accepts(host, port, user, password)) {
+            this.pooled = true;
+        } else {
+            Transport transport = this.pool.createTransport();
+            transport.connect(host, port, user, password);
+            this.delegate = transport;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void sendMessage(Message message, Address[] addresses) throws MessagingException {
+        if (!this.isConnected()) {
+            throw MailLogger.ROOT_LOGGER.transportNotConnected();
+        }
+        if (!this.pooled) {
+            this.delegate.sendMessage(message, addresses);
+            return;
+        }
+        if (this.pool.submit(message, addresses)) {
+            return;
+        }
+        if (this.delegate == null) {
+            this.delegate = this.pool.borrow();
+            this.reusable = true;
+        }
+        try {
+            this.delegate.sendMessage(message, addresses);
+            this.pool.sent();
+        } catch (SendFailedException e) {
+            // the server refused some recipients, the connection itself is fine
+            this.pool.failed();
+            throw e;
+        } catch (MessagingException | RuntimeException e) {
+            this.pool.failed();
+            this.reusable = false;
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws MessagingException {
+        Transport transport = this.delegate;
+        this.delegate = null;
+        try {
+            if (transport != null) {
+                if (this.pooled) {
+                    this.pool.release(transport, this.reusable);
+                } else {
+                    transport.close();
+                }
+            }
+        } finally {
+            this.pooled = false;
+            super.close();
+        }
+    }
+}
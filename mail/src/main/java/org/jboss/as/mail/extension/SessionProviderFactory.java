@@ -8,6 +8,8 @@ package org.jboss.as.mail.extension;
 import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.jboss.as.network.NetworkUtils;
 import org.jboss.as.network.OutboundSocketBinding;
@@ -23,8 +25,8 @@ import jakarta.mail.Session;
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
  */
 class SessionProviderFactory {
-    static ConfigurableSessionProvider create(MailSessionConfig config) throws StartException {
-        return new ManagedSession(config);
+    static ConfigurableSessionProvider create(MailSessionConfig config, Executor executor, ScheduledExecutorService scheduledExecutor) throws StartException {
+        return new ManagedSession(config, executor, scheduledExecutor);
     }
 
     static SessionProvider create(MailSessionMetaData mailSessionMetaData) {
@@ -46,10 +48,12 @@ class SessionProviderFactory {
     private static class ManagedSession implements ConfigurableSessionProvider {
         private final MailSessionConfig sessionConfig;
         private final Properties properties = new Properties();
+        private final SmtpTransportPool transportPool;
 
-        private ManagedSession(MailSessionConfig sessionConfig) throws StartException {
+        private ManagedSession(MailSessionConfig sessionConfig, Executor executor, ScheduledExecutorService scheduledExecutor) throws StartException {
             this.sessionConfig = sessionConfig;
             configure();
+            this.transportPool = (sessionConfig.getSmtpServer() != null) ? SmtpTransportPool.create(properties, new ManagedPasswordAuthenticator(sessionConfig), executor, scheduledExecutor) : null;
         }
 
         @Override
@@ -57,6 +61,18 @@ class SessionProviderFactory {
             return this.sessionConfig;
         }
 
+        @Override
+        public SmtpTransportPool getTransportPool() {
+            return this.transportPool;
+        }
+
+        @Override
+        public void close() {
+            if (this.transportPool != null) {
+                this.transportPool.close();
+            }
+        }
+
         /**
          * Configures mail session properties
          *
@@ -148,7 +164,13 @@ class SessionProviderFactory {
 
         @Override
         public Session getSession() {
-            return Session.getInstance(properties, new ManagedPasswordAuthenticator(sessionConfig));
+            if (transportPool == null) {
+                return Session.getInstance(properties, new ManagedPasswordAuthenticator(sessionConfig));
+            }
+            Session session = Session.getInstance(transportPool.getProperties(), new ManagedPasswordAuthenticator(sessionConfig));
+            // selected by the mail.smtp.class property, once registered
+            session.addProvider(PooledSmtpTransport.PROVIDER);
+            return session;
         }
     }
 
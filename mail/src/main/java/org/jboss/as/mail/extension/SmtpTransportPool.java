@@ -0,0 +1,440 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.mail.extension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.mail.Address;
+import jakarta.mail.Authenticator;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Pool of connected SMTP transports shared by the sessions of a mail session resource, with an optional queue sending
+ * messages asynchronously.
+ * <p>
+ * Opening an SMTP connection costs several round trips, and more with TLS and authentication, which the
+ * {@link Transport#send(Message)} idiom otherwise pays for every message. Pooling is disabled unless the
+ * {@value #POOL_SIZE_PROPERTY} system property is set to the maximal number of connections.
+ */
+final class SmtpTransportPool {
+
+    static final String POOL_SIZE_PROPERTY = "jboss.mail.smtp.pool-size";
+    static final String IDLE_TIMEOUT_PROPERTY = "jboss.mail.smtp.pool-idle-timeout";
+    static final String QUEUE_SIZE_PROPERTY = "jboss.mail.smtp.async-queue-size";
+    static final String MAX_RETRIES_PROPERTY = "jboss.mail.smtp.async-max-retries";
+    static final String RETRY_DELAY_PROPERTY = "jboss.mail.smtp.async-retry-delay";
+
+    private static final String PROTOCOL = "smtp";
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 30;
+
+    private final Session session;
+    private final Properties properties;
+    private final String host;
+    private final int port;
+    private final String user;
+    private final int maxConnections;
+    private final long idleTimeoutNanos;
+    // guarded by this
+    private final Deque<IdleTransport> idle = new ArrayDeque<>();
+    private int connections;
+    private boolean closed;
+
+    private final Executor executor;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final Semaphore queue;
+    private final int queueSize;
+    private final int maxRetries;
+    private final long retryDelay;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * Creates the pool of the given session properties, as configured by system properties.
+     *
+     * @return the pool, or null if pooling is disabled
+     */
+    static SmtpTransportPool create(Properties properties, Authenticator authenticator, Executor executor, ScheduledExecutorService scheduledExecutor) {
+        int maxConnections = (int) longProperty(POOL_SIZE_PROPERTY, 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        if (maxConnections <= 0) {
+            return null;
+        }
+        long idleTimeout = longProperty(IDLE_TIMEOUT_PROPERTY, 60000, 0, Long.MAX_VALUE);
+        int queueSize = (int) longProperty(QUEUE_SIZE_PROPERTY, 0, 0, Integer.MAX_VALUE);
+        int maxRetries = (int) longProperty(MAX_RETRIES_PROPERTY, 3, 0, Integer.MAX_VALUE);
+        long retryDelay = longProperty(RETRY_DELAY_PROPERTY, 1000, 0, Long.MAX_VALUE);
+        return new SmtpTransportPool(properties, authenticator, executor, scheduledExecutor, maxConnections, idleTimeout, queueSize, maxRetries, retryDelay);
+    }
+
+    /**
+     * Reads a numeric system property, falling back to its default value if the property is not a number within the
+     * given range.
+     */
+    static long longProperty(String name, long defaultValue, long minValue, long maxValue) {
+        String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                long result = Long.parseLong(value.trim());
+                if (result >= minValue && result <= maxValue) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // logged below
+            }
+            MailLogger.ROOT_LOGGER.invalidSystemProperty(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Parses the port of the mail session properties, falling back to the default port of the protocol, i.e. -1, if the
+     * property is not a valid port number.
+     */
+    static int port(String value) {
+        if (value != null) {
+            try {
+                int result = Integer.parseInt(value.trim());
+                if (result > 0 && result <= 0xFFFF) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // logged below
+            }
+            MailLogger.ROOT_LOGGER.invalidSessionProperty(value, "mail.smtp.port", -1);
+        }
+        return -1;
+    }
+
+    /**
+     * @param executor the executor sending the queued messages
+     * @param scheduledExecutor the executor scheduling the retries of the queued messages
+     */
+    SmtpTransportPool(Properties properties, Authenticator authenticator, Executor executor, ScheduledExecutorService scheduledExecutor, int maxConnections, long idleTimeout, int queueSize, int maxRetries, long retryDelay) {
+        // the connections themselves are opened by the transport implementation of the protocol
+        this.session = Session.getInstance(properties, authenticator);
+        this.host = properties.getProperty("mail.smtp.host");
+        this.port = port(properties.getProperty("mail.smtp.port"));
+        this.user = properties.getProperty("mail.smtp.user");
+        this.maxConnections = maxConnections;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        this.maxRetries = maxRetries;
+        this.retryDelay = retryDelay;
+        this.queueSize = queueSize;
+        if (queueSize > 0) {
+            this.queue = new Semaphore(queueSize);
+            this.executor = executor;
+            this.scheduledExecutor = scheduledExecutor;
+        } else {
+            this.queue = null;
+            this.executor = null;
+            this.scheduledExecutor = null;
+        }
+        // sessions of the applications use pooled transports, which look up this pool from their session properties
+        this.properties = new Properties();
+        this.properties.putAll(properties);
+        this.properties.setProperty("mail.smtp.class", PooledSmtpTransport.class.getName());
+        this.properties.put(SmtpTransportPool.class.getName(), this);
+    }
+
+    /**
+     * @return the properties of the sessions using this pool
+     */
+    Properties getProperties() {
+        return this.properties;
+    }
+
+    /**
+     * Indicates whether a connection with the given parameters, as resolved by {@link jakarta.mail.Service#connect()}, can
+     * be served by this pool.
+     */
+    boolean accepts(String host, int port, String user, String password) {
+        // without authentication, the user defaults to the one of the JVM
+        return password == null && (host == null || host.equals(this.host)) && (port == -1 || port == this.port) && (this.user == null || this.user.equals(user));
+    }
+
+    /**
+     * Creates a transport bypassing the pool, for connections to other servers or with explicit credentials.
+     */
+    Transport createTransport() throws MessagingException {
+        return this.session.getTransport(PROTOCOL);
+    }
+
+    /**
+     * Borrows a connected transport, waiting for one to be released if the maximal number of connections is reached.
+     * The transport must be given back using {@link #release(Transport, boolean)}.
+     */
+    Transport borrow() throws MessagingException {
+        IdleTransport reused = null;
+        synchronized (this) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ACQUIRE_TIMEOUT_SECONDS);
+            while (this.idle.isEmpty() && this.connections >= this.maxConnections) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw MailLogger.ROOT_LOGGER.smtpTransportPoolExhausted(ACQUIRE_TIMEOUT_SECONDS);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MessagingException(e.getLocalizedMessage(), e);
+                }
+            }
+            if (this.idle.isEmpty()) {
+                this.connections += 1;
+            } else {
+                reused = this.idle.pollFirst();
+            }
+        }
+        if (reused != null) {
+            // the server may have closed the connection in the meantime
+            if (System.nanoTime() - reused.since < this.idleTimeoutNanos && reused.transport.isConnected()) {
+                return reused.transport;
+            }
+            close(reused.transport);
+        }
+        // open a new connection in the slot reserved above, or in the one of the stale connection
+        try {
+            Transport transport = this.createTransport();
+            transport.connect();
+            return transport;
+        } catch (MessagingException | RuntimeException e) {
+            this.discard();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives back a transport obtained from {@link #borrow()}.
+     *
+     * @param reusable false if the connection is in an unknown state, e.g. following an I/O error, and must be closed
+     */
+    void release(Transport transport, boolean reusable) {
+        if (reusable) {
+            List<Transport> expired = new ArrayList<>();
+            boolean closed;
+            synchronized (this) {
+                closed = this.closed;
+                if (!closed) {
+                    long now = System.nanoTime();
+                    // the most recently used connections are reused first, so the least recently used ones expire
+                    this.idle.offerFirst(new IdleTransport(transport, now));
+                    Iterator<IdleTransport> entries = this.idle.descendingIterator();
+                    while (entries.hasNext()) {
+                        IdleTransport entry = entries.next();
+                        if (now - entry.since < this.idleTimeoutNanos) {
+                            break;
+                        }
+                        entries.remove();
+                        this.connections -= 1;
+                        expired.add(entry.transport);
+                    }
+                    this.notifyAll();
+                }
+            }
+            if (!closed) {
+                expired.forEach(SmtpTransportPool::close);
+                return;
+            }
+        }
+        close(transport);
+        this.discard();
+    }
+
+    private synchronized void discard() {
+        this.connections -= 1;
+        this.notifyAll();
+    }
+
+    /**
+     * Queues the given message for asynchronous sending.
+     *
+     * @return false if the message was not queued and must be sent synchronously, i.e. if asynchronous sending is disabled
+     *         or the queue is full
+     */
+    boolean submit(Message message, Address[] addresses) throws MessagingException {
+        if (this.executor == null || this.isClosed() || !this.queue.tryAcquire()) {
+            return false;
+        }
+        try {
+            // the message of the caller may be modified or discarded once this method returns
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            message.writeTo(content);
+            this.executor.execute(new Delivery(content.toByteArray(), addresses.clone()));
+            return true;
+        } catch (IOException e) {
+            this.queue.release();
+            throw new MessagingException(e.getLocalizedMessage(), e);
+        } catch (RejectedExecutionException e) {
+            // the server is shutting down
+            this.queue.release();
+            return false;
+        } catch (MessagingException | RuntimeException e) {
+            this.queue.release();
+            throw e;
+        }
+    }
+
+    void sent() {
+        this.sent.increment();
+    }
+
+    void failed() {
+        this.failed.increment();
+    }
+
+    /**
+     * Closes the idle connections. Queued messages are still sent, closing their connections afterwards, but are no
+     * longer retried.
+     */
+    void close() {
+        List<IdleTransport> transports;
+        synchronized (this) {
+            this.closed = true;
+            transports = new ArrayList<>(this.idle);
+            this.connections -= this.idle.size();
+            this.idle.clear();
+            this.notifyAll();
+        }
+        for (IdleTransport entry : transports) {
+            close(entry.transport);
+        }
+    }
+
+    synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    synchronized int getConnectionCount() {
+        return this.connections;
+    }
+
+    synchronized int getIdleConnectionCount() {
+        return this.idle.size();
+    }
+
+    long getSentCount() {
+        return this.sent.sum();
+    }
+
+    long getFailedCount() {
+        return this.failed.sum();
+    }
+
+    int getQueuedCount() {
+        return (this.executor != null) ? this.queueSize - this.queue.availablePermits() : 0;
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            MailLogger.ROOT_LOGGER.debug(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static class IdleTransport {
+        final Transport transport;
+        final long since;
+
+        IdleTransport(Transport transport, long since) {
+            this.transport = transport;
+            this.since = since;
+        }
+    }
+
+    private class Delivery implements Runnable {
+        private final byte[] content;
+        private final Address[] addresses;
+        private int attempts;
+
+        Delivery(byte[] content, Address[] addresses) {
+            this.content = content;
+            this.addresses = addresses;
+        }
+
+        @Override
+        public void run() {
+            this.attempts += 1;
+            try {
+                this.send();
+                SmtpTransportPool.this.queue.release();
+            } catch (MessagingException e) {
+                // rejected recipients are rejected again, unless other recipients could not be sent to
+                boolean permanent = (e instanceof SendFailedException) && isEmpty(((SendFailedException) e).getValidUnsentAddresses());
+                if (permanent || this.attempts > SmtpTransportPool.this.maxRetries || SmtpTransportPool.this.isClosed()) {
+                    this.fail(e);
+                    return;
+                }
+                long delay = SmtpTransportPool.this.retryDelay << Math.min(this.attempts - 1, 16);
+                try {
+                    SmtpTransportPool.this.scheduledExecutor.schedule(this::retry, delay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException ree) {
+                    // the server is shutting down
+                    e.addSuppressed(ree);
+                    this.fail(e);
+                }
+            } catch (RuntimeException e) {
+                this.fail(e);
+            }
+        }
+
+        private void retry() {
+            try {
+                SmtpTransportPool.this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                this.fail(e);
+            }
+        }
+
+        private void fail(Exception e) {
+            SmtpTransportPool.this.failed();
+            SmtpTransportPool.this.queue.release();
+            MailLogger.ROOT_LOGGER.asynchronousSendFailed(this.attempts, e);
+        }
+
+        private void send() throws MessagingException {
+            MimeMessage message = new MimeMessage(SmtpTransportPool.this.session, new ByteArrayInputStream(this.content));
+            Transport transport = SmtpTransportPool.this.borrow();
+            boolean reusable = false;
+            try {
+                transport.sendMessage(message, this.addresses);
+                reusable = true;
+                SmtpTransportPool.this.sent();
+            } catch (SendFailedException e) {
+                // the server refused some recipients, the connection itself is fine
+                reusable = transport.isConnected();
+                throw e;
+            } finally {
+                SmtpTransportPool.this.release(transport, reusable);
+            }
+        }
+
+        private boolean isEmpty(Address[] addresses) {
+            return (addresses == null) || (addresses.length == 0);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 import javax.net.ssl.SSLContext;
@@ -40,6 +41,8 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.naming.deployment.ContextNames;
 import org.jboss.as.naming.service.NamingStoreService;
 import org.jboss.as.network.OutboundSocketBinding;
+import org.jboss.as.server.ServerService;
+import org.jboss.as.server.Services;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.ControllerInitializer;
@@ -285,6 +288,10 @@ public class MailSubsystemTestCase extends AbstractSubsystemBaseTest {
             target.addService(ContextNames.JBOSS_CONTEXT_SERVICE_NAME, new NamingStoreService())
                     .setInitialMode(ServiceController.Mode.ACTIVE)
                     .install();
+            for (ServiceName name : List.of(Services.JBOSS_SERVER_EXECUTOR, ServerService.JBOSS_SERVER_SCHEDULED_EXECUTOR)) {
+                ServiceBuilder<?> builder = target.addService(name);
+                builder.setInstance(Service.newInstance(builder.provides(name), Executors.newSingleThreadScheduledExecutor())).install();
+            }
 
             this.record(target, MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("defaultMail").append("provider"));
             this.record(target, MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("default2").append("provider"));
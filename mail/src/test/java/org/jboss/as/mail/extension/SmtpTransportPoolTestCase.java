@@ -0,0 +1,233 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.mail.extension;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SmtpTransportPool} and {@link PooledSmtpTransport}, against a minimal SMTP server.
+ */
+public class SmtpTransportPoolTestCase {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    private ServerSocket server;
+    private Properties properties;
+
+    @Before
+    public void start() throws IOException {
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.executor.execute(() -> {
+            while (!this.server.isClosed()) {
+                try {
+                    Socket socket = this.server.accept();
+                    this.connections.incrementAndGet();
+                    this.executor.execute(() -> this.serve(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        this.properties = new Properties();
+        this.properties.setProperty("mail.transport.protocol", "smtp");
+        this.properties.setProperty("mail.smtp.host", this.server.getInetAddress().getHostAddress());
+        this.properties.setProperty("mail.smtp.port", String.valueOf(this.server.getLocalPort()));
+    }
+
+    @After
+    public void stop() throws IOException {
+        this.server.close();
+        this.executor.shutdownNow();
+        this.scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testPooling() throws MessagingException {
+        SmtpTransportPool pool = new SmtpTransportPool(this.properties, null, this.executor, this.scheduledExecutor, 2, 60000, 0, 0, 0);
+        Session session = createSession(pool);
+        for (int i = 0; i < 5; i++) {
+            Transport.send(createMessage(session));
+        }
+        assertEquals(5, this.messages.get());
+        assertEquals(5, pool.getSentCount());
+        assertEquals(1, this.connections.get());
+        assertEquals(1, pool.getConnectionCount());
+        assertEquals(1, pool.getIdleConnectionCount());
+
+        // explicit credentials bypass the pool
+        try (Transport transport = session.getTransport()) {
+            transport.connect(this.properties.getProperty("mail.smtp.host"), "user", "password");
+            transport.sendMessage(createMessage(session), new InternetAddress[] { new InternetAddress("to@localhost") });
+        }
+        assertEquals(2, this.connections.get());
+        assertEquals(5, pool.getSentCount());
+
+        pool.close();
+        assertEquals(0, pool.getConnectionCount());
+        assertEquals(0, pool.getIdleConnectionCount());
+    }
+
+    @Test
+    public void testIdleTimeout() throws MessagingException, InterruptedException {
+        SmtpTransportPool pool = new SmtpTransportPool(this.properties, null, this.executor, this.scheduledExecutor, 2, 50, 0, 0, 0);
+        Session session = createSession(pool);
+        Transport.send(createMessage(session));
+        Thread.sleep(100);
+        Transport.send(createMessage(session));
+        assertEquals(2, this.connections.get());
+        assertEquals(1, pool.getConnectionCount());
+        pool.close();
+    }
+
+    @Test
+    public void testAsynchronousSend() throws MessagingException, InterruptedException {
+        SmtpTransportPool pool = new SmtpTransportPool(this.properties, null, this.executor, this.scheduledExecutor, 2, 60000, 10, 0, 0);
+        Session session = createSession(pool);
+        for (int i = 0; i < 5; i++) {
+            Transport.send(createMessage(session));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getSentCount() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(5, pool.getSentCount());
+        assertEquals(5, this.messages.get());
+        assertEquals(0, pool.getQueuedCount());
+        assertTrue(this.connections.get() <= 2);
+        pool.close();
+    }
+
+    @Test
+    public void testAsynchronousSendRejected() throws MessagingException, InterruptedException {
+        SmtpTransportPool pool = new SmtpTransportPool(this.properties, null, this.executor, this.scheduledExecutor, 2, 60000, 10, 3, 0);
+        Session session = createSession(pool);
+        // the connection is refused, and the retry cannot be scheduled
+        this.server.close();
+        this.scheduledExecutor.shutdown();
+        Transport.send(createMessage(session));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getFailedCount() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.getFailedCount());
+        assertEquals(0, pool.getSentCount());
+        assertEquals(0, pool.getQueuedCount());
+        assertEquals(0, pool.getConnectionCount());
+        pool.close();
+    }
+
+    @Test
+    public void testInvalidSystemProperties() {
+        System.setProperty(SmtpTransportPool.POOL_SIZE_PROPERTY, "ten");
+        try {
+            assertNull(SmtpTransportPool.create(this.properties, null, this.executor, this.scheduledExecutor));
+            System.setProperty(SmtpTransportPool.POOL_SIZE_PROPERTY, " 2 ");
+            System.setProperty(SmtpTransportPool.QUEUE_SIZE_PROPERTY, "-1");
+            System.setProperty(SmtpTransportPool.RETRY_DELAY_PROPERTY, "1s");
+            assertEquals(2, SmtpTransportPool.longProperty(SmtpTransportPool.POOL_SIZE_PROPERTY, 0, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            assertEquals(0, SmtpTransportPool.longProperty(SmtpTransportPool.QUEUE_SIZE_PROPERTY, 0, 0, Integer.MAX_VALUE));
+            assertEquals(1000, SmtpTransportPool.longProperty(SmtpTransportPool.RETRY_DELAY_PROPERTY, 1000, 0, Long.MAX_VALUE));
+            SmtpTransportPool pool = SmtpTransportPool.create(this.properties, null, this.executor, this.scheduledExecutor);
+            assertNotNull(pool);
+            pool.close();
+        } finally {
+            System.clearProperty(SmtpTransportPool.POOL_SIZE_PROPERTY);
+            System.clearProperty(SmtpTransportPool.QUEUE_SIZE_PROPERTY);
+            System.clearProperty(SmtpTransportPool.RETRY_DELAY_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testPort() {
+        assertEquals(-1, SmtpTransportPool.port(null));
+        assertEquals(25, SmtpTransportPool.port("25"));
+        assertEquals(587, SmtpTransportPool.port(" 587 "));
+        // invalid values fall back to the default port of the protocol
+        assertEquals(-1, SmtpTransportPool.port("smtp"));
+        assertEquals(-1, SmtpTransportPool.port("0"));
+        assertEquals(-1, SmtpTransportPool.port("65536"));
+        this.properties.setProperty("mail.smtp.port", "${smtp.port}");
+        new SmtpTransportPool(this.properties, null, this.executor, this.scheduledExecutor, 2, 60000, 0, 0, 0).close();
+    }
+
+    private static Session createSession(SmtpTransportPool pool) {
+        Session session = Session.getInstance(pool.getProperties());
+        session.addProvider(PooledSmtpTransport.PROVIDER);
+        return session;
+    }
+
+    private static Message createMessage(Session session) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress("from@localhost"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("to@localhost"));
+        message.setSubject("test");
+        message.setText("test");
+        return message;
+    }
+
+    private void serve(Socket socket) {
+        try (socket; BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(writer, "220 localhost");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("DATA")) {
+                    reply(writer, "354 go ahead");
+                    while ((line = reader.readLine()) != null && !line.equals(".")) {
+                        // ignore content
+                    }
+                    this.messages.incrementAndGet();
+                    reply(writer, "250 queued");
+                } else if (command.startsWith("QUIT")) {
+                    reply(writer, "221 bye");
+                    return;
+                } else {
+                    reply(writer, "250 ok");
+                }
+            }
+        } catch (IOException e) {
+            // connection closed
+        }
+    }
+
+    private static void reply(Writer writer, String reply) throws IOException {
+        writer.write(reply + "\r\n");
+        writer.flush();
+    }
+}
@@ -24,10 +24,11 @@ public enum ModClusterSubsystemModel implements SubsystemModel {
 */
     VERSION_7_0_0(7, 0, 0), // WildFly 16-26, EAP 7.3-7.4
     VERSION_8_0_0(8, 0, 0), // WildFly 27-38, EAP 8.0-present
-    VERSION_9_0_0(9, 0, 0), // WildFly 39-present
+    VERSION_9_0_0(9, 0, 0), // WildFly 39
+    VERSION_10_0_0(10, 0, 0), // WildFly 40-present
     ;
 
-    public static final ModClusterSubsystemModel CURRENT = VERSION_9_0_0;
+    public static final ModClusterSubsystemModel CURRENT = VERSION_10_0_0;
 
     private final ModelVersion version;
 
@@ -351,6 +351,9 @@ final class ModClusterSubsystemXMLReader implements XMLElementReader<List<ModelN
             XMLAttribute attribute = XMLAttribute.forName(reader.getAttributeLocalName(i));
             switch (attribute) {
                 case TYPE: {
+                    if (LoadMetricEnum.RESPONSE_TIME.getType().equals(type) && !this.schema.since(ModClusterSubsystemSchema.MODCLUSTER_7_0)) {
+                        throw ParseUtils.invalidAttributeValue(reader, i);
+                    }
                     // TODO polish this being both path and required attribute
                     readAttribute(reader, i, operation, LoadMetricResourceDefinition.Attribute.TYPE);
                     break;
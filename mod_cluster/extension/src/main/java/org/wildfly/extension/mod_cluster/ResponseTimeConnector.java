@@ -0,0 +1,29 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import org.jboss.modcluster.container.Connector;
+
+/**
+ * {@link Connector} which records the response times of the requests it serves, as required by {@link ResponseTimeLoadMetric}.
+ */
+public interface ResponseTimeConnector extends Connector {
+
+    /**
+     * @return the number of requests which completed
+     */
+    long getCompletedRequestCount();
+
+    /**
+     * @return the sum of the response times of the requests which completed, in nanoseconds
+     */
+    long getTotalResponseTime();
+
+    /**
+     * @return the number of requests currently being processed
+     */
+    int getRunningRequestCount();
+}
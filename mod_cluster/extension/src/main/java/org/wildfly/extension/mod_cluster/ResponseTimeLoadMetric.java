@@ -0,0 +1,82 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.modcluster.container.Connector;
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.load.metric.impl.AbstractLoadMetric;
+
+/**
+ * Load metric returning the average response time in milliseconds, as an exponentially weighted moving average of the
+ * average response time of the requests completed between two load calculations. Requires an explicit capacity.
+ * <p>
+ * While requests are being processed but none completes, e.g. during a long garbage collection pause or while waiting on a
+ * slow backend, the time elapsed since the previous calculation is used instead, so that a stalled node does not keep
+ * reporting its last, lower response time. Without any request the average decays towards zero, so that a node which was
+ * slow does not keep being avoided once it is idle.
+ */
+public class ResponseTimeLoadMetric extends AbstractLoadMetric {
+
+    public static final double DEFAULT_SMOOTHING = 0.5;
+
+    private volatile double smoothing = DEFAULT_SMOOTHING;
+
+    // guarded by this
+    private boolean initialized;
+    private long lastTime;
+    private long lastCount;
+    private long lastTotal;
+    private double average;
+
+    /**
+     * @param smoothing the weight of the latest calculation in the moving average, between 0 (exclusive) and 1
+     */
+    public void setSmoothing(double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException(Double.toString(smoothing));
+        }
+        this.smoothing = smoothing;
+    }
+
+    public double getSmoothing() {
+        return this.smoothing;
+    }
+
+    @Override
+    public synchronized double getLoad(Engine engine) throws Exception {
+        for (Connector connector : engine.getConnectors()) {
+            if (connector instanceof ResponseTimeConnector) {
+                // response times are recorded for all connectors together
+                return this.getLoad((ResponseTimeConnector) connector, System.nanoTime());
+            }
+        }
+        return 0;
+    }
+
+    synchronized double getLoad(ResponseTimeConnector connector, long now) {
+        long count = connector.getCompletedRequestCount();
+        long total = connector.getTotalResponseTime();
+        if (this.initialized) {
+            long completed = count - this.lastCount;
+            double sample;
+            if (completed > 0) {
+                sample = (double) (total - this.lastTotal) / completed;
+            } else if (connector.getRunningRequestCount() > 0) {
+                sample = now - this.lastTime;
+            } else {
+                sample = 0;
+            }
+            this.average += this.smoothing * (sample - this.average);
+        }
+        this.initialized = true;
+        this.lastTime = now;
+        this.lastCount = count;
+        this.lastTotal = total;
+        return this.average / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
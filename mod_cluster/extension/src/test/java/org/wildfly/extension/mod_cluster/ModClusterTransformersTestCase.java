@@ -5,11 +5,23 @@
 
 package org.wildfly.extension.mod_cluster;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.controller.transform.TransformationContext;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
 import org.jboss.as.model.test.ModelFixer;
 import org.jboss.as.model.test.ModelTestControllerVersion;
@@ -148,8 +160,64 @@ public class ModClusterTransformersTestCase extends AbstractSubsystemTest {
         ModelTestUtils.checkFailedTransformedBootOperations(mainServices, modelVersion, parse(subsystemXml), createFailedOperationConfig(modelVersion));
     }
 
+    /**
+     * No legacy controller is available for every released model version (e.g. 9.0.0), so verify the registered operation transformers directly.
+     */
+    @Test
+    public void testResponseTimeRejection() throws Exception {
+        PathAddress subsystemAddress = PathAddress.pathAddress(ModClusterSubsystemResourceDefinition.PATH);
+        PathAddress address = subsystemAddress.append(ProxyConfigurationResourceDefinition.pathElement("default"), DynamicLoadProviderResourceDefinition.PATH, LoadMetricResourceDefinition.pathElement(LoadMetricEnum.RESPONSE_TIME.getType()));
+        ModelNode operation = Util.createAddOperation(address);
+        operation.get(LoadMetricResourceDefinition.Attribute.TYPE.getName()).set(LoadMetricEnum.RESPONSE_TIME.getType());
+
+        TransformerRegistry registry = TransformerRegistry.Factory.create();
+        new ModClusterExtensionTransformerRegistration().registerTransformers(registry.createSubsystemTransformerRegistration(ModClusterExtension.SUBSYSTEM_NAME, ModClusterSubsystemModel.CURRENT.getVersion()));
+
+        for (ModClusterSubsystemModel model : EnumSet.complementOf(EnumSet.of(ModClusterSubsystemModel.CURRENT))) {
+            TransformationTarget target = TransformationTargetImpl.create(null, registry, ModelVersion.create(0), Map.of(subsystemAddress, model.getVersion()), TransformationTarget.TransformationTargetType.SERVER);
+            TransformationContext context = mock(TransformationContext.class);
+            when(context.getTarget()).thenReturn(target);
+            OperationTransformer.TransformedOperation result = target.resolveTransformer(context, address, ModelDescriptionConstants.ADD).transformOperation(context, address, operation);
+
+            Assert.assertTrue(model.name(), result.rejectOperation(new ModelNode().set(ModelDescriptionConstants.OUTCOME, ModelDescriptionConstants.SUCCESS)));
+        }
+    }
+
     private static FailedOperationTransformationConfig createFailedOperationConfig(ModelVersion version) {
-        return new FailedOperationTransformationConfig();
+        FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
+        PathAddress subsystemAddress = PathAddress.pathAddress(ModClusterSubsystemResourceDefinition.PATH);
+
+        if (ModClusterSubsystemModel.VERSION_10_0_0.requiresTransformation(version)) {
+            config.addFailedAttribute(subsystemAddress.append(ProxyConfigurationResourceDefinition.pathElement("default"), DynamicLoadProviderResourceDefinition.PATH, LoadMetricResourceDefinition.pathElement(LoadMetricEnum.RESPONSE_TIME.getType())),
+                    new LoadMetricTypeConfig(LoadMetricEnum.RESPONSE_TIME));
+        }
+
+        return config;
+    }
+
+    private static class LoadMetricTypeConfig extends FailedOperationTransformationConfig.AttributesPathAddressConfig<LoadMetricTypeConfig> {
+
+        private final LoadMetricEnum rejectedType;
+
+        LoadMetricTypeConfig(LoadMetricEnum rejectedType) {
+            super(LoadMetricResourceDefinition.Attribute.TYPE.getName());
+            this.rejectedType = rejectedType;
+        }
+
+        @Override
+        protected boolean isAttributeWritable(String attributeName) {
+            return true;
+        }
+
+        @Override
+        protected boolean checkValue(String attrName, ModelNode attribute, boolean isGeneratedWriteAttribute) {
+            return attribute.isDefined() && attribute.asString().equals(this.rejectedType.getType());
+        }
+
+        @Override
+        protected ModelNode correctValue(ModelNode toResolve, boolean isGeneratedWriteAttribute) {
+            return new ModelNode(LoadMetricEnum.REQUEST_COUNT.getType());
+        }
     }
 
 }
@@ -8,12 +8,14 @@ package org.wildfly.mod_cluster.undertow;
 import java.net.InetAddress;
 
 import org.jboss.modcluster.container.Connector;
+import org.wildfly.extension.mod_cluster.ResponseTimeConnector;
 import org.wildfly.extension.undertow.AjpListenerService;
 import org.wildfly.extension.undertow.HttpListenerService;
 import org.wildfly.extension.undertow.UndertowListener;
 import org.wildfly.mod_cluster.undertow.metric.BytesReceivedStreamSourceConduit;
 import org.wildfly.mod_cluster.undertow.metric.BytesSentStreamSinkConduit;
 import org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.ResponseTimeHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
 
 /**
@@ -22,7 +24,7 @@ import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
  * @author Radoslav Husar
  * @since 8.0
  */
-public class UndertowConnector implements Connector {
+public class UndertowConnector implements ResponseTimeConnector {
 
     private final UndertowListener listener;
     private InetAddress address;
@@ -111,6 +113,30 @@ public class UndertowConnector implements Connector {
         return RequestCountHttpHandler.getRequestCount();
     }
 
+    /**
+     * @return long number of completed requests on all listeners as opposed to only this 'connector'
+     */
+    @Override
+    public long getCompletedRequestCount() {
+        return ResponseTimeHttpHandler.getCompletedRequestCount();
+    }
+
+    /**
+     * @return long sum of the response times in nanoseconds on all listeners as opposed to only this 'connector'
+     */
+    @Override
+    public long getTotalResponseTime() {
+        return ResponseTimeHttpHandler.getTotalResponseTime();
+    }
+
+    /**
+     * @return int number of running requests on all listeners as opposed to only this 'connector'
+     */
+    @Override
+    public int getRunningRequestCount() {
+        return ResponseTimeHttpHandler.getRunningRequestCount();
+    }
+
     @Override
     public String toString() {
         return this.listener.getName();
@@ -0,0 +1,67 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+
+/**
+ * {@link HttpHandler} that records the response times of the requests, from which the response-time load metric calculates
+ * its moving average.
+ */
+public class ResponseTimeHttpHandler implements HttpHandler {
+
+    private static final LongAdder runningCount = new LongAdder();
+    private static final LongAdder completedCount = new LongAdder();
+    private static final LongAdder totalResponseTime = new LongAdder();
+
+    private final HttpHandler wrappedHandler;
+
+    public ResponseTimeHttpHandler(final HttpHandler handler) {
+        this.wrappedHandler = handler;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        long start = System.nanoTime();
+        runningCount.increment();
+
+        exchange.addExchangeCompleteListener((completed, nextListener) -> {
+            // Record the response time before the running count drops, so it is never observed as idle in between
+            totalResponseTime.add(System.nanoTime() - start);
+            completedCount.increment();
+            runningCount.decrement();
+
+            // Proceed to next listener must be called!
+            nextListener.proceed();
+        });
+
+        wrappedHandler.handleRequest(exchange);
+    }
+
+    /**
+     * @return long number of completed requests on all listeners
+     */
+    public static long getCompletedRequestCount() {
+        return completedCount.longValue();
+    }
+
+    /**
+     * @return long sum of the response times of the completed requests on all listeners, in nanoseconds
+     */
+    public static long getTotalResponseTime() {
+        return totalResponseTime.longValue();
+    }
+
+    /**
+     * @return int number of requests being processed on all listeners
+     */
+    public static int getRunningRequestCount() {
+        return runningCount.intValue();
+    }
+}
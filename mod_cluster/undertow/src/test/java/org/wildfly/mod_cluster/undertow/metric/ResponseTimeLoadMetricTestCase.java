@@ -0,0 +1,61 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.modcluster.container.Connector;
+import org.jboss.modcluster.container.Engine;
+import org.junit.Test;
+import org.wildfly.extension.mod_cluster.ResponseTimeConnector;
+import org.wildfly.extension.mod_cluster.ResponseTimeLoadMetric;
+
+public class ResponseTimeLoadMetricTestCase {
+
+    private final ResponseTimeConnector connector = mock(ResponseTimeConnector.class);
+    private final Engine engine = mock(Engine.class);
+    private final ResponseTimeLoadMetric metric = new ResponseTimeLoadMetric();
+
+    @Test
+    public void getLoad() throws Exception {
+        when(this.engine.getConnectors()).thenReturn(List.<Connector>of(this.connector));
+
+        assertEquals(0, this.metric.getLoad(this.engine), 0);
+
+        // 10 requests of 5 ms
+        this.complete(10, TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(2.5, this.metric.getLoad(this.engine), 0.001);
+
+        this.complete(20, TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(3.75, this.metric.getLoad(this.engine), 0.001);
+
+        // idle
+        assertEquals(1.875, this.metric.getLoad(this.engine), 0.001);
+
+        // stalled, the elapsed time counts as response time
+        when(this.connector.getRunningRequestCount()).thenReturn(1);
+        Thread.sleep(50);
+        assertTrue(this.metric.getLoad(this.engine) > 25);
+    }
+
+    @Test
+    public void getLoadWithoutResponseTimes() throws Exception {
+        when(this.engine.getConnectors()).thenReturn(List.of(mock(Connector.class)));
+
+        assertEquals(0, this.metric.getLoad(this.engine), 0);
+    }
+
+    private void complete(long count, long totalNanos) {
+        when(this.connector.getCompletedRequestCount()).thenReturn(count);
+        when(this.connector.getTotalResponseTime()).thenReturn(totalNanos);
+    }
+}
@@ -75,6 +75,9 @@ public final class ArjunaTransactionManagerService implements Service {
 
         final CoordinatorEnvironmentBean coordinatorEnvironmentBean = arjPropertyManager.getCoordinatorEnvironmentBean();
         coordinatorEnvironmentBean.setEnableStatistics(coordinatorEnableStatistics);
+        // TransactionTimings outlives the service, so discard the durations recorded before a reload
+        TransactionTimings.INSTANCE.reset();
+        TransactionTimings.INSTANCE.setEnabled(coordinatorEnableStatistics);
         coordinatorEnvironmentBean.setDefaultTimeout(coordinatorDefaultTimeout);
         coordinatorEnvironmentBean.setTransactionStatusManagerEnable(transactionStatusManagerEnable);
 
@@ -78,11 +78,13 @@ public class TransactionManagerService implements Service {
                 }
             }
         });
+        LocalTransactionContext.getCurrent().registerCreationListener(TransactionTimings.INSTANCE);
         txnManagerConsumer.accept(ContextTransactionManager.getInstance());
     }
 
     @Override
     public void stop(final StopContext stopContext) {
+        LocalTransactionContext.getCurrent().removeCreationListener(TransactionTimings.INSTANCE);
         txnManagerConsumer.accept(null);
     }
 
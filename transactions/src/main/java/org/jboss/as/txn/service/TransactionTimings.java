@@ -0,0 +1,185 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.txn.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+
+import org.jboss.as.txn.logging.TransactionLogger;
+import org.wildfly.transaction.client.AbstractTransaction;
+import org.wildfly.transaction.client.CreationListener;
+
+/**
+ * Records the durations of the transactions begun on this server into bounded histograms, while statistics are
+ * enabled.
+ * <p>
+ * Two durations are recorded for each committed transaction: the transaction time, from the moment the transaction
+ * began until its completion, and the completion time, from the moment its completion started (i.e. before the
+ * synchronizations are called and the resources are prepared) until it was committed.
+ */
+public final class TransactionTimings implements CreationListener {
+
+    public static final TransactionTimings INSTANCE = new TransactionTimings();
+
+    private final Histogram transactionTimes = new Histogram();
+    private final Histogram completionTimes = new Histogram();
+    private volatile boolean enabled;
+
+    private TransactionTimings() {
+    }
+
+    /**
+     * Enables or disables the recording of the durations of the transactions begun from now on. The durations recorded
+     * before are discarded when the recording is enabled again.
+     *
+     * @param enabled {@code true} to record the durations of the transactions
+     */
+    public synchronized void setEnabled(final boolean enabled) {
+        if (enabled && !this.enabled) {
+            reset();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Discards the durations recorded so far.
+     */
+    public synchronized void reset() {
+        transactionTimes.reset();
+        completionTimes.reset();
+    }
+
+    /**
+     * Returns the histogram of the durations of the committed transactions, from their beginning to their completion.
+     *
+     * @return the histogram of the transaction times
+     */
+    public Histogram getTransactionTimes() {
+        return transactionTimes;
+    }
+
+    /**
+     * Returns the histogram of the durations of the completion of the committed transactions, i.e. of the prepare and
+     * commit phases, including the calls of the synchronizations.
+     *
+     * @return the histogram of the completion times
+     */
+    public Histogram getCompletionTimes() {
+        return completionTimes;
+    }
+
+    @Override
+    public void transactionCreated(final AbstractTransaction transaction, final CreatedBy createdBy) {
+        // imported and merged transactions did not begin here
+        if (enabled && (createdBy == CreatedBy.USER_TRANSACTION || createdBy == CreatedBy.TRANSACTION_MANAGER)) {
+            try {
+                transaction.registerSynchronization(new TimingSynchronization(System.nanoTime()));
+            } catch (RollbackException | SystemException | IllegalStateException e) {
+                TransactionLogger.ROOT_LOGGER.tracef(e, "Unable to record the duration of transaction %s", transaction);
+            }
+        }
+    }
+
+    private class TimingSynchronization implements Synchronization {
+        private final long begin;
+        private volatile long beforeCompletion;
+
+        TimingSynchronization(final long begin) {
+            this.begin = begin;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            beforeCompletion = System.nanoTime();
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            // beforeCompletion is not called for transactions which are rolled back
+            if (status == Status.STATUS_COMMITTED && beforeCompletion != 0) {
+                final long end = System.nanoTime();
+                transactionTimes.record(end - begin);
+                completionTimes.record(end - beforeCompletion);
+            }
+        }
+    }
+
+    /**
+     * Histogram of durations, with a fixed set of buckets.
+     */
+    public static final class Histogram {
+
+        /** The upper bounds of the buckets, in milliseconds, the last bucket being unbounded. */
+        public static final long[] BOUNDS = { 1, 5, 10, 50, 100, 500, 1000, 5000, 10000, 60000 };
+
+        private final LongAdder[] counts = new LongAdder[BOUNDS.length + 1];
+        private final LongAdder total = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void record(final long nanos) {
+            final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BOUNDS.length && millis >= BOUNDS[bucket]) {
+                bucket++;
+            }
+            counts[bucket].increment();
+            total.add(nanos);
+        }
+
+        /**
+         * Returns the number of durations recorded in each bucket. The duration of the bucket {@code i} is lower than
+         * {@code BOUNDS[i]} milliseconds and, except for the first bucket, at least {@code BOUNDS[i - 1]} milliseconds.
+         *
+         * @return the counts of the buckets, one more than the number of bounds
+         */
+        public long[] getCounts() {
+            final long[] result = new long[counts.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = counts[i].sum();
+            }
+            return result;
+        }
+
+        /**
+         * Returns the number of recorded durations.
+         *
+         * @return the sum of the counts of the buckets
+         */
+        public long getCount() {
+            long count = 0;
+            for (LongAdder adder : counts) {
+                count += adder.sum();
+            }
+            return count;
+        }
+
+        /**
+         * Returns the sum of the recorded durations.
+         *
+         * @return the total duration, in nanoseconds
+         */
+        public long getTotal() {
+            return total.sum();
+        }
+
+        void reset() {
+            for (LongAdder adder : counts) {
+                adder.reset();
+            }
+            total.reset();
+        }
+    }
+}
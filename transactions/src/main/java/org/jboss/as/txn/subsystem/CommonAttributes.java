@@ -70,6 +70,11 @@ interface CommonAttributes {
     String NUMBER_OF_RESOURCE_ROLLBACKS = "number-of-resource-rollbacks";
     String NUMBER_OF_SYSTEM_ROLLBACKS = "number-of-system-rollbacks";
     String AVERAGE_COMMIT_TIME = "average-commit-time";
+    String NUMBER_OF_RECORDED_TRANSACTIONS = "number-of-recorded-transactions";
+    String TRANSACTION_TIME_HISTOGRAM = "transaction-time-histogram";
+    String TOTAL_TRANSACTION_TIME = "total-transaction-time";
+    String COMPLETION_TIME_HISTOGRAM = "completion-time-histogram";
+    String TOTAL_COMPLETION_TIME = "total-completion-time";
 
 
     String PARTICIPANT = "participant";
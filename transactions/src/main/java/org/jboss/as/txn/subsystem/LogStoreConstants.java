@@ -9,6 +9,8 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -27,6 +29,7 @@ class LogStoreConstants {
     static final String RECOVER = "recover";
     static final String DELETE = "delete";
     static final String REFRESH = "refresh";
+    static final String LIST_TRANSACTIONS = "list-transactions";
 
     public static final String LOG_STORE = "log-store";
     public static final String TRANSACTIONS = "transactions";
@@ -42,6 +45,17 @@ class LogStoreConstants {
         READONLY
     }
 
+    /**
+     * The states in which a record can be found in the object store.
+     */
+    static enum RecordStatus {
+        COMMITTED,
+        UNCOMMITTED,
+        COMMITTED_HIDDEN,
+        UNCOMMITTED_HIDDEN,
+        UNKNOWN
+    }
+
     static final String JMX_ON_ATTRIBUTE = "jmx-name";
     static final String JNDI_ATTRIBUTE = "jndi-name";
     static final String LOG_STORE_TYPE_ATTRIBUTE = "type";
@@ -157,6 +171,33 @@ class LogStoreConstants {
         return null;
 
     }
-}
 
+    static final SimpleAttributeDefinition TYPE_FILTER = new SimpleAttributeDefinitionBuilder("type", ModelType.STRING)
+            .setRequired(false)
+            .setValidator(new StringLengthValidator(1, true))
+            .build();
+
+    static final SimpleAttributeDefinition STATUS_FILTER = new SimpleAttributeDefinitionBuilder("status", ModelType.STRING)
+            .setRequired(false)
+            .setValidator(EnumValidator.create(RecordStatus.class))
+            .build();
+
+    static final SimpleAttributeDefinition MIN_AGE = new SimpleAttributeDefinitionBuilder("min-age", ModelType.LONG)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(0L))
+            .setMeasurementUnit(MeasurementUnit.SECONDS)
+            .setValidator(new LongRangeValidator(0, true))
+            .build();
 
+    static final SimpleAttributeDefinition OFFSET = new SimpleAttributeDefinitionBuilder("offset", ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+
+    static final SimpleAttributeDefinition MAX_RESULTS = new SimpleAttributeDefinitionBuilder("max-results", ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1000))
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+}
@@ -17,6 +17,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
@@ -45,6 +46,15 @@ public class LogStoreDefinition extends SimpleResourceDefinition {
                                 .setReadOnly()
                                 .build();
         resourceRegistration.registerOperationHandler(probe, LogStoreProbeHandler.INSTANCE);
+        final OperationDefinition listTransactions = new SimpleOperationDefinitionBuilder(LogStoreConstants.LIST_TRANSACTIONS, getResourceDescriptionResolver())
+                                .setParameters(LogStoreConstants.TYPE_FILTER, LogStoreConstants.STATUS_FILTER, LogStoreConstants.MIN_AGE, LogStoreConstants.OFFSET, LogStoreConstants.MAX_RESULTS)
+                                .setReplyType(ModelType.LIST)
+                                .setReplyValueType(ModelType.OBJECT)
+                                .withFlag(OperationEntry.Flag.HOST_CONTROLLER_ONLY)
+                                .setRuntimeOnly()
+                                .setReadOnly()
+                                .build();
+        resourceRegistration.registerOperationHandler(listTransactions, LogStoreListTransactionsHandler.INSTANCE);
     }
 
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.txn.subsystem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.arjuna.ats.arjuna.common.Uid;
+import com.arjuna.ats.arjuna.common.UidHelper;
+import com.arjuna.ats.arjuna.exceptions.ObjectStoreException;
+import com.arjuna.ats.arjuna.objectstore.RecoveryStore;
+import com.arjuna.ats.arjuna.objectstore.StateStatus;
+import com.arjuna.ats.arjuna.objectstore.StoreManager;
+import com.arjuna.ats.arjuna.state.InputObjectState;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.txn.logging.TransactionLogger;
+import org.jboss.as.txn.subsystem.LogStoreConstants.RecordStatus;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handler listing the records of the transaction log, one page at a time.
+ * <p>
+ * Unlike {@link LogStoreProbeHandler}, the records are read directly from the recovery store instead of through the
+ * MBeans of the object store browser, and the model is left untouched, so that large logs can be inspected quickly.
+ * Only the identifiers of the records are read from the store; their state is only read for the records which are
+ * filtered by status or returned.
+ */
+public class LogStoreListTransactionsHandler implements OperationStepHandler {
+
+    static final LogStoreListTransactionsHandler INSTANCE = new LogStoreListTransactionsHandler();
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (!context.isNormalServer()) {
+            context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+            return;
+        }
+        final ModelNode typeNode = LogStoreConstants.TYPE_FILTER.resolveModelAttribute(context, operation);
+        final ModelNode statusNode = LogStoreConstants.STATUS_FILTER.resolveModelAttribute(context, operation);
+        final String type = typeNode.isDefined() ? typeNode.asString() : null;
+        final RecordStatus status = statusNode.isDefined() ? RecordStatus.valueOf(statusNode.asString()) : null;
+        final long minAge = LogStoreConstants.MIN_AGE.resolveModelAttribute(context, operation).asLong();
+        final int offset = LogStoreConstants.OFFSET.resolveModelAttribute(context, operation).asInt();
+        final int maxResults = LogStoreConstants.MAX_RESULTS.resolveModelAttribute(context, operation).asInt();
+
+        try {
+            listTransactions(StoreManager.getRecoveryStore(), type, status, minAge, offset, maxResults, context.getResult().setEmptyList());
+        } catch (ObjectStoreException | IOException e) {
+            throw TransactionLogger.ROOT_LOGGER.transactionDiscoveryError(e);
+        }
+        context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+    }
+
+    /**
+     * Adds a page of the matching records of the store to the result. The records are listed by type name, then by
+     * id, so that the pages do not overlap as long as no record is added to or removed from the store between them.
+     */
+    static void listTransactions(RecoveryStore store, String type, RecordStatus status, long minAge, int offset, int maxResults, ModelNode result) throws ObjectStoreException, IOException {
+        final InputObjectState types = new InputObjectState();
+        if (!store.allTypes(types)) {
+            return;
+        }
+        final List<String> typeNames = new ArrayList<>();
+        for (String typeName = types.unpackString(); !typeName.isEmpty(); typeName = types.unpackString()) {
+            if (type == null || typeName.contains(type)) {
+                typeNames.add(typeName);
+            }
+        }
+        Collections.sort(typeNames);
+        int skipped = 0;
+        int listed = 0;
+        for (String typeName : typeNames) {
+            final InputObjectState uids = new InputObjectState();
+            if (!store.allObjUids(typeName, uids)) {
+                continue;
+            }
+            // the store lists the ids in no particular order
+            final List<Uid> sortedUids = new ArrayList<>();
+            for (Uid uid = UidHelper.unpackFrom(uids); uid.notEquals(Uid.nullUid()); uid = UidHelper.unpackFrom(uids)) {
+                sortedUids.add(uid);
+            }
+            sortedUids.sort(Comparator.comparing(Uid::stringForm));
+            for (Uid uid : sortedUids) {
+                if (listed >= maxResults) {
+                    return;
+                }
+                final int age = uid.lifetime();
+                if (age >= minAge) {
+                    final RecordStatus recordStatus = (status != null || skipped >= offset) ? getStatus(store, uid, typeName) : null;
+                    if (status == null || status == recordStatus) {
+                        if (skipped < offset) {
+                            skipped++;
+                        } else {
+                            final ModelNode record = result.add();
+                            listed++;
+                            record.get(LogStoreConstants.TRANSACTION_ID.getName()).set(uid.stringForm());
+                            record.get(LogStoreConstants.LOG_STORE_TYPE_ATTRIBUTE).set(typeName);
+                            record.get(LogStoreConstants.STATUS_FILTER.getName()).set(recordStatus.toString());
+                            record.get(LogStoreConstants.TRANSACTION_AGE.getName()).set(age);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static RecordStatus getStatus(RecoveryStore store, Uid uid, String typeName) throws ObjectStoreException {
+        switch (store.currentState(uid, typeName)) {
+            case StateStatus.OS_COMMITTED:
+                return RecordStatus.COMMITTED;
+            case StateStatus.OS_UNCOMMITTED:
+                return RecordStatus.UNCOMMITTED;
+            case StateStatus.OS_COMMITTED_HIDDEN:
+                return RecordStatus.COMMITTED_HIDDEN;
+            case StateStatus.OS_UNCOMMITTED_HIDDEN:
+                return RecordStatus.UNCOMMITTED_HIDDEN;
+            default:
+                return RecordStatus.UNKNOWN;
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.txn.logging.TransactionLogger;
+import org.jboss.as.txn.service.TransactionTimings;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.tm.XAResourceRecoveryRegistry;
@@ -615,6 +616,7 @@ public class TransactionSubsystemRootResourceDefinition extends SimpleResourceDe
                 this.coordinatorEnvironmentBean = arjPropertyManager.getCoordinatorEnvironmentBean();
             }
             coordinatorEnvironmentBean.setEnableStatistics(resolvedValue.asBoolean());
+            TransactionTimings.INSTANCE.setEnabled(resolvedValue.asBoolean());
             return false;
         }
 
@@ -627,6 +629,7 @@ public class TransactionSubsystemRootResourceDefinition extends SimpleResourceDe
                 this.coordinatorEnvironmentBean = arjPropertyManager.getCoordinatorEnvironmentBean();
             }
             coordinatorEnvironmentBean.setEnableStatistics(valueToRestore.asBoolean());
+            TransactionTimings.INSTANCE.setEnabled(valueToRestore.asBoolean());
         }
     }
 
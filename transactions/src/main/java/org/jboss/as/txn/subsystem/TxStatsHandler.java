@@ -19,9 +19,11 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.txn.logging.TransactionLogger;
+import org.jboss.as.txn.service.TransactionTimings;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -67,7 +69,27 @@ public class TxStatsHandler extends AbstractRuntimeOnlyHandler {
         AVERAGE_COMMIT_TIME(SimpleAttributeDefinitionBuilder.create(CommonAttributes.AVERAGE_COMMIT_TIME, ModelType.LONG, true)
                 .setAttributeGroup(CommonAttributes.STATISTICS)
                 .setMeasurementUnit(NANOSECONDS)
-                .build());
+                .build()),
+        NUMBER_OF_RECORDED_TRANSACTIONS(SimpleAttributeDefinitionBuilder.create(CommonAttributes.NUMBER_OF_RECORDED_TRANSACTIONS, ModelType.LONG, true)
+                .setAttributeGroup(CommonAttributes.STATISTICS)
+                .setFlags(COUNTER_METRIC).build()),
+        // the histograms are maps, so they are runtime read-only attributes rather than metrics
+        TRANSACTION_TIME_HISTOGRAM(new SimpleMapAttributeDefinition.Builder(CommonAttributes.TRANSACTION_TIME_HISTOGRAM, ModelType.LONG, true)
+                .setAttributeGroup(CommonAttributes.STATISTICS)
+                .setStorageRuntime()
+                .build()),
+        TOTAL_TRANSACTION_TIME(SimpleAttributeDefinitionBuilder.create(CommonAttributes.TOTAL_TRANSACTION_TIME, ModelType.LONG, true)
+                .setAttributeGroup(CommonAttributes.STATISTICS)
+                .setMeasurementUnit(NANOSECONDS)
+                .setFlags(COUNTER_METRIC).build()),
+        COMPLETION_TIME_HISTOGRAM(new SimpleMapAttributeDefinition.Builder(CommonAttributes.COMPLETION_TIME_HISTOGRAM, ModelType.LONG, true)
+                .setAttributeGroup(CommonAttributes.STATISTICS)
+                .setStorageRuntime()
+                .build()),
+        TOTAL_COMPLETION_TIME(SimpleAttributeDefinitionBuilder.create(CommonAttributes.TOTAL_COMPLETION_TIME, ModelType.LONG, true)
+                .setAttributeGroup(CommonAttributes.STATISTICS)
+                .setMeasurementUnit(NANOSECONDS)
+                .setFlags(COUNTER_METRIC).build());
 
         private static final Map<String, TxStat> MAP = new HashMap<String, TxStat>();
         static {
@@ -140,6 +162,21 @@ public class TxStatsHandler extends AbstractRuntimeOnlyHandler {
                 case AVERAGE_COMMIT_TIME:
                     result.set(txStats.getAverageCommitTime());
                     break;
+                case NUMBER_OF_RECORDED_TRANSACTIONS:
+                    result.set(TransactionTimings.INSTANCE.getTransactionTimes().getCount());
+                    break;
+                case TRANSACTION_TIME_HISTOGRAM:
+                    setHistogram(result, TransactionTimings.INSTANCE.getTransactionTimes());
+                    break;
+                case TOTAL_TRANSACTION_TIME:
+                    result.set(TransactionTimings.INSTANCE.getTransactionTimes().getTotal());
+                    break;
+                case COMPLETION_TIME_HISTOGRAM:
+                    setHistogram(result, TransactionTimings.INSTANCE.getCompletionTimes());
+                    break;
+                case TOTAL_COMPLETION_TIME:
+                    result.set(TransactionTimings.INSTANCE.getCompletionTimes().getTotal());
+                    break;
                 default:
                     throw new IllegalStateException(TransactionLogger.ROOT_LOGGER.unknownMetric(stat));
             }
@@ -147,9 +184,25 @@ public class TxStatsHandler extends AbstractRuntimeOnlyHandler {
         }
    }
 
+    private static void setHistogram(final ModelNode result, final TransactionTimings.Histogram histogram) {
+        // keyed by the upper bound of each bucket, in milliseconds
+        final long[] counts = histogram.getCounts();
+        for (int i = 0; i < TransactionTimings.Histogram.BOUNDS.length; i++) {
+            result.get(Long.toString(TransactionTimings.Histogram.BOUNDS[i])).set(counts[i]);
+        }
+        result.get("+Inf").set(counts[counts.length - 1]);
+    }
+
     void registerMetrics(final ManagementResourceRegistration resourceRegistration) {
         for (TxStat stat : TxStat.values()) {
-            resourceRegistration.registerMetric(stat.definition, this);
+            switch (stat) {
+                case TRANSACTION_TIME_HISTOGRAM:
+                case COMPLETION_TIME_HISTOGRAM:
+                    resourceRegistration.registerReadOnlyAttribute(stat.definition, this);
+                    break;
+                default:
+                    resourceRegistration.registerMetric(stat.definition, this);
+            }
         }
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.txn.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TransactionTimings}.
+ */
+public class TransactionTimingsTestCase {
+
+    @After
+    public void reset() {
+        TransactionTimings.INSTANCE.setEnabled(false);
+        TransactionTimings.INSTANCE.reset();
+    }
+
+    @Test
+    public void testHistogram() {
+        TransactionTimings.Histogram histogram = new TransactionTimings.Histogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(7));
+        histogram.record(TimeUnit.MINUTES.toNanos(2));
+
+        assertArrayEquals(new long[] { 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 1 }, histogram.getCounts());
+        assertEquals(4, histogram.getCount());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500) + TimeUnit.MILLISECONDS.toNanos(8) + TimeUnit.MINUTES.toNanos(2), histogram.getTotal());
+    }
+
+    @Test
+    public void testResetWhenEnabledAgain() {
+        TransactionTimings timings = TransactionTimings.INSTANCE;
+        timings.setEnabled(true);
+        timings.getTransactionTimes().record(TimeUnit.MILLISECONDS.toNanos(20));
+        timings.getCompletionTimes().record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        // enabling statistics which are already enabled keeps the recorded durations
+        timings.setEnabled(true);
+        assertEquals(1, timings.getTransactionTimes().getCount());
+        assertEquals(1, timings.getCompletionTimes().getCount());
+
+        // disabling statistics keeps the recorded durations readable
+        timings.setEnabled(false);
+        assertEquals(1, timings.getTransactionTimes().getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), timings.getTransactionTimes().getTotal());
+
+        timings.setEnabled(true);
+        assertEquals(0, timings.getTransactionTimes().getCount());
+        assertEquals(0, timings.getTransactionTimes().getTotal());
+        assertEquals(0, timings.getCompletionTimes().getCount());
+        assertEquals(0, timings.getCompletionTimes().getTotal());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.txn.subsystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.arjuna.ats.arjuna.common.Uid;
+import com.arjuna.ats.arjuna.common.UidHelper;
+import com.arjuna.ats.arjuna.objectstore.RecoveryStore;
+import com.arjuna.ats.arjuna.objectstore.StateStatus;
+import com.arjuna.ats.arjuna.state.InputObjectState;
+import com.arjuna.ats.arjuna.state.OutputObjectState;
+import org.jboss.as.txn.subsystem.LogStoreConstants.RecordStatus;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit test for the paging of {@link LogStoreListTransactionsHandler}.
+ */
+public class LogStoreListTransactionsHandlerTestCase {
+
+    private static final int RECORDS_PER_TYPE = 7;
+    private static final int PAGE_SIZE = 3;
+
+    @Test
+    public void testPaging() throws Exception {
+        Map<String, List<Uid>> records = new TreeMap<>();
+        for (String type : List.of("/StateManager/BasicAction/TwoPhaseCoordinator/AtomicAction", "/StateManager/AbstractRecord/XAResourceRecord")) {
+            List<Uid> uids = new ArrayList<>();
+            for (int i = 0; i < RECORDS_PER_TYPE; i++) {
+                uids.add(new Uid());
+            }
+            records.put(type, uids);
+        }
+        RecoveryStore store = mock(RecoveryStore.class);
+        // the store lists the types and the ids of the records in a different order on each call
+        doAnswer(invocation -> {
+            List<String> types = new ArrayList<>(records.keySet());
+            Collections.shuffle(types);
+            OutputObjectState state = new OutputObjectState();
+            for (String type : types) {
+                state.packString(type);
+            }
+            state.packString("");
+            invocation.<InputObjectState>getArgument(0).setBuffer(state.buffer());
+            return true;
+        }).when(store).allTypes(any(InputObjectState.class));
+        doAnswer(invocation -> {
+            List<Uid> uids = new ArrayList<>(records.get(invocation.<String>getArgument(0)));
+            Collections.shuffle(uids);
+            OutputObjectState state = new OutputObjectState();
+            for (Uid uid : uids) {
+                UidHelper.packInto(uid, state);
+            }
+            UidHelper.packInto(Uid.nullUid(), state);
+            invocation.<InputObjectState>getArgument(1).setBuffer(state.buffer());
+            return true;
+        }).when(store).allObjUids(anyString(), any(InputObjectState.class));
+        when(store.currentState(any(Uid.class), anyString())).thenReturn(StateStatus.OS_COMMITTED);
+
+        List<String> expected = new ArrayList<>();
+        for (List<Uid> uids : records.values()) {
+            uids.stream().map(Uid::stringForm).sorted(Comparator.naturalOrder()).forEach(expected::add);
+        }
+
+        List<String> listed = new ArrayList<>();
+        for (int offset = 0; offset < expected.size(); offset += PAGE_SIZE) {
+            ModelNode page = list(store, null, offset);
+            assertEquals(Math.min(PAGE_SIZE, expected.size() - offset), page.asList().size());
+            for (ModelNode record : page.asList()) {
+                assertEquals(RecordStatus.COMMITTED.toString(), record.get(LogStoreConstants.STATUS_FILTER.getName()).asString());
+                listed.add(record.get(LogStoreConstants.TRANSACTION_ID.getName()).asString());
+            }
+        }
+        assertEquals(expected, listed);
+        assertEquals(0, list(store, null, expected.size()).asList().size());
+
+        // filtering by type
+        assertEquals(expected.subList(0, PAGE_SIZE), ids(list(store, "XAResourceRecord", 0)));
+        assertEquals(expected.subList(RECORDS_PER_TYPE + PAGE_SIZE, RECORDS_PER_TYPE + 2 * PAGE_SIZE), ids(list(store, "AtomicAction", PAGE_SIZE)));
+    }
+
+    private static ModelNode list(RecoveryStore store, String type, int offset) throws Exception {
+        ModelNode result = new ModelNode().setEmptyList();
+        LogStoreListTransactionsHandler.listTransactions(store, type, null, 0, offset, PAGE_SIZE, result);
+        return result;
+    }
+
+    private static List<String> ids(ModelNode page) {
+        List<String> ids = new ArrayList<>();
+        for (ModelNode record : page.asList()) {
+            ids.add(record.get(LogStoreConstants.TRANSACTION_ID.getName()).asString());
+        }
+        return ids;
+    }
+}
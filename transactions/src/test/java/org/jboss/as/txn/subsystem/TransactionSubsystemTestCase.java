@@ -10,6 +10,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.model.test.ModelTestUtils;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.as.txn.service.TransactionTimings;
 import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
 import org.junit.Test;
@@ -122,6 +123,23 @@ public class TransactionSubsystemTestCase extends AbstractSubsystemBaseTest {
         result = kernelServices.executeOperation(operation);
         Assert.assertEquals("success", result.get("outcome").asString());
         Assert.assertEquals(TxStats.getInstance().getAverageCommitTime(), result.get(ModelDescriptionConstants.RESULT).asLong());
+
+        // Reads transaction timings
+        operation = createReadAttributeOperation(CommonAttributes.NUMBER_OF_RECORDED_TRANSACTIONS);
+        result = kernelServices.executeOperation(operation);
+        Assert.assertEquals("success", result.get("outcome").asString());
+        Assert.assertEquals(TransactionTimings.INSTANCE.getTransactionTimes().getCount(), result.get(ModelDescriptionConstants.RESULT).asLong());
+
+        operation = createReadAttributeOperation(CommonAttributes.TOTAL_COMPLETION_TIME);
+        result = kernelServices.executeOperation(operation);
+        Assert.assertEquals("success", result.get("outcome").asString());
+        Assert.assertEquals(TransactionTimings.INSTANCE.getCompletionTimes().getTotal(), result.get(ModelDescriptionConstants.RESULT).asLong());
+
+        operation = createReadAttributeOperation(CommonAttributes.TRANSACTION_TIME_HISTOGRAM);
+        result = kernelServices.executeOperation(operation);
+        Assert.assertEquals("success", result.get("outcome").asString());
+        Assert.assertEquals(TransactionTimings.Histogram.BOUNDS.length + 1, result.get(ModelDescriptionConstants.RESULT).keys().size());
+        Assert.assertEquals(TransactionTimings.INSTANCE.getTransactionTimes().getCounts()[0], result.get(ModelDescriptionConstants.RESULT, "1").asLong());
     }
 
     @Test
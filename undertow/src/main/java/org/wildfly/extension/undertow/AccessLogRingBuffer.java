@@ -0,0 +1,203 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import io.undertow.server.HttpServerExchange;
+import org.wildfly.event.logger.EventLogger;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * A bounded buffer of access log records which decouples the resolution of the exchange attributes, done by the thread
+ * completing the exchange, from the creation and writing of the events, done by a dedicated thread.
+ * <p>
+ * The slots of the buffer, one array of values per record, are allocated up front and reused, so capturing a record only
+ * costs the resolution of the attributes. Multiple threads can capture records concurrently while a single thread drains them.
+ * The writer thread parks while the buffer is empty, and is only unparked by the capture of a record while it is parked.
+ *
+ * @see EventLoggerHttpHandler
+ */
+class AccessLogRingBuffer implements Runnable {
+
+    /**
+     * What to do with a record when the buffer is full.
+     */
+    enum OverflowPolicy {
+        /**
+         * Discard the record.
+         */
+        DROP,
+        /**
+         * Once the buffer is half full, only keep one record out of the sample rate, and discard records if it is full.
+         */
+        SAMPLE,
+    }
+
+    private final AccessLogAttribute[] attributes;
+    private final EventLogger eventLogger;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int mask;
+    private final Object[][] slots;
+    // the sequence of a slot is the position of the next record it can hold, or that position + 1 once the record is published
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong sampled = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long tail;
+    private volatile boolean running = true;
+    private volatile Thread writer;
+    // whether the writer is about to park or parked, so that capturing threads only unpark it then
+    private volatile boolean idle;
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param attributes     the attributes to capture
+     * @param eventLogger    the logger the records are written to by the writer thread
+     * @param capacity       the number of records the buffer can hold, rounded up to a power of two
+     * @param overflowPolicy what to do with a record when the buffer is full
+     * @param sampleRate     the rate used by the {@linkplain OverflowPolicy#SAMPLE sample} policy
+     */
+    AccessLogRingBuffer(final AccessLogAttribute[] attributes, final EventLogger eventLogger, final int capacity,
+                        final OverflowPolicy overflowPolicy, final int sampleRate) {
+        this.attributes = attributes;
+        this.eventLogger = eventLogger;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        final int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new Object[size][attributes.length];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Captures the attributes of the exchange into a free slot.
+     *
+     * @param exchange the completed exchange
+     *
+     * @return {@code true} if the record was captured, {@code false} if it was dropped according to the overflow policy
+     */
+    boolean capture(final HttpServerExchange exchange) {
+        if (overflowPolicy == OverflowPolicy.SAMPLE && head.get() - tail >= (mask + 1) / 2
+                && sampled.getAndIncrement() % sampleRate != 0) {
+            dropped.increment();
+            return false;
+        }
+        long position = head.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final Object[] values = slots[index];
+                    try {
+                        for (int i = 0; i < attributes.length; i++) {
+                            values[i] = attributes[i].resolveAttribute(exchange);
+                        }
+                    } finally {
+                        // always publish the slot, the writer would otherwise wait for it forever
+                        sequences.set(index, position + 1);
+                        if (idle) {
+                            final Thread writer = this.writer;
+                            if (writer != null) {
+                                LockSupport.unpark(writer);
+                            }
+                        }
+                    }
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                // the slot still holds the record of the previous lap, the buffer is full
+                // never wait for the writer, the capturing thread is usually an I/O thread serving other connections
+                dropped.increment();
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of records which were discarded because the buffer was full.
+     *
+     * @return the number of dropped records
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes the captured records until the buffer is {@linkplain #close() closed}.
+     */
+    @Override
+    public void run() {
+        writer = Thread.currentThread();
+        while (running) {
+            if (!drain()) {
+                idle = true;
+                // a record published before the flag was set is seen here, one published afterwards unparks this thread
+                if (running && !published(tail)) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Stops the writer thread once the records captured so far were written.
+     */
+    void close() {
+        running = false;
+        final Thread writer = this.writer;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean published(final long position) {
+        return sequences.get((int) position & mask) == position + 1;
+    }
+
+    private boolean drain() {
+        boolean written = false;
+        long position = tail;
+        while (true) {
+            if (!published(position)) {
+                break;
+            }
+            final int index = (int) position & mask;
+            final Object[] values = slots[index];
+            final Map<String, Object> data = new LinkedHashMap<>();
+            for (int i = 0; i < attributes.length; i++) {
+                data.put(attributes[i].getKey(), values[i]);
+                values[i] = null;
+            }
+            // release the slot before writing, the event does not reference it
+            sequences.set(index, position + mask + 1);
+            tail = ++position;
+            try {
+                eventLogger.log(data);
+            } catch (RuntimeException e) {
+                UndertowLogger.ROOT_LOGGER.debugf(e, "Failed to write access log record");
+            }
+            written = true;
+        }
+        return written;
+    }
+}
@@ -9,12 +9,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import io.undertow.predicate.Predicate;
 import io.undertow.predicate.Predicates;
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.CapabilityServiceBuilder;
 import org.jboss.as.controller.OperationContext;
@@ -28,10 +30,13 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.BinaryCapabilityNameResolver;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.xnio.XnioWorker;
 
 /**
@@ -41,7 +46,7 @@ import org.xnio.XnioWorker;
  */
 class ConsoleAccessLogDefinition extends PersistentResourceDefinition {
     static final PathElement PATH_ELEMENT = PathElement.pathElement(Constants.SETTING, Constants.CONSOLE_ACCESS_LOG);
-    private static final RuntimeCapability<Void> CONSOLE_ACCESS_LOG_CAPABILITY = RuntimeCapability.Builder.of(Capabilities.CAPABILITY_CONSOLE_ACCESS_LOG, true, Void.class)
+    private static final RuntimeCapability<Void> CONSOLE_ACCESS_LOG_CAPABILITY = RuntimeCapability.Builder.of(Capabilities.CAPABILITY_CONSOLE_ACCESS_LOG, true, EventLoggerService.class)
             .setDynamicNameMapper(BinaryCapabilityNameResolver.GRANDPARENT_PARENT)
             .build();
 
@@ -56,6 +61,12 @@ class ConsoleAccessLogDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    static final SimpleAttributeDefinition DROPPED_RECORDS = new SimpleAttributeDefinitionBuilder("dropped-records", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+
     static final Collection<AttributeDefinition> ATTRIBUTES = Arrays.asList(
             ExchangeAttributeDefinitions.ATTRIBUTES,
             INCLUDE_HOST_NAME,
@@ -77,6 +88,29 @@ class ConsoleAccessLogDefinition extends PersistentResourceDefinition {
         return ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(DROPPED_RECORDS, DroppedRecordsHandler.INSTANCE);
+    }
+
+    /**
+     * Reads the number of records dropped by the ring buffer of the running service.
+     */
+    private static class DroppedRecordsHandler extends AbstractRuntimeOnlyHandler {
+        static final DroppedRecordsHandler INSTANCE = new DroppedRecordsHandler();
+
+        @Override
+        protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) {
+            final ServiceName serviceName = CONSOLE_ACCESS_LOG_CAPABILITY.getCapabilityServiceName(context.getCurrentAddress());
+            @SuppressWarnings("unchecked")
+            final ServiceController<EventLoggerService> controller = (ServiceController<EventLoggerService>) context.getServiceRegistry(false).getService(serviceName);
+            if (controller != null && controller.getState() == ServiceController.State.UP) {
+                context.getResult().set(controller.getValue().getDroppedCount());
+            }
+        }
+    }
+
     private static class AddHandler extends AbstractAddStepHandler {
         static final AddHandler INSTANCE = new AddHandler();
 
@@ -107,6 +141,7 @@ class ConsoleAccessLogDefinition extends PersistentResourceDefinition {
             final String hostName = hostAddress.getLastElement().getValue();
 
             final CapabilityServiceBuilder<?> serviceBuilder = context.getCapabilityServiceTarget().addCapability(CONSOLE_ACCESS_LOG_CAPABILITY);
+            final Consumer<EventLoggerService> serviceConsumer = serviceBuilder.provides(CONSOLE_ACCESS_LOG_CAPABILITY);
 
             final Supplier<Host> hostSupplier = serviceBuilder.requires(Host.SERVICE_DESCRIPTOR, serverName, hostName);
             final Supplier<XnioWorker> workerSupplier = serviceBuilder.requires(
@@ -115,7 +150,7 @@ class ConsoleAccessLogDefinition extends PersistentResourceDefinition {
             // Get the list of attributes to log
             final Collection<AccessLogAttribute> attributes = parseAttributes(context, model);
 
-            final EventLoggerService service = new EventLoggerService(attributes, predicate, metadata, includeHostName, hostSupplier,
+            final EventLoggerService service = new EventLoggerService(serviceConsumer, attributes, predicate, metadata, includeHostName, hostSupplier,
                     workerSupplier);
             serviceBuilder.setInstance(service)
                     .setInitialMode(ServiceController.Mode.ACTIVE)
@@ -5,6 +5,7 @@
 
 package org.wildfly.extension.undertow;
 
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.MICROSECONDS;
 import static org.jboss.as.controller.client.helpers.MeasurementUnit.MILLISECONDS;
 import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
 
@@ -58,12 +59,24 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
             .setFlags(COUNTER_METRIC)
             .setStorageRuntime()
             .build();
+    static final SimpleAttributeDefinition REQUEST_TIME_P50 = createRequestTimePercentile("request-time-p50");
+    static final SimpleAttributeDefinition REQUEST_TIME_P90 = createRequestTimePercentile("request-time-p90");
+    static final SimpleAttributeDefinition REQUEST_TIME_P99 = createRequestTimePercentile("request-time-p99");
     static final SimpleListAttributeDefinition SERVLET_MAPPINGS = new SimpleListAttributeDefinition.Builder("mappings", new SimpleAttributeDefinitionBuilder("mapping", ModelType.STRING).setRequired(false).build())
             .setRequired(false)
             .setStorageRuntime()
             .build();
 
 
+    // undefined, rather than 0, while there is no histogram or it is empty
+    private static SimpleAttributeDefinition createRequestTimePercentile(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setRequired(false)
+                .setMeasurementUnit(MICROSECONDS)
+                .setStorageRuntime()
+                .build();
+    }
+
     DeploymentServletDefinition() {
         super(PathElement.pathElement("servlet"), UndertowExtension.getResolver("deployment.servlet"));
     }
@@ -96,6 +109,9 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
                 response.set(metricResult.getTotalRequests());
             }
         });
+        registration.registerMetric(REQUEST_TIME_P50, new RequestTimePercentileHandler(50));
+        registration.registerMetric(REQUEST_TIME_P90, new RequestTimePercentileHandler(90));
+        registration.registerMetric(REQUEST_TIME_P99, new RequestTimePercentileHandler(99));
         registration.registerReadOnlyAttribute(SERVLET_MAPPINGS, new OperationStepHandler() {
             @Override
             public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -130,10 +146,40 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
         });
     }
 
-    abstract static class AbstractMetricsHandler implements OperationStepHandler {
+    abstract static class AbstractMetricsHandler extends AbstractCollectorHandler {
 
         abstract void handle(ModelNode response, MetricsHandler.MetricResult metricResult);
 
+        @Override
+        void handle(final ModelNode response, final UndertowMetricsCollector collector, final String servletName) {
+            MetricsHandler.MetricResult result = collector.getMetrics(servletName);
+            if (result != null) {
+                handle(response, result);
+            }
+        }
+    }
+
+    static class RequestTimePercentileHandler extends AbstractCollectorHandler {
+
+        private final double percentile;
+
+        RequestTimePercentileHandler(double percentile) {
+            this.percentile = percentile;
+        }
+
+        @Override
+        void handle(final ModelNode response, final UndertowMetricsCollector collector, final String servletName) {
+            Long value = collector.getRequestTimePercentile(servletName, percentile);
+            if (value != null) {
+                response.set(value);
+            }
+        }
+    }
+
+    abstract static class AbstractCollectorHandler implements OperationStepHandler {
+
+        abstract void handle(ModelNode response, UndertowMetricsCollector collector, String servletName);
+
         @Override
         public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
             final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
@@ -156,11 +202,12 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
                     final DeploymentInfo deploymentInfo = deploymentService.getDeploymentInfo();
                     final UndertowMetricsCollector collector = (UndertowMetricsCollector)deploymentInfo.getMetricsCollector();
 
-                    MetricsHandler.MetricResult result = collector != null ? collector.getMetrics(context.getCurrentAddressValue()) : null;
-                    if (result != null) {
+                    if (collector != null) {
                         final ModelNode response = new ModelNode();
-                        handle(response, result);
-                        context.getResult().set(response);
+                        handle(response, collector, context.getCurrentAddressValue());
+                        if (response.isDefined()) {
+                            context.getResult().set(response);
+                        }
                     }
                 }
             }, OperationContext.Stage.RUNTIME);
@@ -27,6 +27,7 @@ class EventLoggerHttpHandler implements HttpHandler {
     private final Predicate predicate;
     private final Collection<AccessLogAttribute> attributes;
     private final EventLogger eventLogger;
+    private final AccessLogRingBuffer ringBuffer;
 
     /**
      * Creates a new instance of the HTTP handler.
@@ -42,6 +43,23 @@ class EventLoggerHttpHandler implements HttpHandler {
         this.predicate = predicate;
         this.attributes = attributes;
         this.eventLogger = eventLogger;
+        this.ringBuffer = null;
+    }
+
+    /**
+     * Creates a new instance of the HTTP handler which captures the attributes into a ring buffer, the events being
+     * created and written by the thread draining the buffer.
+     *
+     * @param next       the next handler in the chain to invoke to invoke after this handler executes
+     * @param predicate  the predicate used to determine if this handler should execute
+     * @param ringBuffer the ring buffer to capture the attributes into
+     */
+    EventLoggerHttpHandler(final HttpHandler next, final Predicate predicate, final AccessLogRingBuffer ringBuffer) {
+        this.next = next;
+        this.predicate = predicate;
+        this.attributes = null;
+        this.eventLogger = null;
+        this.ringBuffer = ringBuffer;
     }
 
     @Override
@@ -55,11 +73,15 @@ class EventLoggerHttpHandler implements HttpHandler {
         public void exchangeEvent(final HttpServerExchange exchange, final NextListener nextListener) {
             try {
                 if (predicate == null || predicate.resolve(exchange)) {
-                    final Map<String, Object> data = new LinkedHashMap<>();
-                    for (AccessLogAttribute attribute : attributes) {
-                        data.put(attribute.getKey(), attribute.resolveAttribute(exchange));
+                    if (ringBuffer != null) {
+                        ringBuffer.capture(exchange);
+                    } else {
+                        final Map<String, Object> data = new LinkedHashMap<>();
+                        for (AccessLogAttribute attribute : attributes) {
+                            data.put(attribute.getKey(), attribute.resolveAttribute(exchange));
+                        }
+                        eventLogger.log(data);
                     }
-                    eventLogger.log(data);
                 }
             } finally {
                 nextListener.proceed();
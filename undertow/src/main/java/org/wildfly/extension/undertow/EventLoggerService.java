@@ -6,10 +6,12 @@
 package org.wildfly.extension.undertow;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -24,25 +26,37 @@ import org.wildfly.event.logger.EventLogger;
 import org.wildfly.event.logger.JsonEventFormatter;
 import org.wildfly.event.logger.StdoutEventWriter;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.XnioWorker;
 
 /**
  * A service which creates an asynchronous {@linkplain EventLogger event logger} which writes to {@code stdout} in JSON
  * structured format.
+ * <p>
+ * If the {@value #BUFFER_SIZE_PROPERTY} system property is set, the attributes are instead captured into an
+ * {@linkplain AccessLogRingBuffer ring buffer} of that size and the events are created and written by a dedicated thread.
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 class EventLoggerService implements Service {
+    static final String BUFFER_SIZE_PROPERTY = "org.wildfly.extension.undertow.consoleAccessLog.bufferSize";
+    static final String OVERFLOW_POLICY_PROPERTY = "org.wildfly.extension.undertow.consoleAccessLog.overflowPolicy";
+    static final String SAMPLE_RATE_PROPERTY = "org.wildfly.extension.undertow.consoleAccessLog.sampleRate";
+
+    private final Consumer<EventLoggerService> serviceConsumer;
     private final Set<AccessLogAttribute> attributes;
     private final boolean includeHostName;
     private final Map<String, Object> metadata;
     private final Predicate predicate;
     private final Supplier<Host> host;
     private final Supplier<XnioWorker> worker;
+    private volatile AccessLogRingBuffer ringBuffer;
 
     /**
      * Creates a new service.
      *
+     * @param serviceConsumer the consumer the started service is provided to
+     * @param attributes      the attributes which should be logged
      * @param predicate       the predicate that determines if the request should be logged
      * @param metadata        a map of metadata to be prepended to the structured output
      * @param includeHostName {@code true} to include the host name in the structured JSON output
@@ -50,8 +64,10 @@ class EventLoggerService implements Service {
      * @param worker          the worker service supplier for the
      *                        {@linkplain EventLogger#createAsyncLogger(String, Executor) async logger}
      */
-    EventLoggerService(final Collection<AccessLogAttribute> attributes, final Predicate predicate, final Map<String, Object> metadata,
+    EventLoggerService(final Consumer<EventLoggerService> serviceConsumer, final Collection<AccessLogAttribute> attributes,
+                       final Predicate predicate, final Map<String, Object> metadata,
                        final boolean includeHostName, final Supplier<Host> host, final Supplier<XnioWorker> worker) {
+        this.serviceConsumer = serviceConsumer;
         this.attributes = new CopyOnWriteArraySet<>(attributes);
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
         this.metadata = metadata;
@@ -74,15 +90,38 @@ class EventLoggerService implements Service {
             formatterBuilder.addMetaData(metadata);
         }
         final JsonEventFormatter formatter = formatterBuilder.build();
-        final EventLogger eventLogger = EventLogger.createAsyncLogger("web-access",
-                StdoutEventWriter.of(formatter), worker.get());
+        final int bufferSize = intProperty(BUFFER_SIZE_PROPERTY, 0);
+        final Function<HttpHandler, HttpHandler> accessLogHandler;
+        if (bufferSize > 0) {
+            final AccessLogRingBuffer.OverflowPolicy overflowPolicy = overflowPolicy();
+            final int sampleRate = intProperty(SAMPLE_RATE_PROPERTY, 10);
+            // The ring buffer thread is the only writer, no need for another level of asynchronous logging
+            final EventLogger eventLogger = EventLogger.createLogger("web-access", StdoutEventWriter.of(formatter));
+            final AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(attributes.toArray(new AccessLogAttribute[0]),
+                    eventLogger, bufferSize, overflowPolicy, sampleRate);
+            final Thread thread = new Thread(ringBuffer, "console-access-log-" + host.getName());
+            thread.setDaemon(true);
+            thread.start();
+            this.ringBuffer = ringBuffer;
+            accessLogHandler = new Function<HttpHandler, HttpHandler>() {
+                @Override
+                public HttpHandler apply(final HttpHandler httpHandler) {
+                    return new EventLoggerHttpHandler(httpHandler, predicate, ringBuffer);
+                }
+            };
+        } else {
+            final EventLogger eventLogger = EventLogger.createAsyncLogger("web-access",
+                    StdoutEventWriter.of(formatter), worker.get());
+            accessLogHandler = new Function<HttpHandler, HttpHandler>() {
+                @Override
+                public HttpHandler apply(final HttpHandler httpHandler) {
+                    return new EventLoggerHttpHandler(httpHandler, predicate, attributes, eventLogger);
+                }
+            };
+        }
         UndertowLogger.ROOT_LOGGER.debugf("Adding console-access-log for host %s", host.getName());
-        host.setAccessLogHandler(new Function<HttpHandler, HttpHandler>() {
-            @Override
-            public HttpHandler apply(final HttpHandler httpHandler) {
-                return new EventLoggerHttpHandler(httpHandler, predicate, attributes, eventLogger);
-            }
-        });
+        host.setAccessLogHandler(accessLogHandler);
+        serviceConsumer.accept(this);
     }
 
     @Override
@@ -90,5 +129,56 @@ class EventLoggerService implements Service {
         final Host host = this.host.get();
         UndertowLogger.ROOT_LOGGER.debugf("Removing console-access-log for host %s", host.getName());
         host.setAccessLogHandler(null);
+        serviceConsumer.accept(null);
+        final AccessLogRingBuffer ringBuffer = this.ringBuffer;
+        if (ringBuffer != null) {
+            ringBuffer.close();
+            this.ringBuffer = null;
+        }
+    }
+
+    /**
+     * Returns the value of a system property which must be a non-negative integer, or the default value if it is not set
+     * or invalid.
+     */
+    static int intProperty(final String name, final int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final int result = Integer.parseInt(value.trim());
+                if (result >= 0) {
+                    return result;
+                }
+            } catch (NumberFormatException ignored) {
+            }
+            UndertowLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Returns the overflow policy of the ring buffer, {@linkplain AccessLogRingBuffer.OverflowPolicy#DROP drop} if it is not
+     * set or invalid.
+     */
+    static AccessLogRingBuffer.OverflowPolicy overflowPolicy() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(OVERFLOW_POLICY_PROPERTY, null);
+        if (value != null) {
+            try {
+                return AccessLogRingBuffer.OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+            }
+            UndertowLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, OVERFLOW_POLICY_PROPERTY, AccessLogRingBuffer.OverflowPolicy.DROP);
+        }
+        return AccessLogRingBuffer.OverflowPolicy.DROP;
+    }
+
+    /**
+     * Returns the number of records which were discarded because the ring buffer was full.
+     *
+     * @return the number of dropped records, 0 if no ring buffer is used
+     */
+    long getDroppedCount() {
+        final AccessLogRingBuffer ringBuffer = this.ringBuffer;
+        return ringBuffer == null ? 0 : ringBuffer.getDroppedCount();
     }
 }
@@ -7,13 +7,14 @@ package org.wildfly.extension.undertow;
 
 import io.undertow.servlet.api.ServletInfo;
 import org.apache.jasper.servlet.JspServlet;
+import org.wildfly.extension.undertow.deployment.PrecompilingJspServlet;
 
 /**
  * @author Tomaz Cerar (c) 2013 Red Hat Inc.
  */
 public class JSPConfig {
     private final ServletInfo servletInfo;
-
+    private final boolean precompile;
 
     public JSPConfig(final boolean developmentMode,
                      final boolean disabled,
@@ -22,13 +23,18 @@ public class JSPConfig {
                      final boolean recompileOnFail, boolean smap, boolean dumpSmap,
                      boolean genStringAsCharArray, boolean errorOnUseBeanInvalidClassAttribute,
                      String scratchDir, String sourceVm, String targetVm, String javaEncoding,
-                     boolean xPoweredBy, boolean displaySourceFragment, boolean optimizeScriptlets) {
+                     boolean xPoweredBy, boolean displaySourceFragment, boolean optimizeScriptlets, boolean precompile) {
+        this.precompile = precompile && !disabled;
         if (disabled) {
             servletInfo = null;
         } else {
 
-            final io.undertow.servlet.api.ServletInfo jspServlet = new ServletInfo("jsp", JspServlet.class);
+            final io.undertow.servlet.api.ServletInfo jspServlet = new ServletInfo("jsp", precompile ? PrecompilingJspServlet.class : JspServlet.class);
             jspServlet.setRequireWelcomeFileMapping(true);
+            if (precompile) {
+                // pages are compiled when the servlet is initialized, so before the deployment is available
+                jspServlet.setLoadOnStartup(0);
+            }
 
             jspServlet.addInitParam("development", Boolean.toString(developmentMode));
             jspServlet.addInitParam("keepgenerated", Boolean.toString(keepGenerated));
@@ -62,4 +68,11 @@ public class JSPConfig {
         }
         return servletInfo.clone();
     }
+
+    /**
+     * @return true if the pages of the deployments are compiled when they start
+     */
+    public boolean isPrecompile() {
+        return precompile;
+    }
 }
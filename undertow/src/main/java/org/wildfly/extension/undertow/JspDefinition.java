@@ -161,6 +161,14 @@ class JspDefinition extends PersistentResourceDefinition {
                     .setAllowExpression(true)
                     .build();
 
+    protected static final SimpleAttributeDefinition PRECOMPILE =
+            new SimpleAttributeDefinitionBuilder(Constants.PRECOMPILE, ModelType.BOOLEAN, true)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setValidator(new ModelTypeValidator(ModelType.BOOLEAN, true))
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setAllowExpression(true)
+                    .build();
+
     static final Collection<AttributeDefinition> ATTRIBUTES = List.of(
             // IMPORTANT -- keep these in xsd order as this order controls marshalling
             DISABLED,
@@ -182,7 +190,8 @@ class JspDefinition extends PersistentResourceDefinition {
             JAVA_ENCODING,
             X_POWERED_BY,
             DISPLAY_SOURCE_FRAGMENT,
-            OPTIMIZE_SCRIPTLETS);
+            OPTIMIZE_SCRIPTLETS,
+            PRECOMPILE);
 
     JspDefinition() {
         super(new SimpleResourceDefinition.Parameters(PATH_ELEMENT, UndertowExtension.getResolver(PATH_ELEMENT.getKeyValuePair()))
@@ -221,9 +230,10 @@ class JspDefinition extends PersistentResourceDefinition {
         boolean xPoweredBy = X_POWERED_BY.resolveModelAttribute(context, model).asBoolean();
         boolean displaySourceFragment = DISPLAY_SOURCE_FRAGMENT.resolveModelAttribute(context, model).asBoolean();
         boolean optimizeScriptlets = OPTIMIZE_SCRIPTLETS.resolveModelAttribute(context, model).asBoolean();
+        boolean precompile = PRECOMPILE.resolveModelAttribute(context, model).asBoolean();
         return new JSPConfig(development, disabled, keepGenerated, trimSpaces, tagPooling, mappedFile, checkInterval, modificationTestInterval,
                 recompileOnFile, snap, dumpSnap, generateStringsAsCharArrays, errorOnUseBeanInvalidClassAttribute, scratchDir,
-                sourceVm, targetVm, javaEncoding, xPoweredBy, displaySourceFragment, optimizeScriptlets);
+                sourceVm, targetVm, javaEncoding, xPoweredBy, displaySourceFragment, optimizeScriptlets, precompile);
     }
 
     private static class JSPAdd extends RestartParentResourceAddHandler {
@@ -21,6 +21,8 @@ import org.jboss.as.controller.transform.description.ResourceTransformationDescr
 import org.jboss.as.controller.transform.description.TransformationDescription;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.kohsuke.MetaInfServices;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitDefinition;
+import org.wildfly.extension.undertow.filters.FilterDefinitions;
 import org.wildfly.extension.undertow.handlers.HandlerDefinitions;
 import org.wildfly.extension.undertow.handlers.ReverseProxyHandlerDefinition;
 
@@ -63,6 +65,14 @@ public class UndertowExtensionTransformerRegistration implements ExtensionTransf
                 .addRejectCheck(RejectAttributeChecker.DEFINED, ReverseProxyHandlerDefinition.REWRITE_HOST_HEADER)
                 .end();
 
+                subsystem.addChildResource(FilterDefinitions.PATH_ELEMENT).rejectChildResource(AdaptiveRequestLimitDefinition.PATH_ELEMENT);
+
+                final ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
+                servletContainer.addChildResource(JspDefinition.PATH_ELEMENT).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, JspDefinition.PRECOMPILE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, JspDefinition.PRECOMPILE)
+                .end();
+
                 final AttributeTransformationDescriptionBuilder ajpListenerAttributeTransformationDescriptionBuilder = ajpListener.getAttributeBuilder();
                 ajpListenerAttributeTransformationDescriptionBuilder.setDiscard(DiscardAttributeChecker.UNDEFINED, AjpListenerResourceDefinition.ALLOWED_REQUEST_ATTRIBUTES_PATTERN)
                 .addRejectCheck(RejectAttributeChecker.DEFINED, AjpListenerResourceDefinition.ALLOWED_REQUEST_ATTRIBUTES_PATTERN)
@@ -78,7 +88,6 @@ public class UndertowExtensionTransformerRegistration implements ExtensionTransf
                 ;
 
                 if (UndertowSubsystemModel.VERSION_13_0_0.requiresTransformation(version)) {
-                    final ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
                     servletContainer.getAttributeBuilder()
                         .setDiscard(DiscardAttributeChecker.UNDEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
                         .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
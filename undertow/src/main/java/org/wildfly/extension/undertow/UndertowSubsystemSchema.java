@@ -21,6 +21,7 @@ import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.xml.VersionedNamespace;
 import org.jboss.as.version.Stability;
 import org.jboss.staxmapper.IntVersion;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitDefinition;
 import org.wildfly.extension.undertow.filters.CustomFilterDefinition;
 import org.wildfly.extension.undertow.filters.ErrorPageDefinition;
 import org.wildfly.extension.undertow.filters.ExpressionFilterDefinition;
@@ -114,17 +115,7 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
         );
         builder.addChild(this.servletContainer());
         builder.addChild(this.handlers());
-        builder.addChild(this.factory.builder(FilterDefinitions.PATH_ELEMENT).setXmlElementName(Constants.FILTERS).setNoAddOperation(true)
-            .addChild(this.factory.builder(RequestLimitHandlerDefinition.PATH_ELEMENT).addAttributes(RequestLimitHandlerDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.factory.builder(ResponseHeaderFilterDefinition.PATH_ELEMENT).addAttributes(ResponseHeaderFilterDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.factory.builder(GzipFilterDefinition.PATH_ELEMENT).build())
-            .addChild(this.factory.builder(ErrorPageDefinition.PATH_ELEMENT).addAttributes(ErrorPageDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.modCluster())
-            .addChild(this.factory.builder(CustomFilterDefinition.PATH_ELEMENT).addAttributes(CustomFilterDefinition.ATTRIBUTES.stream()).setXmlElementName("filter").build())
-            .addChild(this.factory.builder(ExpressionFilterDefinition.PATH_ELEMENT).addAttributes(ExpressionFilterDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.factory.builder(RewriteFilterDefinition.PATH_ELEMENT).addAttributes(RewriteFilterDefinition.ATTRIBUTES.stream()).build())
-            .build()
-        );
+        builder.addChild(this.filters());
         if (this.since(UndertowSubsystemSchema.VERSION_4_0)) {
             builder.addChild(this.applicationSecurityDomain());
         }
@@ -229,7 +220,11 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
     private PersistentResourceXMLDescription servletContainer() {
         PersistentResourceXMLDescription.Builder builder = this.factory.builder(ServletContainerDefinition.PATH_ELEMENT);
 
-        builder.addChild(this.factory.builder(JspDefinition.PATH_ELEMENT).addAttributes(JspDefinition.ATTRIBUTES.stream()).setXmlElementName(Constants.JSP_CONFIG).build());
+        Stream<AttributeDefinition> jspAttributes = JspDefinition.ATTRIBUTES.stream();
+        if (!this.since(VERSION_15_0) && !this.since(VERSION_14_0_COMMUNITY)) {
+            jspAttributes = jspAttributes.filter(Predicate.isEqual(JspDefinition.PRECOMPILE).negate());
+        }
+        builder.addChild(this.factory.builder(JspDefinition.PATH_ELEMENT).addAttributes(jspAttributes).setXmlElementName(Constants.JSP_CONFIG).build());
         if (this.since(UndertowSubsystemSchema.VERSION_14_0)) {
             builder.addChild(this.factory.builder(AffinityCookieDefinition.PATH_ELEMENT).addAttributes(AffinityCookieDefinition.ATTRIBUTES.stream()).build());
         }
@@ -290,6 +285,23 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
         return builder.build();
     }
 
+    private PersistentResourceXMLDescription filters() {
+        PersistentResourceXMLDescription.Builder builder = this.factory.builder(FilterDefinitions.PATH_ELEMENT).setXmlElementName(Constants.FILTERS).setNoAddOperation(true);
+        builder.addChild(this.factory.builder(RequestLimitHandlerDefinition.PATH_ELEMENT).addAttributes(RequestLimitHandlerDefinition.ATTRIBUTES.stream()).build());
+        if (this.since(VERSION_15_0) || this.since(VERSION_14_0_COMMUNITY)) {
+            builder.addChild(this.factory.builder(AdaptiveRequestLimitDefinition.PATH_ELEMENT).addAttributes(AdaptiveRequestLimitDefinition.ATTRIBUTES.stream()).build());
+        }
+        return builder
+            .addChild(this.factory.builder(ResponseHeaderFilterDefinition.PATH_ELEMENT).addAttributes(ResponseHeaderFilterDefinition.ATTRIBUTES.stream()).build())
+            .addChild(this.factory.builder(GzipFilterDefinition.PATH_ELEMENT).build())
+            .addChild(this.factory.builder(ErrorPageDefinition.PATH_ELEMENT).addAttributes(ErrorPageDefinition.ATTRIBUTES.stream()).build())
+            .addChild(this.modCluster())
+            .addChild(this.factory.builder(CustomFilterDefinition.PATH_ELEMENT).addAttributes(CustomFilterDefinition.ATTRIBUTES.stream()).setXmlElementName("filter").build())
+            .addChild(this.factory.builder(ExpressionFilterDefinition.PATH_ELEMENT).addAttributes(ExpressionFilterDefinition.ATTRIBUTES.stream()).build())
+            .addChild(this.factory.builder(RewriteFilterDefinition.PATH_ELEMENT).addAttributes(RewriteFilterDefinition.ATTRIBUTES.stream()).build())
+            .build();
+    }
+
     private PersistentResourceXMLDescription modCluster() {
         PersistentResourceXMLDescription.Builder builder = this.factory.builder(ModClusterDefinition.PATH_ELEMENT);
 
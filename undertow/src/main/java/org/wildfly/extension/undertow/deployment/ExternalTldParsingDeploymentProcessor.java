@@ -13,9 +13,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
 import org.jboss.as.ee.structure.DeploymentType;
 import org.jboss.as.ee.structure.DeploymentTypeMarker;
 import org.jboss.as.server.deployment.Attachments;
@@ -23,9 +21,8 @@ import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.web.common.TldMetaDataCache;
 import org.jboss.as.web.common.WarMetaData;
-import org.jboss.metadata.parser.jsp.TldMetaDataParser;
-import org.jboss.metadata.parser.util.NoopXMLResolver;
 import org.jboss.metadata.web.spec.ListenerMetaData;
 import org.jboss.metadata.web.spec.TldMetaData;
 import org.jboss.modules.Module;
@@ -43,6 +40,12 @@ public class ExternalTldParsingDeploymentProcessor implements DeploymentUnitProc
 
     private static final String IMPLICIT_TLD = "implicit.tld";
 
+    private final TldMetaDataCache cache;
+
+    public ExternalTldParsingDeploymentProcessor(TldMetaDataCache cache) {
+        this.cache = cache;
+    }
+
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
@@ -116,26 +119,14 @@ public class ExternalTldParsingDeploymentProcessor implements DeploymentUnitProc
             // Implicit TLDs are different from regular TLDs
             return new TldMetaData();
         }
-        InputStream is = null;
-        try {
-            is = tld.openStream();
-            final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-            inputFactory.setXMLResolver(NoopXMLResolver.create());
-            XMLStreamReader xmlReader = inputFactory.createXMLStreamReader(is);
-            return TldMetaDataParser.parse(xmlReader);
+        // external tag libraries are usually shared by deployments
+        try (InputStream is = tld.openStream()) {
+            return this.cache.get(is.readAllBytes());
         } catch (XMLStreamException e) {
             throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(tld.getName(), e.getLocation().getLineNumber(),
                     e.getLocation().getColumnNumber()), e);
         } catch (IOException e) {
             throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(tld.getName()), e);
-        } finally {
-            try {
-                if (is != null) {
-                    is.close();
-                }
-            } catch (IOException e) {
-                // Ignore
-            }
         }
     }
 
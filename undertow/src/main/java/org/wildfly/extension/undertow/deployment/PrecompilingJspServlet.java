@@ -0,0 +1,413 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.apache.jasper.compiler.JspUtil;
+import org.apache.jasper.servlet.JspServlet;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * {@link JspServlet} which compiles all Jakarta Server Pages of the deployment in parallel when it is initialized, i.e. while
+ * the deployment starts, since it is loaded on startup. Pages are compiled by the initializing thread, helped by the threads
+ * of the executor of the {@link #EXECUTOR} servlet context attribute, if any.
+ * <p>
+ * Pages are compiled using the precompilation protocol of the specification, so that Jasper generates, compiles and loads
+ * them exactly as for a request. The compiled classes are kept in a cache directory, and restored when the deployment
+ * starts again as long as the page, the other resources of the deployment it may depend on (.jspf fragments, tag files, tag
+ * libraries, classes and libraries) and the container version are unchanged.
+ * <p>
+ * Pages themselves are not part of the digest of the other resources, since every page would otherwise invalidate the
+ * classes of all others, so neither is a .jsp page statically included by another one. Jasper still checks the timestamps
+ * of the dependencies it recorded, so a page including a modified .jsp page is only compiled again if the included page is
+ * more recent than the including one.
+ */
+public class PrecompilingJspServlet extends JspServlet {
+    private static final long serialVersionUID = 4181796264564738411L;
+
+    /** Init parameter of the directory containing the compiled classes of the deployment, no cache is used if undefined */
+    public static final String CACHE_DIR = "org.wildfly.jsp.precompile.cacheDir";
+    /** Init parameter of the version of the container, on which the compiled classes depend */
+    public static final String CONTAINER_VERSION = "org.wildfly.jsp.precompile.containerVersion";
+    /** Servlet context attribute of the {@link Executor} used to compile pages in parallel, pages are compiled sequentially if undefined */
+    public static final String EXECUTOR = "org.wildfly.jsp.precompile.executor";
+
+    private static final String JSP_PACKAGE_NAME = "org.apache.jsp";
+    private static final String TAG_PACKAGE_DIR = "org/apache/jsp/tag";
+
+    @Override
+    public void init(ServletConfig config) throws ServletException {
+        super.init(config);
+        long start = System.currentTimeMillis();
+        ServletContext context = config.getServletContext();
+        Path outputDir = getScratchDir(config);
+        String cacheDirectory = config.getInitParameter(CACHE_DIR);
+        // the resources of the deployment are only digested if the cache is used
+        MessageDigest environment = (cacheDirectory != null && outputDir != null) ? digest() : null;
+        List<String> pages = new ArrayList<>();
+        try {
+            this.scan(context, "/", pages, environment);
+        } catch (IOException e) {
+            throw new ServletException(e);
+        }
+        if (pages.isEmpty()) {
+            return;
+        }
+
+        Path cacheDir = null;
+        if (environment != null) {
+            environment.update(String.valueOf(config.getInitParameter(CONTAINER_VERSION)).getBytes(StandardCharsets.UTF_8));
+            environment.update(String.valueOf(JspServlet.class.getPackage().getImplementationVersion()).getBytes(StandardCharsets.UTF_8));
+            for (String name : Collections.list(config.getInitParameterNames())) {
+                environment.update((name + '=' + config.getInitParameter(name)).getBytes(StandardCharsets.UTF_8));
+            }
+            cacheDir = Path.of(cacheDirectory, HexFormat.of().formatHex(environment.digest()));
+            try {
+                removeStaleEntries(cacheDir.getParent(), Set.of(cacheDir.getFileName().toString()));
+                copyTree(cacheDir.resolve(TAG_PACKAGE_DIR), outputDir.resolve(TAG_PACKAGE_DIR));
+            } catch (IOException e) {
+                UndertowLogger.ROOT_LOGGER.jspClassCacheFailed(cacheDir.toString(), e);
+                cacheDir = null;
+            }
+        }
+
+        Path cache = cacheDir;
+        Queue<String> queue = new ConcurrentLinkedQueue<>(pages);
+        CountDownLatch latch = new CountDownLatch(pages.size());
+        AtomicInteger restored = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Set<String> entries = ConcurrentHashMap.newKeySet();
+        Runnable worker = () -> {
+            for (String page = queue.poll(); page != null; page = queue.poll()) {
+                try {
+                    if (!this.precompile(new Page(context, page, outputDir), cache, entries, restored)) {
+                        failed.incrementAndGet();
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }
+        };
+        // the pages are compiled by the initializing thread, helped by up to one thread of the executor per processor
+        Executor executor = (Executor) context.getAttribute(EXECUTOR);
+        if (executor != null) {
+            ClassLoader loader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+            Runnable task = () -> {
+                ClassLoader current = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+                try {
+                    worker.run();
+                } finally {
+                    WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
+                }
+            };
+            try {
+                for (int i = 1; i < Math.min(pages.size(), Runtime.getRuntime().availableProcessors()); ++i) {
+                    executor.execute(task);
+                }
+            } catch (RejectedExecutionException e) {
+                // the remaining pages are compiled by this thread
+            }
+        }
+        worker.run();
+        try {
+            // wait for the pages still being compiled by the executor
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+        if (cache != null) {
+            try {
+                copyTree(outputDir.resolve(TAG_PACKAGE_DIR), cache.resolve(TAG_PACKAGE_DIR));
+                // entries of pages which were modified or removed
+                entries.add(TAG_PACKAGE_DIR.substring(0, TAG_PACKAGE_DIR.indexOf('/')));
+                removeStaleEntries(cache, entries);
+            } catch (IOException e) {
+                UndertowLogger.ROOT_LOGGER.jspClassCacheFailed(cache.toString(), e);
+            }
+        }
+        UndertowLogger.ROOT_LOGGER.jspPrecompiled(pages.size() - failed.get(), context.getContextPath(), restored.get(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Compiles the given page, restoring its classes from the cache directory, if any, and storing them otherwise.
+     *
+     * @return false if the page failed to compile
+     */
+    private boolean precompile(Page page, Path cacheDir, Set<String> entries, AtomicInteger restored) {
+        String key = null;
+        try {
+            if (cacheDir != null) {
+                key = page.key();
+                entries.add(key);
+                if (page.restore(cacheDir.resolve(key))) {
+                    restored.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.jspClassCacheFailed(cacheDir.toString(), e);
+        }
+        try {
+            this.service(precompileRequest(page.path), precompileResponse());
+        } catch (ServletException | IOException | RuntimeException e) {
+            UndertowLogger.ROOT_LOGGER.jspPrecompilationFailed(page.path, e);
+            return false;
+        }
+        try {
+            if (key != null) {
+                page.store(cacheDir.resolve(key));
+            }
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.jspClassCacheFailed(cacheDir.toString(), e);
+        }
+        return true;
+    }
+
+    /**
+     * Collects the pages of the given resource directory, and digests the content of its other resources, unless the given
+     * digest is null.
+     */
+    private void scan(ServletContext context, String directory, List<String> pages, MessageDigest environment) throws IOException {
+        Set<String> paths = context.getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+        // sorted, so that the digest does not depend on the iteration order
+        for (String path : new TreeSet<>(paths)) {
+            if (path.endsWith("/")) {
+                this.scan(context, path, pages, environment);
+            } else if (path.endsWith(".jsp") || path.endsWith(".jspx")) {
+                pages.add(path);
+            } else if (environment != null) {
+                URL url = context.getResource(path);
+                if (url != null) {
+                    environment.update(path.getBytes(StandardCharsets.UTF_8));
+                    try (InputStream input = url.openStream()) {
+                        update(environment, input);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Path getScratchDir(ServletConfig config) {
+        String scratchDir = config.getInitParameter("scratchdir");
+        if (scratchDir != null) {
+            return Path.of(scratchDir);
+        }
+        Object tempDir = config.getServletContext().getAttribute(ServletContext.TEMPDIR);
+        return (tempDir instanceof File) ? ((File) tempDir).toPath() : null;
+    }
+
+    private static void removeStaleEntries(Path directory, Set<String> retained) throws IOException {
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    if (!retained.contains(entry.getFileName().toString())) {
+                        delete(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path copy = target.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the compiled classes cached for a deployment, if any.
+     */
+    static void deleteCache(Path cacheDir) throws IOException {
+        if (Files.exists(cacheDir)) {
+            delete(cacheDir);
+        }
+    }
+
+    private static void delete(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) files.sorted(Collections.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, InputStream input) throws IOException {
+        try (InputStream digesting = new DigestInputStream(input, digest)) {
+            digesting.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Request of the precompilation protocol, see section 1.4.2 of the Jakarta Server Pages specification.
+     */
+    private static HttpServletRequest precompileRequest(String page) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(), new Class<?>[] { HttpServletRequest.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMethod":
+                    return "GET";
+                case "getServletPath":
+                case "getRequestURI":
+                    return page;
+                case "getQueryString":
+                    return "jsp_precompile";
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static HttpServletResponse precompileResponse() {
+        return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(), new Class<?>[] { HttpServletResponse.class }, (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    /**
+     * The compiled classes of a page, named after its path as by Jasper.
+     */
+    private static class Page {
+        private final ServletContext context;
+        private final String path;
+        private final Path outputDir;
+        private final String className;
+
+        Page(ServletContext context, String path, Path outputDir) {
+            this.context = context;
+            this.path = path;
+            int index = path.lastIndexOf('/');
+            String packageName = (index > 0) ? JSP_PACKAGE_NAME + '.' + JspUtil.makeJavaPackage(path.substring(1, index)) : JSP_PACKAGE_NAME;
+            this.outputDir = (outputDir != null) ? outputDir.resolve(packageName.replace('.', File.separatorChar)) : null;
+            this.className = JspUtil.makeJavaIdentifier(path.substring(index + 1));
+        }
+
+        /**
+         * Restores the cached classes of this page from the given cache entry, if any, with the timestamp of the page so that
+         * Jasper considers them up to date.
+         */
+        boolean restore(Path entry) throws IOException {
+            if (!Files.isDirectory(entry)) {
+                return false;
+            }
+            long lastModified = this.lastModified();
+            Files.createDirectories(this.outputDir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(entry)) {
+                for (Path file : files) {
+                    Path target = this.outputDir.resolve(file.getFileName().toString());
+                    Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(lastModified));
+                }
+            }
+            return true;
+        }
+
+        void store(Path entry) throws IOException {
+            if (Files.isDirectory(entry) || !Files.isDirectory(this.outputDir)) {
+                return;
+            }
+            // entries are only visible once complete
+            Path temp = Files.createDirectories(entry.getParent()).resolve(entry.getFileName() + ".tmp");
+            Files.createDirectories(temp);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.outputDir, this.className + "{.class,$*.class}")) {
+                for (Path file : files) {
+                    Files.copy(file, temp.resolve(file.getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * Returns the name of the cache entry of this page, i.e. the digest of its path and content.
+         */
+        String key() throws IOException {
+            MessageDigest digest = digest();
+            digest.update(this.path.getBytes(StandardCharsets.UTF_8));
+            try (InputStream input = this.context.getResourceAsStream(this.path)) {
+                if (input != null) {
+                    update(digest, input);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        // as determined by Jasper
+        private long lastModified() throws IOException {
+            URLConnection connection = this.context.getResource(this.path).openConnection();
+            try (InputStream input = connection.getInputStream()) {
+                return (connection instanceof JarURLConnection) ? ((JarURLConnection) connection).getJarEntry().getTime() : connection.getLastModified();
+            }
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.util.Collection;
 import java.util.List;
 
 import org.jboss.vfs.VirtualFile;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import io.undertow.server.handlers.resource.PathResourceManager;
 import io.undertow.server.handlers.resource.Resource;
 import io.undertow.server.handlers.resource.ResourceChangeListener;
@@ -25,7 +27,14 @@ import io.undertow.util.CanonicalPathUtils;
  */
 public class ServletResourceManager implements ResourceManager {
 
+    /**
+     * Default size in bytes above which file backed resources are sent with a zero copy transfer instead of being copied
+     * through pooled buffers.
+     */
     public static final int TRANSFER_MIN_SIZE = 1024 * 1024;
+    private static final String TRANSFER_MIN_SIZE_PROPERTY = "org.wildfly.extension.undertow.deployment.staticResourceTransferMinSize";
+    private static final long STATIC_RESOURCE_TRANSFER_MIN_SIZE = transferMinSize(WildFlySecurityManager.getPropertyPrivileged(TRANSFER_MIN_SIZE_PROPERTY, null));
+
     private final PathResourceManager deploymentResourceManager;
     private final Collection<VirtualFile> overlays;
     private final ResourceManager[] externalOverlays;
@@ -34,9 +43,15 @@ public class ServletResourceManager implements ResourceManager {
     public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
                                   boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
                                   List<String> externalOverlays) throws IOException {
+        this(resourcesRoot, overlays, explodedDeployment, followSymlink, disableFileWatchService, externalOverlays, STATIC_RESOURCE_TRANSFER_MIN_SIZE);
+    }
+
+    ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
+                           boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
+                           List<String> externalOverlays, long transferMinSize) throws IOException {
         this.explodedDeployment = explodedDeployment;
         Path physicalFile = resourcesRoot.getPhysicalFile().toPath().toRealPath();
-        deploymentResourceManager = new PathResourceManager(physicalFile, TRANSFER_MIN_SIZE, true,
+        deploymentResourceManager = new PathResourceManager(physicalFile, transferMinSize, true,
                 followSymlink, !disableFileWatchService);
         this.overlays = overlays;
         if(externalOverlays == null) {
@@ -45,13 +60,31 @@ public class ServletResourceManager implements ResourceManager {
             this.externalOverlays = new ResourceManager[externalOverlays.size()];
             for (int i = 0; i < externalOverlays.size(); ++i) {
                 String path = externalOverlays.get(i);
-                PathResourceManager pr = new PathResourceManager(Paths.get(path).toRealPath(), TRANSFER_MIN_SIZE,
+                PathResourceManager pr = new PathResourceManager(Paths.get(path).toRealPath(), transferMinSize,
                         true, followSymlink, !disableFileWatchService);
                 this.externalOverlays[i] = pr;
             }
         }
     }
 
+    /**
+     * Returns the transfer threshold set by the given system property value, or {@link #TRANSFER_MIN_SIZE} if it is not set
+     * or not a valid size.
+     */
+    static long transferMinSize(String value) {
+        if (value != null) {
+            try {
+                long result = Long.parseLong(value.trim());
+                if (result >= 0) {
+                    return result;
+                }
+            } catch (NumberFormatException ignored) {
+            }
+            UndertowLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, TRANSFER_MIN_SIZE_PROPERTY, TRANSFER_MIN_SIZE);
+        }
+        return TRANSFER_MIN_SIZE;
+    }
+
     @Override
     public Resource getResource(final String path) throws IOException {
         Resource res = deploymentResourceManager.getResource(path);
@@ -13,9 +13,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
 
 import org.jboss.as.ee.structure.DeploymentType;
 import org.jboss.as.ee.structure.DeploymentTypeMarker;
@@ -26,9 +24,8 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.jboss.as.web.common.TldMetaDataCache;
 import org.jboss.as.web.common.WarMetaData;
-import org.jboss.metadata.parser.jsp.TldMetaDataParser;
-import org.jboss.metadata.parser.util.NoopXMLResolver;
 import org.jboss.metadata.web.jboss.JBossWebMetaData;
 import org.jboss.metadata.web.spec.JspConfigMetaData;
 import org.jboss.metadata.web.spec.ListenerMetaData;
@@ -49,6 +46,12 @@ public class TldParsingDeploymentProcessor implements DeploymentUnitProcessor {
     private static final String IMPLICIT_TLD = "implicit.tld";
     private static final String RESOURCES = "resources";
 
+    private final TldMetaDataCache cache;
+
+    public TldParsingDeploymentProcessor(TldMetaDataCache cache) {
+        this.cache = cache;
+    }
+
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
@@ -189,26 +192,14 @@ public class TldParsingDeploymentProcessor implements DeploymentUnitProcessor {
             // Implicit TLDs are different from regular TLDs
             return new TldMetaData();
         }
-        InputStream is = null;
-        try {
-            is = tld.openStream();
-            final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-            inputFactory.setXMLResolver(NoopXMLResolver.create());
-            XMLStreamReader xmlReader = inputFactory.createXMLStreamReader(is);
-            return TldMetaDataParser.parse(xmlReader);
+        // the same tag libraries are usually packaged by several deployments
+        try (InputStream is = tld.openStream()) {
+            return this.cache.get(is.readAllBytes());
         } catch (XMLStreamException e) {
             throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(tld.toString(), e.getLocation().getLineNumber(),
                     e.getLocation().getColumnNumber()), e);
         } catch (IOException e) {
             throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(tld.toString()), e);
-        } finally {
-            try {
-                if (is != null) {
-                    is.close();
-                }
-            } catch (IOException e) {
-                // Ignore
-            }
         }
     }
 
@@ -114,6 +114,7 @@ import org.wildfly.security.auth.server.MechanismConfiguration;
 import org.wildfly.security.auth.server.MechanismConfigurationSelector;
 import org.wildfly.security.auth.server.SecurityDomain;
 import org.wildfly.security.http.HttpServerAuthenticationMechanismFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.IoUtils;
 
 import jakarta.servlet.Filter;
@@ -141,6 +142,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -167,8 +169,14 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     public static final String DEFAULT_SERVLET_NAME = "default";
     public static final String UNDERTOW = "undertow";
 
+    // when enabled, the default servlet serves a foo.css.br or foo.css.gz sibling of foo.css to clients accepting that encoding
+    private static final String PRECOMPRESSED_RESOURCES_PROPERTY = "org.wildfly.extension.undertow.deployment.precompressedResources";
+    // when enabled along with the subsystem statistics, the percentiles of the request times are exposed per servlet
+    private static final String REQUEST_TIME_HISTOGRAMS_PROPERTY = "org.wildfly.extension.undertow.deployment.requestTimeHistograms";
+
     private DeploymentInfo deploymentInfo;
     private Registration registration;
+    private File jspCacheDir;
 
     private final AtomicReference<ServerActivity> serverActivity = new AtomicReference<>();
     private final JBossWebMetaData mergedMetaData;
@@ -207,6 +215,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     private final Supplier<HttpServerAuthenticationMechanismFactory> rawMechanismFactory;
     private final Supplier<BiFunction<DeploymentInfo, Function<String, RunAsIdentityMetaData>, Registration>> applySecurityFunction;
     private final Map<String, Supplier<Executor>> executorsByName = new HashMap<>();
+    private final Supplier<ExecutorService> serverExecutor;
     private final WebSocketDeploymentInfo webSocketDeploymentInfo;
     private final File tempDir;
     private final List<File> externalResources;
@@ -223,6 +232,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             final Supplier<ControlPoint> controlPoint,
             final Supplier<SuspendController> suspendController,
             final Supplier<ServerEnvironment> serverEnvironment,
+            final Supplier<ExecutorService> serverExecutor,
             final Supplier<SecurityDomain> rawSecurityDomain,
             final Supplier<HttpServerAuthenticationMechanismFactory> rawMechanismFactory,
             final Supplier<BiFunction<DeploymentInfo, Function<String, RunAsIdentityMetaData>, Registration>> applySecurityFunction,
@@ -237,6 +247,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         this.controlPoint = controlPoint;
         this.suspendController = suspendController;
         this.serverEnvironment = serverEnvironment;
+        this.serverExecutor = serverExecutor;
         this.rawSecurityDomain = rawSecurityDomain;
         this.rawMechanismFactory = rawMechanismFactory;
         this.applySecurityFunction = applySecurityFunction;
@@ -392,7 +403,12 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             }
             deploymentInfo.setServerName(serverEnvironment.get().getProductConfig().getPrettyVersionString());
             if (undertowService.get().isStatisticsEnabled()) {
-                deploymentInfo.setMetricsCollector(new UndertowMetricsCollector());
+                UndertowMetricsCollector metricsCollector = new UndertowMetricsCollector(Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(REQUEST_TIME_HISTOGRAMS_PROPERTY, "false")));
+                deploymentInfo.setMetricsCollector(metricsCollector);
+                HandlerWrapper requestTimeHandlerWrapper = metricsCollector.getRequestTimeHandlerWrapper();
+                if (requestTimeHandlerWrapper != null) {
+                    deploymentInfo.addInnerHandlerChainWrapper(requestTimeHandlerWrapper);
+                }
             }
 
             deploymentInfoConsumer.accept(this.deploymentInfo = deploymentInfo);
@@ -426,6 +442,14 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         if (registration != null) {
             registration.cancel();
         }
+        if (this.jspCacheDir != null) {
+            try {
+                PrecompilingJspServlet.deleteCache(this.jspCacheDir.toPath());
+            } catch (IOException e) {
+                UndertowLogger.ROOT_LOGGER.jspClassCacheFailed(this.jspCacheDir.toString(), e);
+            }
+            this.jspCacheDir = null;
+        }
     }
 
     @Override
@@ -508,6 +532,9 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 }
 
                 d.setResourceManager(resourceManager);
+                if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(PRECOMPRESSED_RESOURCES_PROPERTY, "false"))) {
+                    addPreCompressedResourceEncodings(d);
+                }
             } catch (IOException e) {
                 throw new StartException(e);
             }
@@ -567,6 +594,15 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                     d.setJspConfigDescriptor(new JspConfigDescriptorImpl(tldInfo.values(), values));
                 }
 
+                if (jspConfig.isPrecompile() && (serverExecutor != null)) {
+                    // compiled classes are kept per deployment, and removed when it stops
+                    File cacheDir = new File(serverEnvironment.get().getServerDataDir(), "undertow" + File.separatorChar + "jsp" + File.separatorChar + deploymentName);
+                    this.jspCacheDir = cacheDir;
+                    jspServlet.addInitParam(PrecompilingJspServlet.CACHE_DIR, cacheDir.getAbsolutePath());
+                    jspServlet.addInitParam(PrecompilingJspServlet.CONTAINER_VERSION, serverEnvironment.get().getProductConfig().getPrettyVersionString());
+                    d.addServletContextAttribute(PrecompilingJspServlet.EXECUTOR, serverExecutor.get());
+                }
+
                 d.addServlet(jspServlet);
 
                 final Set<String> jspPropertyGroupMappings = propertyGroups.keySet();
@@ -1032,6 +1068,14 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         return AuthMethodParser.parse(configuredMethod, Collections.singletonMap("CLIENT-CERT", HttpServletRequest.CLIENT_CERT_AUTH));
     }
 
+    /**
+     * Lets the default servlet serve the brotli or gzip compressed sibling of a static resource.
+     */
+    static void addPreCompressedResourceEncodings(DeploymentInfo d) {
+        d.addPreCompressedResourceEncoding("br", ".br");
+        d.addPreCompressedResourceEncoding("gzip", ".gz");
+    }
+
     private static io.undertow.servlet.api.TransportGuaranteeType transportGuaranteeType(final TransportGuaranteeType type) {
         if (type == null) {
             return io.undertow.servlet.api.TransportGuaranteeType.NONE;
@@ -1399,13 +1443,14 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 final Supplier<ControlPoint> controlPoint,
                 final Supplier<SuspendController> suspendController,
                 final Supplier<ServerEnvironment> serverEnvironment,
+                final Supplier<ExecutorService> serverExecutor,
                 final Supplier<SecurityDomain> rawSecurityDomain,
                 final Supplier<HttpServerAuthenticationMechanismFactory> rawMechanismFactory,
                 final Supplier<BiFunction<DeploymentInfo, Function<String, RunAsIdentityMetaData>, Registration>> applySecurityFunction
         ) {
             return new UndertowDeploymentInfoService(deploymentInfoConsumer, undertowService, sessionManagerFactory,
                     sessionAffinityProvider, container, componentRegistry, host, controlPoint,
-                    suspendController, serverEnvironment, rawSecurityDomain, rawMechanismFactory, applySecurityFunction, mergedMetaData, deploymentName, tldInfo, module,
+                    suspendController, serverEnvironment, serverExecutor, rawSecurityDomain, rawMechanismFactory, applySecurityFunction, mergedMetaData, deploymentName, tldInfo, module,
                     scisMetaData, deploymentRoot, jaccContextId, securityDomain, attributes, contextPath, setupActions, overlays,
                     expressionFactoryWrappers, predicatedHandlers, initialHandlerChainWrappers, innerHandlerChainWrappers, outerHandlerChainWrappers,
                     threadSetupActions, explodedDeployment, servletExtensions, sharedSessionManagerConfig, webSocketDeploymentInfo, tempDir, externalResources, allowSuspendedRequests);
@@ -106,6 +106,7 @@ import org.wildfly.extension.requestcontroller.RequestControllerActivationMarker
 import org.wildfly.extension.undertow.Capabilities;
 import org.wildfly.extension.undertow.DeploymentDefinition;
 import org.wildfly.extension.undertow.Host;
+import org.wildfly.extension.undertow.JSPConfig;
 import org.wildfly.extension.undertow.ServletContainerService;
 import org.wildfly.extension.undertow.UndertowExtension;
 import org.wildfly.extension.undertow.UndertowService;
@@ -318,6 +319,9 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
         DeploymentUnit sessionDeploymentUnit = (sharedSessionManagerConfig != null) ? parentDeploymentUnit : deploymentUnit;
 
         ServletContainerService servletContainer = deploymentUnit.getAttachment(UndertowAttachments.SERVLET_CONTAINER_SERVICE);
+        // used to precompile Jakarta Server Pages
+        JSPConfig jspConfig = (servletContainer != null) ? servletContainer.getJspConfig() : null;
+        Supplier<ExecutorService> serverExecutor = ((jspConfig != null) && jspConfig.isPrecompile()) ? Services.requireServerExecutor(builder) : null;
         Supplier<SessionManagerFactory> sessionManagerFactory = (servletContainer != null) ? builder.requires(WebDeploymentServiceDescriptor.SESSION_MANAGER_FACTORY.resolve(sessionDeploymentUnit)) : null;
         Supplier<SessionAffinityProvider> sessionAffinityProvider = (servletContainer != null) ? builder.requires(WebDeploymentServiceDescriptor.SESSION_AFFINITY_PROVIDER.resolve(sessionDeploymentUnit)) : null;
 
@@ -385,7 +389,7 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
                 .setExternalResources(deploymentUnit.getAttachmentList(UndertowAttachments.EXTERNAL_RESOURCES))
                 .setAllowSuspendedRequests(deploymentUnit.getAttachmentList(UndertowAttachments.ALLOW_REQUEST_WHEN_SUSPENDED))
                 .createUndertowDeploymentInfoService(deploymentInfo, undertowService, sessionManagerFactory, sessionAffinityProvider,
-                        servletContainerService, componentRegistryDependency, host, controlPoint, suspendController, serverEnvironment, securityDomain, mechanismFactorySupplier, applySecurityFunction);
+                        servletContainerService, componentRegistryDependency, host, controlPoint, suspendController, serverEnvironment, serverExecutor, securityDomain, mechanismFactorySupplier, applySecurityFunction);
         builder.setInstance(undertowDeploymentInfoService);
 
         final Set<String> seenExecutors = new HashSet<String>();
@@ -5,27 +5,155 @@
 
 package org.wildfly.extension.undertow.deployment;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.MetricsHandler;
 import io.undertow.servlet.api.MetricsCollector;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import jakarta.servlet.DispatcherType;
 
 /**
  * @author Tomaz Cerar (c) 2014 Red Hat Inc.
  */
 public class UndertowMetricsCollector implements MetricsCollector {
-    private final Map<String, MetricsHandler> metrics = new HashMap<>();
+    private final Map<String, MetricsHandler> metrics = new ConcurrentHashMap<>();
+    private final Map<String, RequestTimeHistogram> histograms;
+
+    public UndertowMetricsCollector() {
+        this(false);
+    }
+
+    /**
+     * @param requestTimeHistograms whether the distribution of the request times is recorded per servlet, see {@link #getRequestTimePercentile(String, double)}
+     */
+    public UndertowMetricsCollector(boolean requestTimeHistograms) {
+        this.histograms = requestTimeHistograms ? new ConcurrentHashMap<>() : null;
+    }
 
     @Override
     public void registerMetric(String name, MetricsHandler handler) {
         metrics.put(name, handler);
+        if (histograms != null) {
+            histograms.put(name, new RequestTimeHistogram());
+        }
     }
 
     public MetricsHandler.MetricResult getMetrics(String name) {
-        if (metrics.containsKey(name)) {
-            return metrics.get(name).getMetrics();
+        MetricsHandler handler = metrics.get(name);
+        return handler != null ? handler.getMetrics() : null;
+    }
+
+    /**
+     * Returns the request time, in microseconds, below which the given percentage of the requests to a servlet completed.
+     *
+     * @param name the servlet name
+     * @param percentile the percentile, between 0 and 100
+     * @return the request time, or {@code null} if request time histograms are not enabled or no request to the servlet was recorded
+     */
+    public Long getRequestTimePercentile(String name, double percentile) {
+        RequestTimeHistogram histogram = histograms != null ? histograms.get(name) : null;
+        return histogram != null ? histogram.getPercentile(percentile) : null;
+    }
+
+    /**
+     * Returns a wrapper of the inner handler chain recording the request times of each servlet in its histogram, or {@code null}
+     * if request time histograms are not enabled. Forwards, includes and async dispatches are part of the request time of the
+     * servlet which received the request, so only the initial dispatch of a request is recorded.
+     */
+    HandlerWrapper getRequestTimeHandlerWrapper() {
+        return histograms != null ? RequestTimeHandler::new : null;
+    }
+
+    private class RequestTimeHandler implements HttpHandler {
+
+        private final HttpHandler next;
+
+        RequestTimeHandler(HttpHandler next) {
+            this.next = next;
+        }
+
+        @Override
+        public void handleRequest(HttpServerExchange exchange) throws Exception {
+            ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+            RequestTimeHistogram histogram = context != null && context.getDispatcherType() == DispatcherType.REQUEST && context.getCurrentServlet() != null ? histograms.get(context.getCurrentServlet().getManagedServlet().getServletInfo().getName()) : null;
+            if (histogram != null && !exchange.isComplete()) {
+                long start = System.nanoTime();
+                exchange.addExchangeCompleteListener((completed, nextListener) -> {
+                    try {
+                        histogram.record(System.nanoTime() - start);
+                    } finally {
+                        nextListener.proceed();
+                    }
+                });
+            }
+            next.handleRequest(exchange);
+        }
+    }
+
+    /**
+     * Fixed size request time histogram that is updated without locking. Each power of two of microseconds is split in four
+     * linear sub-buckets, which bounds the error of the reported percentiles to 25%.
+     */
+    static final class RequestTimeHistogram {
+
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        // covers request times up to 2^40 microseconds, longer requests are counted in the last bucket
+        private static final int MAX_EXPONENT = 40;
+        private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void record(long durationNanos) {
+            counts.incrementAndGet(index(TimeUnit.NANOSECONDS.toMicros(durationNanos)));
+        }
+
+        static int index(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) Math.max(0, micros);
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket);
+        }
+
+        /**
+         * Exclusive upper bound, in microseconds, of the request times counted in the given bucket.
+         */
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index + 1;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = index % SUB_BUCKETS;
+            return (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+        }
+
+        Long getPercentile(double percentile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return null;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
         }
-        return null;
     }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.undertow.Handlers;
+import io.undertow.predicate.Predicate;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.StatusCodes;
+import org.wildfly.extension.undertow.deployment.SuspendedServerHandler;
+
+/**
+ * Concurrency limit which adapts to the observed request latency, shared by all the handlers created for a filter.
+ * <p>
+ * Request times are averaged over short windows and compared to a long term baseline: as long as they stay within the
+ * tolerance of the baseline the limit grows, by roughly its square root per window, otherwise it shrinks in proportion to the
+ * latency increase. Requests exceeding the limit are rejected immediately with a 503 response and a {@code Retry-After} header,
+ * as queueing them would only add to the latency. Responses with a 503 status, e.g. those of a suspended server, are not
+ * sampled since they do not reflect the processing time of the application.
+ */
+class AdaptiveRequestLimit implements PredicateHandlerWrapper {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    // number of windows over which the baseline latency is averaged
+    private static final int BASELINE_WINDOWS = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final String retryAfter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    private final LongAdder windowTotalNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowEnd = new AtomicLong(System.nanoTime() + WINDOW_NANOS);
+    private final Lock updateLock = new ReentrantLock();
+    // guarded by updateLock
+    private double estimatedLimit;
+    private double baselineNanos;
+
+    /**
+     * Creates a new limit.
+     *
+     * @param initialLimit      the limit until enough requests were sampled
+     * @param minLimit          the lower bound of the limit
+     * @param maxLimit          the upper bound of the limit
+     * @param tolerance         the ratio of the baseline latency above which the limit decreases
+     * @param retryAfterSeconds the delay suggested to rejected clients
+     */
+    AdaptiveRequestLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, int retryAfterSeconds) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.retryAfter = Integer.toString(retryAfterSeconds);
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(minLimit, initialLimit));
+        this.limit = (int) this.estimatedLimit;
+    }
+
+    @Override
+    public HttpHandler wrap(Predicate predicate, HttpHandler next) {
+        HttpHandler handler = new AdaptiveRequestLimitHandler(next);
+        return (predicate != null) ? Handlers.predicate(predicate, handler, next) : handler;
+    }
+
+    int getLimit() {
+        return this.limit;
+    }
+
+    int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    boolean tryAcquire() {
+        int current = this.inFlight.incrementAndGet();
+        if (current > this.limit) {
+            this.inFlight.decrementAndGet();
+            this.rejected.increment();
+            return false;
+        }
+        this.windowMaxInFlight.accumulateAndGet(current, Math::max);
+        return true;
+    }
+
+    void release(long durationNanos, boolean sample) {
+        this.inFlight.decrementAndGet();
+        if (!sample) {
+            return;
+        }
+        this.windowTotalNanos.add(durationNanos);
+        this.windowSamples.increment();
+        long now = System.nanoTime();
+        if (now - this.windowEnd.get() >= 0 && this.updateLock.tryLock()) {
+            try {
+                long samples = this.windowSamples.sum();
+                if (samples >= MIN_WINDOW_SAMPLES) {
+                    double averageNanos = (double) this.windowTotalNanos.sumThenReset() / samples;
+                    this.windowSamples.reset();
+                    this.update(averageNanos, this.windowMaxInFlight.getAndSet(this.inFlight.get()));
+                    this.windowEnd.set(now + WINDOW_NANOS);
+                }
+            } finally {
+                this.updateLock.unlock();
+            }
+        }
+    }
+
+    private void update(double averageNanos, int maxInFlight) {
+        if (this.baselineNanos == 0) {
+            this.baselineNanos = averageNanos;
+        } else {
+            this.baselineNanos += (averageNanos - this.baselineNanos) / BASELINE_WINDOWS;
+        }
+        // let the baseline follow a lasting drop of the latency quickly, e.g. once a slow downstream recovered
+        if (this.baselineNanos > 2 * averageNanos) {
+            this.baselineNanos *= 0.95;
+        }
+        // the latency says nothing about a limit that was not reached
+        if (maxInFlight < this.estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, this.tolerance * this.baselineNanos / averageNanos));
+        double newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, (1 - SMOOTHING) * this.estimatedLimit + SMOOTHING * newLimit));
+        this.limit = (int) this.estimatedLimit;
+    }
+
+    private class AdaptiveRequestLimitHandler implements HttpHandler {
+
+        private final HttpHandler next;
+
+        AdaptiveRequestLimitHandler(HttpHandler next) {
+            this.next = next;
+        }
+
+        @Override
+        public void handleRequest(HttpServerExchange exchange) throws Exception {
+            if (!AdaptiveRequestLimit.this.tryAcquire()) {
+                exchange.getResponseHeaders().put(Headers.RETRY_AFTER, AdaptiveRequestLimit.this.retryAfter);
+                SuspendedServerHandler.DEFAULT.handleRequest(exchange);
+                return;
+            }
+            long start = System.nanoTime();
+            exchange.addExchangeCompleteListener((completed, nextListener) -> {
+                try {
+                    AdaptiveRequestLimit.this.release(System.nanoTime() - start, completed.getStatusCode() != StatusCodes.SERVICE_UNAVAILABLE);
+                } finally {
+                    nextListener.proceed();
+                }
+            });
+            this.next.handleRequest(exchange);
+        }
+    }
+}
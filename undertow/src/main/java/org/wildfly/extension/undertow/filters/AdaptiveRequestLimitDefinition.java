@@ -0,0 +1,133 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.UndertowService;
+
+/**
+ * Filter limiting the number of concurrent requests to a limit which adapts to the observed latency.
+ */
+public class AdaptiveRequestLimitDefinition extends SimpleFilterDefinition {
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement("adaptive-request-limit");
+
+    public static final AttributeDefinition INITIAL_LIMIT = new SimpleAttributeDefinitionBuilder("initial-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(20))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MIN_LIMIT = new SimpleAttributeDefinitionBuilder("min-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MAX_LIMIT = new SimpleAttributeDefinitionBuilder("max-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1000))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition LATENCY_TOLERANCE = new SimpleAttributeDefinitionBuilder("latency-tolerance", ModelType.INT)
+            .setValidator(new IntRangeValidator(100, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(150))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition RETRY_AFTER = new SimpleAttributeDefinitionBuilder("retry-after", ModelType.INT)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1))
+            .setRestartAllServices()
+            .build();
+
+    public static final Collection<AttributeDefinition> ATTRIBUTES = List.of(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT, LATENCY_TOLERANCE, RETRY_AFTER);
+
+    static final AttributeDefinition CURRENT_LIMIT = new SimpleAttributeDefinitionBuilder("current-limit", ModelType.INT)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition IN_FLIGHT_REQUESTS = new SimpleAttributeDefinitionBuilder("in-flight-requests", ModelType.INT)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition REJECTED_REQUESTS = new SimpleAttributeDefinitionBuilder("rejected-requests", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+
+    AdaptiveRequestLimitDefinition() {
+        super(PATH_ELEMENT, AdaptiveRequestLimitDefinition::createHandlerWrapper);
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(CURRENT_LIMIT, new MetricHandler(AdaptiveRequestLimit::getLimit));
+        resourceRegistration.registerMetric(IN_FLIGHT_REQUESTS, new MetricHandler(AdaptiveRequestLimit::getInFlight));
+        resourceRegistration.registerMetric(REJECTED_REQUESTS, new MetricHandler(AdaptiveRequestLimit::getRejectedCount));
+    }
+
+    static PredicateHandlerWrapper createHandlerWrapper(OperationContext context, ModelNode model) throws OperationFailedException {
+        int initialLimit = INITIAL_LIMIT.resolveModelAttribute(context, model).asInt();
+        int minLimit = MIN_LIMIT.resolveModelAttribute(context, model).asInt();
+        int maxLimit = MAX_LIMIT.resolveModelAttribute(context, model).asInt();
+        int tolerance = LATENCY_TOLERANCE.resolveModelAttribute(context, model).asInt();
+        int retryAfter = RETRY_AFTER.resolveModelAttribute(context, model).asInt();
+        return new AdaptiveRequestLimit(initialLimit, minLimit, maxLimit, tolerance / 100d, retryAfter);
+    }
+
+    private static class MetricHandler extends AbstractRuntimeOnlyHandler {
+        private final ToLongFunction<AdaptiveRequestLimit> metric;
+
+        MetricHandler(ToLongFunction<AdaptiveRequestLimit> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+            // the filter service only runs while it is referenced by a host or location
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.FILTER.append(context.getCurrentAddressValue()));
+            if (controller != null && controller.getState() == ServiceController.State.UP && controller.getValue() instanceof AdaptiveRequestLimit) {
+                context.getResult().set(this.metric.applyAsLong((AdaptiveRequestLimit) controller.getValue()));
+            }
+        }
+    }
+}
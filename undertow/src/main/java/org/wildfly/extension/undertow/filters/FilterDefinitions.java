@@ -42,6 +42,7 @@ public class FilterDefinitions extends PersistentResourceDefinition {
     public List<? extends PersistentResourceDefinition> getChildren() {
         return List.of(
                 new RequestLimitHandlerDefinition(),
+                new AdaptiveRequestLimitDefinition(),
                 new ResponseHeaderFilterDefinition(),
                 new GzipFilterDefinition(),
                 new ErrorPageDefinition(),
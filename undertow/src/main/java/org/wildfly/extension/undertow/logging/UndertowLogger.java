@@ -433,4 +433,20 @@ public interface UndertowLogger extends BasicLogger {
             "The server now always enforces the RFC 9112 requirement that HTTP/1.1 request messages include a Host header.")
     String http11HostHeaderRequired(String attribute, String resource);
 
+    @LogMessage(level = INFO)
+    @Message(id = 113, value = "Precompiled %d Jakarta Server Pages of %s (%d restored from cache) in %d ms")
+    void jspPrecompiled(int count, String contextPath, int restored, long millis);
+
+    @LogMessage(level = WARN)
+    @Message(id = 114, value = "Failed to precompile Jakarta Server Page %s")
+    void jspPrecompilationFailed(String page, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 115, value = "Failed to use the compiled Jakarta Server Pages cache %s")
+    void jspClassCacheFailed(String directory, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 116, value = "Invalid value '%s' for the %s system property, using %s instead")
+    void invalidSystemPropertyValue(String value, String property, Object defaultValue);
+
 }
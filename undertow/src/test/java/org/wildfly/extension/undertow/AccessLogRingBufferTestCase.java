@@ -0,0 +1,209 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.undertow.attribute.ExchangeAttribute;
+import io.undertow.server.HttpServerExchange;
+import org.junit.Test;
+import org.wildfly.event.logger.EventLogger;
+
+/**
+ * Unit test for {@link AccessLogRingBuffer}.
+ */
+public class AccessLogRingBufferTestCase {
+
+    @Test
+    public void testWrite() throws Exception {
+        final RecordingEventLogger eventLogger = new RecordingEventLogger();
+        final AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(attributes(), eventLogger, 4, AccessLogRingBuffer.OverflowPolicy.DROP, 1);
+        final Thread writer = new Thread(ringBuffer);
+        writer.start();
+        final int records = 1000;
+        final AtomicInteger captured = new AtomicInteger();
+        final Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {
+                for (int j = 0; j < records; j++) {
+                    if (ringBuffer.capture(new HttpServerExchange(null))) {
+                        captured.incrementAndGet();
+                    }
+                }
+            });
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        ringBuffer.close();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(writer.isAlive());
+        // every record is either written or counted as dropped
+        assertEquals(captured.get(), eventLogger.events.size());
+        assertEquals(producers.length * records, captured.get() + ringBuffer.getDroppedCount());
+        // values are captured in order of the attributes
+        final Map<String, Object> event = eventLogger.events.get(0);
+        assertEquals(List.of("first", "second"), List.copyOf(event.keySet()));
+    }
+
+    @Test
+    public void testIdleWriter() throws Exception {
+        final RecordingEventLogger eventLogger = new RecordingEventLogger();
+        final AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(attributes(), eventLogger, 4, AccessLogRingBuffer.OverflowPolicy.DROP, 1);
+        final Thread writer = new Thread(ringBuffer);
+        writer.start();
+        try {
+            // an idle writer parks without a timeout, instead of polling the buffer
+            awaitState(writer, Thread.State.WAITING);
+            // and is unparked by the capture of a record
+            assertTrue(ringBuffer.capture(new HttpServerExchange(null)));
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (eventLogger.events.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(1, eventLogger.events.size());
+            awaitState(writer, Thread.State.WAITING);
+        } finally {
+            ringBuffer.close();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        assertFalse(writer.isAlive());
+    }
+
+    private static void awaitState(final Thread thread, final Thread.State state) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != state && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(state, thread.getState());
+    }
+
+    @Test
+    public void testDrop() {
+        final RecordingEventLogger eventLogger = new RecordingEventLogger();
+        final AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(attributes(), eventLogger, 4, AccessLogRingBuffer.OverflowPolicy.DROP, 1);
+        // no writer is draining the buffer
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.capture(new HttpServerExchange(null)));
+        }
+        assertFalse(ringBuffer.capture(new HttpServerExchange(null)));
+        assertEquals(1, ringBuffer.getDroppedCount());
+
+        ringBuffer.close();
+        ringBuffer.run();
+        assertEquals(4, eventLogger.events.size());
+        assertTrue(ringBuffer.capture(new HttpServerExchange(null)));
+    }
+
+    @Test
+    public void testSample() {
+        final RecordingEventLogger eventLogger = new RecordingEventLogger();
+        final AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(attributes(), eventLogger, 64, AccessLogRingBuffer.OverflowPolicy.SAMPLE, 4);
+        int captured = 0;
+        for (int i = 0; i < 64; i++) {
+            if (ringBuffer.capture(new HttpServerExchange(null))) {
+                captured++;
+            }
+        }
+        // the first half is captured, then only every 4th record
+        assertEquals(32 + 8, captured);
+        assertEquals(64 - captured, ringBuffer.getDroppedCount());
+    }
+
+    @Test
+    public void testCapacity() {
+        final RecordingEventLogger eventLogger = new RecordingEventLogger();
+        final AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(attributes(), eventLogger, 5, AccessLogRingBuffer.OverflowPolicy.DROP, 1);
+        // rounded up to 8, the 9th record is dropped rather than waiting for the writer
+        for (int i = 0; i < 8; i++) {
+            assertTrue(ringBuffer.capture(new HttpServerExchange(null)));
+        }
+        assertFalse(ringBuffer.capture(new HttpServerExchange(null)));
+        assertEquals(1, ringBuffer.getDroppedCount());
+        ringBuffer.close();
+        ringBuffer.run();
+        assertEquals(8, eventLogger.events.size());
+    }
+
+    @Test
+    public void testProperties() {
+        System.setProperty(EventLoggerService.BUFFER_SIZE_PROPERTY, "1k");
+        System.setProperty(EventLoggerService.SAMPLE_RATE_PROPERTY, "-1");
+        System.setProperty(EventLoggerService.OVERFLOW_POLICY_PROPERTY, "block");
+        try {
+            // invalid values fall back to the defaults
+            assertEquals(0, EventLoggerService.intProperty(EventLoggerService.BUFFER_SIZE_PROPERTY, 0));
+            assertEquals(10, EventLoggerService.intProperty(EventLoggerService.SAMPLE_RATE_PROPERTY, 10));
+            assertEquals(AccessLogRingBuffer.OverflowPolicy.DROP, EventLoggerService.overflowPolicy());
+
+            System.setProperty(EventLoggerService.BUFFER_SIZE_PROPERTY, " 1024 ");
+            System.setProperty(EventLoggerService.OVERFLOW_POLICY_PROPERTY, "sample");
+            assertEquals(1024, EventLoggerService.intProperty(EventLoggerService.BUFFER_SIZE_PROPERTY, 0));
+            assertEquals(AccessLogRingBuffer.OverflowPolicy.SAMPLE, EventLoggerService.overflowPolicy());
+        } finally {
+            System.clearProperty(EventLoggerService.BUFFER_SIZE_PROPERTY);
+            System.clearProperty(EventLoggerService.SAMPLE_RATE_PROPERTY);
+            System.clearProperty(EventLoggerService.OVERFLOW_POLICY_PROPERTY);
+        }
+        assertEquals(AccessLogRingBuffer.OverflowPolicy.DROP, EventLoggerService.overflowPolicy());
+    }
+
+    private static AccessLogAttribute[] attributes() {
+        final AtomicInteger counter = new AtomicInteger();
+        return new AccessLogAttribute[] {
+                AccessLogAttribute.of("first", new TestAttribute(() -> Integer.toString(counter.incrementAndGet()))),
+                AccessLogAttribute.of("second", new TestAttribute(() -> "value")),
+        };
+    }
+
+    private static class TestAttribute implements ExchangeAttribute {
+        private final Supplier<String> value;
+
+        TestAttribute(final Supplier<String> value) {
+            this.value = value;
+        }
+
+        @Override
+        public String readAttribute(final HttpServerExchange exchange) {
+            return value.get();
+        }
+
+        @Override
+        public void writeAttribute(final HttpServerExchange exchange, final String newValue) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class RecordingEventLogger implements EventLogger {
+        final List<Map<String, Object>> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public EventLogger log(final Map<String, Object> event) {
+            events.add(event);
+            return this;
+        }
+
+        @Override
+        public EventLogger log(final Supplier<Map<String, Object>> event) {
+            return log(event.get());
+        }
+
+        @Override
+        public String getEventSource() {
+            return "test";
+        }
+    }
+}
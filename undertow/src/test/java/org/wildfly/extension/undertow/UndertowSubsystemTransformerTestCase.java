@@ -29,6 +29,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitDefinition;
 import org.wildfly.extension.undertow.filters.FilterDefinitions;
 import org.wildfly.extension.undertow.handlers.HandlerDefinitions;
 
@@ -150,6 +151,12 @@ public class UndertowSubsystemTransformerTestCase extends AbstractSubsystemTest
             PathAddress consoleAccessLogAddress = serverAddress.append(PathElement.pathElement(HostDefinition.PATH_ELEMENT.getKey(), "default-host"))
                 .append(PathElement.pathElement(ConsoleAccessLogDefinition.PATH_ELEMENT.getKey(), "console-access-log"));
             config.addFailedAttribute(consoleAccessLogAddress, new SecureProtocolAttributeConfig(ExchangeAttributeDefinitions.ATTRIBUTES.getName()));
+
+            PathAddress adaptiveRequestLimitAddress = subsystemAddress.append(FilterDefinitions.PATH_ELEMENT).append(PathElement.pathElement(AdaptiveRequestLimitDefinition.PATH_ELEMENT.getKey(), "adaptive-limit"));
+            config.addFailedAttribute(adaptiveRequestLimitAddress, FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            PathAddress jspAddress = subsystemAddress.append(PathElement.pathElement(ServletContainerDefinition.PATH_ELEMENT.getKey(), "precompile-container")).append(JspDefinition.PATH_ELEMENT);
+            config.addFailedAttribute(jspAddress, new FailedOperationTransformationConfig.NewAttributesConfig(JspDefinition.PRECOMPILE));
         }
         if (UndertowSubsystemModel.VERSION_13_0_0.requiresTransformation(this.modelVersion)) {
             PathAddress servletContainerAddress = subsystemAddress.append(PathElement.pathElement(ServletContainerDefinition.PATH_ELEMENT.getKey(), "rejected-container"));
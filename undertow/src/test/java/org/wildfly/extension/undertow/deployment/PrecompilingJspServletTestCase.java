@@ -0,0 +1,179 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.undertow.jsp.JspServletBuilder;
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.servlet.Servlets;
+import io.undertow.servlet.api.DeploymentInfo;
+import io.undertow.servlet.api.DeploymentManager;
+import io.undertow.servlet.api.ServletInfo;
+import org.apache.tomcat.InstanceManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link PrecompilingJspServlet}.
+ */
+public class PrecompilingJspServletTestCase {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path webDir;
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        this.webDir = this.folder.newFolder("web").toPath();
+        this.cacheDir = this.folder.getRoot().toPath().resolve("cache");
+        Files.writeString(this.webDir.resolve("index.jsp"), "<%@ page contentType=\"text/plain\" %>Hello <%= 1 + 1 %>");
+        Files.createDirectory(this.webDir.resolve("sub"));
+        Files.writeString(this.webDir.resolve("sub/page.jsp"), "<%= \"sub\" %>");
+        Files.writeString(this.webDir.resolve("broken.jsp"), "<%= broken( %>");
+        Files.writeString(this.webDir.resolve("style.css"), "body { }");
+    }
+
+    @Test
+    public void testPrecompile() throws Exception {
+        AtomicInteger tasks = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Path scratchDir = this.deploy(this.cacheDir, task -> {
+                tasks.incrementAndGet();
+                executor.execute(task);
+            });
+            // the initializing thread is helped by a thread per processor, for the 3 pages
+            assertEquals(Math.min(3, Runtime.getRuntime().availableProcessors()) - 1, tasks.get());
+            assertTrue(Files.exists(scratchDir.resolve("org/apache/jsp/index_jsp.class")));
+            assertTrue(Files.exists(scratchDir.resolve("org/apache/jsp/sub/page_jsp.class")));
+            assertFalse(Files.exists(scratchDir.resolve("org/apache/jsp/broken_jsp.class")));
+            // an entry per compiled page
+            assertEquals(2, this.countCacheEntries());
+
+            // the classes of the pages are restored from the cache, so that the pages are not generated again
+            scratchDir = this.deploy(this.cacheDir, executor);
+            assertTrue(Files.exists(scratchDir.resolve("org/apache/jsp/index_jsp.class")));
+            assertFalse(Files.exists(scratchDir.resolve("org/apache/jsp/index_jsp.java")));
+            assertFalse(Files.exists(scratchDir.resolve("org/apache/jsp/sub/page_jsp.java")));
+
+            // a modified page is compiled again, and its stale entry removed
+            Files.writeString(this.webDir.resolve("sub/page.jsp"), "<%= \"modified\" %>");
+            scratchDir = this.deploy(this.cacheDir, executor);
+            assertFalse(Files.exists(scratchDir.resolve("org/apache/jsp/index_jsp.java")));
+            assertTrue(Files.exists(scratchDir.resolve("org/apache/jsp/sub/page_jsp.java")));
+            assertEquals(2, this.countCacheEntries());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPrecompileWithoutCache() throws Exception {
+        Path scratchDir = this.deploy(null, null);
+        assertTrue(Files.exists(scratchDir.resolve("org/apache/jsp/index_jsp.class")));
+        assertTrue(Files.exists(scratchDir.resolve("org/apache/jsp/sub/page_jsp.class")));
+        assertFalse(Files.exists(scratchDir.resolve("org/apache/jsp/broken_jsp.class")));
+        assertFalse(Files.exists(this.cacheDir));
+    }
+
+    /**
+     * Deploys and starts the pages with the JSP servlet, and returns its scratch directory.
+     */
+    private Path deploy(Path cacheDir, Executor executor) throws Exception {
+        File tempDir = this.folder.newFolder();
+        DeploymentInfo deployment = Servlets.deployment()
+                .setClassLoader(this.getClass().getClassLoader())
+                .setContextPath("/test")
+                .setDeploymentName("test.war")
+                .setResourceManager(new PathResourceManager(this.webDir))
+                .setTempDir(tempDir);
+        JspServletBuilder.setupDeployment(deployment, new HashMap<>(), new HashMap<>(), new TestInstanceManager());
+        ServletInfo servlet = new ServletInfo("jsp", PrecompilingJspServlet.class)
+                .addMapping("*.jsp")
+                .setLoadOnStartup(0)
+                .addInitParam(PrecompilingJspServlet.CONTAINER_VERSION, "test");
+        if (cacheDir != null) {
+            servlet.addInitParam(PrecompilingJspServlet.CACHE_DIR, cacheDir.toString());
+        }
+        if (executor != null) {
+            deployment.addServletContextAttribute(PrecompilingJspServlet.EXECUTOR, executor);
+        }
+        deployment.addServlet(servlet);
+        DeploymentManager manager = Servlets.newContainer().addDeployment(deployment);
+        manager.deploy();
+        try {
+            manager.start();
+            manager.stop();
+        } finally {
+            manager.undeploy();
+        }
+        return tempDir.toPath();
+    }
+
+    private long countCacheEntries() throws IOException {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.list(this.cacheDir)) {
+            directories = paths.collect(Collectors.toList());
+        }
+        // a single directory for the current resources of the deployment
+        assertEquals(1, directories.size());
+        try (Stream<Path> entries = Files.list(directories.get(0))) {
+            return entries.filter(entry -> !entry.getFileName().toString().equals("org")).count();
+        }
+    }
+
+    private static class TestInstanceManager implements InstanceManager {
+
+        @Override
+        public Object newInstance(String className) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+            return this.newInstance(className, this.getClass().getClassLoader());
+        }
+
+        @Override
+        public Object newInstance(String className, ClassLoader loader) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+            return this.newInstance(loader.loadClass(className));
+        }
+
+        @Override
+        public Object newInstance(Class<?> targetClass) throws InstantiationException {
+            try {
+                return targetClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                InstantiationException exception = new InstantiationException(e.getMessage());
+                exception.initCause(e);
+                throw exception;
+            }
+        }
+
+        @Override
+        public void newInstance(Object instance) {
+        }
+
+        @Override
+        public void destroyInstance(Object instance) {
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+
+import io.undertow.Undertow;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.servlet.Servlets;
+import io.undertow.servlet.api.DeploymentInfo;
+import io.undertow.servlet.api.DeploymentManager;
+import org.jboss.vfs.VFS;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link ServletResourceManager} and the static resources it serves.
+ */
+public class ServletResourceManagerTestCase {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path webDir;
+    private byte[] large;
+
+    @Before
+    public void setUp() throws IOException {
+        this.webDir = this.folder.newFolder("web").toPath();
+        this.large = new byte[256 * 1024];
+        new Random(1).nextBytes(this.large);
+        Files.write(this.webDir.resolve("large.bin"), this.large);
+        Files.writeString(this.webDir.resolve("style.css"), "body { }");
+        Files.writeString(this.webDir.resolve("style.css.br"), "brotli");
+        Files.writeString(this.webDir.resolve("style.css.gz"), "gzip");
+        Files.writeString(this.webDir.resolve("plain.txt"), "plain");
+    }
+
+    @Test
+    public void testTransferMinSize() {
+        assertEquals(ServletResourceManager.TRANSFER_MIN_SIZE, ServletResourceManager.transferMinSize(null));
+        assertEquals(1024, ServletResourceManager.transferMinSize("1024"));
+        assertEquals(1024, ServletResourceManager.transferMinSize(" 1024 "));
+        assertEquals(0, ServletResourceManager.transferMinSize("0"));
+        // invalid values fall back to the default threshold
+        assertEquals(ServletResourceManager.TRANSFER_MIN_SIZE, ServletResourceManager.transferMinSize("1k"));
+        assertEquals(ServletResourceManager.TRANSFER_MIN_SIZE, ServletResourceManager.transferMinSize("-1"));
+        assertEquals(ServletResourceManager.TRANSFER_MIN_SIZE, ServletResourceManager.transferMinSize(""));
+    }
+
+    @Test
+    public void testServeBelowAndAboveTransferMinSize() throws Exception {
+        // every file is transferred
+        this.testServe(0);
+        // the file is smaller than the threshold, so it is copied through pooled buffers
+        this.testServe(Long.MAX_VALUE);
+        // the file is larger than the threshold, so it is transferred
+        this.testServe(this.large.length - 1);
+    }
+
+    private void testServe(long transferMinSize) throws Exception {
+        DeploymentInfo deployment = this.createDeployment(transferMinSize);
+        this.serve(deployment, base -> {
+            HttpURLConnection connection = (HttpURLConnection) new URL(base + "large.bin").openConnection();
+            try {
+                assertEquals(200, connection.getResponseCode());
+                assertEquals(this.large.length, connection.getContentLengthLong());
+                try (InputStream input = connection.getInputStream()) {
+                    assertArrayEquals(this.large, input.readAllBytes());
+                }
+            } finally {
+                connection.disconnect();
+            }
+        });
+    }
+
+    @Test
+    public void testPreCompressedResources() throws Exception {
+        DeploymentInfo deployment = this.createDeployment(0);
+        UndertowDeploymentInfoService.addPreCompressedResourceEncodings(deployment);
+        this.serve(deployment, base -> {
+            assertResponse(base + "style.css", "br", "br", "brotli");
+            assertResponse(base + "style.css", "gzip", "gzip", "gzip");
+            // the resource itself is served to clients that do not accept a compressed encoding
+            assertResponse(base + "style.css", null, null, "body { }");
+            // or when it has no compressed sibling
+            assertResponse(base + "plain.txt", "br, gzip", null, "plain");
+        });
+    }
+
+    @Test
+    public void testWithoutPreCompressedResources() throws Exception {
+        this.serve(this.createDeployment(0), base -> assertResponse(base + "style.css", "br, gzip", null, "body { }"));
+    }
+
+    private static void assertResponse(String url, String acceptEncoding, String expectedEncoding, String expectedContent) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            if (acceptEncoding != null) {
+                connection.setRequestProperty("Accept-Encoding", acceptEncoding);
+            }
+            assertEquals(200, connection.getResponseCode());
+            if (expectedEncoding == null) {
+                assertNull(connection.getHeaderField("Content-Encoding"));
+            } else {
+                assertEquals(expectedEncoding, connection.getHeaderField("Content-Encoding"));
+            }
+            try (InputStream input = connection.getInputStream()) {
+                assertEquals(expectedContent, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private DeploymentInfo createDeployment(long transferMinSize) throws IOException {
+        ResourceManager resourceManager = new ServletResourceManager(VFS.getChild(this.webDir.toString()), Collections.emptyList(),
+                true, false, true, null, transferMinSize);
+        return Servlets.deployment()
+                .setClassLoader(this.getClass().getClassLoader())
+                .setContextPath("/test")
+                .setDeploymentName("test.war")
+                .setResourceManager(resourceManager);
+    }
+
+    private void serve(DeploymentInfo deployment, Client client) throws Exception {
+        DeploymentManager manager = Servlets.newContainer().addDeployment(deployment);
+        manager.deploy();
+        Undertow server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(manager.start())
+                .build();
+        server.start();
+        try {
+            InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+            client.request("http://localhost:" + address.getPort() + "/test/");
+        } finally {
+            server.stop();
+            manager.stop();
+            manager.undeploy();
+        }
+    }
+
+    private interface Client {
+        void request(String base) throws Exception;
+    }
+}
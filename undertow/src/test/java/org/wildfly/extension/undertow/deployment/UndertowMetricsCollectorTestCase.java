@@ -0,0 +1,128 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.Undertow;
+import io.undertow.server.handlers.MetricsHandler;
+import io.undertow.server.handlers.ResponseCodeHandler;
+import io.undertow.servlet.Servlets;
+import io.undertow.servlet.api.DeploymentInfo;
+import io.undertow.servlet.api.DeploymentManager;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.Test;
+
+/**
+ * Unit test for the request time histograms of {@link UndertowMetricsCollector}.
+ */
+public class UndertowMetricsCollectorTestCase {
+
+    @Test
+    public void testBuckets() {
+        for (long micros = 0; micros < 100_000; micros++) {
+            int index = UndertowMetricsCollector.RequestTimeHistogram.index(micros);
+            long upperBound = UndertowMetricsCollector.RequestTimeHistogram.upperBound(index);
+            assertTrue(micros < upperBound);
+            assertTrue(index == 0 || micros >= UndertowMetricsCollector.RequestTimeHistogram.upperBound(index - 1));
+            // the error is bounded by the width of the sub-buckets
+            assertTrue(upperBound - micros <= Math.max(1, micros / 4));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        UndertowMetricsCollector.RequestTimeHistogram histogram = new UndertowMetricsCollector.RequestTimeHistogram();
+        assertNull(histogram.getPercentile(50));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        long median = histogram.getPercentile(50);
+        assertTrue(median > TimeUnit.MILLISECONDS.toMicros(50) && median <= TimeUnit.MILLISECONDS.toMicros(50) * 5 / 4);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 > TimeUnit.MILLISECONDS.toMicros(99) && p99 <= TimeUnit.MILLISECONDS.toMicros(99) * 5 / 4);
+    }
+
+    @Test
+    public void testDisabled() {
+        UndertowMetricsCollector collector = new UndertowMetricsCollector();
+        collector.registerMetric("servlet", new MetricsHandler(ResponseCodeHandler.HANDLE_404));
+        assertNull(collector.getRequestTimePercentile("servlet", 50));
+        assertNull(collector.getRequestTimeHandlerWrapper());
+
+        collector = new UndertowMetricsCollector(true);
+        collector.registerMetric("servlet", new MetricsHandler(ResponseCodeHandler.HANDLE_404));
+        assertNull(collector.getRequestTimePercentile("servlet", 50));
+        assertNull(collector.getRequestTimePercentile("unknown", 50));
+    }
+
+    @Test
+    public void testForward() throws Exception {
+        UndertowMetricsCollector collector = new UndertowMetricsCollector(true);
+        DeploymentInfo info = Servlets.deployment()
+                .setClassLoader(UndertowMetricsCollectorTestCase.class.getClassLoader())
+                .setContextPath("/")
+                .setDeploymentName("test.war")
+                .setMetricsCollector(collector)
+                .addInnerHandlerChainWrapper(collector.getRequestTimeHandlerWrapper())
+                .addServlets(Servlets.servlet("forwarding", ForwardingServlet.class).addMapping("/forwarding"),
+                        Servlets.servlet("target", TargetServlet.class).addMapping("/target"));
+        DeploymentManager manager = Servlets.newContainer().addDeployment(info);
+        manager.deploy();
+        Undertow server = Undertow.builder().addHttpListener(0, "localhost").setHandler(manager.start()).build();
+        server.start();
+        try {
+            InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+            HttpURLConnection connection = (HttpURLConnection) new URL("http", address.getHostString(), address.getPort(), "/forwarding").openConnection();
+            try {
+                assertEquals(HttpServletResponse.SC_OK, connection.getResponseCode());
+            } finally {
+                connection.disconnect();
+            }
+            // the request time is recorded once the exchange completes, which may follow the response
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (collector.getRequestTimePercentile("forwarding", 100) == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(collector.getRequestTimePercentile("forwarding", 100) > 0);
+            // the forward is part of the request to the forwarding servlet
+            assertNull(collector.getRequestTimePercentile("target", 100));
+        } finally {
+            server.stop();
+            manager.stop();
+            manager.undeploy();
+        }
+    }
+
+    public static class ForwardingServlet extends HttpServlet {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+            request.getRequestDispatcher("/target").forward(request, response);
+        }
+    }
+
+    public static class TargetServlet extends HttpServlet {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.getWriter().write("target");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptiveRequestLimit}.
+ */
+public class AdaptiveRequestLimitTestCase {
+
+    @Test
+    public void testRejection() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(2, 1, 10, 1.5, 1);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejectedCount());
+
+        limit.release(0, true);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejectedCount());
+    }
+
+    @Test
+    public void testAdaptation() throws InterruptedException {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(100, 1, 1000, 1.5, 1);
+
+        // stable latency while the limit is reached lets it grow
+        window(limit, 60, TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(String.valueOf(limit.getLimit()), limit.getLimit() > 100);
+        int grown = limit.getLimit();
+
+        // a latency increase beyond the tolerance makes it shrink
+        window(limit, 60, TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(String.valueOf(limit.getLimit()), limit.getLimit() < grown);
+        int shrunk = limit.getLimit();
+
+        // rejected requests of a suspended server are not sampled
+        window(limit, 60, TimeUnit.MILLISECONDS.toNanos(100), false);
+        assertEquals(shrunk, limit.getLimit());
+    }
+
+    @Test
+    public void testBounds() throws InterruptedException {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(20, 15, 21, 1.5, 1);
+        for (int i = 0; i < 3; i++) {
+            window(limit, 20, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(21, limit.getLimit());
+        for (int i = 0; i < 5; i++) {
+            window(limit, 20, TimeUnit.SECONDS.toNanos(1));
+        }
+        assertEquals(15, limit.getLimit());
+    }
+
+    private static void window(AdaptiveRequestLimit limit, int requests, long durationNanos) throws InterruptedException {
+        window(limit, requests, durationNanos, true);
+    }
+
+    private static void window(AdaptiveRequestLimit limit, int requests, long durationNanos, boolean sample) throws InterruptedException {
+        int acquired = Math.min(requests, limit.getLimit());
+        for (int i = 0; i < acquired; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        for (int i = 1; i < acquired; i++) {
+            limit.release(durationNanos, sample);
+        }
+        // let the window elapse, so that the last release updates the limit from the samples of this window only
+        Thread.sleep(110);
+        limit.release(durationNanos, sample);
+    }
+}
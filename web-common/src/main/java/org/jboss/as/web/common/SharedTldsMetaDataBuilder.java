@@ -6,6 +6,7 @@ package org.jboss.as.web.common;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.xml.stream.XMLInputFactory;
@@ -60,28 +61,16 @@ public class SharedTldsMetaDataBuilder {
     /** The common container config. */
     private final ModelNode containerConfig;
 
+    // The JSTL TLDs, parsed on first successful use, since they are requested several times for each deployment
+    private volatile List<TldMetaData> jstlTlds;
+
     public SharedTldsMetaDataBuilder(final ModelNode containerConfig) {
         this.containerConfig = containerConfig;
     }
 
     public List<TldMetaData> getSharedTlds(DeploymentUnit deploymentUnit) {
 
-        final List<TldMetaData> metadata = new ArrayList<TldMetaData>();
-
-        try {
-            ModuleClassLoader jstl = Module.getModuleFromCallerModuleLoader("jakarta.servlet.jstl.api").getClassLoader();
-            for (String tld : JSTL_TAGLIBS) {
-                InputStream is = jstl.getResourceAsStream("META-INF/" + tld);
-                if (is != null) {
-                    TldMetaData tldMetaData = parseTLD(is);
-                    metadata.add(tldMetaData);
-                }
-            }
-        } catch (ModuleLoadException e) {
-            // Ignore
-        } catch (Exception e) {
-            // Ignore
-        }
+        final List<TldMetaData> metadata = new ArrayList<TldMetaData>(this.getJstlTlds());
 
         List<TldMetaData> additionalSharedTlds = deploymentUnit.getAttachment(ATTACHMENT_KEY);
         if (additionalSharedTlds != null) {
@@ -91,6 +80,37 @@ public class SharedTldsMetaDataBuilder {
         return metadata;
     }
 
+    private List<TldMetaData> getJstlTlds() {
+        List<TldMetaData> tlds = this.jstlTlds;
+        if (tlds == null) {
+            synchronized (this) {
+                tlds = this.jstlTlds;
+                if (tlds == null) {
+                    tlds = new ArrayList<TldMetaData>();
+                    try {
+                        ModuleClassLoader jstl = Module.getModuleFromCallerModuleLoader("jakarta.servlet.jstl.api").getClassLoader();
+                        for (String tld : JSTL_TAGLIBS) {
+                            InputStream is = jstl.getResourceAsStream("META-INF/" + tld);
+                            if (is != null) {
+                                TldMetaData tldMetaData = parseTLD(is);
+                                tlds.add(tldMetaData);
+                            }
+                        }
+                    } catch (ModuleLoadException e) {
+                        // Ignore, but do not cache the failure, so that a later deployment tries again
+                        return Collections.emptyList();
+                    } catch (Exception e) {
+                        // Ignore, as above
+                        return Collections.unmodifiableList(tlds);
+                    }
+                    tlds = Collections.unmodifiableList(tlds);
+                    this.jstlTlds = tlds;
+                }
+            }
+        }
+        return tlds;
+    }
+
     private TldMetaData parseTLD(final InputStream is) throws Exception {
         try (is) {
             final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
@@ -0,0 +1,79 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.web.common;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.metadata.parser.jsp.TldMetaDataParser;
+import org.jboss.metadata.parser.util.NoopXMLResolver;
+import org.jboss.metadata.web.spec.TldMetaData;
+
+/**
+ * Server wide cache of parsed tag library descriptors, keyed by the digest of their content, so that the descriptors of tag
+ * libraries shared by deployments, e.g. packaged in the same jars, are only parsed once, including across redeployments.
+ * <p>
+ * Parsed descriptors are softly referenced, so that they can be reclaimed when memory is low, and must not be modified by
+ * deployments.
+ */
+public class TldMetaDataCache {
+
+    private final Map<String, TldMetaData> descriptors = new ConcurrentReferenceHashMap<>(64, ConcurrentReferenceHashMap.DEFAULT_LOAD_FACTOR,
+            Runtime.getRuntime().availableProcessors(), ConcurrentReferenceHashMap.ReferenceType.STRONG,
+            ConcurrentReferenceHashMap.ReferenceType.SOFT, EnumSet.noneOf(ConcurrentReferenceHashMap.Option.class));
+
+    /**
+     * Returns the metadata of a descriptor with the given content, parsing it unless it was already parsed.
+     * This method may be invoked concurrently.
+     *
+     * @param descriptor the content of a tag library descriptor
+     * @return the metadata of the descriptor
+     * @throws XMLStreamException if the descriptor could not be parsed
+     */
+    public TldMetaData get(byte[] descriptor) throws XMLStreamException {
+        String key = digest(descriptor);
+        TldMetaData metaData = this.descriptors.get(key);
+        if (metaData == null) {
+            metaData = parse(descriptor);
+            TldMetaData existing = this.descriptors.putIfAbsent(key, metaData);
+            if (existing != null) {
+                metaData = existing;
+            }
+        }
+        return metaData;
+    }
+
+    /**
+     * @return the number of cached descriptors
+     */
+    public int size() {
+        return this.descriptors.size();
+    }
+
+    private static TldMetaData parse(byte[] descriptor) throws XMLStreamException {
+        // factories are not thread safe
+        final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setXMLResolver(NoopXMLResolver.create());
+        XMLStreamReader xmlReader = inputFactory.createXMLStreamReader(new ByteArrayInputStream(descriptor));
+        return TldMetaDataParser.parse(xmlReader);
+    }
+
+    private static String digest(byte[] descriptor) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(descriptor));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.web.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.metadata.web.spec.TldMetaData;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TldMetaDataCache}.
+ */
+public class TldMetaDataCacheTestCase {
+
+    private static byte[] descriptor(String uri) {
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<taglib xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"3.0\">"
+                + "<tlib-version>1.0</tlib-version><short-name>test</short-name><uri>" + uri + "</uri>"
+                + "</taglib>").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSameContent() throws XMLStreamException {
+        TldMetaDataCache cache = new TldMetaDataCache();
+        assertEquals(0, cache.size());
+
+        TldMetaData metaData = cache.get(descriptor("urn:a"));
+        assertEquals("urn:a", metaData.getUri());
+        // e.g. the same jar in another deployment
+        assertSame(metaData, cache.get(descriptor("urn:a")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testDifferentContent() throws XMLStreamException {
+        TldMetaDataCache cache = new TldMetaDataCache();
+        TldMetaData a = cache.get(descriptor("urn:a"));
+        TldMetaData b = cache.get(descriptor("urn:b"));
+        assertNotSame(a, b);
+        assertEquals("urn:b", b.getUri());
+        assertEquals(2, cache.size());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testInvalidContent() throws XMLStreamException {
+        new TldMetaDataCache().get("<taglib>".getBytes(StandardCharsets.UTF_8));
+    }
+}
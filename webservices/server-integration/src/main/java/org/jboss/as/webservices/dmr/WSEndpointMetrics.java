@@ -9,13 +9,19 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.Map;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.webservices.invocation.OperationStatistics;
 import org.jboss.as.webservices.logging.WSLogger;
 import org.jboss.as.webservices.util.ServiceContainerEndpointRegistry;
 import org.jboss.as.webservices.util.WSServices;
@@ -66,6 +72,36 @@ final class WSEndpointMetrics implements OperationStepHandler {
             .setStorageRuntime()
             .build();
 
+    static final SimpleAttributeDefinition OPERATION_NAME = new SimpleAttributeDefinitionBuilder(NAME, ModelType.STRING, false)
+            .build();
+    static final SimpleAttributeDefinition OPERATION_INVOCATION_COUNT = new SimpleAttributeDefinitionBuilder("invocation-count", ModelType.LONG, false)
+            .build();
+    static final SimpleAttributeDefinition OPERATION_FAULT_COUNT = new SimpleAttributeDefinitionBuilder("fault-count", ModelType.LONG, false)
+            .build();
+    static final SimpleAttributeDefinition OPERATION_AVERAGE_PROCESSING_TIME = new SimpleAttributeDefinitionBuilder("average-processing-time", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    static final SimpleAttributeDefinition OPERATION_MAX_PROCESSING_TIME = new SimpleAttributeDefinitionBuilder("max-processing-time", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    static final SimpleAttributeDefinition OPERATION_PROCESSING_TIME_P50 = new SimpleAttributeDefinitionBuilder("processing-time-p50", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    static final SimpleAttributeDefinition OPERATION_PROCESSING_TIME_P90 = new SimpleAttributeDefinitionBuilder("processing-time-p90", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    static final SimpleAttributeDefinition OPERATION_PROCESSING_TIME_P99 = new SimpleAttributeDefinitionBuilder("processing-time-p99", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    static final ObjectTypeAttributeDefinition OPERATION = new ObjectTypeAttributeDefinition.Builder("operation", OPERATION_NAME,
+            OPERATION_INVOCATION_COUNT, OPERATION_FAULT_COUNT, OPERATION_AVERAGE_PROCESSING_TIME, OPERATION_MAX_PROCESSING_TIME,
+            OPERATION_PROCESSING_TIME_P50, OPERATION_PROCESSING_TIME_P90, OPERATION_PROCESSING_TIME_P99)
+            .build();
+    static final AttributeDefinition OPERATIONS = new ObjectListAttributeDefinition.Builder("operations", OPERATION)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
 
     static final AttributeDefinition[] ATTRIBUTES = {MIN_PROCESSING_TIME, MAX_PROCESSING_TIME, AVERAGE_PROCESSING_TIME,
             TOTAL_PROCESSING_TIME, REQUEST_COUNT, RESPONSE_COUNT, FAULT_COUNT};
@@ -132,11 +168,32 @@ final class WSEndpointMetrics implements OperationStepHandler {
                 result.set(endpointMetrics.getResponseCount());
             } else if (FAULT_COUNT.getName().equals(metricName)) {
                 result.set(endpointMetrics.getFaultCount());
+            } else if (OPERATIONS.getName().equals(metricName)) {
+                final OperationStatistics.Registry operations = endpoint.getAttachment(OperationStatistics.Registry.class);
+                result.setEmptyList();
+                if (operations != null) {
+                    for (Map.Entry<String, OperationStatistics> entry : operations.getOperations().entrySet()) {
+                        result.add(getOperationFragment(entry.getKey(), entry.getValue()));
+                    }
+                }
             }
         }
         return result;
     }
 
+    private static ModelNode getOperationFragment(final String name, final OperationStatistics statistics) {
+        final ModelNode operation = new ModelNode();
+        operation.get(OPERATION_NAME.getName()).set(name);
+        operation.get(OPERATION_INVOCATION_COUNT.getName()).set(statistics.getInvocationCount());
+        operation.get(OPERATION_FAULT_COUNT.getName()).set(statistics.getFaultCount());
+        operation.get(OPERATION_AVERAGE_PROCESSING_TIME.getName()).set(statistics.getAverageProcessingTime());
+        operation.get(OPERATION_MAX_PROCESSING_TIME.getName()).set(statistics.getMaxProcessingTime());
+        operation.get(OPERATION_PROCESSING_TIME_P50.getName()).set(statistics.getProcessingTimePercentile(50));
+        operation.get(OPERATION_PROCESSING_TIME_P90.getName()).set(statistics.getProcessingTimePercentile(90));
+        operation.get(OPERATION_PROCESSING_TIME_P99.getName()).set(statistics.getProcessingTimePercentile(99));
+        return operation;
+    }
+
     private static String getFallbackMessage() {
         return WSLogger.ROOT_LOGGER.noMetricsAvailable();
     }
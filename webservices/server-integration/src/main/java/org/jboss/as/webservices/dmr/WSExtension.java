@@ -18,6 +18,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
@@ -146,7 +147,7 @@ public final class WSExtension implements Extension {
         subsystemRegistration.registerSubModel(clConfigsDef);
 
         if (registerRuntimeOnly) {
-            subsystem.registerDeploymentModel(ResourceBuilder.Factory.create(SUBSYSTEM_PATH, getResourceDescriptionResolver("deployment"))
+            final ManagementResourceRegistration deploymentRegistration = subsystem.registerDeploymentModel(ResourceBuilder.Factory.create(SUBSYSTEM_PATH, getResourceDescriptionResolver("deployment"))
                     .noFeature()
                     .setRuntime()
                     .pushChild(ENDPOINT_PATH)
@@ -157,6 +158,8 @@ public final class WSExtension implements Extension {
                     .addReadOnlyAttribute(ENDPOINT_TYPE)
                     .addReadOnlyAttribute(ENDPOINT_WSDL)
                     .build());
+            // not a metric, since its value is a complex structure
+            deploymentRegistration.getSubModel(PathAddress.pathAddress(ENDPOINT_PATH)).registerReadOnlyAttribute(WSEndpointMetrics.OPERATIONS, WSEndpointMetrics.INSTANCE);
         }
     }
 
@@ -15,6 +15,8 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Collection;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.management.MBeanException;
 import jakarta.xml.ws.soap.SOAPFaultException;
@@ -45,14 +47,18 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
    private volatile ServiceName componentViewName;
    private volatile ComponentView componentView;
    protected volatile ManagedReference reference;
+   // SEI method -> component view method, resolved on first invocation of each operation
+   private final ConcurrentMap<Method, Operation> operations = new ConcurrentHashMap<>();
+   private final OperationStatistics.Registry statistics = new OperationStatistics.Registry();
 
    /**
-    * Initializes component view name.
+    * Initializes component view name and registers the operation statistics of the endpoint.
     *
     * @param endpoint web service endpoint
     */
    public void init(final Endpoint endpoint) {
        componentViewName = (ServiceName) endpoint.getProperty(COMPONENT_VIEW_NAME);
+       endpoint.addAttachment(OperationStatistics.Registry.class, statistics);
    }
 
     /**
@@ -93,6 +99,10 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
     * @throws Exception if any error occurs
     */
     public void invoke(final Endpoint endpoint, final Invocation wsInvocation) throws Exception {
+        // statistics are only gathered when enabled for the endpoints
+        final boolean statisticsEnabled = endpoint.getEndpointMetrics() != null;
+        final long start = statisticsEnabled ? System.nanoTime() : 0;
+        boolean fault = true;
         try {
             if (!EndpointState.STARTED.equals(endpoint.getState())) {
                 throw WSLogger.ROOT_LOGGER.endpointAlreadyStopped(endpoint.getShortName());
@@ -106,10 +116,17 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
             } else {
                 invokeInternal(endpoint, wsInvocation);
             }
+            fault = false;
         } catch (Throwable t) {
             handleInvocationException(t);
         } finally {
             onAfterInvocation(wsInvocation);
+            if (statisticsEnabled) {
+                final Operation operation = operations.get(wsInvocation.getJavaMethod());
+                if (operation != null) {
+                    operation.statistics.record(System.nanoTime() - start, fault);
+                }
+            }
         }
     }
 
@@ -134,7 +151,7 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
                     ((WSComponent) component).setReference(reference);
                 }
             }
-        final Method method = getComponentViewMethod(wsInvocation.getJavaMethod(), componentView.getViewMethods());
+        final Method method = getOperation(wsInvocation.getJavaMethod(), componentView).viewMethod;
         final InterceptorContext context = new InterceptorContext();
         prepareForInvocation(context, wsInvocation);
         context.setMethod(method);
@@ -157,6 +174,14 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
       // does nothing
    }
 
+   private Operation getOperation(final Method seiMethod, final ComponentView componentView) {
+       final Operation operation = operations.get(seiMethod);
+       if (operation != null) {
+           return operation;
+       }
+       return operations.computeIfAbsent(seiMethod, method -> new Operation(getComponentViewMethod(method, componentView.getViewMethods()), statistics.get(method)));
+   }
+
    /**
     * Translates SEI method to component view method.
     *
@@ -222,5 +247,15 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
        return true;
    }
 
+   private static final class Operation {
+       private final Method viewMethod;
+       private final OperationStatistics statistics;
+
+       Operation(final Method viewMethod, final OperationStatistics statistics) {
+           this.viewMethod = viewMethod;
+           this.statistics = statistics;
+       }
+   }
+
 }
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.webservices.invocation;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation statistics of a single WS endpoint operation, updated without locking.
+ * <p>
+ * Processing times are counted in a histogram with one bucket per power of two of microseconds, from which percentiles are
+ * estimated with an error below a factor of two.
+ */
+public final class OperationStatistics {
+
+    // covers processing times up to 2^40 microseconds, longer invocations are counted in the last bucket
+    private static final int BUCKETS = 41;
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder faults = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    void record(final long durationNanos, final boolean fault) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        invocations.increment();
+        if (fault) {
+            faults.increment();
+        }
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+        histogram.incrementAndGet(index(micros));
+    }
+
+    /**
+     * @return the name of the given method followed by the types of its parameters, e.g. {@code echo(java.lang.String,int)}
+     */
+    static String signature(final Method method) {
+        final StringJoiner signature = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            signature.add(type.getTypeName());
+        }
+        return signature.toString();
+    }
+
+    static int index(final long micros) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    public long getInvocationCount() {
+        return invocations.sum();
+    }
+
+    public long getFaultCount() {
+        return faults.sum();
+    }
+
+    /**
+     * @return the average processing time in microseconds
+     */
+    public long getAverageProcessingTime() {
+        final long count = invocations.sum();
+        return count > 0 ? totalMicros.sum() / count : 0;
+    }
+
+    /**
+     * @return the maximal processing time in microseconds
+     */
+    public long getMaxProcessingTime() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Returns the processing time below which the given percentage of the invocations completed.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the matching histogram bucket in microseconds, or 0 if there was no invocation
+     */
+    public long getProcessingTimePercentile(final double percentile) {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        int i = 0;
+        while (i < BUCKETS - 1) {
+            seen += counts[i];
+            if (seen >= rank) {
+                break;
+            }
+            i++;
+        }
+        return 1L << i;
+    }
+
+    /**
+     * The statistics of the operations of an endpoint, by operation signature, so that overloaded operations are told apart.
+     */
+    public static final class Registry {
+
+        private final ConcurrentMap<String, OperationStatistics> operations = new ConcurrentHashMap<>();
+
+        OperationStatistics get(final Method operation) {
+            return operations.computeIfAbsent(signature(operation), signature -> new OperationStatistics());
+        }
+
+        public Map<String, OperationStatistics> getOperations() {
+            return Collections.unmodifiableMap(operations);
+        }
+    }
+}
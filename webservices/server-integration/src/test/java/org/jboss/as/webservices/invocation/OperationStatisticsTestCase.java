@@ -0,0 +1,83 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.webservices.invocation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link OperationStatistics}.
+ */
+public class OperationStatisticsTestCase {
+
+    @Test
+    public void testIndex() {
+        assertEquals(0, OperationStatistics.index(0));
+        assertEquals(1, OperationStatistics.index(1));
+        assertEquals(2, OperationStatistics.index(2));
+        assertEquals(2, OperationStatistics.index(3));
+        assertEquals(11, OperationStatistics.index(1024));
+        assertEquals(40, OperationStatistics.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRecord() {
+        final OperationStatistics statistics = new OperationStatistics();
+        assertEquals(0, statistics.getAverageProcessingTime());
+        assertEquals(0, statistics.getProcessingTimePercentile(99));
+
+        for (int i = 0; i < 98; i++) {
+            statistics.record(TimeUnit.MICROSECONDS.toNanos(100), false);
+        }
+        statistics.record(TimeUnit.MILLISECONDS.toNanos(10), true);
+        statistics.record(TimeUnit.MILLISECONDS.toNanos(100), true);
+
+        assertEquals(100, statistics.getInvocationCount());
+        assertEquals(2, statistics.getFaultCount());
+        assertEquals(1198, statistics.getAverageProcessingTime());
+        assertEquals(100000, statistics.getMaxProcessingTime());
+        // 100us falls in [64, 128)
+        assertEquals(128, statistics.getProcessingTimePercentile(50));
+        assertEquals(128, statistics.getProcessingTimePercentile(98));
+        // 10ms falls in [8192, 16384)
+        assertEquals(16384, statistics.getProcessingTimePercentile(99));
+        assertEquals(131072, statistics.getProcessingTimePercentile(100));
+    }
+
+    @Test
+    public void testRegistry() throws NoSuchMethodException {
+        final OperationStatistics.Registry registry = new OperationStatistics.Registry();
+        final Method echo = Endpoint.class.getMethod("echo", String.class);
+        final Method echoTimes = Endpoint.class.getMethod("echo", String.class, int.class);
+        final OperationStatistics statistics = registry.get(echo);
+        assertSame(statistics, registry.get(echo));
+        // overloaded operations are counted separately
+        assertNotSame(statistics, registry.get(echoTimes));
+        assertEquals(Set.of("echo(java.lang.String)", "echo(java.lang.String,int)"), registry.getOperations().keySet());
+    }
+
+    @Test
+    public void testSignature() throws NoSuchMethodException {
+        assertEquals("echo(java.lang.String[])", OperationStatistics.signature(Endpoint.class.getMethod("echo", String[].class)));
+        assertEquals("ping()", OperationStatistics.signature(Endpoint.class.getMethod("ping")));
+    }
+
+    interface Endpoint {
+        String echo(String message);
+
+        String echo(String message, int times);
+
+        String echo(String[] messages);
+
+        void ping();
+    }
+}